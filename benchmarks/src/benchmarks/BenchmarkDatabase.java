@@ -0,0 +1,122 @@
+package benchmarks;
+
+import database.DatabaseConfig;
+import database.DatabaseInitializer;
+import database.StorageMode;
+import main.DatasetGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Seeded SQLite database shared by the DAO benchmarks, one per parcel count.
+ *
+ * The data comes from main.DatasetGenerator with its default seed, one citizen for
+ * PARCELS_PER_CITIZEN parcels. The seeded database is built once and kept in bench.db.dir (default target/bench-db),
+ * since seeding a million parcels takes a while. Each trial works on a fresh copy of it, so
+ * the benchmarks that write (approvals, parcel numbers) do not change what the next trial
+ * measures. Delete the directory to seed again after a schema change.
+ *
+ * The DAOs log every step to System.out: the output is dropped during the trial.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkDatabase {
+
+    private static final int PARCELS_PER_CITIZEN = 4;
+    private static final int MIN_CITIZENS = 1_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int parcels;
+
+    /** First citizen ID; citizens are numbered in a row from it */
+    public int firstCitizenId;
+    /** User ID of the first citizen */
+    public int citizenUserId;
+    public int agentId;
+
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void open() throws IOException, SQLException {
+        File dir = new File(System.getProperty("bench.db.dir", "target/bench-db"));
+        Files.createDirectories(dir.toPath());
+        File seeded = new File(dir, "parcels-" + parcels + ".db");
+        if (!seeded.exists()) {
+            seed(seeded);
+        }
+
+        File work = new File(dir, "work-" + parcels + ".db");
+        deleteDatabase(work);
+        Files.copy(seeded.toPath(), work.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        DatabaseConfig.configure("jdbc:sqlite:" + work.getAbsolutePath(), StorageMode.WAL_SPLIT);
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT (SELECT MIN(citoyen_id) FROM Citoyens), " +
+                     "(SELECT MIN(user_id) FROM Citoyens), (SELECT MIN(agent_id) FROM AgentsFonciers)")) {
+            rs.next();
+            firstCitizenId = rs.getInt(1);
+            citizenUserId = rs.getInt(2);
+            agentId = rs.getInt(3);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        DatabaseConfig.closeConnection();
+        System.setOut(stdout);
+    }
+
+    /**
+     * Build the database in a temporary file, renamed once complete: a seeding that was
+     * interrupted is started again by the next run
+     */
+    private void seed(File target) throws IOException, SQLException {
+        File partial = new File(target.getPath() + ".partial");
+        deleteDatabase(partial);
+
+        System.out.println("Seeding " + parcels + " parcels into " + target + "...");
+        long start = System.nanoTime();
+        DatabaseConfig.configure("jdbc:sqlite:" + partial.getAbsolutePath(), StorageMode.WAL_SPLIT);
+        try {
+            DatabaseInitializer.initializeDatabase();
+            new DatasetGenerator(Math.max(MIN_CITIZENS, parcels / PARCELS_PER_CITIZEN), DatasetGenerator.DEFAULT_SEED)
+                    .setParcels(parcels)
+                    .generate();
+            // Everything in the main file: only that one is copied for each trial
+            try (Connection conn = DatabaseConfig.getWriteConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+            }
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+        Files.move(partial.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        deleteDatabase(partial);
+        System.out.printf("Seeded in %.1f s%n", (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void deleteDatabase(File file) throws IOException {
+        for (String suffix : new String[]{"", "-wal", "-shm"}) {
+            Files.deleteIfExists(Path.of(file.getPath() + suffix));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package benchmarks;
+
+import dao.NotificationDAO;
+import dao.ParcelDAO;
+import models.Parcel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of the agent and citizen screens: region listing, parcel search and the
+ * unread notification badge
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParcelQueryBenchmark {
+
+    private final ParcelDAO parcelDAO = new ParcelDAO();
+    private final NotificationDAO notificationDAO = new NotificationDAO();
+
+    /** Every parcel of the largest region, about a quarter of the parcels */
+    @Benchmark
+    public List<Parcel> getParcelsByRegion(BenchmarkDatabase db) {
+        return parcelDAO.getParcelsByRegion("Dakar");
+    }
+
+    /** A district and a street number prefix, capped by the search */
+    @Benchmark
+    public List<Parcel> searchParcels(BenchmarkDatabase db) {
+        return parcelDAO.searchParcels("ouakam 41");
+    }
+
+    @Benchmark
+    public int getUnreadCount(BenchmarkDatabase db) {
+        return notificationDAO.getUnreadCount(db.citizenUserId);
+    }
+}
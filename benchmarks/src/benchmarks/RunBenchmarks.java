@@ -0,0 +1,48 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Entry point of benchmarks.jar: the JMH command line, with the results written as JSON to
+ * target/jmh-result-&lt;date&gt;.json unless -rf / -rff say otherwise, so that runs can be
+ * compared over time.
+ *
+ * Build, from the project root:
+ *   mvn install -DskipTests
+ *   mvn -f benchmarks/pom.xml package
+ *
+ * Usage, from the benchmarks directory: java -jar target/benchmarks.jar [JMH options], e.g.
+ *   java -jar target/benchmarks.jar ParcelQueryBenchmark -p parcels=10000
+ */
+public class RunBenchmarks {
+
+    public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+                || options.shouldListProfilers() || options.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+        if (!options.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!options.getResult().hasValue()) {
+            String date = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            builder.result("target/jmh-result-" + date + "."
+                    + options.getResultFormat().orElse(ResultFormatType.JSON).name().toLowerCase());
+        }
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,131 @@
+package benchmarks;
+
+import dao.TransactionDAO;
+import database.DatabaseConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransactionDAO.approveTransaction() for a sale and for an inheritance with division.
+ *
+ * An approval consumes its pending transaction, so a new parcel and transaction are created
+ * before every call, outside of the measured time. Each benchmark has its own state and only
+ * creates the transaction it approves. The division creates one parcel per heir.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TransactionApprovalBenchmark {
+
+    private static final int HEIRS = 3;
+
+    private final TransactionDAO transactionDAO = new TransactionDAO();
+
+    /**
+     * A pending sale, recreated before every call of approveSale
+     */
+    @State(Scope.Thread)
+    public static class PendingSale {
+        private int created;
+        int transactionId;
+
+        @Setup(Level.Invocation)
+        public void create(BenchmarkDatabase db) throws SQLException {
+            created++;
+            transactionId = createPendingTransaction(db.firstCitizenId, db.firstCitizenId + 1,
+                    "SALE", created, null);
+        }
+    }
+
+    /**
+     * A pending inheritance with division, recreated before every call of approveInheritanceDivision
+     */
+    @State(Scope.Thread)
+    public static class PendingInheritance {
+        private int created;
+        int transactionId;
+
+        @Setup(Level.Invocation)
+        public void create(BenchmarkDatabase db) throws SQLException {
+            StringBuilder notes = new StringBuilder("INHERITANCE WITH DIVISION - " + HEIRS + " heirs:");
+            for (int i = 1; i <= HEIRS; i++) {
+                int heir = db.firstCitizenId + 1 + i;
+                notes.append("\nHeir ").append(i).append(": Citoyen ").append(heir).append(" (ID: ").append(heir).append(")");
+            }
+            created++;
+            transactionId = createPendingTransaction(db.firstCitizenId, db.firstCitizenId + 2,
+                    "INHERITANCE", created, notes.toString());
+        }
+    }
+
+    @Benchmark
+    public boolean approveSale(BenchmarkDatabase db, PendingSale sale) {
+        return transactionDAO.approveTransaction(sale.transactionId, db.agentId);
+    }
+
+    @Benchmark
+    public boolean approveInheritanceDivision(BenchmarkDatabase db, PendingInheritance inheritance) {
+        return transactionDAO.approveTransaction(inheritance.transactionId, db.agentId);
+    }
+
+    /**
+     * Insert an occupied parcel of the previous owner and its pending transaction
+     * @return the transaction ID
+     */
+    private static int createPendingTransaction(int previousOwner, int newOwner, String type,
+                                                int sequence, String notes) throws SQLException {
+        try (Connection conn = DatabaseConfig.getWriteConnection()) {
+            int parcelId;
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO Parcelles (numero_parcelle, superficie, type_terrain, adresse, region, " +
+                    "statut_parcelle, valeur_estimee, proprietaire_actuel) " +
+                    "VALUES (?, 4, 'RESIDENTIAL', 'Rue 12, Médina', 'Dakar', 'OCCUPIED', 10000000, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, "DK-BENCH-" + type + "-" + sequence);
+                pstmt.setInt(2, previousOwner);
+                pstmt.executeUpdate();
+                parcelId = generatedKey(pstmt);
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO Transactions (parcelle_id, type_transaction, ancien_proprietaire, " +
+                    "nouveau_proprietaire, montant, date_transaction, notes) " +
+                    "VALUES (?, ?, ?, ?, 10000000, CURRENT_DATE, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setInt(1, parcelId);
+                pstmt.setString(2, type);
+                pstmt.setInt(3, previousOwner);
+                pstmt.setInt(4, newOwner);
+                pstmt.setString(5, notes);
+                pstmt.executeUpdate();
+                return generatedKey(pstmt);
+            }
+        }
+    }
+
+    private static int generatedKey(PreparedStatement pstmt) throws SQLException {
+        try (ResultSet rs = pstmt.getGeneratedKeys()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
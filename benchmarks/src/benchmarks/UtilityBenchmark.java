@@ -0,0 +1,48 @@
+package benchmarks;
+
+import main.DatasetGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ParcelNumberGenerator;
+import utils.PasswordHasher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parcel number allocation and login password check
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UtilityBenchmark {
+
+    private String passwordHash;
+
+    @Setup
+    public void hashPassword() {
+        passwordHash = PasswordHasher.hashPassword(DatasetGenerator.PASSWORD);
+    }
+
+    /** Mostly served from the reserved block, with a sequence update once per block */
+    @Benchmark
+    public String generateParcelNumber(BenchmarkDatabase db) {
+        return ParcelNumberGenerator.generateParcelNumber("Dakar");
+    }
+
+    /** BCrypt at the cost used for the accounts, independent of the database size */
+    @Benchmark
+    public boolean verifyPassword() {
+        return PasswordHasher.verifyPassword(DatasetGenerator.PASSWORD, passwordHash);
+    }
+}
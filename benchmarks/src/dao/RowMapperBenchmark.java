@@ -0,0 +1,98 @@
+package dao;
+
+import benchmarks.BenchmarkDatabase;
+import database.DatabaseConfig;
+import models.Parcel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per row of ParcelDAO.PARCEL_MAPPER, against reading the same columns by label and
+ * against stepping through the rows without mapping them. In the dao package for the
+ * package-private mapper.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(RowMapperBenchmark.ROWS)
+public class RowMapperBenchmark {
+
+    static final int ROWS = 1_000;
+    private static final String SQL = "SELECT * FROM Parcelles WHERE parcelle_id <= " + ROWS;
+
+    @Benchmark
+    public void columnMapper(BenchmarkDatabase db, Blackhole blackhole) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            RowMapper<Parcel> mapper = ParcelDAO.PARCEL_MAPPER.bind(rs);
+            while (rs.next()) {
+                blackhole.consume(mapper.map(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public void columnLabels(BenchmarkDatabase db, Blackhole blackhole) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(mapByLabel(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public void stepOnly(BenchmarkDatabase db, Blackhole blackhole) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getInt(1));
+            }
+        }
+    }
+
+    /**
+     * Mapping by column label, as the DAOs did before ColumnMapper
+     */
+    private static Parcel mapByLabel(ResultSet rs) throws SQLException {
+        Parcel parcel = new Parcel();
+        parcel.setParcelId(rs.getInt("parcelle_id"));
+        parcel.setParcelNumber(rs.getString("numero_parcelle"));
+        parcel.setLandTitle(rs.getString("titre_foncier"));
+        parcel.setArea(rs.getDouble("superficie"));
+        parcel.setAreaUnit(Parcel.AreaUnit.valueOf(rs.getString("unite_superficie")));
+        parcel.setLandType(Parcel.LandType.valueOf(rs.getString("type_terrain")));
+        parcel.setCurrentUsage(rs.getString("usage_actuel"));
+        parcel.setAddress(rs.getString("adresse"));
+        parcel.setRegion(rs.getString("region"));
+        parcel.setDepartment(rs.getString("departement"));
+        parcel.setCommune(rs.getString("commune"));
+        parcel.setGpsCoordinates(rs.getString("coordonnees_gps"));
+        parcel.setStatus(Parcel.ParcelStatus.valueOf(rs.getString("statut_parcelle")));
+        parcel.setEstimatedValue(rs.getBigDecimal("valeur_estimee"));
+        parcel.setCurrentOwnerId(rs.getInt("proprietaire_actuel"));
+        parcel.setAcquisitionDate(ColumnMapper.date(rs, rs.findColumn("date_acquisition")));
+        parcel.setRegisteredAt(ColumnMapper.timestamp(rs, rs.findColumn("date_enregistrement")));
+        parcel.setLastModified(ColumnMapper.timestamp(rs, rs.findColumn("derniere_modification")));
+        parcel.setNotes(rs.getString("notes"));
+        return parcel;
+    }
+}
@@ -1,6 +1,7 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.Admin;
 import models.Admin.AccessLevel;
 import models.User.UserRole;
@@ -8,6 +9,7 @@ import models.User.UserRole;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for Admin operations
@@ -20,41 +22,44 @@ public class AdminDAO {
      * Create a new admin
      */
     public boolean createAdmin(Admin admin) {
-        // First, create the user
-        admin.setRole(UserRole.ADMIN);
-        boolean userCreated = userDAO.createUser(admin);
-
-        if (!userCreated) {
-            System.err.println("Failed to create user for admin");
-            return false;
-        }
+        return WriteQueue.await(createAdminAsync(admin), "Error creating admin");
+    }
 
-        // Then create the admin entry with a fresh connection
+    /**
+     * Create a new admin through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createAdminAsync(Admin admin) {
         String sql = "INSERT INTO Administrateurs (user_id, niveau_acces, departement) VALUES (?, ?, ?)";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        // User and admin rows share one group-commit slot: if the second insert
+        // fails, the savepoint also rolls back the user row
+        return DatabaseConfig.submitWrite(conn -> {
+            // First, create the user (runs inline on the writer connection)
+            admin.setRole(UserRole.ADMIN);
+            if (!userDAO.createUser(admin)) {
+                System.err.println("Failed to create user for admin");
+                return false;
+            }
 
-            pstmt.setInt(1, admin.getUserId());
-            pstmt.setString(2, admin.getAccessLevel().name());
-            pstmt.setString(3, admin.getDepartment());
+            // Then create the admin entry
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setInt(1, admin.getUserId());
+                pstmt.setString(2, admin.getAccessLevel().name());
+                pstmt.setString(3, admin.getDepartment());
 
-            int affectedRows = pstmt.executeUpdate();
+                int affectedRows = pstmt.executeUpdate();
 
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    admin.setAdminId(rs.getInt(1));
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        admin.setAdminId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating admin: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     /**
@@ -65,14 +70,14 @@ public class AdminDAO {
                 "JOIN Users u ON a.user_id = u.user_id " +
                 "WHERE a.admin_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, adminId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractAdminFromResultSet(rs);
+                return ADMIN_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -90,14 +95,14 @@ public class AdminDAO {
                 "JOIN Users u ON a.user_id = u.user_id " +
                 "WHERE a.user_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractAdminFromResultSet(rs);
+                return ADMIN_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -113,7 +118,7 @@ public class AdminDAO {
     public boolean updateAdmin(Admin admin) {
         Connection conn = null;
         try {
-            conn = DatabaseConfig.getConnection();
+            conn = DatabaseConfig.getWriteConnection();
             conn.setAutoCommit(false);
 
             // Update user information
@@ -152,7 +157,10 @@ public class AdminDAO {
             return false;
         } finally {
             try {
-                if (conn != null) conn.setAutoCommit(true);
+                if (conn != null) {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                }
             } catch (SQLException e) {
                 e.printStackTrace();
             }
@@ -168,12 +176,13 @@ public class AdminDAO {
                 "JOIN Users u ON a.user_id = u.user_id " +
                 "ORDER BY u.date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<Admin> mapper = ADMIN_MAPPER.bind(rs);
             while (rs.next()) {
-                admins.add(extractAdminFromResultSet(rs));
+                admins.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -193,14 +202,15 @@ public class AdminDAO {
                 "WHERE a.niveau_acces = ? " +
                 "ORDER BY u.nom, u.prenom";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, accessLevel.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Admin> mapper = ADMIN_MAPPER.bind(rs);
             while (rs.next()) {
-                admins.add(extractAdminFromResultSet(rs));
+                admins.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -221,29 +231,24 @@ public class AdminDAO {
         return false;
     }
 
+    private static final EnumDecoder<AccessLevel> ACCESS_LEVELS = EnumDecoder.of(AccessLevel.class);
+
     /**
-     * Extract Admin object from ResultSet
+     * Maps a Users JOIN Administrateurs row to an Admin
      */
-    private Admin extractAdminFromResultSet(ResultSet rs) throws SQLException {
-        Admin admin = new Admin();
-
-        // User fields
-        admin.setUserId(rs.getInt("user_id"));
-        admin.setLastName(rs.getString("nom"));
-        admin.setFirstName(rs.getString("prenom"));
-        admin.setEmail(rs.getString("email"));
-        admin.setPhone(rs.getString("telephone"));
-        admin.setPassword(rs.getString("mot_de_passe"));
-        admin.setRole(UserRole.valueOf(rs.getString("role")));
-        admin.setAccountStatus(models.User.AccountStatus.valueOf(rs.getString("account_status")));
-        admin.setCreatedAt(rs.getTimestamp("date_creation"));
-        admin.setLastLogin(rs.getTimestamp("derniere_connexion"));
-
-        // Admin-specific fields
-        admin.setAdminId(rs.getInt("admin_id"));
-        admin.setAccessLevel(AccessLevel.valueOf(rs.getString("niveau_acces")));
-        admin.setDepartment(rs.getString("departement"));
-
-        return admin;
-    }
+    static final ColumnMapper<Admin> ADMIN_MAPPER = new ColumnMapper<>(columns -> {
+        UserDAO.UserColumns userColumns = new UserDAO.UserColumns(columns);
+        int adminId = columns.index("admin_id");
+        int accessLevel = columns.index("niveau_acces");
+        int department = columns.index("departement");
+
+        return rs -> {
+            Admin admin = new Admin();
+            userColumns.read(rs, admin);
+            admin.setAdminId(rs.getInt(adminId));
+            admin.setAccessLevel(ACCESS_LEVELS.decode(rs.getString(accessLevel)));
+            admin.setDepartment(rs.getString(department));
+            return admin;
+        };
+    });
 }
\ No newline at end of file
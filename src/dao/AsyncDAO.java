@@ -0,0 +1,86 @@
+package dao;
+
+import utils.Constants;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs DAO calls on background threads, so that the Swing Event Dispatch Thread never
+ * waits for the database.
+ *
+ * Any DAO method can be wrapped; the result is a CompletableFuture completed on a DAO
+ * thread, to be handed back to the EDT by the caller:
+ * <pre>
+ *     AsyncDAO.supply(() -> disputeDAO.getDisputesByAgent(agentId))
+ *             .thenAcceptAsync(this::showDisputes, SwingUtilities::invokeLater);
+ * </pre>
+ * A call that takes longer than its timeout completes with a TimeoutException.
+ * Cancelling the future, or a timeout, interrupts the DAO thread and drops the result.
+ *
+ * Writes already go through the group-commit writer; this facade is meant for reads
+ * and for the synchronous DAO methods that wait for a write.
+ */
+public final class AsyncDAO {
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    // As many threads as read connections: more would only wait for the reader pool
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Constants.ASYNC_DAO_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "dao-async-" + THREAD_NUMBER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private AsyncDAO() {
+    }
+
+    /**
+     * Run a DAO call in the background, with the default timeout
+     * (Constants.ASYNC_DAO_TIMEOUT_MS)
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return supply(call, Constants.ASYNC_DAO_TIMEOUT_MS);
+    }
+
+    /**
+     * Run a DAO call in the background
+     * @param timeoutMs maximum duration of the call, 0 for none
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> call, long timeoutMs) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = EXECUTOR.submit(() -> {
+            // Cancelled while waiting for a thread
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(call.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                task.cancel(true);
+            }
+        });
+        return timeoutMs > 0 ? result.orTimeout(timeoutMs, TimeUnit.MILLISECONDS) : result;
+    }
+
+    /**
+     * Run a DAO call without result in the background, with the default timeout
+     */
+    public static CompletableFuture<Void> run(Runnable call) {
+        return supply(() -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -1,11 +1,13 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.AuditLog;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for AuditLog operations
@@ -16,48 +18,51 @@ public class AuditLogDAO {
      * Create a new audit log entry
      */
     public boolean createLog(AuditLog log) {
+        return WriteQueue.await(createLogAsync(log), "Error creating audit log");
+    }
+
+    /**
+     * Create a new audit log entry through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createLogAsync(AuditLog log) {
         String sql = "INSERT INTO AuditLog (user_id, action, table_affectee, enregistrement_id, " +
                 "anciennes_valeurs, nouvelles_valeurs, adresse_ip) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            if (log.getUserId() != null) {
-                pstmt.setInt(1, log.getUserId());
-            } else {
-                pstmt.setNull(1, Types.INTEGER);
-            }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                if (log.getUserId() != null) {
+                    pstmt.setInt(1, log.getUserId());
+                } else {
+                    pstmt.setNull(1, Types.INTEGER);
+                }
 
-            pstmt.setString(2, log.getAction());
-            pstmt.setString(3, log.getAffectedTable());
+                pstmt.setString(2, log.getAction());
+                pstmt.setString(3, log.getAffectedTable());
 
-            if (log.getRecordId() != null) {
-                pstmt.setInt(4, log.getRecordId());
-            } else {
-                pstmt.setNull(4, Types.INTEGER);
-            }
+                if (log.getRecordId() != null) {
+                    pstmt.setInt(4, log.getRecordId());
+                } else {
+                    pstmt.setNull(4, Types.INTEGER);
+                }
 
-            pstmt.setString(5, log.getOldValues());
-            pstmt.setString(6, log.getNewValues());
-            pstmt.setString(7, log.getIpAddress());
+                pstmt.setString(5, log.getOldValues());
+                pstmt.setString(6, log.getNewValues());
+                pstmt.setString(7, log.getIpAddress());
 
-            int affectedRows = pstmt.executeUpdate();
+                int affectedRows = pstmt.executeUpdate();
 
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    log.setLogId(rs.getInt(1));
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        log.setLogId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating audit log: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     /**
@@ -85,14 +90,14 @@ public class AuditLogDAO {
     public AuditLog getLogById(int logId) {
         String sql = "SELECT * FROM AuditLog WHERE log_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, logId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractLogFromResultSet(rs);
+                return LOG_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -109,12 +114,13 @@ public class AuditLogDAO {
         List<AuditLog> logs = new ArrayList<>();
         String sql = "SELECT * FROM AuditLog ORDER BY timestamp DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<AuditLog> mapper = LOG_MAPPER.bind(rs);
             while (rs.next()) {
-                logs.add(extractLogFromResultSet(rs));
+                logs.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -124,6 +130,26 @@ public class AuditLogDAO {
         return logs;
     }
 
+    /**
+     * Get one page of audit logs, most recent first
+     * @param pageToken token returned with the previous page, null for the first page
+     * @param pageSize number of rows, Constants.DEFAULT_PAGE_SIZE if 0
+     */
+    public Page<AuditLog> getLogsPage(String pageToken, int pageSize) {
+        String sql = "SELECT * FROM AuditLog ORDER BY timestamp DESC, log_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM AuditLog WHERE (timestamp, log_id) < (?, ?) " +
+                "ORDER BY timestamp DESC, log_id DESC LIMIT ?";
+
+        try {
+            return PageQuery.fetch(sql, afterSql, List.of(), "timestamp", "log_id",
+                    pageToken, pageSize, LOG_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting logs page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new Page<>(new ArrayList<>(), null);
+    }
+
     /**
      * Get logs by user
      */
@@ -131,14 +157,15 @@ public class AuditLogDAO {
         List<AuditLog> logs = new ArrayList<>();
         String sql = "SELECT * FROM AuditLog WHERE user_id = ? ORDER BY timestamp DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<AuditLog> mapper = LOG_MAPPER.bind(rs);
             while (rs.next()) {
-                logs.add(extractLogFromResultSet(rs));
+                logs.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -155,14 +182,15 @@ public class AuditLogDAO {
         List<AuditLog> logs = new ArrayList<>();
         String sql = "SELECT * FROM AuditLog WHERE table_affectee = ? ORDER BY timestamp DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, tableName);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<AuditLog> mapper = LOG_MAPPER.bind(rs);
             while (rs.next()) {
-                logs.add(extractLogFromResultSet(rs));
+                logs.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -179,14 +207,15 @@ public class AuditLogDAO {
         List<AuditLog> logs = new ArrayList<>();
         String sql = "SELECT * FROM AuditLog WHERE action = ? ORDER BY timestamp DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, action);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<AuditLog> mapper = LOG_MAPPER.bind(rs);
             while (rs.next()) {
-                logs.add(extractLogFromResultSet(rs));
+                logs.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -204,15 +233,16 @@ public class AuditLogDAO {
         String sql = "SELECT * FROM AuditLog WHERE table_affectee = ? AND enregistrement_id = ? " +
                 "ORDER BY timestamp DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, tableName);
             pstmt.setInt(2, recordId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<AuditLog> mapper = LOG_MAPPER.bind(rs);
             while (rs.next()) {
-                logs.add(extractLogFromResultSet(rs));
+                logs.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -229,15 +259,16 @@ public class AuditLogDAO {
         List<AuditLog> logs = new ArrayList<>();
         String sql = "SELECT * FROM AuditLog WHERE timestamp BETWEEN ? AND ? ORDER BY timestamp DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setTimestamp(1, startDate);
             pstmt.setTimestamp(2, endDate);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<AuditLog> mapper = LOG_MAPPER.bind(rs);
             while (rs.next()) {
-                logs.add(extractLogFromResultSet(rs));
+                logs.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -254,14 +285,15 @@ public class AuditLogDAO {
         List<AuditLog> logs = new ArrayList<>();
         String sql = "SELECT * FROM AuditLog ORDER BY timestamp DESC LIMIT ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, limit);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<AuditLog> mapper = LOG_MAPPER.bind(rs);
             while (rs.next()) {
-                logs.add(extractLogFromResultSet(rs));
+                logs.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -275,19 +307,22 @@ public class AuditLogDAO {
      * Delete old logs (older than specified days)
      */
     public boolean deleteOldLogs(int daysOld) {
-        String sql = "DELETE FROM AuditLog WHERE timestamp < datetime('now', '-' || ? || ' days')";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(deleteOldLogsAsync(daysOld), "Error deleting old logs");
+    }
 
-            pstmt.setInt(1, daysOld);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Delete old logs (older than specified days) through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> deleteOldLogsAsync(int daysOld) {
+        String sql = "DELETE FROM AuditLog WHERE timestamp < datetime('now', '-' || ? || ' days')";
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting old logs: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, daysOld);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -296,7 +331,7 @@ public class AuditLogDAO {
     public int getLogCount() {
         String sql = "SELECT COUNT(*) FROM AuditLog";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
@@ -312,30 +347,41 @@ public class AuditLogDAO {
     }
 
     /**
-     * Extract AuditLog object from ResultSet
+     * Maps an AuditLog row to an AuditLog
      */
-    private AuditLog extractLogFromResultSet(ResultSet rs) throws SQLException {
-        AuditLog log = new AuditLog();
-        log.setLogId(rs.getInt("log_id"));
-
-        int userId = rs.getInt("user_id");
-        if (!rs.wasNull()) {
-            log.setUserId(userId);
-        }
-
-        log.setAction(rs.getString("action"));
-        log.setAffectedTable(rs.getString("table_affectee"));
+    static final ColumnMapper<AuditLog> LOG_MAPPER = new ColumnMapper<>(columns -> {
+        int logId = columns.index("log_id");
+        int userId = columns.index("user_id");
+        int action = columns.index("action");
+        int affectedTable = columns.index("table_affectee");
+        int recordId = columns.index("enregistrement_id");
+        int oldValues = columns.index("anciennes_valeurs");
+        int newValues = columns.index("nouvelles_valeurs");
+        int ipAddress = columns.index("adresse_ip");
+        int timestamp = columns.index("timestamp");
+
+        return rs -> {
+            AuditLog log = new AuditLog();
+            log.setLogId(rs.getInt(logId));
+
+            int user = rs.getInt(userId);
+            if (!rs.wasNull()) {
+                log.setUserId(user);
+            }
 
-        int recordId = rs.getInt("enregistrement_id");
-        if (!rs.wasNull()) {
-            log.setRecordId(recordId);
-        }
+            log.setAction(rs.getString(action));
+            log.setAffectedTable(rs.getString(affectedTable));
 
-        log.setOldValues(rs.getString("anciennes_valeurs"));
-        log.setNewValues(rs.getString("nouvelles_valeurs"));
-        log.setIpAddress(rs.getString("adresse_ip"));
-        log.setTimestamp(rs.getTimestamp("timestamp"));
+            int record = rs.getInt(recordId);
+            if (!rs.wasNull()) {
+                log.setRecordId(record);
+            }
 
-        return log;
-    }
+            log.setOldValues(rs.getString(oldValues));
+            log.setNewValues(rs.getString(newValues));
+            log.setIpAddress(rs.getString(ipAddress));
+            log.setTimestamp(ColumnMapper.timestamp(rs, timestamp));
+            return log;
+        };
+    });
 }
\ No newline at end of file
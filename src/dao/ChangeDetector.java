@@ -0,0 +1,201 @@
+package dao;
+
+import database.DatabaseConfig;
+import utils.Constants;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background detector of committed changes to the tables shown on the dashboards
+ * (Users, Parcelles, Transactions, Litiges), by this application or by another client.
+ *
+ * Every Constants.CHANGE_POLL_INTERVAL_MS, PRAGMA data_version is read on a dedicated
+ * connection: it only moves when another connection commits, so a quiet database costs
+ * one pragma per poll. When it moves, the VersionsTables rows, incremented by triggers,
+ * tell which tables changed, and only the listeners of those tables are called.
+ *
+ * Listeners run on the detector thread: UI work must go through the event dispatch
+ * thread. The detector thread starts with the first subscription; while nobody listens,
+ * it does not poll and its connection is closed.
+ */
+public final class ChangeDetector {
+
+    public static final String USERS = "Users";
+    public static final String PARCELS = "Parcelles";
+    public static final String TRANSACTIONS = "Transactions";
+    public static final String DISPUTES = "Litiges";
+
+    private static final ChangeDetector INSTANCE = new ChangeDetector(Constants.CHANGE_POLL_INTERVAL_MS);
+
+    /**
+     * Registration of one listener; close it to stop receiving changes
+     */
+    public final class Subscription implements AutoCloseable {
+        private final Runnable listener;
+        private final Set<String> tables;
+
+        private Subscription(Runnable listener, Set<String> tables) {
+            this.listener = listener;
+            this.tables = tables;
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+
+    private final long pollIntervalMs;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong changes = new AtomicLong();
+    private ScheduledExecutorService scheduler;
+
+    // Used by the detector thread only
+    private Connection connection;
+    private long dataVersion;
+    private Map<String, Long> versions = new HashMap<>();
+
+    private ChangeDetector(long pollIntervalMs) {
+        this.pollIntervalMs = pollIntervalMs;
+    }
+
+    public static ChangeDetector getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Call a listener each time one of the tables changes
+     * @param listener called on the detector thread
+     * @param tables table names (USERS, PARCELS...)
+     */
+    public Subscription subscribe(Runnable listener, String... tables) {
+        Subscription subscription = new Subscription(listener, Set.of(tables));
+        subscriptions.add(subscription);
+        start();
+        return subscription;
+    }
+
+    /**
+     * Readable summary of the detector metrics
+     */
+    public String getStatistics() {
+        return String.format("Change detector[subscriptions=%d, polls=%d, changes=%d]",
+                subscriptions.size(), polls.get(), changes.get());
+    }
+
+    private synchronized void start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "change-detector");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void poll() {
+        if (subscriptions.isEmpty()) {
+            closeConnection();
+            versions = new HashMap<>();
+            return;
+        }
+
+        try {
+            if (connection == null) {
+                connection = DatabaseConfig.openDedicatedReadConnection();
+                dataVersion = -1;
+            }
+
+            polls.incrementAndGet();
+            long current = readDataVersion();
+            if (current == dataVersion) {
+                return;
+            }
+            dataVersion = current;
+
+            Map<String, Long> latest = readTableVersions();
+            Set<String> changed = new HashSet<>();
+            // First read: nothing to compare with, the screens have just been loaded
+            if (!versions.isEmpty()) {
+                for (Map.Entry<String, Long> entry : latest.entrySet()) {
+                    if (!Objects.equals(versions.get(entry.getKey()), entry.getValue())) {
+                        changed.add(entry.getKey());
+                    }
+                }
+            }
+            versions = latest;
+
+            if (!changed.isEmpty()) {
+                changes.incrementAndGet();
+                notifyListeners(changed);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error checking database changes: " + e.getMessage());
+            e.printStackTrace();
+            // Reopened on the next poll; the table versions are kept to catch up
+            closeConnection();
+        }
+    }
+
+    private long readDataVersion() throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private Map<String, Long> readTableVersions() throws SQLException {
+        Map<String, Long> latest = new HashMap<>();
+        String sql = "SELECT nom_table, version FROM VersionsTables";
+
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                latest.put(rs.getString("nom_table"), rs.getLong("version"));
+            }
+        }
+        return latest;
+    }
+
+    private void notifyListeners(Set<String> changed) {
+        for (Subscription subscription : subscriptions) {
+            if (!Collections.disjoint(subscription.tables, changed)) {
+                try {
+                    subscription.listener.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error in change listener: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing change detector connection: " + e.getMessage());
+            }
+            connection = null;
+        }
+    }
+}
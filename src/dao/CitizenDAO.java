@@ -1,81 +1,105 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.Citizen;
 import models.User.UserRole;
+import utils.Constants;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for Citizen operations
  */
 public class CitizenDAO {
 
+    // Parameters per IN (...) list, well below the SQLite limit on host parameters
+    private static final int NAME_BATCH_SIZE = 500;
+
+    // Shared by all instances; UserDAO writes invalidate through invalidateUser()
+    private static final IdentityCache<Citizen> CITIZENS_BY_ID =
+            new IdentityCache<>("citizens", Constants.IDENTITY_CACHE_SIZE, Citizen::new);
+    private static final IdentityCache<Citizen> CITIZENS_BY_USER_ID =
+            new IdentityCache<>("citizens by user", Constants.IDENTITY_CACHE_SIZE, Citizen::new);
+
     private UserDAO userDAO = new UserDAO();
 
     /**
      * Create a new citizen (creates User first, then Citizen entry)
      */
     public boolean createCitizen(Citizen citizen) {
-        // First, create the user
-        citizen.setRole(UserRole.CITIZEN);
-        boolean userCreated = userDAO.createUser(citizen);
-
-        if (!userCreated) {
-            System.err.println("Failed to create user for citizen");
-            return false;
-        }
+        return WriteQueue.await(createCitizenAsync(citizen), "Error creating citizen");
+    }
 
-        // Then create the citizen entry with a fresh connection
+    /**
+     * Create a new citizen (creates User first, then Citizen entry) through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createCitizenAsync(Citizen citizen) {
         String sql = "INSERT INTO Citoyens (user_id, numero_cni, date_naissance, lieu_naissance, " +
                 "adresse_complete, profession) VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setInt(1, citizen.getUserId());
-            pstmt.setString(2, citizen.getIdCardNumber());
-            pstmt.setDate(3, citizen.getDateOfBirth());
-            pstmt.setString(4, citizen.getPlaceOfBirth());
-            pstmt.setString(5, citizen.getFullAddress());
-            pstmt.setString(6, citizen.getOccupation());
-
-            int affectedRows = pstmt.executeUpdate();
+        // User and citizen rows share one group-commit slot: if the second insert
+        // fails, the savepoint also rolls back the user row
+        return DatabaseConfig.submitWrite(conn -> {
+            // First, create the user (runs inline on the writer connection)
+            citizen.setRole(UserRole.CITIZEN);
+            if (!userDAO.createUser(citizen)) {
+                System.err.println("Failed to create user for citizen");
+                return false;
+            }
 
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    citizen.setCitizenId(rs.getInt(1));
+            // Then create the citizen entry
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setInt(1, citizen.getUserId());
+                pstmt.setString(2, citizen.getIdCardNumber());
+                pstmt.setDate(3, citizen.getDateOfBirth());
+                pstmt.setString(4, citizen.getPlaceOfBirth());
+                pstmt.setString(5, citizen.getFullAddress());
+                pstmt.setString(6, citizen.getOccupation());
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        citizen.setCitizenId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating citizen: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     /**
-     * Get citizen by citizen ID
+     * Get citizen by citizen ID, from the identity cache when possible
      */
     public Citizen getCitizenById(int citizenId) {
+        return CITIZENS_BY_ID.get(citizenId, this::loadCitizenById);
+    }
+
+    private Citizen loadCitizenById(int citizenId) {
         String sql = "SELECT c.*, u.* FROM Citoyens c " +
                 "JOIN Users u ON c.user_id = u.user_id " +
                 "WHERE c.citoyen_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, citizenId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractCitizenFromResultSet(rs);
+                return CITIZEN_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -86,21 +110,25 @@ public class CitizenDAO {
     }
 
     /**
-     * Get citizen by user ID
+     * Get citizen by user ID, from the identity cache when possible
      */
     public Citizen getCitizenByUserId(int userId) {
+        return CITIZENS_BY_USER_ID.get(userId, this::loadCitizenByUserId);
+    }
+
+    private Citizen loadCitizenByUserId(int userId) {
         String sql = "SELECT c.*, u.* FROM Citoyens c " +
                 "JOIN Users u ON c.user_id = u.user_id " +
                 "WHERE c.user_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractCitizenFromResultSet(rs);
+                return CITIZEN_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -118,14 +146,14 @@ public class CitizenDAO {
                 "JOIN Users u ON c.user_id = u.user_id " +
                 "WHERE c.numero_cni = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, idCardNumber);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractCitizenFromResultSet(rs);
+                return CITIZEN_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -141,7 +169,7 @@ public class CitizenDAO {
     public boolean updateCitizen(Citizen citizen) {
         Connection conn = null;
         try {
-            conn = DatabaseConfig.getConnection();
+            conn = DatabaseConfig.getWriteConnection();
             conn.setAutoCommit(false);
 
             // Update user information
@@ -184,8 +212,12 @@ public class CitizenDAO {
             e.printStackTrace();
             return false;
         } finally {
+            invalidateUser(citizen.getUserId());
             try {
-                if (conn != null) conn.setAutoCommit(true);
+                if (conn != null) {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                }
             } catch (SQLException e) {
                 e.printStackTrace();
             }
@@ -201,12 +233,13 @@ public class CitizenDAO {
                 "JOIN Users u ON c.user_id = u.user_id " +
                 "ORDER BY u.date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<Citizen> mapper = CITIZEN_MAPPER.bind(rs);
             while (rs.next()) {
-                citizens.add(extractCitizenFromResultSet(rs));
+                citizens.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -217,26 +250,33 @@ public class CitizenDAO {
     }
 
     /**
-     * Search citizens by name
+     * Search citizens by first or last name prefixes, ignoring accents, best matches first
+     * @return at most Constants.MAX_SEARCH_RESULTS citizens
      */
     public List<Citizen> searchCitizensByName(String searchTerm) {
         List<Citizen> citizens = new ArrayList<>();
-        String sql = "SELECT c.*, u.* FROM Citoyens c " +
-                "JOIN Users u ON c.user_id = u.user_id " +
-                "WHERE u.nom LIKE ? OR u.prenom LIKE ? " +
-                "ORDER BY u.nom, u.prenom";
+        String sql = "SELECT c.*, u.* FROM users_fts " +
+                "JOIN Users u ON u.user_id = users_fts.rowid " +
+                "JOIN Citoyens c ON c.user_id = u.user_id " +
+                "WHERE users_fts MATCH ? " +
+                "ORDER BY rank LIMIT ?";
+
+        String expression = FullTextQuery.toMatchExpression(searchTerm);
+        if (expression == null) {
+            return citizens;
+        }
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            String searchPattern = "%" + searchTerm + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
+            pstmt.setString(1, expression);
+            pstmt.setInt(2, Constants.MAX_SEARCH_RESULTS);
 
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Citizen> mapper = CITIZEN_MAPPER.bind(rs);
             while (rs.next()) {
-                citizens.add(extractCitizenFromResultSet(rs));
+                citizens.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -246,6 +286,46 @@ public class CitizenDAO {
         return citizens;
     }
 
+    /**
+     * Display names ("first last") of several citizens, read in a few IN (...) queries
+     * instead of one query per citizen; use it to fill tables with an owner column
+     * @param citizenIds citizen IDs, duplicates and nulls are ignored
+     * @return names by citizen ID; unknown IDs are absent
+     */
+    public Map<Integer, String> getCitizenNames(Collection<Integer> citizenIds) {
+        Map<Integer, String> names = new HashMap<>();
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(citizenIds));
+        ids.removeIf(id -> id == null || id <= 0);
+        if (ids.isEmpty()) {
+            return names;
+        }
+
+        try (Connection conn = DatabaseConfig.getReadConnection()) {
+            for (int start = 0; start < ids.size(); start += NAME_BATCH_SIZE) {
+                List<Integer> batch = ids.subList(start, Math.min(start + NAME_BATCH_SIZE, ids.size()));
+                String sql = "SELECT c.citoyen_id, u.prenom, u.nom FROM Citoyens c " +
+                        "JOIN Users u ON c.user_id = u.user_id " +
+                        "WHERE c.citoyen_id IN (" + String.join(", ", Collections.nCopies(batch.size(), "?")) + ")";
+
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        pstmt.setInt(i + 1, batch.get(i));
+                    }
+
+                    ResultSet rs = pstmt.executeQuery();
+                    while (rs.next()) {
+                        names.put(rs.getInt("citoyen_id"), rs.getString("prenom") + " " + rs.getString("nom"));
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting citizen names: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return names;
+    }
+
     /**
      * Delete citizen
      */
@@ -258,13 +338,28 @@ public class CitizenDAO {
         return false;
     }
 
+    /**
+     * Drop the cached citizen of a user; called after every write to its Users or Citoyens row
+     */
+    static void invalidateUser(int userId) {
+        CITIZENS_BY_USER_ID.invalidate(userId);
+        CITIZENS_BY_ID.invalidateIf(citizen -> citizen.getUserId() == userId);
+    }
+
+    /**
+     * Metrics of the citizen identity caches
+     */
+    public static String getCacheStatistics() {
+        return CITIZENS_BY_ID.getStatistics() + "\n" + CITIZENS_BY_USER_ID.getStatistics();
+    }
+
     /**
      * Check if ID card number exists
      */
     public boolean idCardExists(String idCardNumber) {
         String sql = "SELECT COUNT(*) FROM Citoyens WHERE numero_cni = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, idCardNumber);
@@ -282,31 +377,27 @@ public class CitizenDAO {
     }
 
     /**
-     * Extract Citizen object from ResultSet
+     * Maps a Users JOIN Citoyens row to a Citizen
      */
-    private Citizen extractCitizenFromResultSet(ResultSet rs) throws SQLException {
-        Citizen citizen = new Citizen();
-
-        // User fields
-        citizen.setUserId(rs.getInt("user_id"));
-        citizen.setLastName(rs.getString("nom"));
-        citizen.setFirstName(rs.getString("prenom"));
-        citizen.setEmail(rs.getString("email"));
-        citizen.setPhone(rs.getString("telephone"));
-        citizen.setPassword(rs.getString("mot_de_passe"));
-        citizen.setRole(UserRole.valueOf(rs.getString("role")));
-        citizen.setAccountStatus(models.User.AccountStatus.valueOf(rs.getString("account_status")));
-        citizen.setCreatedAt(rs.getTimestamp("date_creation"));
-        citizen.setLastLogin(rs.getTimestamp("derniere_connexion"));
-
-        // Citizen-specific fields
-        citizen.setCitizenId(rs.getInt("citoyen_id"));
-        citizen.setIdCardNumber(rs.getString("numero_cni"));
-        citizen.setDateOfBirth(rs.getDate("date_naissance"));
-        citizen.setPlaceOfBirth(rs.getString("lieu_naissance"));
-        citizen.setFullAddress(rs.getString("adresse_complete"));
-        citizen.setOccupation(rs.getString("profession"));
-
-        return citizen;
-    }
+    static final ColumnMapper<Citizen> CITIZEN_MAPPER = new ColumnMapper<>(columns -> {
+        UserDAO.UserColumns userColumns = new UserDAO.UserColumns(columns);
+        int citizenId = columns.index("citoyen_id");
+        int idCardNumber = columns.index("numero_cni");
+        int dateOfBirth = columns.index("date_naissance");
+        int placeOfBirth = columns.index("lieu_naissance");
+        int fullAddress = columns.index("adresse_complete");
+        int occupation = columns.index("profession");
+
+        return rs -> {
+            Citizen citizen = new Citizen();
+            userColumns.read(rs, citizen);
+            citizen.setCitizenId(rs.getInt(citizenId));
+            citizen.setIdCardNumber(rs.getString(idCardNumber));
+            citizen.setDateOfBirth(ColumnMapper.date(rs, dateOfBirth));
+            citizen.setPlaceOfBirth(rs.getString(placeOfBirth));
+            citizen.setFullAddress(rs.getString(fullAddress));
+            citizen.setOccupation(rs.getString(occupation));
+            return citizen;
+        };
+    });
 }
\ No newline at end of file
@@ -0,0 +1,157 @@
+package dao;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Row mapper of one model, compiled once per result set shape.
+ *
+ * Reading a column by name makes the driver look the name up on every row. Here the
+ * binder looks every column up once and returns a RowMapper that reads by index; the
+ * mapper is kept for each list of column labels, so a query run again reuses it. Bind
+ * before the loop over the rows:
+ * <pre>
+ *     RowMapper&lt;Parcel&gt; mapper = ParcelDAO.PARCEL_MAPPER.bind(rs);
+ *     while (rs.next()) {
+ *         parcels.add(mapper.map(rs));
+ *     }
+ * </pre>
+ *
+ * Dates are decoded by timestamp() and date(), which accept both storages found in the
+ * tables: milliseconds (dates bound by the driver) and SQLite text (CURRENT_TIMESTAMP,
+ * CURRENT_DATE). The driver's getDate() rejects the latter.
+ */
+final class ColumnMapper<T> {
+
+    /**
+     * Resolves the columns of a result set shape and returns the mapper reading them
+     */
+    @FunctionalInterface
+    interface Binder<T> {
+        RowMapper<T> bind(Columns columns) throws SQLException;
+    }
+
+    /**
+     * Column indexes of a result set shape, by label (case-insensitive, first one wins
+     * as with ResultSet.findColumn)
+     */
+    static final class Columns {
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        Columns(String[] labels) {
+            for (int i = 0; i < labels.length; i++) {
+                indexes.putIfAbsent(labels[i].toLowerCase(Locale.ROOT), i + 1);
+            }
+        }
+
+        /**
+         * @throws SQLException if the result set has no such column
+         */
+        int index(String label) throws SQLException {
+            Integer index = indexes.get(label.toLowerCase(Locale.ROOT));
+            if (index == null) {
+                throw new SQLException("No such column: " + label);
+            }
+            return index;
+        }
+
+        /**
+         * @return the column index, or 0 if the result set has no such column
+         * (timestamp() and date() read 0 as null)
+         */
+        int optionalIndex(String label) {
+            return indexes.getOrDefault(label.toLowerCase(Locale.ROOT), 0);
+        }
+    }
+
+    private final Binder<T> binder;
+    private final Map<String, RowMapper<T>> mappersByShape = new ConcurrentHashMap<>();
+
+    ColumnMapper(Binder<T> binder) {
+        this.binder = binder;
+    }
+
+    /**
+     * Mapper for the rows of this result set
+     */
+    RowMapper<T> bind(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        String[] labels = new String[metaData.getColumnCount()];
+        StringBuilder shape = new StringBuilder();
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1);
+            shape.append(labels[i]).append(',');
+        }
+
+        String key = shape.toString();
+        RowMapper<T> mapper = mappersByShape.get(key);
+        if (mapper == null) {
+            mapper = binder.bind(new Columns(labels));
+            mappersByShape.putIfAbsent(key, mapper);
+        }
+        return mapper;
+    }
+
+    /**
+     * Map the current row only, e.g. after a single rs.next()
+     */
+    T mapRow(ResultSet rs) throws SQLException {
+        return bind(rs).map(rs);
+    }
+
+    /**
+     * @param column column index, 0 for a column missing from the result set
+     * @return the timestamp, or null if the column is missing, NULL or not a date
+     */
+    static Timestamp timestamp(ResultSet rs, int column) throws SQLException {
+        if (column == 0) {
+            return null;
+        }
+        Object value = rs.getObject(column);
+        if (value instanceof Long || value instanceof Integer) {
+            return new Timestamp(((Number) value).longValue());
+        }
+        if (!(value instanceof String)) {
+            return null;
+        }
+
+        String text = ((String) value).trim().replace('T', ' ');
+        try {
+            return text.length() == 10 ? new Timestamp(Date.valueOf(text).getTime()) : Timestamp.valueOf(text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param column column index, 0 for a column missing from the result set
+     * @return the date (time of day dropped from text values), or null if the column is
+     * missing, NULL or not a date
+     */
+    static Date date(ResultSet rs, int column) throws SQLException {
+        if (column == 0) {
+            return null;
+        }
+        Object value = rs.getObject(column);
+        if (value instanceof Long || value instanceof Integer) {
+            return new Date(((Number) value).longValue());
+        }
+        if (!(value instanceof String)) {
+            return null;
+        }
+
+        String text = ((String) value).trim();
+        try {
+            return Date.valueOf(text.length() > 10 ? text.substring(0, 10) : text);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
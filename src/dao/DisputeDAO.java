@@ -1,12 +1,15 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.Dispute;
 import models.Dispute.*;
+import utils.Constants;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for Dispute operations
@@ -17,45 +20,48 @@ public class DisputeDAO {
      * Create a new dispute
      */
     public boolean createDispute(Dispute dispute) {
+        return WriteQueue.await(createDisputeAsync(dispute), "Error creating dispute");
+    }
+
+    /**
+     * Create a new dispute through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createDisputeAsync(Dispute dispute) {
         String sql = "INSERT INTO Litiges (parcelle_id, plaignant_id, defendeur_id, type_litige, " +
                 "description, statut_litige, priorite, date_ouverture, preuves_fournies) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setInt(1, dispute.getParcelId());
-            pstmt.setInt(2, dispute.getComplainantId());
-
-            if (dispute.getDefendantId() != null) {
-                pstmt.setInt(3, dispute.getDefendantId());
-            } else {
-                pstmt.setNull(3, Types.INTEGER);
-            }
-
-            pstmt.setString(4, dispute.getType().name());
-            pstmt.setString(5, dispute.getDescription());
-            pstmt.setString(6, dispute.getStatus().name());
-            pstmt.setString(7, dispute.getPriority().name());
-            pstmt.setDate(8, dispute.getOpenedDate());
-            pstmt.setString(9, dispute.getEvidenceProvided());
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setInt(1, dispute.getParcelId());
+                pstmt.setInt(2, dispute.getComplainantId());
 
-            int affectedRows = pstmt.executeUpdate();
+                if (dispute.getDefendantId() != null) {
+                    pstmt.setInt(3, dispute.getDefendantId());
+                } else {
+                    pstmt.setNull(3, Types.INTEGER);
+                }
 
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    dispute.setDisputeId(rs.getInt(1));
+                pstmt.setString(4, dispute.getType().name());
+                pstmt.setString(5, dispute.getDescription());
+                pstmt.setString(6, dispute.getStatus().name());
+                pstmt.setString(7, dispute.getPriority().name());
+                pstmt.setDate(8, dispute.getOpenedDate());
+                pstmt.setString(9, dispute.getEvidenceProvided());
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        dispute.setDisputeId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating dispute: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     /**
@@ -64,14 +70,14 @@ public class DisputeDAO {
     public Dispute getDisputeById(int disputeId) {
         String sql = "SELECT * FROM Litiges WHERE litige_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, disputeId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractDisputeFromResultSet(rs);
+                return DISPUTE_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -85,123 +91,138 @@ public class DisputeDAO {
      * Update dispute
      */
     public boolean updateDispute(Dispute dispute) {
+        return WriteQueue.await(updateDisputeAsync(dispute), "Error updating dispute");
+    }
+
+    /**
+     * Update dispute through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updateDisputeAsync(Dispute dispute) {
         String sql = "UPDATE Litiges SET defendeur_id = ?, type_litige = ?, description = ?, " +
                 "statut_litige = ?, priorite = ?, agent_assigne = ?, resolution = ?, " +
                 "preuves_fournies = ? WHERE litige_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            if (dispute.getDefendantId() != null) {
-                pstmt.setInt(1, dispute.getDefendantId());
-            } else {
-                pstmt.setNull(1, Types.INTEGER);
-            }
-
-            pstmt.setString(2, dispute.getType().name());
-            pstmt.setString(3, dispute.getDescription());
-            pstmt.setString(4, dispute.getStatus().name());
-            pstmt.setString(5, dispute.getPriority().name());
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                if (dispute.getDefendantId() != null) {
+                    pstmt.setInt(1, dispute.getDefendantId());
+                } else {
+                    pstmt.setNull(1, Types.INTEGER);
+                }
 
-            if (dispute.getAssignedAgentId() != null) {
-                pstmt.setInt(6, dispute.getAssignedAgentId());
-            } else {
-                pstmt.setNull(6, Types.INTEGER);
-            }
+                pstmt.setString(2, dispute.getType().name());
+                pstmt.setString(3, dispute.getDescription());
+                pstmt.setString(4, dispute.getStatus().name());
+                pstmt.setString(5, dispute.getPriority().name());
 
-            pstmt.setString(7, dispute.getResolution());
-            pstmt.setString(8, dispute.getEvidenceProvided());
-            pstmt.setInt(9, dispute.getDisputeId());
+                if (dispute.getAssignedAgentId() != null) {
+                    pstmt.setInt(6, dispute.getAssignedAgentId());
+                } else {
+                    pstmt.setNull(6, Types.INTEGER);
+                }
 
-            return pstmt.executeUpdate() > 0;
+                pstmt.setString(7, dispute.getResolution());
+                pstmt.setString(8, dispute.getEvidenceProvided());
+                pstmt.setInt(9, dispute.getDisputeId());
 
-        } catch (SQLException e) {
-            System.err.println("Error updating dispute: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Assign agent to dispute
      */
     public boolean assignAgent(int disputeId, int agentId) {
-        String sql = "UPDATE Litiges SET agent_assigne = ?, statut_litige = 'IN_PROGRESS' WHERE litige_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(assignAgentAsync(disputeId, agentId), "Error assigning agent to dispute");
+    }
 
-            pstmt.setInt(1, agentId);
-            pstmt.setInt(2, disputeId);
+    /**
+     * Assign agent to dispute through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> assignAgentAsync(int disputeId, int agentId) {
+        String sql = "UPDATE Litiges SET agent_assigne = ?, statut_litige = 'IN_PROGRESS' WHERE litige_id = ?";
 
-            return pstmt.executeUpdate() > 0;
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, agentId);
+                pstmt.setInt(2, disputeId);
 
-        } catch (SQLException e) {
-            System.err.println("Error assigning agent to dispute: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Resolve dispute
      */
     public boolean resolveDispute(int disputeId, String resolution) {
+        return WriteQueue.await(resolveDisputeAsync(disputeId, resolution), "Error resolving dispute");
+    }
+
+    /**
+     * Resolve dispute through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> resolveDisputeAsync(int disputeId, String resolution) {
         String sql = "UPDATE Litiges SET statut_litige = 'RESOLVED', resolution = ?, " +
                 "date_resolution = CURRENT_DATE WHERE litige_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, resolution);
-            pstmt.setInt(2, disputeId);
-
-            return pstmt.executeUpdate() > 0;
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, resolution);
+                pstmt.setInt(2, disputeId);
 
-        } catch (SQLException e) {
-            System.err.println("Error resolving dispute: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Close dispute
      */
     public boolean closeDispute(int disputeId) {
-        String sql = "UPDATE Litiges SET statut_litige = 'CLOSED' WHERE litige_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(closeDisputeAsync(disputeId), "Error closing dispute");
+    }
 
-            pstmt.setInt(1, disputeId);
+    /**
+     * Close dispute through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> closeDisputeAsync(int disputeId) {
+        String sql = "UPDATE Litiges SET statut_litige = 'CLOSED' WHERE litige_id = ?";
 
-            return pstmt.executeUpdate() > 0;
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, disputeId);
 
-        } catch (SQLException e) {
-            System.err.println("Error closing dispute: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Delete dispute
      */
     public boolean deleteDispute(int disputeId) {
-        String sql = "DELETE FROM Litiges WHERE litige_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(deleteDisputeAsync(disputeId), "Error deleting dispute");
+    }
 
-            pstmt.setInt(1, disputeId);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Delete dispute through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> deleteDisputeAsync(int disputeId) {
+        String sql = "DELETE FROM Litiges WHERE litige_id = ?";
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting dispute: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, disputeId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -211,12 +232,13 @@ public class DisputeDAO {
         List<Dispute> disputes = new ArrayList<>();
         String sql = "SELECT * FROM Litiges ORDER BY date_ouverture DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<Dispute> mapper = DISPUTE_MAPPER.bind(rs);
             while (rs.next()) {
-                disputes.add(extractDisputeFromResultSet(rs));
+                disputes.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -226,6 +248,96 @@ public class DisputeDAO {
         return disputes;
     }
 
+    /**
+     * Find the disputes matching a filter, most recently opened first
+     * @param filter status and priority (enum names), and a text found in the
+     *               "id parcel type status priority" of the dispute
+     * @return at most Constants.MAX_FILTER_RESULTS rows
+     */
+    public List<Dispute> searchDisputes(SearchFilter filter) {
+        List<Dispute> disputes = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT * FROM Litiges" +
+                filter.toWhere("(litige_id || ' ' || parcelle_id || ' ' || type_litige || ' ' || statut_litige || ' ' || priorite)",
+                        List.of("statut_litige", "priorite"), params) +
+                " ORDER BY date_ouverture DESC, litige_id DESC LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            pstmt.setInt(params.size() + 1, Constants.MAX_FILTER_RESULTS);
+            ResultSet rs = pstmt.executeQuery();
+
+            RowMapper<Dispute> mapper = DISPUTE_MAPPER.bind(rs);
+            while (rs.next()) {
+                disputes.add(mapper.map(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error searching disputes: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return disputes;
+    }
+
+    /**
+     * Check a dispute against a filter in memory, with the rules of searchDisputes()
+     */
+    public static boolean matches(Dispute dispute, SearchFilter filter) {
+        String status = dispute.getStatus() != null ? dispute.getStatus().name() : null;
+        String priority = dispute.getPriority() != null ? dispute.getPriority().name() : null;
+        return filter.matches(dispute.getDisputeId() + " " + dispute.getParcelId() + " " +
+                dispute.getType() + " " + status + " " + priority, status, priority);
+    }
+
+    /**
+     * Get one page of disputes, most recently opened first
+     * @param pageToken token returned with the previous page, null for the first page
+     * @param pageSize number of rows, Constants.DEFAULT_PAGE_SIZE if 0
+     */
+    public Page<Dispute> getDisputesPage(String pageToken, int pageSize) {
+        String sql = "SELECT * FROM Litiges ORDER BY date_ouverture DESC, litige_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM Litiges WHERE (date_ouverture, litige_id) < (?, ?) " +
+                "ORDER BY date_ouverture DESC, litige_id DESC LIMIT ?";
+
+        try {
+            return PageQuery.fetch(sql, afterSql, List.of(), "date_ouverture", "litige_id",
+                    pageToken, pageSize, DISPUTE_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting disputes page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new Page<>(new ArrayList<>(), null);
+    }
+
+    /**
+     * Get a window of disputes in the order of getDisputesPage(), for tables loaded on demand
+     * @param pageToken token returned with the previous window: the rows are read from the
+     *                  index position it encodes; null to skip offset rows instead
+     * @param offset index of the first row, used without token
+     * @param limit maximum number of rows
+     * @return the rows, with the token of the next window, or null if the window could not
+     *         be read (the table then tries it again later)
+     */
+    public Page<Dispute> getDisputesWindow(String pageToken, int offset, int limit) {
+        String sql = "SELECT * FROM Litiges ORDER BY date_ouverture DESC, litige_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM Litiges WHERE (date_ouverture, litige_id) < (?, ?) " +
+                "ORDER BY date_ouverture DESC, litige_id DESC LIMIT ?";
+        String offsetSql = "SELECT * FROM Litiges ORDER BY date_ouverture DESC, litige_id DESC LIMIT ? OFFSET ?";
+
+        try {
+            return PageQuery.fetchWindow(sql, afterSql, offsetSql, "date_ouverture", "litige_id",
+                    pageToken, offset, limit, DISPUTE_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting disputes window: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     /**
      * Get disputes by parcel
      */
@@ -233,14 +345,15 @@ public class DisputeDAO {
         List<Dispute> disputes = new ArrayList<>();
         String sql = "SELECT * FROM Litiges WHERE parcelle_id = ? ORDER BY date_ouverture DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, parcelId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Dispute> mapper = DISPUTE_MAPPER.bind(rs);
             while (rs.next()) {
-                disputes.add(extractDisputeFromResultSet(rs));
+                disputes.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -258,15 +371,16 @@ public class DisputeDAO {
         String sql = "SELECT * FROM Litiges WHERE plaignant_id = ? OR defendeur_id = ? " +
                 "ORDER BY date_ouverture DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, citizenId);
             pstmt.setInt(2, citizenId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Dispute> mapper = DISPUTE_MAPPER.bind(rs);
             while (rs.next()) {
-                disputes.add(extractDisputeFromResultSet(rs));
+                disputes.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -283,14 +397,15 @@ public class DisputeDAO {
         List<Dispute> disputes = new ArrayList<>();
         String sql = "SELECT * FROM Litiges WHERE statut_litige = ? ORDER BY date_ouverture DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, status.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Dispute> mapper = DISPUTE_MAPPER.bind(rs);
             while (rs.next()) {
-                disputes.add(extractDisputeFromResultSet(rs));
+                disputes.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -307,14 +422,15 @@ public class DisputeDAO {
         List<Dispute> disputes = new ArrayList<>();
         String sql = "SELECT * FROM Litiges WHERE agent_assigne = ? ORDER BY date_ouverture DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, agentId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Dispute> mapper = DISPUTE_MAPPER.bind(rs);
             while (rs.next()) {
-                disputes.add(extractDisputeFromResultSet(rs));
+                disputes.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -331,14 +447,15 @@ public class DisputeDAO {
         List<Dispute> disputes = new ArrayList<>();
         String sql = "SELECT * FROM Litiges WHERE priorite = ? ORDER BY date_ouverture DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, priority.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Dispute> mapper = DISPUTE_MAPPER.bind(rs);
             while (rs.next()) {
-                disputes.add(extractDisputeFromResultSet(rs));
+                disputes.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -354,7 +471,7 @@ public class DisputeDAO {
     public int getDisputeCount() {
         String sql = "SELECT COUNT(*) FROM Litiges";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
@@ -369,35 +486,54 @@ public class DisputeDAO {
         return 0;
     }
 
+    private static final EnumDecoder<DisputeType> DISPUTE_TYPES = EnumDecoder.of(DisputeType.class);
+    private static final EnumDecoder<DisputeStatus> DISPUTE_STATUSES = EnumDecoder.of(DisputeStatus.class);
+    private static final EnumDecoder<Priority> PRIORITIES = EnumDecoder.of(Priority.class);
+
     /**
-     * Extract Dispute object from ResultSet
+     * Maps a Litiges row to a Dispute
      */
-    private Dispute extractDisputeFromResultSet(ResultSet rs) throws SQLException {
-        Dispute dispute = new Dispute();
-        dispute.setDisputeId(rs.getInt("litige_id"));
-        dispute.setParcelId(rs.getInt("parcelle_id"));
-        dispute.setComplainantId(rs.getInt("plaignant_id"));
-
-        int defendantId = rs.getInt("defendeur_id");
-        if (!rs.wasNull()) {
-            dispute.setDefendantId(defendantId);
-        }
+    static final ColumnMapper<Dispute> DISPUTE_MAPPER = new ColumnMapper<>(columns -> {
+        int disputeId = columns.index("litige_id");
+        int parcelId = columns.index("parcelle_id");
+        int complainantId = columns.index("plaignant_id");
+        int defendantId = columns.index("defendeur_id");
+        int type = columns.index("type_litige");
+        int description = columns.index("description");
+        int status = columns.index("statut_litige");
+        int priority = columns.index("priorite");
+        int assignedAgentId = columns.index("agent_assigne");
+        int openedDate = columns.index("date_ouverture");
+        int resolutionDate = columns.index("date_resolution");
+        int resolution = columns.index("resolution");
+        int evidenceProvided = columns.index("preuves_fournies");
+
+        return rs -> {
+            Dispute dispute = new Dispute();
+            dispute.setDisputeId(rs.getInt(disputeId));
+            dispute.setParcelId(rs.getInt(parcelId));
+            dispute.setComplainantId(rs.getInt(complainantId));
+
+            int defendant = rs.getInt(defendantId);
+            if (!rs.wasNull()) {
+                dispute.setDefendantId(defendant);
+            }
 
-        dispute.setType(DisputeType.valueOf(rs.getString("type_litige")));
-        dispute.setDescription(rs.getString("description"));
-        dispute.setStatus(DisputeStatus.valueOf(rs.getString("statut_litige")));
-        dispute.setPriority(Priority.valueOf(rs.getString("priorite")));
+            dispute.setType(DISPUTE_TYPES.decode(rs.getString(type)));
+            dispute.setDescription(rs.getString(description));
+            dispute.setStatus(DISPUTE_STATUSES.decode(rs.getString(status)));
+            dispute.setPriority(PRIORITIES.decode(rs.getString(priority)));
 
-        int assignedAgentId = rs.getInt("agent_assigne");
-        if (!rs.wasNull()) {
-            dispute.setAssignedAgentId(assignedAgentId);
-        }
-
-        dispute.setOpenedDate(rs.getDate("date_ouverture"));
-        dispute.setResolutionDate(rs.getDate("date_resolution"));
-        dispute.setResolution(rs.getString("resolution"));
-        dispute.setEvidenceProvided(rs.getString("preuves_fournies"));
+            int assignedAgent = rs.getInt(assignedAgentId);
+            if (!rs.wasNull()) {
+                dispute.setAssignedAgentId(assignedAgent);
+            }
 
-        return dispute;
-    }
+            dispute.setOpenedDate(ColumnMapper.date(rs, openedDate));
+            dispute.setResolutionDate(ColumnMapper.date(rs, resolutionDate));
+            dispute.setResolution(rs.getString(resolution));
+            dispute.setEvidenceProvided(rs.getString(evidenceProvided));
+            return dispute;
+        };
+    });
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.Document;
 import models.Document.DocumentType;
+import utils.Constants;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for Document operations
@@ -17,55 +20,58 @@ public class DocumentDAO {
      * Create a new document
      */
     public boolean createDocument(Document document) {
+        return WriteQueue.await(createDocumentAsync(document), "Error creating document");
+    }
+
+    /**
+     * Create a new document through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createDocumentAsync(Document document) {
         String sql = "INSERT INTO Documents (type_document, nom_fichier, chemin_fichier, taille_fichier, " +
                 "format_fichier, parcelle_id, transaction_id, user_id, description) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setString(1, document.getType().name());
-            pstmt.setString(2, document.getFileName());
-            pstmt.setString(3, document.getFilePath());
-            pstmt.setLong(4, document.getFileSize());
-            pstmt.setString(5, document.getFileFormat());
-
-            if (document.getParcelId() != null) {
-                pstmt.setInt(6, document.getParcelId());
-            } else {
-                pstmt.setNull(6, Types.INTEGER);
-            }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, document.getType().name());
+                pstmt.setString(2, document.getFileName());
+                pstmt.setString(3, document.getFilePath());
+                pstmt.setLong(4, document.getFileSize());
+                pstmt.setString(5, document.getFileFormat());
+
+                if (document.getParcelId() != null) {
+                    pstmt.setInt(6, document.getParcelId());
+                } else {
+                    pstmt.setNull(6, Types.INTEGER);
+                }
 
-            if (document.getTransactionId() != null) {
-                pstmt.setInt(7, document.getTransactionId());
-            } else {
-                pstmt.setNull(7, Types.INTEGER);
-            }
+                if (document.getTransactionId() != null) {
+                    pstmt.setInt(7, document.getTransactionId());
+                } else {
+                    pstmt.setNull(7, Types.INTEGER);
+                }
 
-            if (document.getUserId() != null) {
-                pstmt.setInt(8, document.getUserId());
-            } else {
-                pstmt.setNull(8, Types.INTEGER);
-            }
+                if (document.getUserId() != null) {
+                    pstmt.setInt(8, document.getUserId());
+                } else {
+                    pstmt.setNull(8, Types.INTEGER);
+                }
 
-            pstmt.setString(9, document.getDescription());
+                pstmt.setString(9, document.getDescription());
 
-            int affectedRows = pstmt.executeUpdate();
+                int affectedRows = pstmt.executeUpdate();
 
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    document.setDocumentId(rs.getInt(1));
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        document.setDocumentId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating document: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     /**
@@ -74,14 +80,14 @@ public class DocumentDAO {
     public Document getDocumentById(int documentId) {
         String sql = "SELECT * FROM Documents WHERE document_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, documentId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractDocumentFromResultSet(rs);
+                return DOCUMENT_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -95,46 +101,52 @@ public class DocumentDAO {
      * Update document
      */
     public boolean updateDocument(Document document) {
+        return WriteQueue.await(updateDocumentAsync(document), "Error updating document");
+    }
+
+    /**
+     * Update document through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updateDocumentAsync(Document document) {
         String sql = "UPDATE Documents SET type_document = ?, nom_fichier = ?, chemin_fichier = ?, " +
                 "taille_fichier = ?, format_fichier = ?, description = ? WHERE document_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, document.getType().name());
-            pstmt.setString(2, document.getFileName());
-            pstmt.setString(3, document.getFilePath());
-            pstmt.setLong(4, document.getFileSize());
-            pstmt.setString(5, document.getFileFormat());
-            pstmt.setString(6, document.getDescription());
-            pstmt.setInt(7, document.getDocumentId());
-
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating document: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, document.getType().name());
+                pstmt.setString(2, document.getFileName());
+                pstmt.setString(3, document.getFilePath());
+                pstmt.setLong(4, document.getFileSize());
+                pstmt.setString(5, document.getFileFormat());
+                pstmt.setString(6, document.getDescription());
+                pstmt.setInt(7, document.getDocumentId());
+
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Delete document
      */
     public boolean deleteDocument(int documentId) {
-        String sql = "DELETE FROM Documents WHERE document_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(deleteDocumentAsync(documentId), "Error deleting document");
+    }
 
-            pstmt.setInt(1, documentId);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Delete document through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> deleteDocumentAsync(int documentId) {
+        String sql = "DELETE FROM Documents WHERE document_id = ?";
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting document: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, documentId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -144,12 +156,13 @@ public class DocumentDAO {
         List<Document> documents = new ArrayList<>();
         String sql = "SELECT * FROM Documents ORDER BY date_upload DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<Document> mapper = DOCUMENT_MAPPER.bind(rs);
             while (rs.next()) {
-                documents.add(extractDocumentFromResultSet(rs));
+                documents.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -166,14 +179,15 @@ public class DocumentDAO {
         List<Document> documents = new ArrayList<>();
         String sql = "SELECT * FROM Documents WHERE parcelle_id = ? ORDER BY date_upload DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, parcelId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Document> mapper = DOCUMENT_MAPPER.bind(rs);
             while (rs.next()) {
-                documents.add(extractDocumentFromResultSet(rs));
+                documents.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -190,14 +204,15 @@ public class DocumentDAO {
         List<Document> documents = new ArrayList<>();
         String sql = "SELECT * FROM Documents WHERE transaction_id = ? ORDER BY date_upload DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, transactionId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Document> mapper = DOCUMENT_MAPPER.bind(rs);
             while (rs.next()) {
-                documents.add(extractDocumentFromResultSet(rs));
+                documents.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -214,14 +229,15 @@ public class DocumentDAO {
         List<Document> documents = new ArrayList<>();
         String sql = "SELECT * FROM Documents WHERE user_id = ? ORDER BY date_upload DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Document> mapper = DOCUMENT_MAPPER.bind(rs);
             while (rs.next()) {
-                documents.add(extractDocumentFromResultSet(rs));
+                documents.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -238,14 +254,15 @@ public class DocumentDAO {
         List<Document> documents = new ArrayList<>();
         String sql = "SELECT * FROM Documents WHERE type_document = ? ORDER BY date_upload DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, type.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Document> mapper = DOCUMENT_MAPPER.bind(rs);
             while (rs.next()) {
-                documents.add(extractDocumentFromResultSet(rs));
+                documents.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -256,20 +273,29 @@ public class DocumentDAO {
     }
 
     /**
-     * Search documents by filename
+     * Search documents by words of their file name or description, best matches first
+     * @return at most Constants.MAX_SEARCH_RESULTS documents
      */
     public List<Document> searchDocumentsByFilename(String searchTerm) {
         List<Document> documents = new ArrayList<>();
-        String sql = "SELECT * FROM Documents WHERE nom_fichier LIKE ? ORDER BY date_upload DESC";
+        String sql = "SELECT d.* FROM (SELECT rowid, rank FROM documents_fts WHERE documents_fts MATCH ? " +
+                "ORDER BY rank LIMIT ?) f JOIN Documents d ON d.document_id = f.rowid ORDER BY f.rank";
+
+        String expression = FullTextQuery.toMatchExpression(searchTerm);
+        if (expression == null) {
+            return documents;
+        }
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            pstmt.setString(1, "%" + searchTerm + "%");
+            pstmt.setString(1, expression);
+            pstmt.setInt(2, Constants.MAX_SEARCH_RESULTS);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Document> mapper = DOCUMENT_MAPPER.bind(rs);
             while (rs.next()) {
-                documents.add(extractDocumentFromResultSet(rs));
+                documents.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -285,7 +311,7 @@ public class DocumentDAO {
     public int getDocumentCount() {
         String sql = "SELECT COUNT(*) FROM Documents";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
@@ -300,36 +326,51 @@ public class DocumentDAO {
         return 0;
     }
 
+    private static final EnumDecoder<DocumentType> DOCUMENT_TYPES = EnumDecoder.of(DocumentType.class);
+
     /**
-     * Extract Document object from ResultSet
+     * Maps a Documents row to a Document
      */
-    private Document extractDocumentFromResultSet(ResultSet rs) throws SQLException {
-        Document document = new Document();
-        document.setDocumentId(rs.getInt("document_id"));
-        document.setType(DocumentType.valueOf(rs.getString("type_document")));
-        document.setFileName(rs.getString("nom_fichier"));
-        document.setFilePath(rs.getString("chemin_fichier"));
-        document.setFileSize(rs.getLong("taille_fichier"));
-        document.setFileFormat(rs.getString("format_fichier"));
-
-        int parcelId = rs.getInt("parcelle_id");
-        if (!rs.wasNull()) {
-            document.setParcelId(parcelId);
-        }
-
-        int transactionId = rs.getInt("transaction_id");
-        if (!rs.wasNull()) {
-            document.setTransactionId(transactionId);
-        }
+    static final ColumnMapper<Document> DOCUMENT_MAPPER = new ColumnMapper<>(columns -> {
+        int documentId = columns.index("document_id");
+        int type = columns.index("type_document");
+        int fileName = columns.index("nom_fichier");
+        int filePath = columns.index("chemin_fichier");
+        int fileSize = columns.index("taille_fichier");
+        int fileFormat = columns.index("format_fichier");
+        int parcelId = columns.index("parcelle_id");
+        int transactionId = columns.index("transaction_id");
+        int userId = columns.index("user_id");
+        int uploadedAt = columns.index("date_upload");
+        int description = columns.index("description");
+
+        return rs -> {
+            Document document = new Document();
+            document.setDocumentId(rs.getInt(documentId));
+            document.setType(DOCUMENT_TYPES.decode(rs.getString(type)));
+            document.setFileName(rs.getString(fileName));
+            document.setFilePath(rs.getString(filePath));
+            document.setFileSize(rs.getLong(fileSize));
+            document.setFileFormat(rs.getString(fileFormat));
+
+            int parcel = rs.getInt(parcelId);
+            if (!rs.wasNull()) {
+                document.setParcelId(parcel);
+            }
 
-        int userId = rs.getInt("user_id");
-        if (!rs.wasNull()) {
-            document.setUserId(userId);
-        }
+            int transaction = rs.getInt(transactionId);
+            if (!rs.wasNull()) {
+                document.setTransactionId(transaction);
+            }
 
-        document.setUploadedAt(rs.getTimestamp("date_upload"));
-        document.setDescription(rs.getString("description"));
+            int user = rs.getInt(userId);
+            if (!rs.wasNull()) {
+                document.setUserId(user);
+            }
 
-        return document;
-    }
+            document.setUploadedAt(ColumnMapper.timestamp(rs, uploadedAt));
+            document.setDescription(rs.getString(description));
+            return document;
+        };
+    });
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package dao;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lookup table from the names stored in the database to the enum constants,
+ * built once per enum and shared by the row mappers
+ */
+final class EnumDecoder<E extends Enum<E>> {
+
+    private final Class<E> type;
+    private final Map<String, E> constants = new HashMap<>();
+
+    private EnumDecoder(Class<E> type) {
+        this.type = type;
+        for (E constant : type.getEnumConstants()) {
+            constants.put(constant.name(), constant);
+        }
+    }
+
+    static <E extends Enum<E>> EnumDecoder<E> of(Class<E> type) {
+        return new EnumDecoder<>(type);
+    }
+
+    /**
+     * @return the constant, or null for a NULL column
+     * @throws IllegalArgumentException for a name that is not a constant, like Enum.valueOf()
+     */
+    E decode(String name) {
+        if (name == null) {
+            return null;
+        }
+        E constant = constants.get(name);
+        if (constant == null) {
+            throw new IllegalArgumentException("No enum constant " + type.getName() + "." + name);
+        }
+        return constant;
+    }
+}
@@ -0,0 +1,196 @@
+package dao;
+
+import database.DatabaseConfig;
+import utils.ExportWriter;
+
+import java.io.IOException;
+import java.sql.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for streaming exports.
+ *
+ * Rows go straight from the ResultSet to an ExportWriter, one at a time: unlike
+ * getAllParcels() or getAllLogs(), nothing is materialized in memory. Exports run
+ * on a read connection, so in WAL mode they do not block the application's writes.
+ */
+public class ExportDAO {
+
+    /**
+     * Optional filters of an export; null fields are ignored
+     */
+    public static class ExportFilter {
+        private String region;
+        private String status;
+        private LocalDate from;
+        private LocalDate to;
+
+        public String getRegion() {
+            return region;
+        }
+
+        public ExportFilter setRegion(String region) {
+            this.region = region;
+            return this;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public ExportFilter setStatus(String status) {
+            this.status = status;
+            return this;
+        }
+
+        public LocalDate getFrom() {
+            return from;
+        }
+
+        /**
+         * First day included
+         */
+        public ExportFilter setFrom(LocalDate from) {
+            this.from = from;
+            return this;
+        }
+
+        public LocalDate getTo() {
+            return to;
+        }
+
+        /**
+         * Last day included
+         */
+        public ExportFilter setTo(LocalDate to) {
+            this.to = to;
+            return this;
+        }
+    }
+
+    /**
+     * Export parcels filtered by region, status and registration date
+     * @return number of rows written
+     */
+    public long exportParcels(ExportFilter filter, ExportWriter writer) throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM Parcelles WHERE 1 = 1");
+        appendEquals(sql, params, "region", filter.getRegion());
+        appendEquals(sql, params, "statut_parcelle", filter.getStatus());
+        appendDateRange(sql, params, "date_enregistrement", filter);
+        // Served by the (region|statut_parcelle, date_enregistrement) indexes: no sort
+        sql.append(" ORDER BY date_enregistrement");
+
+        return export(sql.toString(), params, writer);
+    }
+
+    /**
+     * Export transactions filtered by parcel region, status and creation date
+     * @return number of rows written
+     */
+    public long exportTransactions(ExportFilter filter, ExportWriter writer) throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT t.* FROM Transactions t WHERE 1 = 1");
+        if (filter.getRegion() != null) {
+            sql.append(" AND t.parcelle_id IN (SELECT parcelle_id FROM Parcelles WHERE region = ?)");
+            params.add(filter.getRegion());
+        }
+        appendEquals(sql, params, "t.statut_transaction", filter.getStatus());
+        appendDateRange(sql, params, "t.date_creation", filter);
+        sql.append(" ORDER BY t.date_creation");
+
+        return export(sql.toString(), params, writer);
+    }
+
+    /**
+     * Export audit log entries filtered by action (status filter) and date
+     * @return number of rows written
+     */
+    public long exportAuditLogs(ExportFilter filter, ExportWriter writer) throws SQLException, IOException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM AuditLog WHERE 1 = 1");
+        appendEquals(sql, params, "action", filter.getStatus());
+        appendDateRange(sql, params, "timestamp", filter);
+        sql.append(" ORDER BY timestamp");
+
+        return export(sql.toString(), params, writer);
+    }
+
+    // ========================================================================
+    // Private helpers
+    // ========================================================================
+
+    private long export(String sql, List<Object> params, ExportWriter writer) throws SQLException, IOException {
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int columnCount = meta.getColumnCount();
+                String[] columns = new String[columnCount];
+                boolean[] temporal = new boolean[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    columns[i] = meta.getColumnName(i + 1);
+                    String type = meta.getColumnTypeName(i + 1);
+                    temporal[i] = "DATE".equalsIgnoreCase(type) || "TIMESTAMP".equalsIgnoreCase(type);
+                }
+                writer.writeHeader(columns);
+
+                // One reusable row buffer: memory stays flat whatever the table size
+                Object[] row = new Object[columnCount];
+                long count = 0;
+                while (rs.next()) {
+                    for (int i = 0; i < columnCount; i++) {
+                        Object value = rs.getObject(i + 1);
+                        row[i] = temporal[i] && value instanceof Number
+                                ? formatEpochMillis(((Number) value).longValue(), meta.getColumnTypeName(i + 1))
+                                : value;
+                    }
+                    writer.writeRow(row);
+                    count++;
+                }
+                return count;
+            }
+        }
+    }
+
+    private static void appendEquals(StringBuilder sql, List<Object> params, String column, String value) {
+        if (value != null) {
+            sql.append(" AND ").append(column).append(" = ?");
+            params.add(value);
+        }
+    }
+
+    /**
+     * Date range on a CURRENT_TIMESTAMP text column ("yyyy-MM-dd HH:mm:ss"), end day included
+     */
+    private static void appendDateRange(StringBuilder sql, List<Object> params, String column, ExportFilter filter) {
+        if (filter.getFrom() != null) {
+            sql.append(" AND ").append(column).append(" >= ?");
+            params.add(filter.getFrom().toString());
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND ").append(column).append(" < ?");
+            params.add(filter.getTo().plusDays(1).toString());
+        }
+    }
+
+    /**
+     * Dates bound with setDate()/setTimestamp() are stored as epoch milliseconds
+     */
+    private static String formatEpochMillis(long millis, String type) {
+        Instant instant = Instant.ofEpochMilli(millis);
+        if ("DATE".equalsIgnoreCase(type)) {
+            return instant.atZone(ZoneId.systemDefault()).toLocalDate().toString();
+        }
+        return new Timestamp(millis).toString();
+    }
+}
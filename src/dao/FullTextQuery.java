@@ -0,0 +1,34 @@
+package dao;
+
+import java.util.StringJoiner;
+
+/**
+ * Conversion of user input to an FTS5 MATCH expression.
+ *
+ * The input is split into words (letters and digits); each word becomes a quoted
+ * prefix term and all of them must match. "Thies almad" gives "Thies"* "almad"*,
+ * which finds "Thiès" and "Almadies". Quoting keeps FTS5 operators typed by the user
+ * (AND, NEAR, ^, column filters...) from being interpreted.
+ */
+class FullTextQuery {
+
+    private FullTextQuery() {
+    }
+
+    /**
+     * @return the MATCH expression, or null if the input contains no word
+     */
+    static String toMatchExpression(String input) {
+        if (input == null) {
+            return null;
+        }
+
+        StringJoiner expression = new StringJoiner(" ");
+        for (String word : input.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                expression.add("\"" + word + "\"*");
+            }
+        }
+        return expression.length() > 0 ? expression.toString() : null;
+    }
+}
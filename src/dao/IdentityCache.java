@@ -0,0 +1,155 @@
+package dao;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded LRU cache of records looked up by integer ID (citizens, land agents...).
+ *
+ * Shared by all instances of a DAO, and thread-safe: the map is guarded by the cache
+ * lock, while the loader runs outside of it so that a slow query does not block the
+ * other lookups. Absent records (null) are not cached.
+ *
+ * Writes must invalidate the entries they change. Every invalidation also bumps a
+ * version number; a load that started before it is not stored, since it may have
+ * read the row before the write was committed.
+ *
+ * Callers get their own copy of a record, so a dialog that edits it before saving
+ * cannot change what other callers read. Changes still have to go through the DAO
+ * update methods, which invalidate the entry.
+ */
+public class IdentityCache<V> {
+
+    private final String name;
+    private final int maxSize;
+    private final UnaryOperator<V> copier;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Access order: the first entry is the least recently used
+    private final LinkedHashMap<Integer, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long version = 0;
+
+    /**
+     * @param name cache name, used in the statistics
+     * @param maxSize maximum number of records kept, 0 to disable the cache
+     * @param copier copies a record, e.g. a copy constructor
+     */
+    public IdentityCache(String name, int maxSize, UnaryOperator<V> copier) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.copier = copier;
+    }
+
+    /**
+     * Get a copy of a record from the cache, or load it and keep it
+     * @param loader reads the record from the database; may return null
+     */
+    public V get(int id, IntFunction<V> loader) {
+        long loadVersion;
+        synchronized (this) {
+            V cached = entries.get(id);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return copier.apply(cached);
+            }
+            loadVersion = version;
+        }
+
+        misses.incrementAndGet();
+        V loaded = loader.apply(id);
+        if (loaded == null || maxSize <= 0) {
+            return loaded;
+        }
+
+        synchronized (this) {
+            // Invalidated while loading: the record may predate the write
+            if (loadVersion == version) {
+                entries.put(id, copier.apply(loaded));
+                evictIfNeeded();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop one record, e.g. after an update
+     */
+    public synchronized void invalidate(int id) {
+        version++;
+        if (entries.remove(id) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drop the records matching a condition, e.g. all records of one user
+     */
+    public synchronized void invalidateIf(Predicate<V> condition) {
+        version++;
+        Iterator<V> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (condition.test(it.next())) {
+                it.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        version++;
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : hitCount / (double) total;
+    }
+
+    /**
+     * Readable summary of the cache metrics
+     */
+    public String getStatistics() {
+        return String.format("Cache %s[size=%d/%d, hits=%d, misses=%d, evictions=%d, invalidations=%d, hit ratio=%.1f%%]",
+                name, size(), maxSize, getHits(), getMisses(), getEvictions(), getInvalidations(),
+                getHitRatio() * 100);
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<Integer, V>> it = entries.entrySet().iterator();
+        while (entries.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
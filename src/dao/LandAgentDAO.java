@@ -1,82 +1,96 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.LandAgent;
 import models.LandAgent.AgentStatus;
 import models.User.UserRole;
+import utils.Constants;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for LandAgent operations
  */
 public class LandAgentDAO {
 
+    // Shared by all instances; UserDAO writes invalidate through invalidateUser()
+    private static final IdentityCache<LandAgent> AGENTS_BY_ID =
+            new IdentityCache<>("land agents", Constants.IDENTITY_CACHE_SIZE, LandAgent::new);
+
     private UserDAO userDAO = new UserDAO();
 
     /**
      * Create a new land agent
      */
     public boolean createLandAgent(LandAgent agent) {
-        // First, create the user
-        agent.setRole(UserRole.AGENT);
-        boolean userCreated = userDAO.createUser(agent);
-
-        if (!userCreated) {
-            System.err.println("Failed to create user for land agent");
-            return false;
-        }
+        return WriteQueue.await(createLandAgentAsync(agent), "Error creating land agent");
+    }
 
-        // Then create the agent entry with a fresh connection
+    /**
+     * Create a new land agent through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createLandAgentAsync(LandAgent agent) {
         String sql = "INSERT INTO AgentsFonciers (user_id, matricule, region, specialisation, " +
                 "date_nomination, statut) VALUES (?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setInt(1, agent.getUserId());
-            pstmt.setString(2, agent.getRegistrationNumber());
-            pstmt.setString(3, agent.getRegion());
-            pstmt.setString(4, agent.getSpecialization());
-            pstmt.setDate(5, agent.getAppointmentDate());
-            pstmt.setString(6, agent.getStatus().name());
-
-            int affectedRows = pstmt.executeUpdate();
+        // User and land agent rows share one group-commit slot: if the second insert
+        // fails, the savepoint also rolls back the user row
+        return DatabaseConfig.submitWrite(conn -> {
+            // First, create the user (runs inline on the writer connection)
+            agent.setRole(UserRole.AGENT);
+            if (!userDAO.createUser(agent)) {
+                System.err.println("Failed to create user for land agent");
+                return false;
+            }
 
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    agent.setAgentId(rs.getInt(1));
+            // Then create the agent entry
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setInt(1, agent.getUserId());
+                pstmt.setString(2, agent.getRegistrationNumber());
+                pstmt.setString(3, agent.getRegion());
+                pstmt.setString(4, agent.getSpecialization());
+                pstmt.setDate(5, agent.getAppointmentDate());
+                pstmt.setString(6, agent.getStatus().name());
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        agent.setAgentId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating land agent: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     /**
-     * Get land agent by agent ID
+     * Get land agent by agent ID, from the identity cache when possible
      */
     public LandAgent getAgentById(int agentId) {
+        return AGENTS_BY_ID.get(agentId, this::loadAgentById);
+    }
+
+    private LandAgent loadAgentById(int agentId) {
         String sql = "SELECT a.*, u.* FROM AgentsFonciers a " +
                 "JOIN Users u ON a.user_id = u.user_id " +
                 "WHERE a.agent_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, agentId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractAgentFromResultSet(rs);
+                return AGENT_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -94,14 +108,14 @@ public class LandAgentDAO {
                 "JOIN Users u ON a.user_id = u.user_id " +
                 "WHERE a.user_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractAgentFromResultSet(rs);
+                return AGENT_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -119,14 +133,14 @@ public class LandAgentDAO {
                 "JOIN Users u ON a.user_id = u.user_id " +
                 "WHERE a.matricule = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, registrationNumber);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractAgentFromResultSet(rs);
+                return AGENT_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -142,7 +156,7 @@ public class LandAgentDAO {
     public boolean updateAgent(LandAgent agent) {
         Connection conn = null;
         try {
-            conn = DatabaseConfig.getConnection();
+            conn = DatabaseConfig.getWriteConnection();
             conn.setAutoCommit(false);
 
             // Update user information
@@ -185,8 +199,12 @@ public class LandAgentDAO {
             e.printStackTrace();
             return false;
         } finally {
+            AGENTS_BY_ID.invalidate(agent.getAgentId());
             try {
-                if (conn != null) conn.setAutoCommit(true);
+                if (conn != null) {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                }
             } catch (SQLException e) {
                 e.printStackTrace();
             }
@@ -202,12 +220,13 @@ public class LandAgentDAO {
                 "JOIN Users u ON a.user_id = u.user_id " +
                 "ORDER BY u.date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<LandAgent> mapper = AGENT_MAPPER.bind(rs);
             while (rs.next()) {
-                agents.add(extractAgentFromResultSet(rs));
+                agents.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -227,14 +246,15 @@ public class LandAgentDAO {
                 "WHERE a.region = ? " +
                 "ORDER BY u.nom, u.prenom";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, region);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<LandAgent> mapper = AGENT_MAPPER.bind(rs);
             while (rs.next()) {
-                agents.add(extractAgentFromResultSet(rs));
+                agents.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -254,14 +274,15 @@ public class LandAgentDAO {
                 "WHERE a.statut = ? " +
                 "ORDER BY u.nom, u.prenom";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, status.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<LandAgent> mapper = AGENT_MAPPER.bind(rs);
             while (rs.next()) {
-                agents.add(extractAgentFromResultSet(rs));
+                agents.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -275,21 +296,24 @@ public class LandAgentDAO {
      * Update agent status
      */
     public boolean updateAgentStatus(int agentId, AgentStatus status) {
-        String sql = "UPDATE AgentsFonciers SET statut = ? WHERE agent_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(updateAgentStatusAsync(agentId, status), "Error updating agent status");
+    }
 
-            pstmt.setString(1, status.name());
-            pstmt.setInt(2, agentId);
+    /**
+     * Update agent status through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updateAgentStatusAsync(int agentId, AgentStatus status) {
+        String sql = "UPDATE AgentsFonciers SET statut = ? WHERE agent_id = ?";
 
-            return pstmt.executeUpdate() > 0;
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, status.name());
+                pstmt.setInt(2, agentId);
 
-        } catch (SQLException e) {
-            System.err.println("Error updating agent status: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        }).whenComplete((result, error) -> AGENTS_BY_ID.invalidate(agentId));
     }
 
     /**
@@ -303,13 +327,27 @@ public class LandAgentDAO {
         return false;
     }
 
+    /**
+     * Drop the cached agent of a user; called after every write to its Users row
+     */
+    static void invalidateUser(int userId) {
+        AGENTS_BY_ID.invalidateIf(agent -> agent.getUserId() == userId);
+    }
+
+    /**
+     * Metrics of the land agent identity cache
+     */
+    public static String getCacheStatistics() {
+        return AGENTS_BY_ID.getStatistics();
+    }
+
     /**
      * Check if registration number exists
      */
     public boolean registrationNumberExists(String registrationNumber) {
         String sql = "SELECT COUNT(*) FROM AgentsFonciers WHERE matricule = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, registrationNumber);
@@ -326,32 +364,30 @@ public class LandAgentDAO {
         return false;
     }
 
+    private static final EnumDecoder<AgentStatus> AGENT_STATUSES = EnumDecoder.of(AgentStatus.class);
+
     /**
-     * Extract LandAgent object from ResultSet
+     * Maps a Users JOIN AgentsFonciers row to a LandAgent
      */
-    private LandAgent extractAgentFromResultSet(ResultSet rs) throws SQLException {
-        LandAgent agent = new LandAgent();
-
-        // User fields
-        agent.setUserId(rs.getInt("user_id"));
-        agent.setLastName(rs.getString("nom"));
-        agent.setFirstName(rs.getString("prenom"));
-        agent.setEmail(rs.getString("email"));
-        agent.setPhone(rs.getString("telephone"));
-        agent.setPassword(rs.getString("mot_de_passe"));
-        agent.setRole(UserRole.valueOf(rs.getString("role")));
-        agent.setAccountStatus(models.User.AccountStatus.valueOf(rs.getString("account_status")));
-        agent.setCreatedAt(rs.getTimestamp("date_creation"));
-        agent.setLastLogin(rs.getTimestamp("derniere_connexion"));
-
-        // Agent-specific fields
-        agent.setAgentId(rs.getInt("agent_id"));
-        agent.setRegistrationNumber(rs.getString("matricule"));
-        agent.setRegion(rs.getString("region"));
-        agent.setSpecialization(rs.getString("specialisation"));
-        agent.setAppointmentDate(rs.getDate("date_nomination"));
-        agent.setStatus(AgentStatus.valueOf(rs.getString("statut")));
-
-        return agent;
-    }
+    static final ColumnMapper<LandAgent> AGENT_MAPPER = new ColumnMapper<>(columns -> {
+        UserDAO.UserColumns userColumns = new UserDAO.UserColumns(columns);
+        int agentId = columns.index("agent_id");
+        int registrationNumber = columns.index("matricule");
+        int region = columns.index("region");
+        int specialization = columns.index("specialisation");
+        int appointmentDate = columns.index("date_nomination");
+        int status = columns.index("statut");
+
+        return rs -> {
+            LandAgent agent = new LandAgent();
+            userColumns.read(rs, agent);
+            agent.setAgentId(rs.getInt(agentId));
+            agent.setRegistrationNumber(rs.getString(registrationNumber));
+            agent.setRegion(rs.getString(region));
+            agent.setSpecialization(rs.getString(specialization));
+            agent.setAppointmentDate(ColumnMapper.date(rs, appointmentDate));
+            agent.setStatus(AGENT_STATUSES.decode(rs.getString(status)));
+            return agent;
+        };
+    });
 }
\ No newline at end of file
@@ -1,12 +1,14 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.Notification;
 import models.Notification.NotificationType;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for Notification operations
@@ -17,34 +19,37 @@ public class NotificationDAO {
      * Create a new notification
      */
     public boolean createNotification(Notification notification) {
+        return WriteQueue.await(createNotificationAsync(notification), "Error creating notification");
+    }
+
+    /**
+     * Create a new notification through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createNotificationAsync(Notification notification) {
         String sql = "INSERT INTO Notifications (user_id, type_notification, titre, message, " +
                 "lien_reference) VALUES (?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setInt(1, notification.getUserId());
-            pstmt.setString(2, notification.getType().name());
-            pstmt.setString(3, notification.getTitle());
-            pstmt.setString(4, notification.getMessage());
-            pstmt.setString(5, notification.getReferenceLink());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    notification.setNotificationId(rs.getInt(1));
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setInt(1, notification.getUserId());
+                pstmt.setString(2, notification.getType().name());
+                pstmt.setString(3, notification.getTitle());
+                pstmt.setString(4, notification.getMessage());
+                pstmt.setString(5, notification.getReferenceLink());
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        notification.setNotificationId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating notification: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     /**
@@ -53,14 +58,14 @@ public class NotificationDAO {
     public Notification getNotificationById(int notificationId) {
         String sql = "SELECT * FROM Notifications WHERE notification_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, notificationId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractNotificationFromResultSet(rs);
+                return NOTIFICATION_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -74,78 +79,90 @@ public class NotificationDAO {
      * Mark notification as read
      */
     public boolean markAsRead(int notificationId) {
+        return WriteQueue.await(markAsReadAsync(notificationId), "Error marking notification as read");
+    }
+
+    /**
+     * Mark notification as read through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> markAsReadAsync(int notificationId) {
         String sql = "UPDATE Notifications SET lue = 1, date_lecture = CURRENT_TIMESTAMP " +
                 "WHERE notification_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, notificationId);
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error marking notification as read: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, notificationId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Mark all notifications as read for a user
      */
     public boolean markAllAsRead(int userId) {
+        return WriteQueue.await(markAllAsReadAsync(userId), "Error marking all notifications as read");
+    }
+
+    /**
+     * Mark all notifications as read for a user through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> markAllAsReadAsync(int userId) {
         String sql = "UPDATE Notifications SET lue = 1, date_lecture = CURRENT_TIMESTAMP " +
                 "WHERE user_id = ? AND lue = 0";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, userId);
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error marking all notifications as read: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, userId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Delete notification
      */
     public boolean deleteNotification(int notificationId) {
-        String sql = "DELETE FROM Notifications WHERE notification_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(deleteNotificationAsync(notificationId), "Error deleting notification");
+    }
 
-            pstmt.setInt(1, notificationId);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Delete notification through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> deleteNotificationAsync(int notificationId) {
+        String sql = "DELETE FROM Notifications WHERE notification_id = ?";
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting notification: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, notificationId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Delete all notifications for a user
      */
     public boolean deleteAllForUser(int userId) {
-        String sql = "DELETE FROM Notifications WHERE user_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(deleteAllForUserAsync(userId), "Error deleting all notifications");
+    }
 
-            pstmt.setInt(1, userId);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Delete all notifications for a user through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> deleteAllForUserAsync(int userId) {
+        String sql = "DELETE FROM Notifications WHERE user_id = ?";
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting all notifications: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, userId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -155,12 +172,13 @@ public class NotificationDAO {
         List<Notification> notifications = new ArrayList<>();
         String sql = "SELECT * FROM Notifications ORDER BY date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<Notification> mapper = NOTIFICATION_MAPPER.bind(rs);
             while (rs.next()) {
-                notifications.add(extractNotificationFromResultSet(rs));
+                notifications.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -177,14 +195,15 @@ public class NotificationDAO {
         List<Notification> notifications = new ArrayList<>();
         String sql = "SELECT * FROM Notifications WHERE user_id = ? ORDER BY date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Notification> mapper = NOTIFICATION_MAPPER.bind(rs);
             while (rs.next()) {
-                notifications.add(extractNotificationFromResultSet(rs));
+                notifications.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -194,6 +213,26 @@ public class NotificationDAO {
         return notifications;
     }
 
+    /**
+     * Get one page of a user's notifications, most recent first
+     * @param pageToken token returned with the previous page, null for the first page
+     * @param pageSize number of rows, Constants.DEFAULT_PAGE_SIZE if 0
+     */
+    public Page<Notification> getNotificationsByUserPage(int userId, String pageToken, int pageSize) {
+        String sql = "SELECT * FROM Notifications WHERE user_id = ? ORDER BY date_creation DESC, notification_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM Notifications WHERE user_id = ? AND (date_creation, notification_id) < (?, ?) " +
+                "ORDER BY date_creation DESC, notification_id DESC LIMIT ?";
+
+        try {
+            return PageQuery.fetch(sql, afterSql, List.of(userId), "date_creation", "notification_id",
+                    pageToken, pageSize, NOTIFICATION_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting notifications page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new Page<>(new ArrayList<>(), null);
+    }
+
     /**
      * Get unread notifications by user
      */
@@ -202,14 +241,15 @@ public class NotificationDAO {
         String sql = "SELECT * FROM Notifications WHERE user_id = ? AND lue = 0 " +
                 "ORDER BY date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Notification> mapper = NOTIFICATION_MAPPER.bind(rs);
             while (rs.next()) {
-                notifications.add(extractNotificationFromResultSet(rs));
+                notifications.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -227,15 +267,16 @@ public class NotificationDAO {
         String sql = "SELECT * FROM Notifications WHERE user_id = ? AND type_notification = ? " +
                 "ORDER BY date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
             pstmt.setString(2, type.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Notification> mapper = NOTIFICATION_MAPPER.bind(rs);
             while (rs.next()) {
-                notifications.add(extractNotificationFromResultSet(rs));
+                notifications.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -251,7 +292,7 @@ public class NotificationDAO {
     public int getUnreadCount(int userId) {
         String sql = "SELECT COUNT(*) FROM Notifications WHERE user_id = ? AND lue = 0";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
@@ -274,7 +315,7 @@ public class NotificationDAO {
     public int getNotificationCount() {
         String sql = "SELECT COUNT(*) FROM Notifications";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
@@ -289,20 +330,34 @@ public class NotificationDAO {
         return 0;
     }
 
+    private static final EnumDecoder<NotificationType> NOTIFICATION_TYPES = EnumDecoder.of(NotificationType.class);
+
     /**
-     * Extract Notification object from ResultSet
+     * Maps a Notifications row to a Notification
      */
-    private Notification extractNotificationFromResultSet(ResultSet rs) throws SQLException {
-        Notification notification = new Notification();
-        notification.setNotificationId(rs.getInt("notification_id"));
-        notification.setUserId(rs.getInt("user_id"));
-        notification.setType(NotificationType.valueOf(rs.getString("type_notification")));
-        notification.setTitle(rs.getString("titre"));
-        notification.setMessage(rs.getString("message"));
-        notification.setRead(rs.getInt("lue") == 1);
-        notification.setCreatedAt(rs.getTimestamp("date_creation"));
-        notification.setReadAt(rs.getTimestamp("date_lecture"));
-        notification.setReferenceLink(rs.getString("lien_reference"));
-        return notification;
-    }
+    static final ColumnMapper<Notification> NOTIFICATION_MAPPER = new ColumnMapper<>(columns -> {
+        int notificationId = columns.index("notification_id");
+        int userId = columns.index("user_id");
+        int type = columns.index("type_notification");
+        int title = columns.index("titre");
+        int message = columns.index("message");
+        int read = columns.index("lue");
+        int createdAt = columns.index("date_creation");
+        int readAt = columns.index("date_lecture");
+        int referenceLink = columns.index("lien_reference");
+
+        return rs -> {
+            Notification notification = new Notification();
+            notification.setNotificationId(rs.getInt(notificationId));
+            notification.setUserId(rs.getInt(userId));
+            notification.setType(NOTIFICATION_TYPES.decode(rs.getString(type)));
+            notification.setTitle(rs.getString(title));
+            notification.setMessage(rs.getString(message));
+            notification.setRead(rs.getInt(read) == 1);
+            notification.setCreatedAt(ColumnMapper.timestamp(rs, createdAt));
+            notification.setReadAt(ColumnMapper.timestamp(rs, readAt));
+            notification.setReferenceLink(rs.getString(referenceLink));
+            return notification;
+        };
+    });
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package dao;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ *
+ * The next page token is opaque: pass it back to the same DAO method to read the
+ * rows that follow. It encodes the sort key and primary key of the last row, so
+ * fetching any page costs the same whatever its position in the table.
+ */
+public class Page<T> {
+
+    private final List<T> items;
+    private final String nextPageToken;
+
+    public Page(List<T> items, String nextPageToken) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return token of the next page, or null if this is the last page
+     */
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public boolean hasNext() {
+        return nextPageToken != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items.size() +
+                ", hasNext=" + hasNext() +
+                '}';
+    }
+}
@@ -0,0 +1,145 @@
+package dao;
+
+import database.DatabaseConfig;
+import utils.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset pagination shared by the DAO list methods.
+ *
+ * Each paginated list is ordered by (sort column DESC, primary key DESC). The first
+ * page runs firstSql; following pages run afterSql, whose row-value condition
+ * (sort, id) < (?, ?) seeks directly into the (…, sort column) index instead of
+ * skipping rows with OFFSET.
+ */
+class PageQuery {
+
+    private PageQuery() {
+    }
+
+    /**
+     * Read one page
+     * @param firstSql query of the first page; its last parameter is the LIMIT
+     * @param afterSql query of the following pages; the sort key and id come just before the LIMIT
+     * @param filterParams parameters preceding the sort key (e.g. the user id), may be empty
+     * @param pageToken token returned with the previous page, or null for the first page
+     * @param pageSize requested size, bounded by Constants.MAX_PAGE_SIZE
+     */
+    static <T> Page<T> fetch(String firstSql, String afterSql, List<Object> filterParams,
+                             String sortColumn, String idColumn, String pageToken, int pageSize,
+                             ColumnMapper<T> rowMapper) throws SQLException {
+        int size = pageSize <= 0 ? Constants.DEFAULT_PAGE_SIZE : Math.min(pageSize, Constants.MAX_PAGE_SIZE);
+        Object[] cursor = pageToken != null ? decode(pageToken) : null;
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(cursor == null ? firstSql : afterSql)) {
+
+            int index = 1;
+            for (Object param : filterParams) {
+                pstmt.setObject(index++, param);
+            }
+            if (cursor != null) {
+                pstmt.setObject(index++, cursor[0]);
+                pstmt.setObject(index++, cursor[1]);
+            }
+            // One extra row tells whether a next page exists
+            pstmt.setInt(index, size + 1);
+            return read(pstmt, size, sortColumn, idColumn, rowMapper);
+        }
+    }
+
+    /**
+     * Read one window of a table loaded on demand, in the order of fetch(): from the token
+     * of the previous window when known, else by skipping offset rows, which costs O(offset)
+     * @param offsetSql query with the window at an offset; its last parameters are LIMIT and OFFSET
+     * @param pageToken token returned with the previous window, or null
+     * @param offset index of the first row, used without token
+     * @param size rows per window, not bounded (the table chooses it)
+     */
+    static <T> Page<T> fetchWindow(String firstSql, String afterSql, String offsetSql,
+                                   String sortColumn, String idColumn, String pageToken, int offset, int size,
+                                   ColumnMapper<T> rowMapper) throws SQLException {
+        Object[] cursor = pageToken != null ? decode(pageToken) : null;
+        String sql = cursor != null ? afterSql : offset == 0 ? firstSql : offsetSql;
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            if (cursor != null) {
+                pstmt.setObject(index++, cursor[0]);
+                pstmt.setObject(index++, cursor[1]);
+            }
+            pstmt.setInt(index++, size + 1);
+            if (cursor == null && offset > 0) {
+                pstmt.setInt(index, offset);
+            }
+            return read(pstmt, size, sortColumn, idColumn, rowMapper);
+        }
+    }
+
+    private static <T> Page<T> read(PreparedStatement pstmt, int size, String sortColumn, String idColumn,
+                                    ColumnMapper<T> rowMapper) throws SQLException {
+        List<T> items = new ArrayList<>(size);
+        Object lastSort = null;
+        long lastId = 0;
+
+        try (ResultSet rs = pstmt.executeQuery()) {
+            RowMapper<T> mapper = rowMapper.bind(rs);
+            while (rs.next()) {
+                if (items.size() == size) {
+                    return new Page<>(items, encode(lastSort, lastId));
+                }
+                lastSort = rs.getObject(sortColumn);
+                lastId = rs.getLong(idColumn);
+                items.add(mapper.map(rs));
+            }
+        }
+        return new Page<>(items, null);
+    }
+
+    /**
+     * Token: type tag, sort value and id, Base64url-encoded
+     */
+    private static String encode(Object sortValue, long id) {
+        String raw;
+        if (sortValue == null) {
+            raw = "N|" + id;
+        } else if (sortValue instanceof Integer || sortValue instanceof Long) {
+            raw = "L" + ((Number) sortValue).longValue() + "|" + id;
+        } else if (sortValue instanceof Number) {
+            raw = "D" + ((Number) sortValue).doubleValue() + "|" + id;
+        } else {
+            raw = "S" + sortValue + "|" + id;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object[] decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String value = raw.substring(1, separator);
+            long id = Long.parseLong(raw.substring(separator + 1));
+
+            Object sortValue = switch (raw.charAt(0)) {
+                case 'L' -> Long.parseLong(value);
+                case 'D' -> Double.parseDouble(value);
+                case 'S' -> value;
+                case 'N' -> null;
+                default -> throw new IllegalArgumentException("Invalid page token");
+            };
+            return new Object[]{sortValue, id};
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page token: " + token, e);
+        }
+    }
+}
@@ -1,12 +1,20 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.Parcel;
 import models.Parcel.*;
+import utils.Constants;
+import utils.ParcelNumberGenerator;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Data Access Object for Parcel operations
@@ -14,61 +22,76 @@ import java.util.List;
 public class ParcelDAO {
 
     /**
-     * Create a new parcel
+     * Create a new parcel; a parcel without number gets the next one of its region and year
      */
     public boolean createParcel(Parcel parcel) {
-        String sql = "INSERT INTO Parcelles (numero_parcelle, titre_foncier, superficie, unite_superficie, " +
-                "type_terrain, usage_actuel, adresse, region, departement, commune, coordonnees_gps, " +
-                "statut_parcelle, valeur_estimee, proprietaire_actuel, date_acquisition, notes) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setString(1, parcel.getParcelNumber());
-            pstmt.setString(2, parcel.getLandTitle());
-            pstmt.setDouble(3, parcel.getArea());
-            pstmt.setString(4, parcel.getAreaUnit().name());
-            pstmt.setString(5, parcel.getLandType().name());
-            pstmt.setString(6, parcel.getCurrentUsage());
-            pstmt.setString(7, parcel.getAddress());
-            pstmt.setString(8, parcel.getRegion());
-            pstmt.setString(9, parcel.getDepartment());
-            pstmt.setString(10, parcel.getCommune());
-            pstmt.setString(11, parcel.getGpsCoordinates());
-            pstmt.setString(12, parcel.getStatus().name());
-
-            if (parcel.getEstimatedValue() != null) {
-                pstmt.setBigDecimal(13, parcel.getEstimatedValue());
-            } else {
-                pstmt.setNull(13, Types.DECIMAL);
-            }
+        return WriteQueue.await(createParcelAsync(parcel), "Error creating parcel");
+    }
 
-            if (parcel.getCurrentOwnerId() > 0) {
-                pstmt.setInt(14, parcel.getCurrentOwnerId());
-            } else {
-                pstmt.setNull(14, Types.INTEGER);
+    /**
+     * Create a new parcel through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createParcelAsync(Parcel parcel) {
+        return DatabaseConfig.submitWrite(conn -> {
+            // No number yet: take the next one of the region sequence, in this transaction
+            if (parcel.getParcelNumber() == null) {
+                assignParcelNumbers(conn, List.of(parcel));
             }
 
-            pstmt.setDate(15, parcel.getAcquisitionDate());
-            pstmt.setString(16, parcel.getNotes());
+            try (PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                setInsertParameters(pstmt, parcel);
 
-            int affectedRows = pstmt.executeUpdate();
+                int affectedRows = pstmt.executeUpdate();
 
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    parcel.setParcelId(rs.getInt(1));
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        parcel.setParcelId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
+        });
+    }
 
-        } catch (SQLException e) {
-            System.err.println("Error creating parcel: " + e.getMessage());
-            e.printStackTrace();
-            return false;
+    static final String INSERT_SQL = "INSERT INTO Parcelles (numero_parcelle, titre_foncier, superficie, unite_superficie, " +
+            "type_terrain, usage_actuel, adresse, region, departement, commune, coordonnees_gps, " +
+            "statut_parcelle, valeur_estimee, proprietaire_actuel, date_acquisition, notes) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Bind a parcel to the parameters of INSERT_SQL
+     */
+    static void setInsertParameters(PreparedStatement pstmt, Parcel parcel) throws SQLException {
+        pstmt.setString(1, parcel.getParcelNumber());
+        pstmt.setString(2, parcel.getLandTitle());
+        pstmt.setDouble(3, parcel.getArea());
+        pstmt.setString(4, parcel.getAreaUnit().name());
+        pstmt.setString(5, parcel.getLandType().name());
+        pstmt.setString(6, parcel.getCurrentUsage());
+        pstmt.setString(7, parcel.getAddress());
+        pstmt.setString(8, parcel.getRegion());
+        pstmt.setString(9, parcel.getDepartment());
+        pstmt.setString(10, parcel.getCommune());
+        pstmt.setString(11, parcel.getGpsCoordinates());
+        pstmt.setString(12, parcel.getStatus().name());
+
+        if (parcel.getEstimatedValue() != null) {
+            pstmt.setBigDecimal(13, parcel.getEstimatedValue());
+        } else {
+            pstmt.setNull(13, Types.DECIMAL);
+        }
+
+        if (parcel.getCurrentOwnerId() > 0) {
+            pstmt.setInt(14, parcel.getCurrentOwnerId());
+        } else {
+            pstmt.setNull(14, Types.INTEGER);
         }
+
+        pstmt.setDate(15, parcel.getAcquisitionDate());
+        pstmt.setString(16, parcel.getNotes());
     }
 
     /**
@@ -77,14 +100,14 @@ public class ParcelDAO {
     public Parcel getParcelById(int parcelId) {
         String sql = "SELECT * FROM Parcelles WHERE parcelle_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, parcelId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractParcelFromResultSet(rs);
+                return PARCEL_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -100,14 +123,14 @@ public class ParcelDAO {
     public Parcel getParcelByNumber(String parcelNumber) {
         String sql = "SELECT * FROM Parcelles WHERE numero_parcelle = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, parcelNumber);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractParcelFromResultSet(rs);
+                return PARCEL_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -123,14 +146,14 @@ public class ParcelDAO {
     public Parcel getParcelByLandTitle(String landTitle) {
         String sql = "SELECT * FROM Parcelles WHERE titre_foncier = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, landTitle);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractParcelFromResultSet(rs);
+                return PARCEL_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -144,6 +167,14 @@ public class ParcelDAO {
      * Update parcel
      */
     public boolean updateParcel(Parcel parcel) {
+        return WriteQueue.await(updateParcelAsync(parcel), "Error updating parcel");
+    }
+
+    /**
+     * Update parcel through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updateParcelAsync(Parcel parcel) {
         String sql = "UPDATE Parcelles SET numero_parcelle = ?, titre_foncier = ?, superficie = ?, " +
                 "unite_superficie = ?, type_terrain = ?, usage_actuel = ?, adresse = ?, " +
                 "region = ?, departement = ?, commune = ?, coordonnees_gps = ?, " +
@@ -151,108 +182,112 @@ public class ParcelDAO {
                 "date_acquisition = ?, notes = ?, derniere_modification = CURRENT_TIMESTAMP " +
                 "WHERE parcelle_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, parcel.getParcelNumber());
-            pstmt.setString(2, parcel.getLandTitle());
-            pstmt.setDouble(3, parcel.getArea());
-            pstmt.setString(4, parcel.getAreaUnit().name());
-            pstmt.setString(5, parcel.getLandType().name());
-            pstmt.setString(6, parcel.getCurrentUsage());
-            pstmt.setString(7, parcel.getAddress());
-            pstmt.setString(8, parcel.getRegion());
-            pstmt.setString(9, parcel.getDepartment());
-            pstmt.setString(10, parcel.getCommune());
-            pstmt.setString(11, parcel.getGpsCoordinates());
-            pstmt.setString(12, parcel.getStatus().name());
-
-            if (parcel.getEstimatedValue() != null) {
-                pstmt.setBigDecimal(13, parcel.getEstimatedValue());
-            } else {
-                pstmt.setNull(13, Types.DECIMAL);
-            }
-
-            if (parcel.getCurrentOwnerId() > 0) {
-                pstmt.setInt(14, parcel.getCurrentOwnerId());
-            } else {
-                pstmt.setNull(14, Types.INTEGER);
-            }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, parcel.getParcelNumber());
+                pstmt.setString(2, parcel.getLandTitle());
+                pstmt.setDouble(3, parcel.getArea());
+                pstmt.setString(4, parcel.getAreaUnit().name());
+                pstmt.setString(5, parcel.getLandType().name());
+                pstmt.setString(6, parcel.getCurrentUsage());
+                pstmt.setString(7, parcel.getAddress());
+                pstmt.setString(8, parcel.getRegion());
+                pstmt.setString(9, parcel.getDepartment());
+                pstmt.setString(10, parcel.getCommune());
+                pstmt.setString(11, parcel.getGpsCoordinates());
+                pstmt.setString(12, parcel.getStatus().name());
+
+                if (parcel.getEstimatedValue() != null) {
+                    pstmt.setBigDecimal(13, parcel.getEstimatedValue());
+                } else {
+                    pstmt.setNull(13, Types.DECIMAL);
+                }
 
-            pstmt.setDate(15, parcel.getAcquisitionDate());
-            pstmt.setString(16, parcel.getNotes());
-            pstmt.setInt(17, parcel.getParcelId());
+                if (parcel.getCurrentOwnerId() > 0) {
+                    pstmt.setInt(14, parcel.getCurrentOwnerId());
+                } else {
+                    pstmt.setNull(14, Types.INTEGER);
+                }
 
-            return pstmt.executeUpdate() > 0;
+                pstmt.setDate(15, parcel.getAcquisitionDate());
+                pstmt.setString(16, parcel.getNotes());
+                pstmt.setInt(17, parcel.getParcelId());
 
-        } catch (SQLException e) {
-            System.err.println("Error updating parcel: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Update parcel status
      */
     public boolean updateParcelStatus(int parcelId, ParcelStatus status) {
+        return WriteQueue.await(updateParcelStatusAsync(parcelId, status), "Error updating parcel status");
+    }
+
+    /**
+     * Update parcel status through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updateParcelStatusAsync(int parcelId, ParcelStatus status) {
         String sql = "UPDATE Parcelles SET statut_parcelle = ?, derniere_modification = CURRENT_TIMESTAMP " +
                 "WHERE parcelle_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, status.name());
-            pstmt.setInt(2, parcelId);
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, status.name());
+                pstmt.setInt(2, parcelId);
 
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating parcel status: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Update parcel owner
      */
     public boolean updateParcelOwner(int parcelId, int newOwnerId) {
+        return WriteQueue.await(updateParcelOwnerAsync(parcelId, newOwnerId), "Error updating parcel owner");
+    }
+
+    /**
+     * Update parcel owner through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updateParcelOwnerAsync(int parcelId, int newOwnerId) {
         String sql = "UPDATE Parcelles SET proprietaire_actuel = ?, date_acquisition = CURRENT_DATE, " +
                 "derniere_modification = CURRENT_TIMESTAMP WHERE parcelle_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, newOwnerId);
-            pstmt.setInt(2, parcelId);
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, newOwnerId);
+                pstmt.setInt(2, parcelId);
 
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating parcel owner: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
      * Delete parcel
      */
     public boolean deleteParcel(int parcelId) {
-        String sql = "DELETE FROM Parcelles WHERE parcelle_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(deleteParcelAsync(parcelId), "Error deleting parcel");
+    }
 
-            pstmt.setInt(1, parcelId);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Delete parcel through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> deleteParcelAsync(int parcelId) {
+        String sql = "DELETE FROM Parcelles WHERE parcelle_id = ?";
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting parcel: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, parcelId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -262,12 +297,13 @@ public class ParcelDAO {
         List<Parcel> parcels = new ArrayList<>();
         String sql = "SELECT * FROM Parcelles ORDER BY date_enregistrement DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<Parcel> mapper = PARCEL_MAPPER.bind(rs);
             while (rs.next()) {
-                parcels.add(extractParcelFromResultSet(rs));
+                parcels.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -277,6 +313,51 @@ public class ParcelDAO {
         return parcels;
     }
 
+    /**
+     * Get one page of parcels, most recently registered first
+     * @param pageToken token returned with the previous page, null for the first page
+     * @param pageSize number of rows, Constants.DEFAULT_PAGE_SIZE if 0
+     */
+    public Page<Parcel> getParcelsPage(String pageToken, int pageSize) {
+        String sql = "SELECT * FROM Parcelles ORDER BY date_enregistrement DESC, parcelle_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM Parcelles WHERE (date_enregistrement, parcelle_id) < (?, ?) " +
+                "ORDER BY date_enregistrement DESC, parcelle_id DESC LIMIT ?";
+
+        try {
+            return PageQuery.fetch(sql, afterSql, List.of(), "date_enregistrement", "parcelle_id",
+                    pageToken, pageSize, PARCEL_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting parcels page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new Page<>(new ArrayList<>(), null);
+    }
+
+    /**
+     * Get a window of parcels in the order of getParcelsPage(), for tables loaded on demand
+     * @param pageToken token returned with the previous window: the rows are read from the
+     *                  index position it encodes; null to skip offset rows instead
+     * @param offset index of the first row, used without token
+     * @param limit maximum number of rows
+     * @return the rows, with the token of the next window, or null if the window could not
+     *         be read (the table then tries it again later)
+     */
+    public Page<Parcel> getParcelsWindow(String pageToken, int offset, int limit) {
+        String sql = "SELECT * FROM Parcelles ORDER BY date_enregistrement DESC, parcelle_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM Parcelles WHERE (date_enregistrement, parcelle_id) < (?, ?) " +
+                "ORDER BY date_enregistrement DESC, parcelle_id DESC LIMIT ?";
+        String offsetSql = "SELECT * FROM Parcelles ORDER BY date_enregistrement DESC, parcelle_id DESC LIMIT ? OFFSET ?";
+
+        try {
+            return PageQuery.fetchWindow(sql, afterSql, offsetSql, "date_enregistrement", "parcelle_id",
+                    pageToken, offset, limit, PARCEL_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting parcels window: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     /**
      * Get parcels by owner
      */
@@ -284,14 +365,15 @@ public class ParcelDAO {
         List<Parcel> parcels = new ArrayList<>();
         String sql = "SELECT * FROM Parcelles WHERE proprietaire_actuel = ? ORDER BY date_enregistrement DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, ownerId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Parcel> mapper = PARCEL_MAPPER.bind(rs);
             while (rs.next()) {
-                parcels.add(extractParcelFromResultSet(rs));
+                parcels.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -308,14 +390,15 @@ public class ParcelDAO {
         List<Parcel> parcels = new ArrayList<>();
         String sql = "SELECT * FROM Parcelles WHERE region = ? ORDER BY date_enregistrement DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, region);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Parcel> mapper = PARCEL_MAPPER.bind(rs);
             while (rs.next()) {
-                parcels.add(extractParcelFromResultSet(rs));
+                parcels.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -332,14 +415,15 @@ public class ParcelDAO {
         List<Parcel> parcels = new ArrayList<>();
         String sql = "SELECT * FROM Parcelles WHERE statut_parcelle = ? ORDER BY date_enregistrement DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, status.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Parcel> mapper = PARCEL_MAPPER.bind(rs);
             while (rs.next()) {
-                parcels.add(extractParcelFromResultSet(rs));
+                parcels.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -356,14 +440,15 @@ public class ParcelDAO {
         List<Parcel> parcels = new ArrayList<>();
         String sql = "SELECT * FROM Parcelles WHERE type_terrain = ? ORDER BY date_enregistrement DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, landType.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Parcel> mapper = PARCEL_MAPPER.bind(rs);
             while (rs.next()) {
-                parcels.add(extractParcelFromResultSet(rs));
+                parcels.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -374,25 +459,34 @@ public class ParcelDAO {
     }
 
     /**
-     * Search parcels by address or parcel number
+     * Search parcels by number, land title, address, usage or locality, best matches first.
+     * Words are matched as prefixes, ignoring case and accents ("thies" finds "Thiès").
+     * @return at most Constants.MAX_SEARCH_RESULTS parcels
      */
     public List<Parcel> searchParcels(String searchTerm) {
         List<Parcel> parcels = new ArrayList<>();
-        String sql = "SELECT * FROM Parcelles WHERE adresse LIKE ? OR numero_parcelle LIKE ? " +
-                "OR titre_foncier LIKE ? ORDER BY date_enregistrement DESC";
+        // Ranked and capped inside the index, so only the best rows are read from Parcelles.
+        // bm25 weights follow the column order of parcelles_fts: the number and title count most
+        String sql = "SELECT p.* FROM (SELECT rowid, bm25(parcelles_fts, 10.0, 8.0, 2.0, 1.0, 1.0, 1.0, 1.0) AS score " +
+                "FROM parcelles_fts WHERE parcelles_fts MATCH ? ORDER BY score LIMIT ?) f " +
+                "JOIN Parcelles p ON p.parcelle_id = f.rowid ORDER BY f.score";
+
+        String expression = FullTextQuery.toMatchExpression(searchTerm);
+        if (expression == null) {
+            return parcels;
+        }
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
-            String searchPattern = "%" + searchTerm + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            pstmt.setString(3, searchPattern);
+            pstmt.setString(1, expression);
+            pstmt.setInt(2, Constants.MAX_SEARCH_RESULTS);
 
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Parcel> mapper = PARCEL_MAPPER.bind(rs);
             while (rs.next()) {
-                parcels.add(extractParcelFromResultSet(rs));
+                parcels.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -402,13 +496,79 @@ public class ParcelDAO {
         return parcels;
     }
 
+    /**
+     * Find the parcels matching a query; filtering, sorting and limiting happen in SQLite
+     */
+    public List<Parcel> findParcels(ParcelQuery query) {
+        List<Parcel> parcels = findParcels(query, 0, query.getLimit());
+        return parcels != null ? parcels : new ArrayList<>();
+    }
+
+    /**
+     * Find one window of the parcels matching a query
+     * @param offset index of the first row
+     * @param limit maximum number of rows, 0 for no limit
+     * @return the rows, or null if they could not be read (the table then tries the window again later)
+     */
+    public List<Parcel> findParcels(ParcelQuery query, int offset, int limit) {
+        List<Parcel> parcels = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String sql = query.toSql(params, offset, limit);
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = pstmt.executeQuery();
+
+            RowMapper<Parcel> mapper = PARCEL_MAPPER.bind(rs);
+            while (rs.next()) {
+                parcels.add(mapper.map(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error finding parcels: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+        return parcels;
+    }
+
+    /**
+     * Count the parcels matching a query
+     */
+    public int countParcels(ParcelQuery query) {
+        List<Object> params = new ArrayList<>();
+        String sql = query.toCountSql(params);
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error counting parcels: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
+    }
+
     /**
      * Check if parcel number exists
      */
     public boolean parcelNumberExists(String parcelNumber) {
         String sql = "SELECT COUNT(*) FROM Parcelles WHERE numero_parcelle = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, parcelNumber);
@@ -425,13 +585,110 @@ public class ParcelDAO {
         return false;
     }
 
+    /**
+     * Reserve a block of consecutive sequential numbers for a region code and year
+     * @return last number of the block (the block is last - count + 1 to last), 0 on error
+     */
+    public int reserveSequentialNumbers(String regionCode, int year, int count) {
+        try {
+            return reserveSequentialNumbersAsync(regionCode, year, count).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println("Error reserving parcel numbers: " + cause.getMessage());
+            cause.printStackTrace();
+            return 0;
+        }
+    }
+
+    /**
+     * Reserve a block of consecutive sequential numbers through the group-commit writer
+     * @return future completed once committed with the last number of the block
+     */
+    public CompletableFuture<Integer> reserveSequentialNumbersAsync(String regionCode, int year, int count) {
+        return DatabaseConfig.submitWrite(conn -> reserveSequentialNumbers(conn, regionCode, year, count));
+    }
+
+    /**
+     * Give a number to each parcel that has none, from the sequence of its region and
+     * year; one block is reserved per region, inside the caller's write transaction.
+     * The sequences are first advanced past the numbers the other parcels of the list
+     * already carry, since they are inserted only after this call.
+     */
+    static void assignParcelNumbers(Connection conn, List<Parcel> parcels) throws SQLException {
+        int year = LocalDate.now().getYear();
+        Map<String, List<Parcel>> byRegionCode = new LinkedHashMap<>();
+        List<String> explicitNumbers = new ArrayList<>();
+        for (Parcel parcel : parcels) {
+            if (parcel.getParcelNumber() == null) {
+                byRegionCode.computeIfAbsent(ParcelNumberGenerator.getRegionCode(parcel.getRegion()),
+                        code -> new ArrayList<>()).add(parcel);
+            } else {
+                explicitNumbers.add(parcel.getParcelNumber());
+            }
+        }
+        if (byRegionCode.isEmpty()) {
+            return;
+        }
+        if (!explicitNumbers.isEmpty()) {
+            advanceSequences(conn, explicitNumbers);
+        }
+
+        for (Map.Entry<String, List<Parcel>> entry : byRegionCode.entrySet()) {
+            List<Parcel> numbered = entry.getValue();
+            int last = reserveSequentialNumbers(conn, entry.getKey(), year, numbered.size());
+            String prefix = entry.getKey() + "-" + year + "-";
+            int next = last - numbered.size() + 1;
+            for (Parcel parcel : numbered) {
+                parcel.setParcelNumber(ParcelNumberGenerator.formatParcelNumber(prefix, next++));
+            }
+        }
+    }
+
+    /**
+     * Raise the sequence of each number's region and year to at least that number, as the
+     * trg_parcelles_sequence trigger does once the parcel is inserted
+     */
+    private static void advanceSequences(Connection conn, List<String> parcelNumbers) throws SQLException {
+        String sql = "INSERT INTO SequencesParcelles (code_region, annee, dernier_numero) " +
+                "SELECT substr(?1, 1, 2), CAST(substr(?1, 4, 4) AS INTEGER), CAST(substr(?1, 9) AS INTEGER) " +
+                "WHERE ?1 GLOB '[A-Z][A-Z]-[0-9][0-9][0-9][0-9]-[0-9]*' " +
+                "ON CONFLICT (code_region, annee) DO UPDATE SET dernier_numero = MAX(dernier_numero, excluded.dernier_numero)";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (String parcelNumber : parcelNumbers) {
+                pstmt.setString(1, parcelNumber);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private static int reserveSequentialNumbers(Connection conn, String regionCode, int year, int count) throws SQLException {
+        // Single statement: creates the sequence or advances it, and returns the new value
+        String sql = "INSERT INTO SequencesParcelles (code_region, annee, dernier_numero) VALUES (?, ?, ?) " +
+                "ON CONFLICT (code_region, annee) DO UPDATE SET dernier_numero = dernier_numero + excluded.dernier_numero " +
+                "RETURNING dernier_numero";
+
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, regionCode);
+            pstmt.setInt(2, year);
+            pstmt.setInt(3, count);
+
+            ResultSet rs = pstmt.executeQuery();
+            if (!rs.next()) {
+                throw new SQLException("No value returned by the parcel number sequence");
+            }
+            return rs.getInt(1);
+        }
+    }
+
     /**
      * Get total parcel count
      */
     public int getParcelCount() {
         String sql = "SELECT COUNT(*) FROM Parcelles";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
@@ -446,46 +703,56 @@ public class ParcelDAO {
         return 0;
     }
 
-    /**
-     * Extract Parcel object from ResultSet
-     */
-    private Parcel extractParcelFromResultSet(ResultSet rs) throws SQLException {
-        Parcel parcel = new Parcel();
-        parcel.setParcelId(rs.getInt("parcelle_id"));
-        parcel.setParcelNumber(rs.getString("numero_parcelle"));
-        parcel.setLandTitle(rs.getString("titre_foncier"));
-        parcel.setArea(rs.getDouble("superficie"));
-        parcel.setAreaUnit(AreaUnit.valueOf(rs.getString("unite_superficie")));
-        parcel.setLandType(LandType.valueOf(rs.getString("type_terrain")));
-        parcel.setCurrentUsage(rs.getString("usage_actuel"));
-        parcel.setAddress(rs.getString("adresse"));
-        parcel.setRegion(rs.getString("region"));
-        parcel.setDepartment(rs.getString("departement"));
-        parcel.setCommune(rs.getString("commune"));
-        parcel.setGpsCoordinates(rs.getString("coordonnees_gps"));
-        parcel.setStatus(ParcelStatus.valueOf(rs.getString("statut_parcelle")));
-        parcel.setEstimatedValue(rs.getBigDecimal("valeur_estimee"));
-        parcel.setCurrentOwnerId(rs.getInt("proprietaire_actuel"));
-
-        // Safe date parsing
-        try {
-            parcel.setAcquisitionDate(rs.getDate("date_acquisition"));
-        } catch (SQLException e) {
-            parcel.setAcquisitionDate(null);
-        }
-
-        try {
-            parcel.setRegisteredAt(rs.getTimestamp("date_enregistrement"));
-        } catch (SQLException e) {
-            parcel.setRegisteredAt(null);
-        }
+    static final EnumDecoder<AreaUnit> AREA_UNITS = EnumDecoder.of(AreaUnit.class);
+    static final EnumDecoder<LandType> LAND_TYPES = EnumDecoder.of(LandType.class);
+    static final EnumDecoder<ParcelStatus> PARCEL_STATUSES = EnumDecoder.of(ParcelStatus.class);
 
-        try {
-            parcel.setLastModified(rs.getTimestamp("derniere_modification"));
-        } catch (SQLException e) {
-            parcel.setLastModified(null);
-        }
-
-        parcel.setNotes(rs.getString("notes"));
-        return parcel;
-    }}
\ No newline at end of file
+    /**
+     * Maps a Parcelles row to a Parcel; the dates may be missing from the query
+     */
+    static final ColumnMapper<Parcel> PARCEL_MAPPER = new ColumnMapper<>(columns -> {
+        int parcelId = columns.index("parcelle_id");
+        int parcelNumber = columns.index("numero_parcelle");
+        int landTitle = columns.index("titre_foncier");
+        int area = columns.index("superficie");
+        int areaUnit = columns.index("unite_superficie");
+        int landType = columns.index("type_terrain");
+        int currentUsage = columns.index("usage_actuel");
+        int address = columns.index("adresse");
+        int region = columns.index("region");
+        int department = columns.index("departement");
+        int commune = columns.index("commune");
+        int gpsCoordinates = columns.index("coordonnees_gps");
+        int status = columns.index("statut_parcelle");
+        int estimatedValue = columns.index("valeur_estimee");
+        int currentOwnerId = columns.index("proprietaire_actuel");
+        int acquisitionDate = columns.optionalIndex("date_acquisition");
+        int registeredAt = columns.optionalIndex("date_enregistrement");
+        int lastModified = columns.optionalIndex("derniere_modification");
+        int notes = columns.index("notes");
+
+        return rs -> {
+            Parcel parcel = new Parcel();
+            parcel.setParcelId(rs.getInt(parcelId));
+            parcel.setParcelNumber(rs.getString(parcelNumber));
+            parcel.setLandTitle(rs.getString(landTitle));
+            parcel.setArea(rs.getDouble(area));
+            parcel.setAreaUnit(AREA_UNITS.decode(rs.getString(areaUnit)));
+            parcel.setLandType(LAND_TYPES.decode(rs.getString(landType)));
+            parcel.setCurrentUsage(rs.getString(currentUsage));
+            parcel.setAddress(rs.getString(address));
+            parcel.setRegion(rs.getString(region));
+            parcel.setDepartment(rs.getString(department));
+            parcel.setCommune(rs.getString(commune));
+            parcel.setGpsCoordinates(rs.getString(gpsCoordinates));
+            parcel.setStatus(PARCEL_STATUSES.decode(rs.getString(status)));
+            parcel.setEstimatedValue(rs.getBigDecimal(estimatedValue));
+            parcel.setCurrentOwnerId(rs.getInt(currentOwnerId));
+            parcel.setAcquisitionDate(ColumnMapper.date(rs, acquisitionDate));
+            parcel.setRegisteredAt(ColumnMapper.timestamp(rs, registeredAt));
+            parcel.setLastModified(ColumnMapper.timestamp(rs, lastModified));
+            parcel.setNotes(rs.getString(notes));
+            return parcel;
+        };
+    });
+}
@@ -0,0 +1,177 @@
+package dao;
+
+import database.DatabaseConfig;
+import database.WriteQueue;
+import models.Parcel;
+import models.ParcelImport;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Data Access Object for bulk parcel imports and their resume checkpoints
+ */
+public class ParcelImportDAO {
+
+    /**
+     * Get the checkpoint of an import
+     * @param fileName absolute path of the imported file
+     * @return the checkpoint, or null if this file was never imported
+     */
+    public ParcelImport getImport(String fileName) {
+        String sql = "SELECT * FROM ImportsParcelles WHERE fichier = ?";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, fileName);
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return IMPORT_MAPPER.mapRow(rs);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting parcel import: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    /**
+     * Insert a chunk of parcels and save the checkpoint in the same transaction.
+     *
+     * The chunk is sent as one JDBC batch. If the batch fails (duplicate number or
+     * land title...), the chunk is replayed row by row so that only the failing rows
+     * are rejected. On success the imported and rejected counters of the checkpoint
+     * are incremented; the caller sets recordsProcessed beforehand.
+     *
+     * @param beforeCommit receives the per-parcel result on the writer thread, before the
+     *                     COMMIT, so that rejects can be recorded exactly once
+     * @return future completed once committed with one entry per parcel:
+     *         null if inserted, otherwise the rejection reason
+     */
+    public CompletableFuture<List<String>> importChunkAsync(List<Parcel> parcels, ParcelImport progress,
+                                                            Consumer<List<String>> beforeCommit) {
+        String sql = "INSERT INTO ImportsParcelles (fichier, taille_fichier, lignes_traitees, lignes_importees, " +
+                "lignes_rejetees, termine, date_maj) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+                "ON CONFLICT(fichier) DO UPDATE SET taille_fichier = excluded.taille_fichier, " +
+                "lignes_traitees = excluded.lignes_traitees, lignes_importees = excluded.lignes_importees, " +
+                "lignes_rejetees = excluded.lignes_rejetees, termine = excluded.termine, date_maj = CURRENT_TIMESTAMP";
+
+        return DatabaseConfig.submitWrite(conn -> {
+            // Numbers taken from the region sequences are kept only if the chunk commits
+            ParcelDAO.assignParcelNumbers(conn, parcels);
+            List<String> errors = insertParcels(conn, parcels);
+
+            long failed = errors.stream().filter(error -> error != null).count();
+
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, progress.getFileName());
+                pstmt.setLong(2, progress.getFileSize());
+                pstmt.setLong(3, progress.getRecordsProcessed());
+                pstmt.setLong(4, progress.getImportedCount() + parcels.size() - failed);
+                pstmt.setLong(5, progress.getRejectedCount() + failed);
+                pstmt.setInt(6, progress.isCompleted() ? 1 : 0);
+                pstmt.executeUpdate();
+            }
+
+            beforeCommit.accept(errors);
+
+            progress.setImportedCount(progress.getImportedCount() + parcels.size() - failed);
+            progress.setRejectedCount(progress.getRejectedCount() + failed);
+            return errors;
+        });
+    }
+
+    /**
+     * Forget the checkpoint of a file so that it is imported again from the start
+     */
+    public boolean deleteImport(String fileName) {
+        return WriteQueue.await(deleteImportAsync(fileName), "Error deleting parcel import");
+    }
+
+    /**
+     * Forget the checkpoint of a file through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> deleteImportAsync(String fileName) {
+        String sql = "DELETE FROM ImportsParcelles WHERE fichier = ?";
+
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, fileName);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
+    }
+
+    private List<String> insertParcels(Connection conn, List<Parcel> parcels) throws SQLException {
+        if (parcels.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Savepoint chunk = conn.setSavepoint();
+        try (PreparedStatement pstmt = conn.prepareStatement(ParcelDAO.INSERT_SQL)) {
+            for (Parcel parcel : parcels) {
+                ParcelDAO.setInsertParameters(pstmt, parcel);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+            conn.releaseSavepoint(chunk);
+            return new ArrayList<>(Collections.nCopies(parcels.size(), null));
+
+        } catch (SQLException e) {
+            // SQLite stops at the first failing row: undo the partial batch and retry row by row
+            conn.rollback(chunk);
+            conn.releaseSavepoint(chunk);
+        }
+
+        List<String> errors = new ArrayList<>(parcels.size());
+        try (PreparedStatement pstmt = conn.prepareStatement(ParcelDAO.INSERT_SQL)) {
+            for (Parcel parcel : parcels) {
+                Savepoint row = conn.setSavepoint();
+                try {
+                    ParcelDAO.setInsertParameters(pstmt, parcel);
+                    pstmt.executeUpdate();
+                    conn.releaseSavepoint(row);
+                    errors.add(null);
+                } catch (SQLException e) {
+                    conn.rollback(row);
+                    conn.releaseSavepoint(row);
+                    errors.add(e.getMessage());
+                }
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Maps an ImportsParcelles row to a ParcelImport
+     */
+    static final ColumnMapper<ParcelImport> IMPORT_MAPPER = new ColumnMapper<>(columns -> {
+        int fileName = columns.index("fichier");
+        int fileSize = columns.index("taille_fichier");
+        int recordsProcessed = columns.index("lignes_traitees");
+        int importedCount = columns.index("lignes_importees");
+        int rejectedCount = columns.index("lignes_rejetees");
+        int completed = columns.index("termine");
+        int updatedAt = columns.index("date_maj");
+
+        return rs -> {
+            ParcelImport parcelImport = new ParcelImport();
+            parcelImport.setFileName(rs.getString(fileName));
+            parcelImport.setFileSize(rs.getLong(fileSize));
+            parcelImport.setRecordsProcessed(rs.getLong(recordsProcessed));
+            parcelImport.setImportedCount(rs.getLong(importedCount));
+            parcelImport.setRejectedCount(rs.getLong(rejectedCount));
+            parcelImport.setCompleted(rs.getInt(completed) == 1);
+            parcelImport.setUpdatedAt(ColumnMapper.timestamp(rs, updatedAt));
+            return parcelImport;
+        };
+    });
+}
@@ -0,0 +1,229 @@
+package dao;
+
+import models.Parcel.LandType;
+import models.Parcel.ParcelStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Search criteria for parcels, compiled to a single parameterized SELECT.
+ *
+ * Every criterion is optional; null fields are ignored. Equality criteria (region,
+ * status, type, owner) come first so that SQLite can pick one of the
+ * (column, date_enregistrement) indexes, which also serves the default sort.
+ * Ranges are then checked on the rows of that index only; the text goes through the
+ * parcelles_fts full-text index.
+ *
+ * Usage:
+ * <pre>
+ *     ParcelQuery query = new ParcelQuery()
+ *             .setRegion("Dakar")
+ *             .setStatus(ParcelStatus.AVAILABLE)
+ *             .setText("Almadies");
+ *     List&lt;Parcel&gt; parcels = parcelDAO.findParcels(query);
+ * </pre>
+ */
+public class ParcelQuery {
+
+    /**
+     * Sort orders; parcelle_id breaks ties so that results are stable across windows
+     */
+    public enum Sort {
+        REGISTRATION_DATE("date_enregistrement"),
+        PARCEL_NUMBER("numero_parcelle"),
+        AREA("superficie"),
+        VALUE("valeur_estimee");
+
+        private final String column;
+
+        Sort(String column) {
+            this.column = column;
+        }
+    }
+
+    private String region;
+    private ParcelStatus status;
+    private LandType landType;
+    private Integer ownerId;
+    private Double minArea;
+    private Double maxArea;
+    private Double minValue;
+    private Double maxValue;
+    private LocalDate from;
+    private LocalDate to;
+    private String text;
+    private Sort sort = Sort.REGISTRATION_DATE;
+    private boolean ascending = false;
+    private int limit = 0;
+
+    public String getRegion() {
+        return region;
+    }
+
+    public ParcelQuery setRegion(String region) {
+        this.region = region;
+        return this;
+    }
+
+    public ParcelStatus getStatus() {
+        return status;
+    }
+
+    public ParcelQuery setStatus(ParcelStatus status) {
+        this.status = status;
+        return this;
+    }
+
+    public LandType getLandType() {
+        return landType;
+    }
+
+    public ParcelQuery setLandType(LandType landType) {
+        this.landType = landType;
+        return this;
+    }
+
+    public Integer getOwnerId() {
+        return ownerId;
+    }
+
+    public ParcelQuery setOwnerId(Integer ownerId) {
+        this.ownerId = ownerId;
+        return this;
+    }
+
+    /**
+     * Area range, bounds included, in the unit stored with each parcel
+     */
+    public ParcelQuery setAreaRange(Double minArea, Double maxArea) {
+        this.minArea = minArea;
+        this.maxArea = maxArea;
+        return this;
+    }
+
+    /**
+     * Estimated value range in FCFA, bounds included
+     */
+    public ParcelQuery setValueRange(Double minValue, Double maxValue) {
+        this.minValue = minValue;
+        this.maxValue = maxValue;
+        return this;
+    }
+
+    /**
+     * Registration date range, both days included
+     */
+    public ParcelQuery setDateRange(LocalDate from, LocalDate to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Words of the parcel number, land title, address, usage or locality, matched as
+     * prefixes ignoring case and accents
+     */
+    public ParcelQuery setText(String text) {
+        this.text = text == null || text.isBlank() ? null : text.trim();
+        return this;
+    }
+
+    public ParcelQuery setSort(Sort sort, boolean ascending) {
+        this.sort = sort != null ? sort : Sort.REGISTRATION_DATE;
+        this.ascending = ascending;
+        return this;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Maximum number of rows, 0 for no limit
+     */
+    public ParcelQuery setLimit(int limit) {
+        this.limit = Math.max(0, limit);
+        return this;
+    }
+
+    /**
+     * Build the SELECT statement of this query
+     * @param params receives the parameter values, in order
+     */
+    public String toSql(List<Object> params) {
+        return toSql(params, 0, limit);
+    }
+
+    /**
+     * Build the SELECT statement of one window of this query, e.g. for a table loaded on demand
+     * @param params receives the parameter values, in order
+     * @param offset index of the first row
+     * @param limit maximum number of rows, 0 for no limit; replaces the limit of the query
+     */
+    public String toSql(List<Object> params, int offset, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM Parcelles");
+        appendWhere(sql, params);
+
+        String direction = ascending ? " ASC" : " DESC";
+        sql.append(" ORDER BY ").append(sort.column).append(direction)
+                .append(", parcelle_id").append(direction);
+        if (limit > 0 || offset > 0) {
+            sql.append(" LIMIT ?");
+            params.add(limit > 0 ? limit : -1);
+        }
+        if (offset > 0) {
+            sql.append(" OFFSET ?");
+            params.add(offset);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Build the COUNT statement of this query, ignoring sort and limit
+     * @param params receives the parameter values, in order
+     */
+    public String toCountSql(List<Object> params) {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM Parcelles");
+        appendWhere(sql, params);
+        return sql.toString();
+    }
+
+    private void appendWhere(StringBuilder sql, List<Object> params) {
+        StringBuilder where = new StringBuilder();
+
+        appendCondition(where, params, "region = ?", region);
+        appendCondition(where, params, "statut_parcelle = ?", status != null ? status.name() : null);
+        appendCondition(where, params, "type_terrain = ?", landType != null ? landType.name() : null);
+        appendCondition(where, params, "proprietaire_actuel = ?", ownerId);
+        appendCondition(where, params, "superficie >= ?", minArea);
+        appendCondition(where, params, "superficie <= ?", maxArea);
+        appendCondition(where, params, "valeur_estimee >= ?", minValue);
+        appendCondition(where, params, "valeur_estimee <= ?", maxValue);
+        // date_enregistrement holds CURRENT_TIMESTAMP text ("yyyy-MM-dd HH:mm:ss")
+        appendCondition(where, params, "date_enregistrement >= ?", from != null ? from.toString() : null);
+        appendCondition(where, params, "date_enregistrement < ?", to != null ? to.plusDays(1).toString() : null);
+
+        // Full-text index: the matching ids are intersected with the other criteria
+        appendCondition(where, params, "parcelle_id IN (SELECT rowid FROM parcelles_fts WHERE parcelles_fts MATCH ?)",
+                FullTextQuery.toMatchExpression(text));
+
+        if (where.length() > 0) {
+            sql.append(" WHERE ").append(where);
+        }
+    }
+
+    private static void appendCondition(StringBuilder where, List<Object> params, String condition, Object value) {
+        if (value != null) {
+            if (where.length() > 0) {
+                where.append(" AND ");
+            }
+            where.append(condition);
+            params.add(value);
+        }
+    }
+}
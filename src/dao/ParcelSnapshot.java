@@ -0,0 +1,836 @@
+package dao;
+
+import database.DatabaseConfig;
+import models.Parcel.AreaUnit;
+import models.Parcel.LandType;
+import models.Parcel.ParcelStatus;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Optional in-memory copy of the Parcelles columns used by the reports, stored column by
+ * column in primitive arrays.
+ *
+ * Region, land type, status and area unit are byte ordinals, area and estimated value are
+ * doubles (value NaN when unknown) and the owner is an int (0 when none). Row i of every
+ * array is the parcel with ID i; IDs without a parcel have region -1. About 24 bytes per
+ * parcel, i.e. 24 MB for a million parcels.
+ *
+ * Group-by, histogram and top-N queries split the arrays into chunks scanned in parallel:
+ * each chunk fills its own accumulator, the accumulators are merged at the end, and no
+ * object is allocated per row. Areas are compared and summed in hectares.
+ *
+ * Nothing is read until the first refresh(). The next calls read only the parcels whose
+ * derniere_modification (kept current by a trigger, migration 8) is later than the previous
+ * refresh or whose ID is higher than any held, and nothing at all when the Parcelles version
+ * (VersionsTables) has not changed. When the number of parcels still differs from the
+ * counters, the IDs are compared: deleted parcels are removed and missing ones read by ID.
+ * Every refresh reads in a single transaction. An update committed more than
+ * REFRESH_OVERLAP_SECONDS after it was made is still missed; the write queue commits in
+ * small batches of at most a few milliseconds.
+ *
+ * Queries see the data of the last refresh. They may run while a refresh is in progress:
+ * the changes are applied under a write lock once read from the database.
+ */
+public final class ParcelSnapshot {
+
+    // Rows per chunk scanned by one thread
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    // Changes are read from this many seconds before the previous refresh:
+    // CURRENT_TIMESTAMP has a one second resolution and is taken before the commit
+    private static final int REFRESH_OVERLAP_SECONDS = 10;
+
+    // Parcel IDs per query when reading parcels by ID
+    private static final int IN_BATCH_SIZE = 500;
+
+    private static final byte ABSENT = -1;
+
+    private static final LandType[] LAND_TYPES = LandType.values();
+    private static final ParcelStatus[] STATUSES = ParcelStatus.values();
+    private static final AreaUnit[] AREA_UNITS = AreaUnit.values();
+
+    // Factor converting an area in each unit (by ordinal) to hectares
+    private static final double[] HECTARES_PER_UNIT = new double[AREA_UNITS.length];
+
+    static {
+        HECTARES_PER_UNIT[AreaUnit.M2.ordinal()] = 0.0001;
+        HECTARES_PER_UNIT[AreaUnit.HECTARE.ordinal()] = 1;
+    }
+
+    private static final String COLUMNS = "parcelle_id, region, type_terrain, statut_parcelle, unite_superficie, " +
+            "superficie, valeur_estimee, proprietaire_actuel";
+
+    private static volatile ParcelSnapshot instance;
+
+    /**
+     * Column grouped by groupBy()
+     */
+    public enum Dimension {
+        REGION, LAND_TYPE, STATUS
+    }
+
+    /**
+     * Column ranked by top()
+     */
+    public enum Measure {
+        AREA, VALUE
+    }
+
+    /**
+     * Parcels taken into a query; every criterion left unset matches all parcels
+     */
+    public static class Filter {
+        private String region;
+        private LandType landType;
+        private ParcelStatus status;
+        private int ownerId;
+
+        public Filter setRegion(String region) {
+            this.region = region;
+            return this;
+        }
+
+        public Filter setLandType(LandType landType) {
+            this.landType = landType;
+            return this;
+        }
+
+        public Filter setStatus(ParcelStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        /**
+         * @param ownerId citizen owning the parcels, 0 for any
+         */
+        public Filter setOwnerId(int ownerId) {
+            this.ownerId = ownerId;
+            return this;
+        }
+    }
+
+    /**
+     * Number of parcels, total area (hectares) and total estimated value of each group
+     */
+    public static final class GroupTotals {
+        private final List<String> labels;
+        private final long[] counts;
+        private final double[] areas;
+        private final double[] values;
+
+        GroupTotals(List<String> labels, long[] counts, double[] areas, double[] values) {
+            this.labels = labels;
+            this.counts = counts;
+            this.areas = areas;
+            this.values = values;
+        }
+
+        /**
+         * Group names (region names, land types or statuses), including empty groups
+         */
+        public List<String> getLabels() {
+            return labels;
+        }
+
+        public int size() {
+            return labels.size();
+        }
+
+        public long getCount(int group) {
+            return counts[group];
+        }
+
+        public double getArea(int group) {
+            return areas[group];
+        }
+
+        /**
+         * Sum of the known estimated values
+         */
+        public double getValue(int group) {
+            return values[group];
+        }
+    }
+
+    /**
+     * Parcels ranked by a measure, highest first
+     */
+    public static final class Ranking {
+        private final int[] parcelIds;
+        private final double[] values;
+
+        Ranking(int[] parcelIds, double[] values) {
+            this.parcelIds = parcelIds;
+            this.values = values;
+        }
+
+        public int size() {
+            return parcelIds.length;
+        }
+
+        public int getParcelId(int rank) {
+            return parcelIds[rank];
+        }
+
+        /**
+         * Area in hectares or estimated value, depending on the measure ranked
+         */
+        public double getValue(int rank) {
+            return values[rank];
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object refreshLock = new Object();
+
+    // Columns, guarded by lock; capacity is the length of the arrays
+    private byte[] regionColumn = new byte[0];
+    private byte[] landTypeColumn = new byte[0];
+    private byte[] statusColumn = new byte[0];
+    private byte[] unitColumn = new byte[0];
+    private double[] areaColumn = new double[0];
+    private double[] valueColumn = new double[0];
+    private int[] ownerColumn = new int[0];
+    private int rowLimit = 0;
+    private int parcelCount = 0;
+
+    // Region names by ordinal; the registry order, then any name it does not know
+    private final List<String> regionNames = new ArrayList<>();
+    private final Map<String, Integer> regionOrdinals = new HashMap<>();
+
+    // Refresh state, guarded by refreshLock
+    private boolean loaded = false;
+    private long loadedVersion = -1;
+    private String lastRefreshTime = null;
+    private long refreshes = 0;
+    private long rowsRead = 0;
+    private long lastRefreshNanos = 0;
+
+    public ParcelSnapshot() {
+        for (String name : RegionRegistry.get().getRegionNames()) {
+            regionOrdinals.put(name, regionNames.size());
+            regionNames.add(name);
+        }
+    }
+
+    /**
+     * Snapshot shared by the reports, created on first use (and loaded by its first refresh())
+     */
+    public static ParcelSnapshot get() {
+        ParcelSnapshot snapshot = instance;
+        if (snapshot == null) {
+            synchronized (ParcelSnapshot.class) {
+                if (instance == null) {
+                    instance = new ParcelSnapshot();
+                }
+                snapshot = instance;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Bring the snapshot up to date: everything on the first call, then only the parcels
+     * changed since the previous call
+     * @return true if the snapshot is up to date, false on error (the previous data is kept)
+     */
+    public boolean refresh() {
+        synchronized (refreshLock) {
+            long start = System.nanoTime();
+            try (Connection conn = DatabaseConfig.getReadConnection()) {
+                // One read transaction: the version, the clock, the rows and the count all
+                // come from the same commit
+                boolean ownTransaction = conn.getAutoCommit();
+                if (ownTransaction) {
+                    conn.setAutoCommit(false);
+                }
+                try {
+                    long version = readVersion(conn);
+                    if (loaded && version == loadedVersion) {
+                        return true;
+                    }
+                    String refreshTime = readDatabaseTime(conn);
+
+                    ChangedRows changes = readChangedRows(conn, loaded ? lastRefreshTime : null, rowLimit - 1);
+                    int expectedCount = readParcelCount(conn);
+
+                    applyChanges(changes, !loaded);
+                    long read = changes.size;
+                    if (parcelCount != expectedCount) {
+                        // Deleted parcels: compare the IDs, and read any parcel missing
+                        // from the snapshot as well
+                        BitSet existing = readParcelIds(conn);
+                        removeDeletedParcels(existing);
+                        ChangedRows missing = readParcels(conn, missingParcels(existing));
+                        applyChanges(missing, false);
+                        read += missing.size;
+                    }
+
+                    lastRefreshTime = refreshTime;
+                    loaded = true;
+                    loadedVersion = version;
+                    refreshes++;
+                    rowsRead += read;
+                    lastRefreshNanos = System.nanoTime() - start;
+                    return true;
+                } finally {
+                    if (ownTransaction) {
+                        conn.commit();
+                        conn.setAutoCommit(true);
+                    }
+                }
+
+            } catch (SQLException e) {
+                System.err.println("Error refreshing parcel snapshot: " + e.getMessage());
+                e.printStackTrace();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Count the parcels and sum their area and value, by region, land type or status
+     */
+    public GroupTotals groupBy(Dimension dimension, Filter filter) {
+        lock.readLock().lock();
+        try {
+            List<String> labels = labels(dimension);
+            int groups = labels.size();
+            byte[] keys = column(dimension);
+
+            Totals totals = scan(filter, () -> new Totals(groups), (acc, row) -> {
+                int group = keys[row];
+                acc.counts[group]++;
+                acc.areas[group] += hectares(row);
+                double value = valueColumn[row];
+                if (!Double.isNaN(value)) {
+                    acc.values[group] += value;
+                }
+            }, Totals::merge);
+
+            return new GroupTotals(labels, totals.counts, totals.areas, totals.values);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distribution of the parcel areas, in hectares
+     * @param min lower bound of the first bin
+     * @param max upper bound of the last bin; areas outside [min, max) are not counted
+     * @param bins number of bins of equal width
+     * @return number of parcels in each bin
+     */
+    public long[] areaHistogram(Filter filter, double min, double max, int bins) {
+        if (bins <= 0 || !(max > min)) {
+            throw new IllegalArgumentException("Invalid histogram bounds: [" + min + ", " + max + "), " + bins + " bins");
+        }
+        double binsPerHectare = bins / (max - min);
+
+        lock.readLock().lock();
+        try {
+            return scan(filter, () -> new long[bins], (counts, row) -> {
+                double area = hectares(row);
+                if (area >= min && area < max) {
+                    // min(): rounding may put an area just below max into bin "bins"
+                    counts[Math.min((int) ((area - min) * binsPerHectare), bins - 1)]++;
+                }
+            }, (a, b) -> {
+                for (int i = 0; i < bins; i++) {
+                    a[i] += b[i];
+                }
+                return a;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The parcels with the largest area (hectares) or estimated value; parcels without a
+     * value are not ranked by value
+     * @param limit maximum number of parcels returned
+     */
+    public Ranking top(Measure measure, Filter filter, int limit) {
+        if (limit <= 0) {
+            return new Ranking(new int[0], new double[0]);
+        }
+
+        lock.readLock().lock();
+        try {
+            TopHeap heap = scan(filter, () -> new TopHeap(limit), (acc, row) -> {
+                double value = measure == Measure.AREA ? hectares(row) : valueColumn[row];
+                if (!Double.isNaN(value)) {
+                    acc.offer(row, value);
+                }
+            }, TopHeap::merge);
+            return heap.toRanking();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of parcels in the snapshot
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return parcelCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Readable summary of the snapshot metrics
+     */
+    public String getStatistics() {
+        long capacity;
+        int parcels;
+        lock.readLock().lock();
+        try {
+            capacity = regionColumn.length;
+            parcels = parcelCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+        synchronized (refreshLock) {
+            return String.format("ParcelSnapshot[parcels=%d, capacity=%d, refreshes=%d, rows read=%d, last refresh=%.1f ms]",
+                    parcels, capacity, refreshes, rowsRead, lastRefreshNanos / 1e6);
+        }
+    }
+
+    // ==================== SCANS ====================
+
+    /**
+     * Action applied to each matching row; must not allocate
+     */
+    @FunctionalInterface
+    private interface RowVisitor<A> {
+        void visit(A accumulator, int row);
+    }
+
+    /**
+     * Visit the rows matching the filter, one accumulator per chunk, merged at the end.
+     * Called with the read lock held
+     */
+    private <A> A scan(Filter filter, Supplier<A> accumulator, RowVisitor<A> visitor, BinaryOperator<A> merge) {
+        int region = filter == null || filter.region == null ? -1 : regionOrdinals.getOrDefault(filter.region, -2);
+        int landType = filter == null || filter.landType == null ? -1 : filter.landType.ordinal();
+        int status = filter == null || filter.status == null ? -1 : filter.status.ordinal();
+        int owner = filter == null ? 0 : filter.ownerId;
+        if (region == -2) {
+            // Region unknown to the snapshot: no parcel
+            return accumulator.get();
+        }
+
+        int rows = rowLimit;
+        int chunks = (rows + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks).parallel().mapToObj(chunk -> {
+            A acc = accumulator.get();
+            int end = Math.min(rows, (chunk + 1) * CHUNK_SIZE);
+            for (int row = chunk * CHUNK_SIZE; row < end; row++) {
+                byte rowRegion = regionColumn[row];
+                if (rowRegion == ABSENT
+                        || (region >= 0 && rowRegion != region)
+                        || (landType >= 0 && landTypeColumn[row] != landType)
+                        || (status >= 0 && statusColumn[row] != status)
+                        || (owner > 0 && ownerColumn[row] != owner)) {
+                    continue;
+                }
+                visitor.visit(acc, row);
+            }
+            return acc;
+        }).reduce(merge).orElseGet(accumulator);
+    }
+
+    private double hectares(int row) {
+        return areaColumn[row] * HECTARES_PER_UNIT[unitColumn[row]];
+    }
+
+    private byte[] column(Dimension dimension) {
+        switch (dimension) {
+            case REGION:
+                return regionColumn;
+            case LAND_TYPE:
+                return landTypeColumn;
+            default:
+                return statusColumn;
+        }
+    }
+
+    private List<String> labels(Dimension dimension) {
+        List<String> labels = new ArrayList<>();
+        switch (dimension) {
+            case REGION:
+                labels.addAll(regionNames);
+                break;
+            case LAND_TYPE:
+                for (LandType type : LAND_TYPES) {
+                    labels.add(type.name());
+                }
+                break;
+            default:
+                for (ParcelStatus status : STATUSES) {
+                    labels.add(status.name());
+                }
+        }
+        return Collections.unmodifiableList(labels);
+    }
+
+    /**
+     * Accumulator of groupBy()
+     */
+    private static final class Totals {
+        final long[] counts;
+        final double[] areas;
+        final double[] values;
+
+        Totals(int groups) {
+            counts = new long[groups];
+            areas = new double[groups];
+            values = new double[groups];
+        }
+
+        Totals merge(Totals other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+                areas[i] += other.areas[i];
+                values[i] += other.values[i];
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Accumulator of top(): a min-heap of the best rows seen, in two primitive arrays
+     */
+    private static final class TopHeap {
+        final int[] rows;
+        final double[] keys;
+        int size = 0;
+
+        TopHeap(int capacity) {
+            rows = new int[capacity];
+            keys = new double[capacity];
+        }
+
+        void offer(int row, double key) {
+            if (size < rows.length) {
+                rows[size] = row;
+                keys[size] = key;
+                siftUp(size++);
+            } else if (key > keys[0]) {
+                rows[0] = row;
+                keys[0] = key;
+                siftDown(0);
+            }
+        }
+
+        TopHeap merge(TopHeap other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.rows[i], other.keys[i]);
+            }
+            return this;
+        }
+
+        Ranking toRanking() {
+            // Emptying the min-heap gives the rows from the smallest key to the largest
+            int[] ids = new int[size];
+            double[] values = new double[size];
+            for (int i = size - 1; i >= 0; i--) {
+                ids[i] = rows[0];
+                values[i] = keys[0];
+                size--;
+                rows[0] = rows[size];
+                keys[0] = keys[size];
+                siftDown(0);
+            }
+            return new Ranking(ids, values);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (keys[parent] <= keys[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && keys[left] < keys[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && keys[right] < keys[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int row = rows[a];
+            rows[a] = rows[b];
+            rows[b] = row;
+            double key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+        }
+    }
+
+    // ==================== REFRESH ====================
+
+    /**
+     * Rows read from the database, in primitive arrays, before they are applied
+     */
+    private static final class ChangedRows {
+        int size = 0;
+        int[] ids = new int[1024];
+        byte[] regions = new byte[1024];
+        byte[] landTypes = new byte[1024];
+        byte[] statuses = new byte[1024];
+        byte[] units = new byte[1024];
+        double[] areas = new double[1024];
+        double[] values = new double[1024];
+        int[] owners = new int[1024];
+
+        void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            regions = Arrays.copyOf(regions, capacity);
+            landTypes = Arrays.copyOf(landTypes, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            units = Arrays.copyOf(units, capacity);
+            areas = Arrays.copyOf(areas, capacity);
+            values = Arrays.copyOf(values, capacity);
+            owners = Arrays.copyOf(owners, capacity);
+        }
+    }
+
+    private long readVersion(Connection conn) throws SQLException {
+        String sql = "SELECT version FROM VersionsTables WHERE nom_table = 'Parcelles'";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getLong("version") : 0;
+        }
+    }
+
+    /**
+     * Database clock, in the format of derniere_modification
+     */
+    private String readDatabaseTime(Connection conn) throws SQLException {
+        String sql = "SELECT CURRENT_TIMESTAMP AS now";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getString("now");
+        }
+    }
+
+    private int readParcelCount(Connection conn) throws SQLException {
+        String sql = "SELECT COALESCE(SUM(valeur), 0) AS parcels FROM Compteurs WHERE metrique = 'parcelles'";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt("parcels") : 0;
+        }
+    }
+
+    /**
+     * @param since time of the previous refresh, null to read every parcel
+     * @param highestId highest parcel ID held: IDs are never reused and SQLite commits one
+     *                  write transaction at a time, so every parcel inserted since has a higher one
+     */
+    private ChangedRows readChangedRows(Connection conn, String since, int highestId) throws SQLException {
+        String sql = since == null
+                ? "SELECT " + COLUMNS + " FROM Parcelles"
+                : "SELECT " + COLUMNS + " FROM Parcelles WHERE derniere_modification >= datetime(?, ?) " +
+                  "OR parcelle_id > ?";
+
+        ChangedRows changes = new ChangedRows();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            if (since != null) {
+                pstmt.setString(1, since);
+                pstmt.setString(2, "-" + REFRESH_OVERLAP_SECONDS + " seconds");
+                pstmt.setInt(3, highestId);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                readRows(rs, changes);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Read the given parcels, by batches of IN_BATCH_SIZE IDs
+     */
+    private ChangedRows readParcels(Connection conn, int[] ids) throws SQLException {
+        ChangedRows rows = new ChangedRows();
+        for (int from = 0; from < ids.length; from += IN_BATCH_SIZE) {
+            int count = Math.min(IN_BATCH_SIZE, ids.length - from);
+            String sql = "SELECT " + COLUMNS + " FROM Parcelles WHERE parcelle_id IN (" +
+                    String.join(", ", Collections.nCopies(count, "?")) + ")";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < count; i++) {
+                    pstmt.setInt(i + 1, ids[from + i]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    readRows(rs, rows);
+                }
+            }
+        }
+        return rows;
+    }
+
+    private void readRows(ResultSet rs, ChangedRows changes) throws SQLException {
+        while (rs.next()) {
+            if (changes.size == changes.ids.length) {
+                changes.grow();
+            }
+            int i = changes.size++;
+            changes.ids[i] = rs.getInt("parcelle_id");
+            changes.regions[i] = (byte) regionOrdinal(rs.getString("region"));
+            changes.landTypes[i] = (byte) ParcelDAO.LAND_TYPES.decode(rs.getString("type_terrain")).ordinal();
+            changes.statuses[i] = (byte) ParcelDAO.PARCEL_STATUSES.decode(rs.getString("statut_parcelle")).ordinal();
+            changes.units[i] = (byte) ParcelDAO.AREA_UNITS.decode(rs.getString("unite_superficie")).ordinal();
+            changes.areas[i] = rs.getDouble("superficie");
+            double value = rs.getDouble("valeur_estimee");
+            changes.values[i] = rs.wasNull() ? Double.NaN : value;
+            changes.owners[i] = rs.getInt("proprietaire_actuel");
+        }
+    }
+
+    private BitSet readParcelIds(Connection conn) throws SQLException {
+        BitSet ids = new BitSet();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT parcelle_id FROM Parcelles")) {
+            while (rs.next()) {
+                ids.set(rs.getInt("parcelle_id"));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Ordinal of a region name, adding names the registry does not know
+     * (only called by the refresh, under refreshLock)
+     */
+    private int regionOrdinal(String region) {
+        Integer ordinal = regionOrdinals.get(region);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        if (regionNames.size() == Byte.MAX_VALUE) {
+            throw new IllegalStateException("Too many regions for the parcel snapshot");
+        }
+        lock.writeLock().lock();
+        try {
+            regionOrdinals.put(region, regionNames.size());
+            regionNames.add(region);
+            return regionNames.size() - 1;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyChanges(ChangedRows changes, boolean replaceAll) {
+        lock.writeLock().lock();
+        try {
+            if (replaceAll) {
+                Arrays.fill(regionColumn, ABSENT);
+                parcelCount = 0;
+                rowLimit = 0;
+            }
+            for (int i = 0; i < changes.size; i++) {
+                int row = changes.ids[i];
+                if (row >= regionColumn.length) {
+                    ensureCapacity(row + 1);
+                }
+                if (regionColumn[row] == ABSENT) {
+                    parcelCount++;
+                }
+                regionColumn[row] = changes.regions[i];
+                landTypeColumn[row] = changes.landTypes[i];
+                statusColumn[row] = changes.statuses[i];
+                unitColumn[row] = changes.units[i];
+                areaColumn[row] = changes.areas[i];
+                valueColumn[row] = changes.values[i];
+                ownerColumn[row] = changes.owners[i];
+                rowLimit = Math.max(rowLimit, row + 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDeletedParcels(BitSet existing) {
+        lock.writeLock().lock();
+        try {
+            for (int row = 0; row < rowLimit; row++) {
+                if (regionColumn[row] != ABSENT && !existing.get(row)) {
+                    regionColumn[row] = ABSENT;
+                    parcelCount--;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * IDs of the existing parcels the snapshot does not hold
+     */
+    private int[] missingParcels(BitSet existing) {
+        lock.readLock().lock();
+        try {
+            return existing.stream()
+                    .filter(row -> row >= regionColumn.length || regionColumn[row] == ABSENT)
+                    .toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Grow every column to hold the given number of rows (called with the write lock held)
+     */
+    private void ensureCapacity(int rows) {
+        int capacity = Math.max(rows, Math.max(1024, regionColumn.length * 3 / 2));
+        int previous = regionColumn.length;
+        regionColumn = Arrays.copyOf(regionColumn, capacity);
+        Arrays.fill(regionColumn, previous, capacity, ABSENT);
+        landTypeColumn = Arrays.copyOf(landTypeColumn, capacity);
+        statusColumn = Arrays.copyOf(statusColumn, capacity);
+        unitColumn = Arrays.copyOf(unitColumn, capacity);
+        areaColumn = Arrays.copyOf(areaColumn, capacity);
+        valueColumn = Arrays.copyOf(valueColumn, capacity);
+        ownerColumn = Arrays.copyOf(ownerColumn, capacity);
+    }
+}
@@ -1,14 +1,19 @@
 package dao;
 
-import database.DatabaseConfig;
 import models.Region;
 
-import java.sql.*;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /**
  * Data Access Object for Region operations
+ *
+ * Regions are reference data: lookups are served by RegionRegistry, which reads
+ * the table once.
  */
 public class RegionDAO {
 
@@ -16,90 +21,29 @@ public class RegionDAO {
      * Get region by ID
      */
     public Region getRegionById(int regionId) {
-        String sql = "SELECT * FROM Regions WHERE region_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, regionId);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                return extractRegionFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error getting region by ID: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return null;
+        return RegionRegistry.get().getById(regionId);
     }
 
     /**
      * Get region by code
      */
     public Region getRegionByCode(String regionCode) {
-        String sql = "SELECT * FROM Regions WHERE code_region = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, regionCode);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                return extractRegionFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error getting region by code: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return null;
+        return RegionRegistry.get().getByCode(regionCode);
     }
 
     /**
-     * Get region by name
+     * Get region by name, ignoring case and accents
      */
     public Region getRegionByName(String regionName) {
-        String sql = "SELECT * FROM Regions WHERE nom_region = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, regionName);
-            ResultSet rs = pstmt.executeQuery();
-
-            if (rs.next()) {
-                return extractRegionFromResultSet(rs);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error getting region by name: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return null;
+        return RegionRegistry.get().getByName(regionName);
     }
 
     /**
      * Get all regions
      */
     public List<Region> getAllRegions() {
-        List<Region> regions = new ArrayList<>();
-        String sql = "SELECT * FROM Regions ORDER BY nom_region";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                regions.add(extractRegionFromResultSet(rs));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error getting all regions: " + e.getMessage());
-            e.printStackTrace();
-        }
+        List<Region> regions = RegionRegistry.get().getRegions();
+        regions.sort(Comparator.comparing(Region::getRegionName));
         return regions;
     }
 
@@ -107,21 +51,8 @@ public class RegionDAO {
      * Get all region names (useful for dropdowns)
      */
     public List<String> getAllRegionNames() {
-        List<String> regionNames = new ArrayList<>();
-        String sql = "SELECT nom_region FROM Regions ORDER BY nom_region";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                regionNames.add(rs.getString("nom_region"));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error getting region names: " + e.getMessage());
-            e.printStackTrace();
-        }
+        List<String> regionNames = new ArrayList<>(RegionRegistry.get().getRegionNames());
+        Collections.sort(regionNames);
         return regionNames;
     }
 
@@ -129,35 +60,31 @@ public class RegionDAO {
      * Get region count
      */
     public int getRegionCount() {
-        String sql = "SELECT COUNT(*) FROM Regions";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error getting region count: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return 0;
+        return RegionRegistry.get().size();
     }
 
     /**
-     * Extract Region object from ResultSet
+     * Maps a Regions row to a Region
      */
-    private Region extractRegionFromResultSet(ResultSet rs) throws SQLException {
-        Region region = new Region();
-        region.setRegionId(rs.getInt("region_id"));
-        region.setRegionCode(rs.getString("code_region"));
-        region.setRegionName(rs.getString("nom_region"));
-        region.setCapital(rs.getString("chef_lieu"));
-        region.setArea(rs.getDouble("superficie"));
-        region.setPopulation(rs.getInt("population"));
-        region.setCreatedAt(rs.getTimestamp("date_creation"));
-        return region;
-    }
+    static final ColumnMapper<Region> REGION_MAPPER = new ColumnMapper<>(columns -> {
+        int regionId = columns.index("region_id");
+        int regionCode = columns.index("code_region");
+        int regionName = columns.index("nom_region");
+        int capital = columns.index("chef_lieu");
+        int area = columns.index("superficie");
+        int population = columns.index("population");
+        int createdAt = columns.index("date_creation");
+
+        return rs -> {
+            Region region = new Region();
+            region.setRegionId(rs.getInt(regionId));
+            region.setRegionCode(rs.getString(regionCode));
+            region.setRegionName(rs.getString(regionName));
+            region.setCapital(rs.getString(capital));
+            region.setArea(rs.getDouble(area));
+            region.setPopulation(rs.getInt(population));
+            region.setCreatedAt(ColumnMapper.timestamp(rs, createdAt));
+            return region;
+        };
+    });
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package dao;
+
+import database.DatabaseConfig;
+import models.Region;
+import utils.Constants;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory copy of the Regions table, read once at startup.
+ *
+ * The 14 regions never change while the application runs, so every lookup (by ID,
+ * code, name or spelling) is served from immutable maps without SQL. The registry
+ * is loaded by preload() at startup, or by the first lookup otherwise. If the table
+ * cannot be read or is empty (database not initialized yet), lookups find nothing
+ * until RETRY_DELAY_MS has passed or preload() is called again, so that a missing
+ * table does not cost a query and an error report on every call.
+ *
+ * Callers get copies of the Region objects: changing one does not affect the registry.
+ */
+public final class RegionRegistry {
+
+    // Wait before reading the table again after a failed or empty load
+    private static final long RETRY_DELAY_MS = 30_000;
+
+    private static volatile RegionRegistry instance;
+    // Empty registry served until retryAt after a failed load
+    private static RegionRegistry unavailable;
+    private static long retryAt;
+
+    private final List<Region> regions;
+    private final List<String> names;
+    private final Map<Integer, Region> byId;
+    private final Map<String, Region> byCode;
+    private final Map<String, Region> byName;
+
+    private RegionRegistry(List<Region> regions) {
+        Map<Integer, Region> ids = new HashMap<>();
+        Map<String, Region> codes = new HashMap<>();
+        Map<String, Region> spellings = new HashMap<>();
+        List<String> regionNames = new ArrayList<>();
+
+        for (Region region : regions) {
+            ids.put(region.getRegionId(), region);
+            codes.put(region.getRegionCode().toUpperCase(Locale.ROOT), region);
+            spellings.put(normalize(region.getRegionName()), region);
+            regionNames.add(region.getRegionName());
+        }
+
+        this.regions = Collections.unmodifiableList(new ArrayList<>(regions));
+        // Combo boxes must never be empty, even before the database is initialized
+        this.names = regionNames.isEmpty() ? List.of(Constants.REGIONS) : Collections.unmodifiableList(regionNames);
+        this.byId = Collections.unmodifiableMap(ids);
+        this.byCode = Collections.unmodifiableMap(codes);
+        this.byName = Collections.unmodifiableMap(spellings);
+    }
+
+    /**
+     * Load the registry now rather than on the first lookup, e.g. at startup or once the
+     * database has been initialized; reads the table again even if the last load failed
+     * @return true if the regions could be read
+     */
+    public static boolean preload() {
+        synchronized (RegionRegistry.class) {
+            if (instance == null) {
+                loadNow();
+            }
+            return instance != null;
+        }
+    }
+
+    /**
+     * Get the registry, loading it on first use
+     */
+    public static RegionRegistry get() {
+        RegionRegistry registry = instance;
+        if (registry != null) {
+            return registry;
+        }
+
+        synchronized (RegionRegistry.class) {
+            if (instance != null) {
+                return instance;
+            }
+            if (unavailable != null && System.currentTimeMillis() < retryAt) {
+                return unavailable;
+            }
+            return loadNow();
+        }
+    }
+
+    /**
+     * Read the table; a failed or empty load is kept for RETRY_DELAY_MS only,
+     * since the table may be created later. Called with the class lock held.
+     */
+    private static RegionRegistry loadNow() {
+        List<Region> loaded = load();
+        if (loaded.isEmpty()) {
+            unavailable = new RegionRegistry(loaded);
+            retryAt = System.currentTimeMillis() + RETRY_DELAY_MS;
+            return unavailable;
+        }
+        unavailable = null;
+        instance = new RegionRegistry(loaded);
+        return instance;
+    }
+
+    /**
+     * Copies of all regions, in table order (region ID)
+     */
+    public List<Region> getRegions() {
+        List<Region> copies = new ArrayList<>(regions.size());
+        for (Region region : regions) {
+            copies.add(new Region(region));
+        }
+        return copies;
+    }
+
+    /**
+     * All region names, in table order; used by the region combo boxes.
+     * Constants.REGIONS if the table could not be read
+     */
+    public List<String> getRegionNames() {
+        return names;
+    }
+
+    public Region getById(int regionId) {
+        return copy(byId.get(regionId));
+    }
+
+    /**
+     * @param regionCode 2-letter code, any case (e.g. "dk")
+     */
+    public Region getByCode(String regionCode) {
+        return regionCode == null ? null : copy(byCode.get(regionCode.trim().toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Find a region by name, ignoring case, accents and separators:
+     * "Thies", "THIÈS" and "thiès" all give Thiès, "Saint Louis" gives Saint-Louis
+     */
+    public Region getByName(String regionName) {
+        return regionName == null ? null : copy(byName.get(normalize(regionName)));
+    }
+
+    public int size() {
+        return regions.size();
+    }
+
+    private static Region copy(Region region) {
+        return region == null ? null : new Region(region);
+    }
+
+    /**
+     * Name key without accents, in upper case, with runs of separators reduced to one space
+     */
+    static String normalize(String name) {
+        String withoutAccents = Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return withoutAccents.toUpperCase(Locale.ROOT).replaceAll("[^A-Z0-9]+", " ").trim();
+    }
+
+    private static List<Region> load() {
+        List<Region> loaded = new ArrayList<>();
+        String sql = "SELECT * FROM Regions ORDER BY region_id";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            RowMapper<Region> mapper = RegionDAO.REGION_MAPPER.bind(rs);
+            while (rs.next()) {
+                loaded.add(mapper.map(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error loading regions: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,137 @@
+package dao;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Criteria of the admin management lists: equality filters (e.g. role and status) and a
+ * text to be found anywhere in the searchable text of a row (its ids, names, codes).
+ *
+ * The same criteria are compiled to SQL by the DAO search methods and checked in memory
+ * by their matches() methods, with the same rules: the text is matched as a substring,
+ * ignoring the case of ASCII letters like SQL LIKE. A filter that only adds text to a
+ * previous one, with the same equality filters, narrows it (see narrows()): its rows
+ * can be taken from the previous result without a query.
+ *
+ * Usage:
+ * <pre>
+ *     SearchFilter filter = new SearchFilter("diop", UserRole.CITIZEN.name(), null);
+ *     List&lt;User&gt; users = userDAO.searchUsers(filter);
+ * </pre>
+ */
+public final class SearchFilter {
+
+    private final String text;
+    private final List<String> values;
+
+    /**
+     * @param text text to find, null or blank for any
+     * @param values equality filters in the order expected by the DAO method, null for any
+     */
+    public SearchFilter(String text, String... values) {
+        this.text = text == null || text.isBlank() ? null : text.trim();
+        this.values = Arrays.asList(values.clone());
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @return the equality filter at this position, null for any
+     */
+    public String getValue(int index) {
+        return index < values.size() ? values.get(index) : null;
+    }
+
+    /**
+     * Whether no criterion is set, i.e. every row matches
+     */
+    public boolean isEmpty() {
+        return text == null && values.stream().allMatch(Objects::isNull);
+    }
+
+    /**
+     * Whether every row matching this filter also matches the previous one: same equality
+     * filters, and a text containing the previous text
+     */
+    public boolean narrows(SearchFilter previous) {
+        if (previous == null || !values.equals(previous.values)) {
+            return false;
+        }
+        return previous.text == null || (text != null && foldCase(text).contains(foldCase(previous.text)));
+    }
+
+    /**
+     * Check a row in memory, with the rules of the SQL condition
+     * @param searchableText text of the row, built like the SQL expression of the DAO
+     * @param rowValues values of the row, in the order of the equality filters
+     */
+    public boolean matches(String searchableText, String... rowValues) {
+        for (int i = 0; i < values.size(); i++) {
+            String value = values.get(i);
+            if (value != null && (i >= rowValues.length || !value.equals(rowValues[i]))) {
+                return false;
+            }
+        }
+        return text == null || (searchableText != null && foldCase(searchableText).contains(foldCase(text)));
+    }
+
+    /**
+     * Build the WHERE clause of this filter
+     * @param textExpression SQL expression of the searchable text, e.g. a concatenation of columns
+     * @param columns columns of the equality filters, in order
+     * @param params receives the parameter values, in order
+     * @return the clause with its leading " WHERE ", or an empty string
+     */
+    String toWhere(String textExpression, List<String> columns, List<Object> params) {
+        StringBuilder where = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            String value = getValue(i);
+            if (value != null) {
+                where.append(where.length() > 0 ? " AND " : "").append(columns.get(i)).append(" = ?");
+                params.add(value);
+            }
+        }
+        if (text != null) {
+            where.append(where.length() > 0 ? " AND " : "").append(textExpression).append(" LIKE ? ESCAPE '\\'");
+            params.add("%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+        }
+        return where.length() > 0 ? " WHERE " + where : "";
+    }
+
+    /**
+     * Lower case of the ASCII letters only, as compared by SQL LIKE
+     */
+    private static String foldCase(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            folded.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return folded.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof SearchFilter)) {
+            return false;
+        }
+        SearchFilter filter = (SearchFilter) other;
+        return Objects.equals(text, filter.text) && values.equals(filter.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text, values);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchFilter{text='" + text + "', values=" + values + "}";
+    }
+}
@@ -0,0 +1,288 @@
+package dao;
+
+import database.DatabaseConfig;
+import database.WriteQueue;
+import models.Transaction.TransactionStatus;
+import models.User.AccountStatus;
+import models.User.UserRole;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Access Object for the dashboard counters.
+ *
+ * Each dashboard reads all its counters with one statement, and the result is an
+ * immutable snapshot. The admin and agent totals come from the Compteurs table, which
+ * triggers keep current on every insert, update and delete: a handful of rows per
+ * metric, whatever the size of the tables. Its keys are (metrique, region, statut):
+ * <ul>
+ *     <li>utilisateurs: users by account status</li>
+ *     <li>roles: users by role</li>
+ *     <li>parcelles: parcels by region and status</li>
+ *     <li>transactions: transactions by status</li>
+ *     <li>litiges: disputes by status</li>
+ * </ul>
+ * The per-person counters (citizen dashboard, disputes of one agent) are COUNT(*)
+ * subqueries answered from the owner and agent indexes.
+ *
+ * rebuildCounters() and verifyCounters() compare the table with the compteurs_calcules
+ * view, which counts the rows again.
+ */
+public class StatisticsDAO {
+
+    /**
+     * Counters of the admin dashboard
+     */
+    public static final class AdminStatistics {
+        private final int totalUsers;
+        private final int pendingUsers;
+        private final int citizens;
+        private final int parcels;
+        private final int transactions;
+        private final int disputes;
+
+        public AdminStatistics(int totalUsers, int pendingUsers, int citizens,
+                               int parcels, int transactions, int disputes) {
+            this.totalUsers = totalUsers;
+            this.pendingUsers = pendingUsers;
+            this.citizens = citizens;
+            this.parcels = parcels;
+            this.transactions = transactions;
+            this.disputes = disputes;
+        }
+
+        public int getTotalUsers() {
+            return totalUsers;
+        }
+
+        public int getPendingUsers() {
+            return pendingUsers;
+        }
+
+        public int getCitizens() {
+            return citizens;
+        }
+
+        public int getParcels() {
+            return parcels;
+        }
+
+        public int getTransactions() {
+            return transactions;
+        }
+
+        public int getDisputes() {
+            return disputes;
+        }
+    }
+
+    /**
+     * Counters of the land agent dashboard
+     */
+    public static final class AgentStatistics {
+        private final int pendingTransactions;
+        private final int assignedDisputes;
+        private final int regionParcels;
+
+        public AgentStatistics(int pendingTransactions, int assignedDisputes, int regionParcels) {
+            this.pendingTransactions = pendingTransactions;
+            this.assignedDisputes = assignedDisputes;
+            this.regionParcels = regionParcels;
+        }
+
+        public int getPendingTransactions() {
+            return pendingTransactions;
+        }
+
+        public int getAssignedDisputes() {
+            return assignedDisputes;
+        }
+
+        public int getRegionParcels() {
+            return regionParcels;
+        }
+    }
+
+    /**
+     * Counters of the citizen dashboard
+     */
+    public static final class CitizenStatistics {
+        private final int parcels;
+        private final int transactions;
+        private final int pendingTransactions;
+        private final int disputes;
+
+        public CitizenStatistics(int parcels, int transactions, int pendingTransactions, int disputes) {
+            this.parcels = parcels;
+            this.transactions = transactions;
+            this.pendingTransactions = pendingTransactions;
+            this.disputes = disputes;
+        }
+
+        public int getParcels() {
+            return parcels;
+        }
+
+        public int getTransactions() {
+            return transactions;
+        }
+
+        public int getPendingTransactions() {
+            return pendingTransactions;
+        }
+
+        public int getDisputes() {
+            return disputes;
+        }
+    }
+
+    /**
+     * Get the admin dashboard counters
+     * @return the counters, all 0 on error
+     */
+    public AdminStatistics getAdminStatistics() {
+        String sql = "SELECT COALESCE(SUM(CASE WHEN metrique = 'utilisateurs' THEN valeur END), 0) AS total_users, " +
+                "COALESCE(SUM(CASE WHEN metrique = 'utilisateurs' AND statut = ? THEN valeur END), 0) AS pending_users, " +
+                "COALESCE(SUM(CASE WHEN metrique = 'roles' AND statut = ? THEN valeur END), 0) AS citizens, " +
+                "COALESCE(SUM(CASE WHEN metrique = 'parcelles' THEN valeur END), 0) AS parcels, " +
+                "COALESCE(SUM(CASE WHEN metrique = 'transactions' THEN valeur END), 0) AS transactions, " +
+                "COALESCE(SUM(CASE WHEN metrique = 'litiges' THEN valeur END), 0) AS disputes " +
+                "FROM Compteurs";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, AccountStatus.PENDING.name());
+            pstmt.setString(2, UserRole.CITIZEN.name());
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return new AdminStatistics(rs.getInt("total_users"), rs.getInt("pending_users"),
+                        rs.getInt("citizens"), rs.getInt("parcels"), rs.getInt("transactions"),
+                        rs.getInt("disputes"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting admin statistics: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new AdminStatistics(0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Get the land agent dashboard counters
+     * @param agentId agent whose assigned disputes are counted
+     * @param region region whose parcels are counted
+     * @return the counters, all 0 on error
+     */
+    public AgentStatistics getAgentStatistics(int agentId, String region) {
+        String sql = "SELECT (SELECT COALESCE(SUM(valeur), 0) FROM Compteurs " +
+                "WHERE metrique = 'transactions' AND region = '' AND statut = ?) AS pending_transactions, " +
+                "(SELECT COUNT(*) FROM Litiges WHERE agent_assigne = ?) AS assigned_disputes, " +
+                "(SELECT COALESCE(SUM(valeur), 0) FROM Compteurs " +
+                "WHERE metrique = 'parcelles' AND region = ?) AS region_parcels";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setString(1, TransactionStatus.PENDING.name());
+            pstmt.setInt(2, agentId);
+            pstmt.setString(3, region);
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return new AgentStatistics(rs.getInt("pending_transactions"), rs.getInt("assigned_disputes"),
+                        rs.getInt("region_parcels"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting agent statistics: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new AgentStatistics(0, 0, 0);
+    }
+
+    /**
+     * Get the citizen dashboard counters
+     * @return the counters, all 0 on error
+     */
+    public CitizenStatistics getCitizenStatistics(int citizenId) {
+        String sql = "SELECT (SELECT COUNT(*) FROM Parcelles WHERE proprietaire_actuel = ?) AS parcels, " +
+                "t.transactions, t.pending_transactions, " +
+                "(SELECT COUNT(*) FROM Litiges WHERE plaignant_id = ? OR defendeur_id = ?) AS disputes " +
+                "FROM (SELECT COUNT(*) AS transactions, " +
+                "COALESCE(SUM(statut_transaction = ?), 0) AS pending_transactions " +
+                "FROM Transactions WHERE ancien_proprietaire = ? OR nouveau_proprietaire = ?) t";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            pstmt.setInt(1, citizenId);
+            pstmt.setInt(2, citizenId);
+            pstmt.setInt(3, citizenId);
+            pstmt.setString(4, TransactionStatus.PENDING.name());
+            pstmt.setInt(5, citizenId);
+            pstmt.setInt(6, citizenId);
+            ResultSet rs = pstmt.executeQuery();
+
+            if (rs.next()) {
+                return new CitizenStatistics(rs.getInt("parcels"), rs.getInt("transactions"),
+                        rs.getInt("pending_transactions"), rs.getInt("disputes"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting citizen statistics: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new CitizenStatistics(0, 0, 0, 0);
+    }
+
+    /**
+     * Recount every counter from the tables, e.g. after the counters were found wrong
+     * or after rows were changed with the triggers disabled
+     * @return true if the counters were rebuilt
+     */
+    public boolean rebuildCounters() {
+        return WriteQueue.await(DatabaseConfig.submitWrite(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM Compteurs");
+                stmt.executeUpdate("INSERT INTO Compteurs (metrique, region, statut, valeur) " +
+                        "SELECT metrique, region, statut, valeur FROM compteurs_calcules");
+            }
+            return true;
+        }), "Error rebuilding counters");
+    }
+
+    /**
+     * Compare the counters with the tables
+     * @return one line per counter that differs ("metrique/region/statut: stored X, actual Y"),
+     * empty if all counters are right; null on error
+     */
+    public List<String> verifyCounters() {
+        // Counters left at 0 by deletions have no row in the view
+        String sql = "SELECT metrique, region, statut, SUM(stored) AS stored, SUM(actual) AS actual " +
+                "FROM (SELECT metrique, region, statut, valeur AS stored, 0 AS actual FROM Compteurs " +
+                "UNION ALL SELECT metrique, region, statut, 0, valeur FROM compteurs_calcules) " +
+                "GROUP BY metrique, region, statut HAVING SUM(stored) <> SUM(actual) " +
+                "ORDER BY metrique, region, statut";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            List<String> differences = new ArrayList<>();
+            while (rs.next()) {
+                differences.add(String.format("%s/%s/%s: stored %d, actual %d", rs.getString("metrique"),
+                        rs.getString("region"), rs.getString("statut"), rs.getLong("stored"), rs.getLong("actual")));
+            }
+            return differences;
+
+        } catch (SQLException e) {
+            System.err.println("Error verifying counters: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+}
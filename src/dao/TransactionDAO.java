@@ -1,13 +1,16 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.Transaction;
 import models.Transaction.*;
 import models.Parcel;
+import utils.Constants;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for Transaction operations
@@ -18,65 +21,68 @@ public class TransactionDAO {
      * Create a new transaction
      */
     public boolean createTransaction(Transaction transaction) {
+        return WriteQueue.await(createTransactionAsync(transaction), "Error creating transaction");
+    }
+
+    /**
+     * Create a new transaction through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createTransactionAsync(Transaction transaction) {
         String sql = "INSERT INTO Transactions (parcelle_id, type_transaction, ancien_proprietaire, " +
                 "nouveau_proprietaire, montant, devise, date_transaction, statut_transaction, " +
                 "frais_transaction, taxe_applicable, notes) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setInt(1, transaction.getParcelId());
-            pstmt.setString(2, transaction.getType().name());
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setInt(1, transaction.getParcelId());
+                pstmt.setString(2, transaction.getType().name());
 
-            if (transaction.getPreviousOwnerId() != null) {
-                pstmt.setInt(3, transaction.getPreviousOwnerId());
-            } else {
-                pstmt.setNull(3, Types.INTEGER);
-            }
+                if (transaction.getPreviousOwnerId() != null) {
+                    pstmt.setInt(3, transaction.getPreviousOwnerId());
+                } else {
+                    pstmt.setNull(3, Types.INTEGER);
+                }
 
-            pstmt.setInt(4, transaction.getNewOwnerId());
+                pstmt.setInt(4, transaction.getNewOwnerId());
 
-            if (transaction.getAmount() != null) {
-                pstmt.setBigDecimal(5, transaction.getAmount());
-            } else {
-                pstmt.setNull(5, Types.DECIMAL);
-            }
+                if (transaction.getAmount() != null) {
+                    pstmt.setBigDecimal(5, transaction.getAmount());
+                } else {
+                    pstmt.setNull(5, Types.DECIMAL);
+                }
 
-            pstmt.setString(6, transaction.getCurrency());
-            pstmt.setDate(7, transaction.getTransactionDate());
-            pstmt.setString(8, transaction.getStatus().name());
+                pstmt.setString(6, transaction.getCurrency());
+                pstmt.setDate(7, transaction.getTransactionDate());
+                pstmt.setString(8, transaction.getStatus().name());
 
-            if (transaction.getTransactionFees() != null) {
-                pstmt.setBigDecimal(9, transaction.getTransactionFees());
-            } else {
-                pstmt.setNull(9, Types.DECIMAL);
-            }
+                if (transaction.getTransactionFees() != null) {
+                    pstmt.setBigDecimal(9, transaction.getTransactionFees());
+                } else {
+                    pstmt.setNull(9, Types.DECIMAL);
+                }
 
-            if (transaction.getApplicableTax() != null) {
-                pstmt.setBigDecimal(10, transaction.getApplicableTax());
-            } else {
-                pstmt.setNull(10, Types.DECIMAL);
-            }
+                if (transaction.getApplicableTax() != null) {
+                    pstmt.setBigDecimal(10, transaction.getApplicableTax());
+                } else {
+                    pstmt.setNull(10, Types.DECIMAL);
+                }
 
-            pstmt.setString(11, transaction.getNotes());
+                pstmt.setString(11, transaction.getNotes());
 
-            int affectedRows = pstmt.executeUpdate();
+                int affectedRows = pstmt.executeUpdate();
 
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    transaction.setTransactionId(rs.getInt(1));
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        transaction.setTransactionId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating transaction: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     /**
@@ -85,14 +91,14 @@ public class TransactionDAO {
     public Transaction getTransactionById(int transactionId) {
         String sql = "SELECT * FROM Transactions WHERE transaction_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, transactionId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractTransactionFromResultSet(rs);
+                return TRANSACTION_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -106,56 +112,59 @@ public class TransactionDAO {
      * Update transaction
      */
     public boolean updateTransaction(Transaction transaction) {
+        return WriteQueue.await(updateTransactionAsync(transaction), "Error updating transaction");
+    }
+
+    /**
+     * Update transaction through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updateTransactionAsync(Transaction transaction) {
         String sql = "UPDATE Transactions SET type_transaction = ?, ancien_proprietaire = ?, " +
                 "nouveau_proprietaire = ?, montant = ?, devise = ?, date_transaction = ?, " +
                 "statut_transaction = ?, frais_transaction = ?, taxe_applicable = ?, notes = ? " +
                 "WHERE transaction_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, transaction.getType().name());
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, transaction.getType().name());
 
-            if (transaction.getPreviousOwnerId() != null) {
-                pstmt.setInt(2, transaction.getPreviousOwnerId());
-            } else {
-                pstmt.setNull(2, Types.INTEGER);
-            }
+                if (transaction.getPreviousOwnerId() != null) {
+                    pstmt.setInt(2, transaction.getPreviousOwnerId());
+                } else {
+                    pstmt.setNull(2, Types.INTEGER);
+                }
 
-            pstmt.setInt(3, transaction.getNewOwnerId());
+                pstmt.setInt(3, transaction.getNewOwnerId());
 
-            if (transaction.getAmount() != null) {
-                pstmt.setBigDecimal(4, transaction.getAmount());
-            } else {
-                pstmt.setNull(4, Types.DECIMAL);
-            }
+                if (transaction.getAmount() != null) {
+                    pstmt.setBigDecimal(4, transaction.getAmount());
+                } else {
+                    pstmt.setNull(4, Types.DECIMAL);
+                }
 
-            pstmt.setString(5, transaction.getCurrency());
-            pstmt.setDate(6, transaction.getTransactionDate());
-            pstmt.setString(7, transaction.getStatus().name());
+                pstmt.setString(5, transaction.getCurrency());
+                pstmt.setDate(6, transaction.getTransactionDate());
+                pstmt.setString(7, transaction.getStatus().name());
 
-            if (transaction.getTransactionFees() != null) {
-                pstmt.setBigDecimal(8, transaction.getTransactionFees());
-            } else {
-                pstmt.setNull(8, Types.DECIMAL);
-            }
+                if (transaction.getTransactionFees() != null) {
+                    pstmt.setBigDecimal(8, transaction.getTransactionFees());
+                } else {
+                    pstmt.setNull(8, Types.DECIMAL);
+                }
 
-            if (transaction.getApplicableTax() != null) {
-                pstmt.setBigDecimal(9, transaction.getApplicableTax());
-            } else {
-                pstmt.setNull(9, Types.DECIMAL);
-            }
+                if (transaction.getApplicableTax() != null) {
+                    pstmt.setBigDecimal(9, transaction.getApplicableTax());
+                } else {
+                    pstmt.setNull(9, Types.DECIMAL);
+                }
 
-            pstmt.setString(10, transaction.getNotes());
-            pstmt.setInt(11, transaction.getTransactionId());
+                pstmt.setString(10, transaction.getNotes());
+                pstmt.setInt(11, transaction.getTransactionId());
 
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating transaction: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -165,7 +174,7 @@ public class TransactionDAO {
         Connection conn = null;
 
         try {
-            conn = DatabaseConfig.getConnection();
+            conn = DatabaseConfig.getWriteConnection();
             conn.setAutoCommit(false); // Start transaction
 
             // STEP 1: Get transaction details
@@ -322,23 +331,26 @@ public class TransactionDAO {
      * Reject transaction
      */
     public boolean rejectTransaction(int transactionId, int agentId) {
+        return WriteQueue.await(rejectTransactionAsync(transactionId, agentId), "Error rejecting transaction");
+    }
+
+    /**
+     * Reject transaction through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> rejectTransactionAsync(int transactionId, int agentId) {
         String sql = "UPDATE Transactions SET statut_transaction = 'REJECTED', " +
                 "agent_validateur = ?, date_validation = CURRENT_TIMESTAMP " +
                 "WHERE transaction_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, agentId);
-            pstmt.setInt(2, transactionId);
-
-            return pstmt.executeUpdate() > 0;
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, agentId);
+                pstmt.setInt(2, transactionId);
 
-        } catch (SQLException e) {
-            System.err.println("Error rejecting transaction: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     /**
@@ -348,12 +360,13 @@ public class TransactionDAO {
         List<Transaction> transactions = new ArrayList<>();
         String sql = "SELECT * FROM Transactions ORDER BY date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<Transaction> mapper = TRANSACTION_MAPPER.bind(rs);
             while (rs.next()) {
-                transactions.add(extractTransactionFromResultSet(rs));
+                transactions.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -363,6 +376,94 @@ public class TransactionDAO {
         return transactions;
     }
 
+    /**
+     * Find the transactions matching a filter, most recent first
+     * @param filter status (enum name), and a text found in the "id parcel type status" of the transaction
+     * @return at most Constants.MAX_FILTER_RESULTS rows
+     */
+    public List<Transaction> searchTransactions(SearchFilter filter) {
+        List<Transaction> transactions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT * FROM Transactions" +
+                filter.toWhere("(transaction_id || ' ' || parcelle_id || ' ' || type_transaction || ' ' || statut_transaction)",
+                        List.of("statut_transaction"), params) +
+                " ORDER BY date_creation DESC, transaction_id DESC LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            pstmt.setInt(params.size() + 1, Constants.MAX_FILTER_RESULTS);
+            ResultSet rs = pstmt.executeQuery();
+
+            RowMapper<Transaction> mapper = TRANSACTION_MAPPER.bind(rs);
+            while (rs.next()) {
+                transactions.add(mapper.map(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error searching transactions: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return transactions;
+    }
+
+    /**
+     * Check a transaction against a filter in memory, with the rules of searchTransactions()
+     */
+    public static boolean matches(Transaction transaction, SearchFilter filter) {
+        String status = transaction.getStatus() != null ? transaction.getStatus().name() : null;
+        return filter.matches(transaction.getTransactionId() + " " + transaction.getParcelId() + " " +
+                transaction.getType() + " " + status, status);
+    }
+
+    /**
+     * Get one page of transactions, most recent first
+     * @param pageToken token returned with the previous page, null for the first page
+     * @param pageSize number of rows, Constants.DEFAULT_PAGE_SIZE if 0
+     */
+    public Page<Transaction> getTransactionsPage(String pageToken, int pageSize) {
+        String sql = "SELECT * FROM Transactions ORDER BY date_creation DESC, transaction_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM Transactions WHERE (date_creation, transaction_id) < (?, ?) " +
+                "ORDER BY date_creation DESC, transaction_id DESC LIMIT ?";
+
+        try {
+            return PageQuery.fetch(sql, afterSql, List.of(), "date_creation", "transaction_id",
+                    pageToken, pageSize, TRANSACTION_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting transactions page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new Page<>(new ArrayList<>(), null);
+    }
+
+    /**
+     * Get a window of transactions in the order of getTransactionsPage(), for tables loaded on demand
+     * @param pageToken token returned with the previous window: the rows are read from the
+     *                  index position it encodes; null to skip offset rows instead
+     * @param offset index of the first row, used without token
+     * @param limit maximum number of rows
+     * @return the rows, with the token of the next window, or null if the window could not
+     *         be read (the table then tries it again later)
+     */
+    public Page<Transaction> getTransactionsWindow(String pageToken, int offset, int limit) {
+        String sql = "SELECT * FROM Transactions ORDER BY date_creation DESC, transaction_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM Transactions WHERE (date_creation, transaction_id) < (?, ?) " +
+                "ORDER BY date_creation DESC, transaction_id DESC LIMIT ?";
+        String offsetSql = "SELECT * FROM Transactions ORDER BY date_creation DESC, transaction_id DESC LIMIT ? OFFSET ?";
+
+        try {
+            return PageQuery.fetchWindow(sql, afterSql, offsetSql, "date_creation", "transaction_id",
+                    pageToken, offset, limit, TRANSACTION_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting transactions window: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     /**
      * Get transactions by parcel
      */
@@ -370,14 +471,15 @@ public class TransactionDAO {
         List<Transaction> transactions = new ArrayList<>();
         String sql = "SELECT * FROM Transactions WHERE parcelle_id = ? ORDER BY date_transaction DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, parcelId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Transaction> mapper = TRANSACTION_MAPPER.bind(rs);
             while (rs.next()) {
-                transactions.add(extractTransactionFromResultSet(rs));
+                transactions.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -395,15 +497,16 @@ public class TransactionDAO {
         String sql = "SELECT * FROM Transactions WHERE ancien_proprietaire = ? OR nouveau_proprietaire = ? " +
                 "ORDER BY date_transaction DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, citizenId);
             pstmt.setInt(2, citizenId);
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Transaction> mapper = TRANSACTION_MAPPER.bind(rs);
             while (rs.next()) {
-                transactions.add(extractTransactionFromResultSet(rs));
+                transactions.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -420,14 +523,15 @@ public class TransactionDAO {
         List<Transaction> transactions = new ArrayList<>();
         String sql = "SELECT * FROM Transactions WHERE statut_transaction = ? ORDER BY date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, status.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<Transaction> mapper = TRANSACTION_MAPPER.bind(rs);
             while (rs.next()) {
-                transactions.add(extractTransactionFromResultSet(rs));
+                transactions.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -441,19 +545,22 @@ public class TransactionDAO {
      * Delete transaction
      */
     public boolean deleteTransaction(int transactionId) {
-        String sql = "DELETE FROM Transactions WHERE transaction_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(deleteTransactionAsync(transactionId), "Error deleting transaction");
+    }
 
-            pstmt.setInt(1, transactionId);
-            return pstmt.executeUpdate() > 0;
+    /**
+     * Delete transaction through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> deleteTransactionAsync(int transactionId) {
+        String sql = "DELETE FROM Transactions WHERE transaction_id = ?";
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting transaction: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, transactionId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
     // ==================== HELPER METHODS ====================
@@ -469,7 +576,7 @@ public class TransactionDAO {
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractTransactionFromResultSet(rs);
+                return TRANSACTION_MAPPER.mapRow(rs);
             }
         }
         return null;
@@ -486,22 +593,7 @@ public class TransactionDAO {
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                Parcel parcel = new Parcel();
-                parcel.setParcelId(rs.getInt("parcelle_id"));
-                parcel.setParcelNumber(rs.getString("numero_parcelle"));
-                parcel.setLandTitle(rs.getString("titre_foncier"));
-                parcel.setArea(rs.getDouble("superficie"));
-                parcel.setAreaUnit(Parcel.AreaUnit.valueOf(rs.getString("unite_superficie")));
-                parcel.setLandType(Parcel.LandType.valueOf(rs.getString("type_terrain")));
-                parcel.setCurrentUsage(rs.getString("usage_actuel"));
-                parcel.setAddress(rs.getString("adresse"));
-                parcel.setRegion(rs.getString("region"));
-                parcel.setDepartment(rs.getString("departement"));
-                parcel.setCommune(rs.getString("commune"));
-                parcel.setGpsCoordinates(rs.getString("coordonnees_gps"));
-                parcel.setStatus(Parcel.ParcelStatus.valueOf(rs.getString("statut_parcelle")));
-                parcel.setCurrentOwnerId(rs.getInt("proprietaire_actuel"));
-                return parcel;
+                return ParcelDAO.PARCEL_MAPPER.mapRow(rs);
             }
         }
         return null;
@@ -586,37 +678,79 @@ public class TransactionDAO {
     }
 
     /**
-     * Extract Transaction object from ResultSet
+     * Get total transaction count
      */
-    private Transaction extractTransactionFromResultSet(ResultSet rs) throws SQLException {
-        Transaction transaction = new Transaction();
-        transaction.setTransactionId(rs.getInt("transaction_id"));
-        transaction.setParcelId(rs.getInt("parcelle_id"));
-        transaction.setType(TransactionType.valueOf(rs.getString("type_transaction")));
-
-        int previousOwnerId = rs.getInt("ancien_proprietaire");
-        if (!rs.wasNull()) {
-            transaction.setPreviousOwnerId(previousOwnerId);
-        }
+    public int getTransactionCount() {
+        String sql = "SELECT COUNT(*) FROM Transactions";
 
-        transaction.setNewOwnerId(rs.getInt("nouveau_proprietaire"));
-        transaction.setAmount(rs.getBigDecimal("montant"));
-        transaction.setCurrency(rs.getString("devise"));
-        transaction.setTransactionDate(rs.getDate("date_transaction"));
-        transaction.setStatus(TransactionStatus.valueOf(rs.getString("statut_transaction")));
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
 
-        int validatingAgentId = rs.getInt("agent_validateur");
-        if (!rs.wasNull()) {
-            transaction.setValidatingAgentId(validatingAgentId);
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting transaction count: " + e.getMessage());
+            e.printStackTrace();
         }
+        return 0;
+    }
 
-        transaction.setValidationDate(rs.getTimestamp("date_validation"));
-        transaction.setTransactionFees(rs.getBigDecimal("frais_transaction"));
-        transaction.setApplicableTax(rs.getBigDecimal("taxe_applicable"));
-        transaction.setDeedNumber(rs.getString("numero_acte"));
-        transaction.setNotes(rs.getString("notes"));
-        transaction.setCreatedAt(rs.getTimestamp("date_creation"));
+    private static final EnumDecoder<TransactionType> TRANSACTION_TYPES = EnumDecoder.of(TransactionType.class);
+    private static final EnumDecoder<TransactionStatus> TRANSACTION_STATUSES = EnumDecoder.of(TransactionStatus.class);
 
-        return transaction;
-    }
+    /**
+     * Maps a Transactions row to a Transaction
+     */
+    static final ColumnMapper<Transaction> TRANSACTION_MAPPER = new ColumnMapper<>(columns -> {
+        int transactionId = columns.index("transaction_id");
+        int parcelId = columns.index("parcelle_id");
+        int type = columns.index("type_transaction");
+        int previousOwnerId = columns.index("ancien_proprietaire");
+        int newOwnerId = columns.index("nouveau_proprietaire");
+        int amount = columns.index("montant");
+        int currency = columns.index("devise");
+        int transactionDate = columns.index("date_transaction");
+        int status = columns.index("statut_transaction");
+        int validatingAgentId = columns.index("agent_validateur");
+        int validationDate = columns.index("date_validation");
+        int transactionFees = columns.index("frais_transaction");
+        int applicableTax = columns.index("taxe_applicable");
+        int deedNumber = columns.index("numero_acte");
+        int notes = columns.index("notes");
+        int createdAt = columns.index("date_creation");
+
+        return rs -> {
+            Transaction transaction = new Transaction();
+            transaction.setTransactionId(rs.getInt(transactionId));
+            transaction.setParcelId(rs.getInt(parcelId));
+            transaction.setType(TRANSACTION_TYPES.decode(rs.getString(type)));
+
+            int previousOwner = rs.getInt(previousOwnerId);
+            if (!rs.wasNull()) {
+                transaction.setPreviousOwnerId(previousOwner);
+            }
+
+            transaction.setNewOwnerId(rs.getInt(newOwnerId));
+            transaction.setAmount(rs.getBigDecimal(amount));
+            transaction.setCurrency(rs.getString(currency));
+            transaction.setTransactionDate(ColumnMapper.date(rs, transactionDate));
+            transaction.setStatus(TRANSACTION_STATUSES.decode(rs.getString(status)));
+
+            int validatingAgent = rs.getInt(validatingAgentId);
+            if (!rs.wasNull()) {
+                transaction.setValidatingAgentId(validatingAgent);
+            }
+
+            transaction.setValidationDate(ColumnMapper.timestamp(rs, validationDate));
+            transaction.setTransactionFees(rs.getBigDecimal(transactionFees));
+            transaction.setApplicableTax(rs.getBigDecimal(applicableTax));
+            transaction.setDeedNumber(rs.getString(deedNumber));
+            transaction.setNotes(rs.getString(notes));
+            transaction.setCreatedAt(ColumnMapper.timestamp(rs, createdAt));
+            return transaction;
+        };
+    });
 }
\ No newline at end of file
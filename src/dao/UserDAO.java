@@ -1,13 +1,16 @@
 package dao;
 
 import database.DatabaseConfig;
+import database.WriteQueue;
 import models.User;
 import models.User.UserRole;
 import models.User.AccountStatus;
+import utils.Constants;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Data Access Object for User operations
@@ -18,36 +21,39 @@ public class UserDAO {
      * Create a new user in the database
      */
     public boolean createUser(User user) {
+        return WriteQueue.await(createUserAsync(user), "Error creating user");
+    }
+
+    /**
+     * Create a new user in the database through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> createUserAsync(User user) {
         String sql = "INSERT INTO Users (nom, prenom, email, telephone, mot_de_passe, role, account_status) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-
-            pstmt.setString(1, user.getLastName());
-            pstmt.setString(2, user.getFirstName());
-            pstmt.setString(3, user.getEmail());
-            pstmt.setString(4, user.getPhone());
-            pstmt.setString(5, user.getPassword());
-            pstmt.setString(6, user.getRole().name());
-            pstmt.setString(7, user.getAccountStatus().name());
-
-            int affectedRows = pstmt.executeUpdate();
-
-            if (affectedRows > 0) {
-                ResultSet rs = pstmt.getGeneratedKeys();
-                if (rs.next()) {
-                    user.setUserId(rs.getInt(1));
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                pstmt.setString(1, user.getLastName());
+                pstmt.setString(2, user.getFirstName());
+                pstmt.setString(3, user.getEmail());
+                pstmt.setString(4, user.getPhone());
+                pstmt.setString(5, user.getPassword());
+                pstmt.setString(6, user.getRole().name());
+                pstmt.setString(7, user.getAccountStatus().name());
+
+                int affectedRows = pstmt.executeUpdate();
+
+                if (affectedRows > 0) {
+                    ResultSet rs = pstmt.getGeneratedKeys();
+                    if (rs.next()) {
+                        user.setUserId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                return true;
+                return false;
             }
-            return false;
-
-        } catch (SQLException e) {
-            System.err.println("Error creating user: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+        });
     }
 
     /**
@@ -56,14 +62,14 @@ public class UserDAO {
     public User getUserById(int userId) {
         String sql = "SELECT * FROM Users WHERE user_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setInt(1, userId);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractUserFromResultSet(rs);
+                return USER_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -79,14 +85,14 @@ public class UserDAO {
     public User getUserByEmail(String email) {
         String sql = "SELECT * FROM Users WHERE email = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, email);
             ResultSet rs = pstmt.executeQuery();
 
             if (rs.next()) {
-                return extractUserFromResultSet(rs);
+                return USER_MAPPER.mapRow(rs);
             }
 
         } catch (SQLException e) {
@@ -111,88 +117,97 @@ public class UserDAO {
     }
 
     /**
-     * Update last login timestamp
+     * Update last login timestamp (fire-and-forget: login does not wait for the commit)
      */
     private void updateLastLogin(int userId) {
         String sql = "UPDATE Users SET derniere_connexion = CURRENT_TIMESTAMP WHERE user_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setInt(1, userId);
-            pstmt.executeUpdate();
-
-        } catch (SQLException e) {
+        DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, userId);
+                return pstmt.executeUpdate();
+            }
+        }).whenComplete((result, error) -> invalidateIdentities(userId)).exceptionally(e -> {
             System.err.println("Error updating last login: " + e.getMessage());
-        }
+            return 0;
+        });
     }
 
     /**
      * Update user information
      */
     public boolean updateUser(User user) {
+        return WriteQueue.await(updateUserAsync(user), "Error updating user");
+    }
+
+    /**
+     * Update user information through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updateUserAsync(User user) {
         String sql = "UPDATE Users SET nom = ?, prenom = ?, email = ?, telephone = ?, " +
                 "account_status = ? WHERE user_id = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, user.getLastName());
-            pstmt.setString(2, user.getFirstName());
-            pstmt.setString(3, user.getEmail());
-            pstmt.setString(4, user.getPhone());
-            pstmt.setString(5, user.getAccountStatus().name());
-            pstmt.setInt(6, user.getUserId());
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, user.getLastName());
+                pstmt.setString(2, user.getFirstName());
+                pstmt.setString(3, user.getEmail());
+                pstmt.setString(4, user.getPhone());
+                pstmt.setString(5, user.getAccountStatus().name());
+                pstmt.setInt(6, user.getUserId());
 
-            return pstmt.executeUpdate() > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating user: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        }).whenComplete((result, error) -> invalidateIdentities(user.getUserId()));
     }
 
     /**
      * Update password
      */
     public boolean updatePassword(int userId, String newPassword) {
-        String sql = "UPDATE Users SET mot_de_passe = ? WHERE user_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(updatePasswordAsync(userId, newPassword), "Error updating password");
+    }
 
-            pstmt.setString(1, newPassword);
-            pstmt.setInt(2, userId);
+    /**
+     * Update password through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updatePasswordAsync(int userId, String newPassword) {
+        String sql = "UPDATE Users SET mot_de_passe = ? WHERE user_id = ?";
 
-            return pstmt.executeUpdate() > 0;
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, newPassword);
+                pstmt.setInt(2, userId);
 
-        } catch (SQLException e) {
-            System.err.println("Error updating password: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        }).whenComplete((result, error) -> invalidateIdentities(userId));
     }
 
     /**
      * Update account status
      */
     public boolean updateAccountStatus(int userId, AccountStatus status) {
-        String sql = "UPDATE Users SET account_status = ? WHERE user_id = ?";
-
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        return WriteQueue.await(updateAccountStatusAsync(userId, status), "Error updating account status");
+    }
 
-            pstmt.setString(1, status.name());
-            pstmt.setInt(2, userId);
+    /**
+     * Update account status through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> updateAccountStatusAsync(int userId, AccountStatus status) {
+        String sql = "UPDATE Users SET account_status = ? WHERE user_id = ?";
 
-            return pstmt.executeUpdate() > 0;
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, status.name());
+                pstmt.setInt(2, userId);
 
-        } catch (SQLException e) {
-            System.err.println("Error updating account status: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+                return pstmt.executeUpdate() > 0;
+            }
+        }).whenComplete((result, error) -> invalidateIdentities(userId));
     }
 
     /**
@@ -202,12 +217,13 @@ public class UserDAO {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM Users ORDER BY date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
 
+            RowMapper<User> mapper = USER_MAPPER.bind(rs);
             while (rs.next()) {
-                users.add(extractUserFromResultSet(rs));
+                users.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -217,6 +233,96 @@ public class UserDAO {
         return users;
     }
 
+    /**
+     * Find the users matching a filter, most recently created first
+     * @param filter role and account status (enum names), and a text found in the
+     *               "id first name last name email phone" of the user
+     * @return at most Constants.MAX_FILTER_RESULTS rows
+     */
+    public List<User> searchUsers(SearchFilter filter) {
+        List<User> users = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT * FROM Users" +
+                filter.toWhere("(user_id || ' ' || prenom || ' ' || nom || ' ' || email || ' ' || telephone)",
+                        List.of("role", "account_status"), params) +
+                " ORDER BY date_creation DESC, user_id DESC LIMIT ?";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+            for (int i = 0; i < params.size(); i++) {
+                pstmt.setObject(i + 1, params.get(i));
+            }
+            pstmt.setInt(params.size() + 1, Constants.MAX_FILTER_RESULTS);
+            ResultSet rs = pstmt.executeQuery();
+
+            RowMapper<User> mapper = USER_MAPPER.bind(rs);
+            while (rs.next()) {
+                users.add(mapper.map(rs));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error searching users: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return users;
+    }
+
+    /**
+     * Check a user against a filter in memory, with the rules of searchUsers()
+     */
+    public static boolean matches(User user, SearchFilter filter) {
+        return filter.matches(user.getUserId() + " " + user.getFirstName() + " " + user.getLastName() + " " +
+                        user.getEmail() + " " + user.getPhone(),
+                user.getRole() != null ? user.getRole().name() : null,
+                user.getAccountStatus() != null ? user.getAccountStatus().name() : null);
+    }
+
+    /**
+     * Get one page of users, most recently created first
+     * @param pageToken token returned with the previous page, null for the first page
+     * @param pageSize number of rows, Constants.DEFAULT_PAGE_SIZE if 0
+     */
+    public Page<User> getUsersPage(String pageToken, int pageSize) {
+        String sql = "SELECT * FROM Users ORDER BY date_creation DESC, user_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM Users WHERE (date_creation, user_id) < (?, ?) " +
+                "ORDER BY date_creation DESC, user_id DESC LIMIT ?";
+
+        try {
+            return PageQuery.fetch(sql, afterSql, List.of(), "date_creation", "user_id",
+                    pageToken, pageSize, USER_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting users page: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return new Page<>(new ArrayList<>(), null);
+    }
+
+    /**
+     * Get a window of users in the order of getUsersPage(), for tables loaded on demand
+     * @param pageToken token returned with the previous window: the rows are read from the
+     *                  index position it encodes; null to skip offset rows instead
+     * @param offset index of the first row, used without token
+     * @param limit maximum number of rows
+     * @return the rows, with the token of the next window, or null if the window could not
+     *         be read (the table then tries it again later)
+     */
+    public Page<User> getUsersWindow(String pageToken, int offset, int limit) {
+        String sql = "SELECT * FROM Users ORDER BY date_creation DESC, user_id DESC LIMIT ?";
+        String afterSql = "SELECT * FROM Users WHERE (date_creation, user_id) < (?, ?) " +
+                "ORDER BY date_creation DESC, user_id DESC LIMIT ?";
+        String offsetSql = "SELECT * FROM Users ORDER BY date_creation DESC, user_id DESC LIMIT ? OFFSET ?";
+
+        try {
+            return PageQuery.fetchWindow(sql, afterSql, offsetSql, "date_creation", "user_id",
+                    pageToken, offset, limit, USER_MAPPER);
+        } catch (SQLException e) {
+            System.err.println("Error getting users window: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return null;
+    }
+
     /**
      * Get users by role
      */
@@ -224,14 +330,15 @@ public class UserDAO {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM Users WHERE role = ? ORDER BY date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, role.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<User> mapper = USER_MAPPER.bind(rs);
             while (rs.next()) {
-                users.add(extractUserFromResultSet(rs));
+                users.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -248,14 +355,15 @@ public class UserDAO {
         List<User> users = new ArrayList<>();
         String sql = "SELECT * FROM Users WHERE account_status = ? ORDER BY date_creation DESC";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, status.name());
             ResultSet rs = pstmt.executeQuery();
 
+            RowMapper<User> mapper = USER_MAPPER.bind(rs);
             while (rs.next()) {
-                users.add(extractUserFromResultSet(rs));
+                users.add(mapper.map(rs));
             }
 
         } catch (SQLException e) {
@@ -269,19 +377,30 @@ public class UserDAO {
      * Delete user
      */
     public boolean deleteUser(int userId) {
-        String sql = "DELETE FROM Users WHERE user_id = ?";
+        return WriteQueue.await(deleteUserAsync(userId), "Error deleting user");
+    }
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    /**
+     * Delete user through the group-commit writer
+     * @return future completed once the write is committed
+     */
+    public CompletableFuture<Boolean> deleteUserAsync(int userId) {
+        String sql = "DELETE FROM Users WHERE user_id = ?";
 
-            pstmt.setInt(1, userId);
-            return pstmt.executeUpdate() > 0;
+        return DatabaseConfig.submitWrite(conn -> {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, userId);
+                return pstmt.executeUpdate() > 0;
+            }
+        }).whenComplete((result, error) -> invalidateIdentities(userId));
+    }
 
-        } catch (SQLException e) {
-            System.err.println("Error deleting user: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
+    /**
+     * Drop the cached citizen or land agent of a user, once its row has been written
+     */
+    private static void invalidateIdentities(int userId) {
+        CitizenDAO.invalidateUser(userId);
+        LandAgentDAO.invalidateUser(userId);
     }
 
     /**
@@ -290,7 +409,7 @@ public class UserDAO {
     public boolean emailExists(String email) {
         String sql = "SELECT COUNT(*) FROM Users WHERE email = ?";
 
-        try (Connection conn = DatabaseConfig.getConnection();
+        try (Connection conn = DatabaseConfig.getReadConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
 
             pstmt.setString(1, email);
@@ -308,20 +427,83 @@ public class UserDAO {
     }
 
     /**
-     * Extract User object from ResultSet
+     * Get total user count
      */
-    private User extractUserFromResultSet(ResultSet rs) throws SQLException {
-        User user = new User();
-        user.setUserId(rs.getInt("user_id"));
-        user.setLastName(rs.getString("nom"));
-        user.setFirstName(rs.getString("prenom"));
-        user.setEmail(rs.getString("email"));
-        user.setPhone(rs.getString("telephone"));
-        user.setPassword(rs.getString("mot_de_passe"));
-        user.setRole(UserRole.valueOf(rs.getString("role")));
-        user.setAccountStatus(AccountStatus.valueOf(rs.getString("account_status")));
-        user.setCreatedAt(rs.getTimestamp("date_creation"));
-        user.setLastLogin(rs.getTimestamp("derniere_connexion"));
-        return user;
+    public int getUserCount() {
+        String sql = "SELECT COUNT(*) FROM Users";
+
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error getting user count: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return 0;
     }
+
+    static final EnumDecoder<UserRole> ROLES = EnumDecoder.of(UserRole.class);
+    static final EnumDecoder<AccountStatus> ACCOUNT_STATUSES = EnumDecoder.of(AccountStatus.class);
+
+    /**
+     * Indexes of the Users columns, shared by the mappers of User and its subclasses
+     */
+    static final class UserColumns {
+        private final int userId;
+        private final int lastName;
+        private final int firstName;
+        private final int email;
+        private final int phone;
+        private final int password;
+        private final int role;
+        private final int accountStatus;
+        private final int createdAt;
+        private final int lastLogin;
+
+        UserColumns(ColumnMapper.Columns columns) throws SQLException {
+            userId = columns.index("user_id");
+            lastName = columns.index("nom");
+            firstName = columns.index("prenom");
+            email = columns.index("email");
+            phone = columns.index("telephone");
+            password = columns.index("mot_de_passe");
+            role = columns.index("role");
+            accountStatus = columns.index("account_status");
+            createdAt = columns.index("date_creation");
+            lastLogin = columns.index("derniere_connexion");
+        }
+
+        /**
+         * Copy the Users columns of the current row into the user
+         */
+        void read(ResultSet rs, User user) throws SQLException {
+            user.setUserId(rs.getInt(userId));
+            user.setLastName(rs.getString(lastName));
+            user.setFirstName(rs.getString(firstName));
+            user.setEmail(rs.getString(email));
+            user.setPhone(rs.getString(phone));
+            user.setPassword(rs.getString(password));
+            user.setRole(ROLES.decode(rs.getString(role)));
+            user.setAccountStatus(ACCOUNT_STATUSES.decode(rs.getString(accountStatus)));
+            user.setCreatedAt(ColumnMapper.timestamp(rs, createdAt));
+            user.setLastLogin(ColumnMapper.timestamp(rs, lastLogin));
+        }
+    }
+
+    /**
+     * Maps a Users row to a User
+     */
+    static final ColumnMapper<User> USER_MAPPER = new ColumnMapper<>(columns -> {
+        UserColumns userColumns = new UserColumns(columns);
+        return rs -> {
+            User user = new User();
+            userColumns.read(rs, user);
+            return user;
+        };
+    });
 }
\ No newline at end of file
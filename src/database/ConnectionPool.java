@@ -0,0 +1,440 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool borné de connexions JDBC vers la base SQLite.
+ *
+ * Les DAO continuent d'appeler DatabaseConfig.getConnection() dans un
+ * try-with-resources : la connexion retournée est une poignée dont close()
+ * rend la connexion physique au pool au lieu de la fermer.
+ *
+ * Un même thread qui emprunte plusieurs fois (par exemple updateCitizen qui
+ * appelle userDAO.updateUser) reçoit la même connexion physique, ce qui
+ * conserve le comportement transactionnel de l'ancien singleton.
+ */
+public class ConnectionPool {
+
+    private final String name;
+    private final String url;
+    private final Properties properties;
+    private final List<String> initStatements;
+    private final int maxSize;
+    private final int minIdle;
+    private final long borrowTimeoutMillis;
+    private final long validationIdleMillis;
+    private final int statementCacheSize;
+
+    // Connexions physiques disponibles (la plus récemment rendue en tête)
+    private final BlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+
+    // Limite le nombre de connexions empruntées simultanément
+    private final Semaphore permits;
+
+    // Emprunt en cours pour le thread courant (réentrance)
+    private final ThreadLocal<Lease> currentLease = new ThreadLocal<>();
+
+    private volatile boolean shutdown = false;
+
+    // Métriques
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong reentrantBorrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final AtomicLong statementCacheEvictions = new AtomicLong();
+
+    /**
+     * Créer un pool
+     * @param name nom du pool (affiché dans les métriques)
+     * @param url URL JDBC de la base
+     * @param properties propriétés passées au driver (mode lecture seule, etc.)
+     * @param initStatements PRAGMA exécutés sur chaque nouvelle connexion physique
+     * @param maxSize nombre maximum de connexions physiques
+     * @param minIdle nombre de connexions ouvertes au démarrage
+     * @param borrowTimeoutMillis attente maximale pour obtenir une connexion
+     * @param validationIdleMillis durée d'inactivité au-delà de laquelle une connexion est revalidée
+     * @param statementCacheSize nombre de PreparedStatement conservés par connexion (0 = pas de cache)
+     */
+    public ConnectionPool(String name, String url, Properties properties, List<String> initStatements,
+                          int maxSize, int minIdle, long borrowTimeoutMillis, long validationIdleMillis,
+                          int statementCacheSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize doit être >= 1");
+        }
+        this.name = name;
+        this.url = url;
+        this.properties = properties;
+        this.initStatements = List.copyOf(initStatements);
+        this.maxSize = maxSize;
+        this.minIdle = Math.min(minIdle, maxSize);
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationIdleMillis = validationIdleMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Ouvrir à l'avance minIdle connexions
+     */
+    public void warmUp() throws SQLException {
+        while (totalConnections.get() < minIdle) {
+            idle.offerLast(newEntry(openPhysicalConnection()));
+        }
+    }
+
+    /**
+     * Emprunter une connexion. Appeler close() sur la connexion retournée la rend au pool.
+     * @return poignée sur une connexion du pool
+     * @throws SQLException si le pool est fermé, épuisé ou si la connexion échoue
+     */
+    public Connection borrow() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Le pool de connexions est fermé");
+        }
+
+        // Réentrance : le thread possède déjà une connexion
+        Lease lease = currentLease.get();
+        if (lease != null) {
+            lease.holds++;
+            reentrantBorrowCount.incrementAndGet();
+            return lease.newHandle();
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Aucune connexion disponible après " + borrowTimeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Attente d'une connexion interrompue", e);
+        }
+        totalWaitNanos.addAndGet(System.nanoTime() - start);
+
+        PooledEntry entry;
+        try {
+            entry = takeIdleOrCreate();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        borrowCount.incrementAndGet();
+        activeConnections.incrementAndGet();
+
+        lease = new Lease(entry);
+        lease.holds = 1;
+        currentLease.set(lease);
+        return lease.newHandle();
+    }
+
+    /**
+     * Fermer toutes les connexions du pool
+     */
+    public void shutdown() {
+        shutdown = true;
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            closeQuietly(entry);
+        }
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Indique si le thread courant a déjà emprunté une connexion à ce pool
+     */
+    public boolean isHeldByCurrentThread() {
+        return currentLease.get() != null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // ========================================================================
+    // Métriques
+    // ========================================================================
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    public int getThreadsAwaitingConnection() {
+        return permits.getQueueLength();
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.get();
+    }
+
+    public long getReentrantBorrowCount() {
+        return reentrantBorrowCount.get();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    public long getValidationFailureCount() {
+        return validationFailureCount.get();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.get();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.get();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.get();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions.get();
+    }
+
+    public double getStatementCacheHitRatio() {
+        long hits = statementCacheHits.get();
+        long total = hits + statementCacheMisses.get();
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    public double getAverageWaitMillis() {
+        long borrows = borrowCount.get();
+        return borrows == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / borrows;
+    }
+
+    /**
+     * Résumé lisible des métriques du pool
+     */
+    public String getStatistics() {
+        return String.format(
+                "Pool %s[total=%d/%d, actives=%d, inactives=%d, en attente=%d, emprunts=%d, réentrants=%d, " +
+                        "créées=%d, invalides=%d, expirations=%d, attente moy.=%.3f ms, " +
+                        "cache requêtes: succès=%d, échecs=%d, évictions=%d, taux=%.1f%%]",
+                name, getTotalConnections(), maxSize, getActiveConnections(), getIdleConnections(),
+                getThreadsAwaitingConnection(), getBorrowCount(), getReentrantBorrowCount(),
+                getCreatedCount(), getValidationFailureCount(), getTimeoutCount(), getAverageWaitMillis(),
+                getStatementCacheHits(), getStatementCacheMisses(), getStatementCacheEvictions(),
+                getStatementCacheHitRatio() * 100);
+    }
+
+    // ========================================================================
+    // Gestion interne des connexions physiques
+    // ========================================================================
+
+    private PooledEntry takeIdleOrCreate() throws SQLException {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            if (isUsable(entry)) {
+                return entry;
+            }
+            validationFailureCount.incrementAndGet();
+            closeQuietly(entry);
+        }
+        return newEntry(openPhysicalConnection());
+    }
+
+    private PooledEntry newEntry(Connection connection) {
+        return new PooledEntry(connection, new StatementCache(statementCacheSize,
+                statementCacheHits, statementCacheMisses, statementCacheEvictions));
+    }
+
+    /**
+     * Une connexion restée inactive trop longtemps est revalidée avant d'être prêtée
+     */
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            if (entry.connection.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - entry.lastReleased < validationIdleMillis) {
+                return true;
+            }
+            return entry.connection.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysicalConnection() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, properties);
+        try (Statement stmt = connection.createStatement()) {
+            for (String sql : initStatements) {
+                stmt.execute(sql);
+            }
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        totalConnections.incrementAndGet();
+        createdCount.incrementAndGet();
+        return connection;
+    }
+
+    private void release(PooledEntry entry) {
+        activeConnections.decrementAndGet();
+        try {
+            if (shutdown || entry.connection.isClosed()) {
+                closeQuietly(entry);
+                return;
+            }
+            // Ne jamais rendre une transaction ouverte au pool
+            if (!entry.connection.getAutoCommit()) {
+                entry.connection.rollback();
+                entry.connection.setAutoCommit(true);
+            }
+            entry.connection.clearWarnings();
+            entry.lastReleased = System.currentTimeMillis();
+            idle.offerFirst(entry);
+        } catch (SQLException e) {
+            System.err.println("✗ Connexion défectueuse retirée du pool: " + e.getMessage());
+            closeQuietly(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void closeQuietly(PooledEntry entry) {
+        totalConnections.decrementAndGet();
+        entry.statementCache.closeAll();
+        try {
+            entry.connection.close();
+        } catch (SQLException e) {
+            // Connexion déjà inutilisable
+        }
+    }
+
+    private static final class PooledEntry {
+        private final Connection connection;
+        private final StatementCache statementCache;
+        private volatile long lastReleased = System.currentTimeMillis();
+
+        private PooledEntry(Connection connection, StatementCache statementCache) {
+            this.connection = connection;
+            this.statementCache = statementCache;
+        }
+    }
+
+    /**
+     * Emprunt d'une connexion physique par un thread, éventuellement imbriqué
+     */
+    private final class Lease {
+        private final PooledEntry entry;
+        private int holds;
+
+        private Lease(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+
+        private void releaseHold() {
+            if (--holds == 0) {
+                currentLease.remove();
+                release(entry);
+            }
+        }
+    }
+
+    /**
+     * Poignée remise aux DAO : délègue tout à la connexion physique sauf close()/isClosed()
+     * et prepareStatement(sql[, autoGeneratedKeys]), servi par le cache de requêtes
+     */
+    private static final class Handle implements InvocationHandler {
+        private final Lease lease;
+        private boolean closed = false;
+
+        private Handle(Lease lease) {
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        lease.releaseHold();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || lease.entry.connection.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("La connexion a déjà été rendue au pool");
+            }
+
+            if (method.getName().equals("prepareStatement")) {
+                Class<?>[] types = method.getParameterTypes();
+                if (types.length == 1) {
+                    return lease.entry.statementCache.prepare(lease.entry.connection,
+                            (String) args[0], Statement.NO_GENERATED_KEYS);
+                }
+                if (types.length == 2 && types[1] == int.class) {
+                    return lease.entry.statementCache.prepare(lease.entry.connection,
+                            (String) args[0], (Integer) args[1]);
+                }
+            }
+
+            try {
+                return method.invoke(lease.entry.connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
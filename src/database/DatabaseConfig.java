@@ -1,46 +1,78 @@
 package database;
 
+import org.sqlite.SQLiteConfig;
+
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Classe de configuration et gestion de la connexion à la base de données SQLite
  */
 public class DatabaseConfig {
 
-    // Chemin de la base de données SQLite
-    private static final String DB_URL = "jdbc:sqlite:land_management.db";
+    // Chemin de la base de données SQLite (surchargeable avec -Dland.db.url=...)
+    private static final String DEFAULT_DB_URL = "jdbc:sqlite:land_management.db";
+
+    // Mode de stockage par défaut (surchargeable avec -Dland.db.storage=SHARED)
+    private static final StorageMode DEFAULT_STORAGE_MODE = StorageMode.WAL_SPLIT;
+
+    // Paramètres des pools de connexions
+    private static final int POOL_MAX_SIZE = 8;
+    private static final int READER_POOL_MAX_SIZE = 4;
+    private static final int POOL_MIN_IDLE = 2;
+    private static final long POOL_BORROW_TIMEOUT_MS = 10_000;
+    private static final long POOL_VALIDATION_IDLE_MS = 30_000;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    // Validation groupée des écritures : au plus N opérations ou T ms par COMMIT.
+    // Avec T = 0, un lot regroupe les écritures arrivées pendant le COMMIT précédent,
+    // sans faire attendre les appelants synchrones.
+    // (surchargeables avec -Dland.db.batch.size=... et -Dland.db.batch.delay=...)
+    private static final int WRITE_BATCH_MAX_SIZE = Integer.getInteger("land.db.batch.size", 64);
+    private static final long WRITE_BATCH_MAX_DELAY_MS = Long.getLong("land.db.batch.delay", 0);
+
+    // Niveau de synchronisation de la connexion d'écriture en mode WAL_SPLIT
+    // (surchargeable avec -Dland.db.synchronous=NORMAL).
+    // FULL : chaque COMMIT est sur disque avant de rendre la main.
+    // NORMAL : plus rapide, mais les derniers COMMIT peuvent être perdus en cas de coupure de courant.
+    private static final String DEFAULT_WRITER_SYNCHRONOUS = "FULL";
+    private static final List<String> SYNCHRONOUS_LEVELS = List.of("OFF", "NORMAL", "FULL", "EXTRA");
+
+    private static String dbUrl = System.getProperty("land.db.url", DEFAULT_DB_URL);
+    private static StorageMode storageMode = StorageMode.valueOf(
+            System.getProperty("land.db.storage", DEFAULT_STORAGE_MODE.name()));
+
+    private static String writerSynchronous = synchronousLevel(
+            System.getProperty("land.db.synchronous", DEFAULT_WRITER_SYNCHRONOUS));
 
-    // Instance unique de connexion (Singleton pattern)
-    private static Connection connection = null;
+    // Pools partagés par tous les DAO (créés au premier appel).
+    // En mode SHARED, readerPool et writerPool désignent le même pool.
+    private static ConnectionPool writerPool = null;
+    private static ConnectionPool readerPool = null;
+
+    // Écrivain unique partagé par les DAO pour leurs modifications
+    private static WriteQueue writeQueue = null;
 
     /**
-     * Obtenir une connexion à la base de données
+     * Obtenir une connexion à la base de données (connexion d'écriture).
+     * La connexion est empruntée au pool : la fermer (try-with-resources) la rend au pool.
      * @return Connection object
      */
     public static Connection getConnection() {
-        try {
-            if (connection == null || connection.isClosed()) {
-                // Charger le driver SQLite
-                Class.forName("org.sqlite.JDBC");
-
-                // Établir la connexion
-                connection = DriverManager.getConnection(DB_URL);
-
-                // Activer les clés étrangères (très important pour SQLite!)
-                Statement stmt = connection.createStatement();
-                stmt.execute("PRAGMA foreign_keys = ON;");
-                stmt.close();
+        return getWriteConnection();
+    }
 
-                System.out.println("✓ Connexion à la base de données établie avec succès");
-            }
-            return connection;
-        } catch (ClassNotFoundException e) {
-            System.err.println("✗ Driver SQLite non trouvé: " + e.getMessage());
-            e.printStackTrace();
-            return null;
+    /**
+     * Obtenir la connexion d'écriture dédiée (INSERT, UPDATE, DELETE, transactions)
+     * @return Connection object, ou null en cas d'erreur
+     */
+    public static Connection getWriteConnection() {
+        try {
+            return getWriterPool().borrow();
         } catch (SQLException e) {
             System.err.println("✗ Erreur de connexion à la base de données: " + e.getMessage());
             e.printStackTrace();
@@ -49,17 +81,206 @@ public class DatabaseConfig {
     }
 
     /**
-     * Fermer la connexion à la base de données
+     * Obtenir une connexion en lecture seule (SELECT).
+     * Si le thread courant tient déjà la connexion d'écriture (transaction en cours),
+     * elle est réutilisée pour voir ses propres modifications.
+     * @return Connection object, ou null en cas d'erreur
      */
-    public static void closeConnection() {
+    public static Connection getReadConnection() {
         try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("✓ Connexion à la base de données fermée");
+            ConnectionPool writer = getWriterPool();
+            if (writer.isHeldByCurrentThread()) {
+                return writer.borrow();
             }
+            return getReaderPool().borrow();
         } catch (SQLException e) {
-            System.err.println("✗ Erreur lors de la fermeture de la connexion: " + e.getMessage());
+            System.err.println("✗ Erreur de connexion à la base de données: " + e.getMessage());
             e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Ouvrir une connexion en lecture seule hors des pools, pour un usage de longue durée
+     * (PRAGMA data_version n'a de sens que sur une même connexion). L'appelant la ferme.
+     * @return Connection object
+     */
+    public static Connection openDedicatedReadConnection() throws SQLException {
+        String url;
+        synchronized (DatabaseConfig.class) {
+            // Pools d'abord : le journal WAL existe et le schéma est à jour
+            getReaderPool();
+            url = dbUrl;
+        }
+        SQLiteConfig readOnly = new SQLiteConfig();
+        readOnly.setReadOnly(true);
+        readOnly.setBusyTimeout(5000);
+        return DriverManager.getConnection(url, readOnly.toProperties());
+    }
+
+    /**
+     * Soumettre une modification à l'écrivain unique (validation groupée)
+     * @param operation modification à exécuter sur la connexion d'écriture
+     * @return futur complété une fois la modification validée
+     */
+    public static <T> CompletableFuture<T> submitWrite(WriteQueue.WriteOperation<T> operation) {
+        try {
+            return getWriteQueue().submit(operation);
+        } catch (SQLException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Obtenir la file d'écriture (démarrée avec les pools)
+     * @return WriteQueue partagée
+     */
+    public static synchronized WriteQueue getWriteQueue() throws SQLException {
+        if (writeQueue == null || writerPool == null || writerPool.isShutdown()) {
+            initializePools();
+        }
+        return writeQueue;
+    }
+
+    /**
+     * Obtenir le pool d'écriture (initialisé et préchauffé au premier appel)
+     * @return ConnectionPool d'écriture
+     */
+    public static synchronized ConnectionPool getWriterPool() throws SQLException {
+        if (writerPool == null || writerPool.isShutdown()) {
+            initializePools();
+        }
+        return writerPool;
+    }
+
+    /**
+     * Obtenir le pool de lecture (identique au pool d'écriture en mode SHARED)
+     * @return ConnectionPool de lecture
+     */
+    public static synchronized ConnectionPool getReaderPool() throws SQLException {
+        if (readerPool == null || readerPool.isShutdown()) {
+            initializePools();
+        }
+        return readerPool;
+    }
+
+    /**
+     * Changer la base ou le mode de stockage (ferme les pools existants)
+     * @param url URL JDBC de la base
+     * @param mode mode de stockage
+     */
+    public static synchronized void configure(String url, StorageMode mode) {
+        closeConnection();
+        dbUrl = url;
+        storageMode = mode;
+    }
+
+    public static synchronized StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Choisir le niveau PRAGMA synchronous de la connexion d'écriture (mode WAL_SPLIT).
+     * Les pools sont fermés et recréés avec ce niveau au prochain appel.
+     * @param level OFF, NORMAL, FULL ou EXTRA
+     */
+    public static synchronized void setWriterSynchronous(String level) {
+        String checked = synchronousLevel(level);
+        closeConnection();
+        writerSynchronous = checked;
+    }
+
+    public static synchronized String getWriterSynchronous() {
+        return writerSynchronous;
+    }
+
+    private static String synchronousLevel(String level) {
+        String upper = level.trim().toUpperCase();
+        if (!SYNCHRONOUS_LEVELS.contains(upper)) {
+            throw new IllegalArgumentException("Niveau synchronous inconnu: " + level);
+        }
+        return upper;
+    }
+
+    private static void initializePools() throws SQLException {
+        try {
+            // Charger le driver SQLite
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("Driver SQLite non trouvé: " + e.getMessage(), e);
+        }
+
+        closeConnection();
+
+        if (storageMode == StorageMode.WAL_SPLIT) {
+            // Une seule connexion d'écriture : SQLite n'accepte qu'un écrivain à la fois
+            ConnectionPool writer = new ConnectionPool("écriture", dbUrl, new Properties(), List.of(
+                    "PRAGMA journal_mode = WAL;",
+                    "PRAGMA synchronous = " + writerSynchronous + ";",
+                    "PRAGMA foreign_keys = ON;",
+                    "PRAGMA busy_timeout = 5000;"),
+                    1, 1, POOL_BORROW_TIMEOUT_MS, POOL_VALIDATION_IDLE_MS, STATEMENT_CACHE_SIZE);
+            // Le journal WAL doit exister avant l'ouverture des lecteurs
+            writer.warmUp();
+            migrateSchema(writer);
+
+            SQLiteConfig readOnly = new SQLiteConfig();
+            readOnly.setReadOnly(true);
+            ConnectionPool reader = new ConnectionPool("lecture", dbUrl, readOnly.toProperties(), List.of(
+                    "PRAGMA busy_timeout = 5000;"),
+                    READER_POOL_MAX_SIZE, POOL_MIN_IDLE, POOL_BORROW_TIMEOUT_MS, POOL_VALIDATION_IDLE_MS, STATEMENT_CACHE_SIZE);
+            reader.warmUp();
+
+            writerPool = writer;
+            readerPool = reader;
+        } else {
+            ConnectionPool shared = new ConnectionPool("partagé", dbUrl, new Properties(), List.of(
+                    // Activer les clés étrangères (très important pour SQLite!)
+                    "PRAGMA foreign_keys = ON;",
+                    // Plusieurs connexions peuvent écrire : attendre le verrou au lieu d'échouer
+                    "PRAGMA busy_timeout = 5000;"),
+                    POOL_MAX_SIZE, POOL_MIN_IDLE, POOL_BORROW_TIMEOUT_MS, POOL_VALIDATION_IDLE_MS, STATEMENT_CACHE_SIZE);
+            shared.warmUp();
+            migrateSchema(shared);
+
+            writerPool = shared;
+            readerPool = shared;
+        }
+
+        writeQueue = new WriteQueue(writerPool, WRITE_BATCH_MAX_SIZE, WRITE_BATCH_MAX_DELAY_MS);
+
+        System.out.println("✓ Connexion à la base de données établie avec succès (" + storageMode + ")");
+    }
+
+    /**
+     * Mettre à niveau une base existante avant de servir les DAO
+     */
+    private static void migrateSchema(ConnectionPool pool) throws SQLException {
+        try (Connection conn = pool.borrow()) {
+            SchemaMigrator.migrate(conn);
+        }
+    }
+
+    /**
+     * Fermer la connexion à la base de données
+     */
+    public static synchronized void closeConnection() {
+        boolean closed = false;
+        if (writeQueue != null) {
+            // Terminer les écritures en attente avant de fermer les connexions
+            writeQueue.shutdown();
+            writeQueue = null;
+        }
+        if (readerPool != null && !readerPool.isShutdown()) {
+            readerPool.shutdown();
+            closed = true;
+        }
+        if (writerPool != null && !writerPool.isShutdown()) {
+            writerPool.shutdown();
+            closed = true;
+        }
+        if (closed) {
+            System.out.println("✓ Connexion à la base de données fermée");
         }
     }
 
@@ -68,19 +289,33 @@ public class DatabaseConfig {
      * @return true si la connexion fonctionne, false sinon
      */
     public static boolean testConnection() {
-        try {
-            Connection conn = getConnection();
+        try (Connection conn = getConnection()) {
             return conn != null && !conn.isClosed();
         } catch (SQLException e) {
             return false;
         }
     }
 
+    /**
+     * Obtenir les métriques des pools de connexions
+     * @return String décrivant l'état des pools
+     */
+    public static synchronized String getPoolStatistics() {
+        if (writerPool == null) {
+            return "Pool non initialisé";
+        }
+        String queueStats = writeQueue != null ? "\n" + writeQueue.getStatistics() : "";
+        if (readerPool == writerPool) {
+            return writerPool.getStatistics() + queueStats;
+        }
+        return writerPool.getStatistics() + "\n" + readerPool.getStatistics() + queueStats;
+    }
+
     /**
      * Obtenir le chemin de la base de données
      * @return String contenant le chemin
      */
-    public static String getDatabasePath() {
-        return DB_URL;
+    public static synchronized String getDatabasePath() {
+        return dbUrl;
     }
-}
\ No newline at end of file
+}
@@ -76,6 +76,12 @@ public class DatabaseInitializer {
 
             stmt.close();
 
+            // Index et évolutions du schéma
+            if (!SchemaMigrator.migrate(conn)) {
+                return false;
+            }
+            System.out.println("✓ Schéma à jour (version " + SchemaMigrator.getCurrentVersion(conn) + ")");
+
             System.out.println("\n✓✓✓ Base de données initialisée avec succès! ✓✓✓\n");
             return true;
 
@@ -83,6 +89,9 @@ public class DatabaseInitializer {
             System.err.println("✗ Erreur lors de l'initialisation de la base de données: " + e.getMessage());
             e.printStackTrace();
             return false;
+        } finally {
+            // Rendre la connexion au pool
+            closeQuietly(conn);
         }
     }
 
@@ -338,6 +347,15 @@ public class DatabaseInitializer {
             stmt.execute("PRAGMA foreign_keys = OFF;");
 
             // Supprimer toutes les tables dans l'ordre inverse
+            stmt.execute("DROP TABLE IF EXISTS schema_version");
+            stmt.execute("DROP TABLE IF EXISTS ImportsParcelles");
+            stmt.execute("DROP TABLE IF EXISTS SequencesParcelles");
+            stmt.execute("DROP VIEW IF EXISTS compteurs_calcules");
+            stmt.execute("DROP TABLE IF EXISTS Compteurs");
+            stmt.execute("DROP TABLE IF EXISTS VersionsTables");
+            stmt.execute("DROP TABLE IF EXISTS parcelles_fts");
+            stmt.execute("DROP TABLE IF EXISTS users_fts");
+            stmt.execute("DROP TABLE IF EXISTS documents_fts");
             stmt.execute("DROP TABLE IF EXISTS AuditLog");
             stmt.execute("DROP TABLE IF EXISTS Notifications");
             stmt.execute("DROP TABLE IF EXISTS Litiges");
@@ -359,6 +377,18 @@ public class DatabaseInitializer {
         } catch (SQLException e) {
             System.err.println("✗ Erreur lors de la suppression des tables: " + e.getMessage());
             e.printStackTrace();
+        } finally {
+            closeQuietly(conn);
+        }
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            if (conn != null) {
+                conn.close();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package database;
+
+import java.util.List;
+
+/**
+ * Étape de migration du schéma : un numéro de version et les instructions SQL à appliquer.
+ *
+ * Les instructions doivent être idempotentes (IF NOT EXISTS, INSERT OR IGNORE...) afin
+ * qu'une migration interrompue puisse être rejouée sans erreur.
+ */
+public class Migration {
+
+    private final int version;
+    private final String description;
+    private final List<String> statements;
+
+    public Migration(int version, String description, String... statements) {
+        this.version = version;
+        this.description = description;
+        this.statements = List.of(statements);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    @Override
+    public String toString() {
+        return "V" + version + " - " + description;
+    }
+}
@@ -0,0 +1,527 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Moteur de migration du schéma.
+ *
+ * La version appliquée est conservée dans la table schema_version. Au démarrage, les
+ * migrations dont la version est supérieure sont appliquées dans l'ordre, chacune dans
+ * sa propre transaction : une base existante est ainsi mise à niveau sur place.
+ *
+ * Pour faire évoluer le schéma, ajouter une Migration à la fin de MIGRATIONS avec le
+ * numéro de version suivant. Ne jamais modifier une migration déjà publiée.
+ */
+public class SchemaMigrator {
+
+    private static final List<Migration> MIGRATIONS = List.of(
+            new Migration(1, "Index secondaires des requêtes DAO",
+                    // Parcelles : filtres de ParcelDAO triés par date_enregistrement DESC
+                    "CREATE INDEX IF NOT EXISTS idx_parcelles_region_date ON Parcelles(region, date_enregistrement)",
+                    "CREATE INDEX IF NOT EXISTS idx_parcelles_statut_date ON Parcelles(statut_parcelle, date_enregistrement)",
+                    "CREATE INDEX IF NOT EXISTS idx_parcelles_proprietaire_date ON Parcelles(proprietaire_actuel, date_enregistrement)",
+                    "CREATE INDEX IF NOT EXISTS idx_parcelles_type_date ON Parcelles(type_terrain, date_enregistrement)",
+                    "CREATE INDEX IF NOT EXISTS idx_parcelles_date ON Parcelles(date_enregistrement)",
+
+                    // Transactions
+                    "CREATE INDEX IF NOT EXISTS idx_transactions_parcelle_date ON Transactions(parcelle_id, date_transaction)",
+                    "CREATE INDEX IF NOT EXISTS idx_transactions_statut_creation ON Transactions(statut_transaction, date_creation)",
+                    "CREATE INDEX IF NOT EXISTS idx_transactions_ancien_date ON Transactions(ancien_proprietaire, date_transaction)",
+                    "CREATE INDEX IF NOT EXISTS idx_transactions_nouveau_date ON Transactions(nouveau_proprietaire, date_transaction)",
+                    "CREATE INDEX IF NOT EXISTS idx_transactions_creation ON Transactions(date_creation)",
+
+                    // Litiges
+                    "CREATE INDEX IF NOT EXISTS idx_litiges_agent_date ON Litiges(agent_assigne, date_ouverture)",
+                    "CREATE INDEX IF NOT EXISTS idx_litiges_parcelle_date ON Litiges(parcelle_id, date_ouverture)",
+                    "CREATE INDEX IF NOT EXISTS idx_litiges_statut_date ON Litiges(statut_litige, date_ouverture)",
+                    "CREATE INDEX IF NOT EXISTS idx_litiges_priorite_date ON Litiges(priorite, date_ouverture)",
+                    "CREATE INDEX IF NOT EXISTS idx_litiges_plaignant_date ON Litiges(plaignant_id, date_ouverture)",
+                    "CREATE INDEX IF NOT EXISTS idx_litiges_defendeur_date ON Litiges(defendeur_id, date_ouverture)",
+                    "CREATE INDEX IF NOT EXISTS idx_litiges_date ON Litiges(date_ouverture)",
+
+                    // Notifications : non lues d'un utilisateur, par type, et liste complète
+                    "CREATE INDEX IF NOT EXISTS idx_notifications_user_lue_date ON Notifications(user_id, lue, date_creation)",
+                    "CREATE INDEX IF NOT EXISTS idx_notifications_user_type_date ON Notifications(user_id, type_notification, date_creation)",
+                    "CREATE INDEX IF NOT EXISTS idx_notifications_user_date ON Notifications(user_id, date_creation)",
+                    "CREATE INDEX IF NOT EXISTS idx_notifications_date ON Notifications(date_creation)",
+
+                    // Documents
+                    "CREATE INDEX IF NOT EXISTS idx_documents_parcelle_date ON Documents(parcelle_id, date_upload)",
+                    "CREATE INDEX IF NOT EXISTS idx_documents_transaction_date ON Documents(transaction_id, date_upload)",
+                    "CREATE INDEX IF NOT EXISTS idx_documents_user_date ON Documents(user_id, date_upload)",
+                    "CREATE INDEX IF NOT EXISTS idx_documents_type_date ON Documents(type_document, date_upload)",
+                    "CREATE INDEX IF NOT EXISTS idx_documents_date ON Documents(date_upload)",
+
+                    // AuditLog
+                    "CREATE INDEX IF NOT EXISTS idx_auditlog_user_time ON AuditLog(user_id, timestamp)",
+                    "CREATE INDEX IF NOT EXISTS idx_auditlog_action_time ON AuditLog(action, timestamp)",
+                    "CREATE INDEX IF NOT EXISTS idx_auditlog_table_record_time ON AuditLog(table_affectee, enregistrement_id, timestamp)",
+                    "CREATE INDEX IF NOT EXISTS idx_auditlog_time ON AuditLog(timestamp)",
+
+                    // Users et agents
+                    "CREATE INDEX IF NOT EXISTS idx_users_role_creation ON Users(role, date_creation)",
+                    "CREATE INDEX IF NOT EXISTS idx_users_status_creation ON Users(account_status, date_creation)",
+                    "CREATE INDEX IF NOT EXISTS idx_users_creation ON Users(date_creation)",
+                    "CREATE INDEX IF NOT EXISTS idx_agents_region ON AgentsFonciers(region)",
+                    "CREATE INDEX IF NOT EXISTS idx_agents_statut ON AgentsFonciers(statut)",
+
+                    // Mettre à jour les statistiques du planificateur
+                    "ANALYZE"),
+
+            new Migration(2, "Index du journal d'audit par table",
+                    // getLogsByTable : WHERE table_affectee = ? ORDER BY timestamp DESC
+                    "CREATE INDEX IF NOT EXISTS idx_auditlog_table_time ON AuditLog(table_affectee, timestamp)"),
+
+            new Migration(3, "Reprise des imports de parcelles",
+                    // Point de reprise validé dans la même transaction que chaque lot importé
+                    """
+                    CREATE TABLE IF NOT EXISTS ImportsParcelles (
+                        fichier TEXT PRIMARY KEY,
+                        taille_fichier INTEGER NOT NULL,
+                        lignes_traitees INTEGER DEFAULT 0,
+                        lignes_importees INTEGER DEFAULT 0,
+                        lignes_rejetees INTEGER DEFAULT 0,
+                        termine INTEGER DEFAULT 0 CHECK(termine IN (0, 1)),
+                        date_maj TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                    )
+                    """),
+
+            new Migration(4, "Index plein texte des parcelles, citoyens et documents",
+                    // Tables FTS5 à contenu externe : seul l'index est stocké, le texte reste
+                    // dans la table d'origine. remove_diacritics 2 : "Thies" trouve "Thiès".
+                    // Index de préfixes de 2 et 3 caractères pour la recherche en cours de saisie.
+                    """
+                    CREATE VIRTUAL TABLE IF NOT EXISTS parcelles_fts USING fts5(
+                        numero_parcelle, titre_foncier, adresse, usage_actuel, commune, departement, region,
+                        content = 'Parcelles', content_rowid = 'parcelle_id',
+                        tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+                    )
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_parcelles_fts_insert AFTER INSERT ON Parcelles BEGIN
+                        INSERT INTO parcelles_fts (rowid, numero_parcelle, titre_foncier, adresse, usage_actuel, commune, departement, region)
+                        VALUES (new.parcelle_id, new.numero_parcelle, new.titre_foncier, new.adresse, new.usage_actuel, new.commune, new.departement, new.region);
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_parcelles_fts_delete AFTER DELETE ON Parcelles BEGIN
+                        INSERT INTO parcelles_fts (parcelles_fts, rowid, numero_parcelle, titre_foncier, adresse, usage_actuel, commune, departement, region)
+                        VALUES ('delete', old.parcelle_id, old.numero_parcelle, old.titre_foncier, old.adresse, old.usage_actuel, old.commune, old.departement, old.region);
+                    END
+                    """,
+                    // Les changements de statut ou de propriétaire ne touchent pas l'index
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_parcelles_fts_update
+                    AFTER UPDATE OF numero_parcelle, titre_foncier, adresse, usage_actuel, commune, departement, region ON Parcelles BEGIN
+                        INSERT INTO parcelles_fts (parcelles_fts, rowid, numero_parcelle, titre_foncier, adresse, usage_actuel, commune, departement, region)
+                        VALUES ('delete', old.parcelle_id, old.numero_parcelle, old.titre_foncier, old.adresse, old.usage_actuel, old.commune, old.departement, old.region);
+                        INSERT INTO parcelles_fts (rowid, numero_parcelle, titre_foncier, adresse, usage_actuel, commune, departement, region)
+                        VALUES (new.parcelle_id, new.numero_parcelle, new.titre_foncier, new.adresse, new.usage_actuel, new.commune, new.departement, new.region);
+                    END
+                    """,
+                    "INSERT INTO parcelles_fts (parcelles_fts) VALUES ('rebuild')",
+
+                    // Noms des utilisateurs (recherche des citoyens par nom)
+                    """
+                    CREATE VIRTUAL TABLE IF NOT EXISTS users_fts USING fts5(
+                        nom, prenom,
+                        content = 'Users', content_rowid = 'user_id',
+                        tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+                    )
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_users_fts_insert AFTER INSERT ON Users BEGIN
+                        INSERT INTO users_fts (rowid, nom, prenom) VALUES (new.user_id, new.nom, new.prenom);
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_users_fts_delete AFTER DELETE ON Users BEGIN
+                        INSERT INTO users_fts (users_fts, rowid, nom, prenom) VALUES ('delete', old.user_id, old.nom, old.prenom);
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_users_fts_update AFTER UPDATE OF nom, prenom ON Users BEGIN
+                        INSERT INTO users_fts (users_fts, rowid, nom, prenom) VALUES ('delete', old.user_id, old.nom, old.prenom);
+                        INSERT INTO users_fts (rowid, nom, prenom) VALUES (new.user_id, new.nom, new.prenom);
+                    END
+                    """,
+                    "INSERT INTO users_fts (users_fts) VALUES ('rebuild')",
+
+                    // Noms de fichiers et descriptions des documents
+                    """
+                    CREATE VIRTUAL TABLE IF NOT EXISTS documents_fts USING fts5(
+                        nom_fichier, description,
+                        content = 'Documents', content_rowid = 'document_id',
+                        tokenize = 'unicode61 remove_diacritics 2', prefix = '2 3'
+                    )
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_documents_fts_insert AFTER INSERT ON Documents BEGIN
+                        INSERT INTO documents_fts (rowid, nom_fichier, description) VALUES (new.document_id, new.nom_fichier, new.description);
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_documents_fts_delete AFTER DELETE ON Documents BEGIN
+                        INSERT INTO documents_fts (documents_fts, rowid, nom_fichier, description)
+                        VALUES ('delete', old.document_id, old.nom_fichier, old.description);
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_documents_fts_update AFTER UPDATE OF nom_fichier, description ON Documents BEGIN
+                        INSERT INTO documents_fts (documents_fts, rowid, nom_fichier, description)
+                        VALUES ('delete', old.document_id, old.nom_fichier, old.description);
+                        INSERT INTO documents_fts (rowid, nom_fichier, description) VALUES (new.document_id, new.nom_fichier, new.description);
+                    END
+                    """,
+                    "INSERT INTO documents_fts (documents_fts) VALUES ('rebuild')"),
+
+            new Migration(5, "Séquences des numéros de parcelle",
+                    // Dernier numéro attribué par région et par année (format XX-AAAA-NNNN) :
+                    // avancé dans la transaction d'insertion au lieu de parcourir les parcelles
+                    """
+                    CREATE TABLE IF NOT EXISTS SequencesParcelles (
+                        code_region TEXT NOT NULL,
+                        annee INTEGER NOT NULL,
+                        dernier_numero INTEGER NOT NULL,
+                        PRIMARY KEY (code_region, annee)
+                    ) WITHOUT ROWID
+                    """,
+                    """
+                    INSERT OR IGNORE INTO SequencesParcelles (code_region, annee, dernier_numero)
+                    SELECT substr(numero_parcelle, 1, 2), CAST(substr(numero_parcelle, 4, 4) AS INTEGER),
+                           MAX(CAST(substr(numero_parcelle, 9) AS INTEGER))
+                    FROM Parcelles
+                    WHERE numero_parcelle GLOB '[A-Z][A-Z]-[0-9][0-9][0-9][0-9]-[0-9]*'
+                    GROUP BY 1, 2
+                    """,
+                    // Numéros saisis à la main ou importés : la séquence ne redescend jamais
+                    // en dessous, le numéro suivant reste donc libre
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_parcelles_sequence AFTER INSERT ON Parcelles
+                    WHEN new.numero_parcelle GLOB '[A-Z][A-Z]-[0-9][0-9][0-9][0-9]-[0-9]*' BEGIN
+                        INSERT INTO SequencesParcelles (code_region, annee, dernier_numero)
+                        VALUES (substr(new.numero_parcelle, 1, 2), CAST(substr(new.numero_parcelle, 4, 4) AS INTEGER),
+                                CAST(substr(new.numero_parcelle, 9) AS INTEGER))
+                        ON CONFLICT (code_region, annee) DO UPDATE SET dernier_numero = MAX(dernier_numero, excluded.dernier_numero);
+                    END
+                    """),
+
+            new Migration(6, "Compteurs des tableaux de bord",
+                    // Nombre de lignes par (métrique, région, statut), tenu à jour par les
+                    // déclencheurs ci-dessous : les tableaux de bord lisent quelques lignes au
+                    // lieu de compter les tables. '' remplace une région ou un statut absent.
+                    """
+                    CREATE TABLE IF NOT EXISTS Compteurs (
+                        metrique TEXT NOT NULL,
+                        region TEXT NOT NULL DEFAULT '',
+                        statut TEXT NOT NULL DEFAULT '',
+                        valeur INTEGER NOT NULL DEFAULT 0,
+                        PRIMARY KEY (metrique, region, statut)
+                    ) WITHOUT ROWID
+                    """,
+                    // Valeurs recalculées depuis les tables : reconstruction et vérification
+                    """
+                    CREATE VIEW IF NOT EXISTS compteurs_calcules AS
+                    SELECT 'utilisateurs' AS metrique, '' AS region, COALESCE(account_status, '') AS statut, COUNT(*) AS valeur
+                    FROM Users GROUP BY 3
+                    UNION ALL
+                    SELECT 'roles', '', COALESCE(role, ''), COUNT(*) FROM Users GROUP BY 3
+                    UNION ALL
+                    SELECT 'parcelles', COALESCE(region, ''), COALESCE(statut_parcelle, ''), COUNT(*) FROM Parcelles GROUP BY 2, 3
+                    UNION ALL
+                    SELECT 'transactions', '', COALESCE(statut_transaction, ''), COUNT(*) FROM Transactions GROUP BY 3
+                    UNION ALL
+                    SELECT 'litiges', '', COALESCE(statut_litige, ''), COUNT(*) FROM Litiges GROUP BY 3
+                    """,
+                    "INSERT OR REPLACE INTO Compteurs (metrique, region, statut, valeur) SELECT * FROM compteurs_calcules",
+
+                    // Users : par statut de compte et par rôle
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_users_insert AFTER INSERT ON Users BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('utilisateurs', '', COALESCE(new.account_status, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('roles', '', COALESCE(new.role, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_users_delete AFTER DELETE ON Users BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('utilisateurs', '', COALESCE(old.account_status, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('roles', '', COALESCE(old.role, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_users_update AFTER UPDATE OF account_status, role ON Users
+                    WHEN old.account_status IS NOT new.account_status OR old.role IS NOT new.role BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('utilisateurs', '', COALESCE(old.account_status, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('utilisateurs', '', COALESCE(new.account_status, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('roles', '', COALESCE(old.role, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('roles', '', COALESCE(new.role, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+
+                    // Parcelles : par région et par statut
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_parcelles_insert AFTER INSERT ON Parcelles BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur)
+                        VALUES ('parcelles', COALESCE(new.region, ''), COALESCE(new.statut_parcelle, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_parcelles_delete AFTER DELETE ON Parcelles BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur)
+                        VALUES ('parcelles', COALESCE(old.region, ''), COALESCE(old.statut_parcelle, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_parcelles_update AFTER UPDATE OF region, statut_parcelle ON Parcelles
+                    WHEN old.region IS NOT new.region OR old.statut_parcelle IS NOT new.statut_parcelle BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur)
+                        VALUES ('parcelles', COALESCE(old.region, ''), COALESCE(old.statut_parcelle, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                        INSERT INTO Compteurs (metrique, region, statut, valeur)
+                        VALUES ('parcelles', COALESCE(new.region, ''), COALESCE(new.statut_parcelle, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+
+                    // Transactions : par statut
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_transactions_insert AFTER INSERT ON Transactions BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('transactions', '', COALESCE(new.statut_transaction, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_transactions_delete AFTER DELETE ON Transactions BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('transactions', '', COALESCE(old.statut_transaction, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_transactions_update AFTER UPDATE OF statut_transaction ON Transactions
+                    WHEN old.statut_transaction IS NOT new.statut_transaction BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('transactions', '', COALESCE(old.statut_transaction, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('transactions', '', COALESCE(new.statut_transaction, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+
+                    // Litiges : par statut
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_litiges_insert AFTER INSERT ON Litiges BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('litiges', '', COALESCE(new.statut_litige, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_litiges_delete AFTER DELETE ON Litiges BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('litiges', '', COALESCE(old.statut_litige, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_compteurs_litiges_update AFTER UPDATE OF statut_litige ON Litiges
+                    WHEN old.statut_litige IS NOT new.statut_litige BEGIN
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('litiges', '', COALESCE(old.statut_litige, ''), -1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                        INSERT INTO Compteurs (metrique, region, statut, valeur) VALUES ('litiges', '', COALESCE(new.statut_litige, ''), 1)
+                        ON CONFLICT (metrique, region, statut) DO UPDATE SET valeur = valeur + excluded.valeur;
+                    END
+                    """),
+
+            new Migration(7, "Versions des tables",
+                    // Incrémentée à chaque modification d'une table suivie : les écrans comparent
+                    // les versions pour ne recharger que ce qui a changé, y compris par un autre client
+                    """
+                    CREATE TABLE IF NOT EXISTS VersionsTables (
+                        nom_table TEXT PRIMARY KEY,
+                        version INTEGER NOT NULL DEFAULT 0
+                    ) WITHOUT ROWID
+                    """,
+                    "INSERT OR IGNORE INTO VersionsTables (nom_table) VALUES ('Users'), ('Parcelles'), ('Transactions'), ('Litiges')",
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_users_insert AFTER INSERT ON Users BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Users';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_users_update AFTER UPDATE ON Users BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Users';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_users_delete AFTER DELETE ON Users BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Users';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_parcelles_insert AFTER INSERT ON Parcelles BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Parcelles';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_parcelles_update AFTER UPDATE ON Parcelles BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Parcelles';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_parcelles_delete AFTER DELETE ON Parcelles BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Parcelles';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_transactions_insert AFTER INSERT ON Transactions BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Transactions';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_transactions_update AFTER UPDATE ON Transactions BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Transactions';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_transactions_delete AFTER DELETE ON Transactions BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Transactions';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_litiges_insert AFTER INSERT ON Litiges BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Litiges';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_litiges_update AFTER UPDATE ON Litiges BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Litiges';
+                    END
+                    """,
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_versions_litiges_delete AFTER DELETE ON Litiges BEGIN
+                        UPDATE VersionsTables SET version = version + 1 WHERE nom_table = 'Litiges';
+                    END
+                    """),
+
+            new Migration(8, "Date de modification des parcelles",
+                    // Toute modification d'une parcelle met à jour derniere_modification, même si la
+                    // requête l'oublie (transfert de propriété...) : les copies en mémoire relisent
+                    // les parcelles modifiées depuis leur dernier chargement
+                    """
+                    CREATE TRIGGER IF NOT EXISTS trg_parcelles_derniere_modification AFTER UPDATE ON Parcelles
+                    WHEN new.derniere_modification IS old.derniere_modification BEGIN
+                        UPDATE Parcelles SET derniere_modification = CURRENT_TIMESTAMP WHERE parcelle_id = new.parcelle_id;
+                    END
+                    """,
+                    "CREATE INDEX IF NOT EXISTS idx_parcelles_modification ON Parcelles(derniere_modification)")
+    );
+
+    /**
+     * Appliquer toutes les migrations en attente
+     * @param conn connexion d'écriture
+     * @return true si le schéma est à jour, false si une migration a échoué
+     */
+    public static boolean migrate(Connection conn) {
+        try {
+            if (!hasBaseSchema(conn)) {
+                // Base vide : les migrations seront appliquées par initializeDatabase()
+                return true;
+            }
+
+            createVersionTable(conn);
+            int current = getCurrentVersion(conn);
+
+            for (Migration migration : MIGRATIONS) {
+                if (migration.getVersion() > current) {
+                    apply(conn, migration);
+                    System.out.println("✓ Migration appliquée: " + migration);
+                }
+            }
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("✗ Erreur lors de la migration du schéma: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Version actuelle du schéma (0 si aucune migration n'a été appliquée)
+     */
+    public static int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Version la plus récente connue de l'application
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.isEmpty() ? 0 : MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    // ========================================================================
+    // Méthodes privées
+    // ========================================================================
+
+    private static void apply(Connection conn, Migration migration) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                for (String sql : migration.getStatements()) {
+                    stmt.execute(sql);
+                }
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                pstmt.setInt(1, migration.getVersion());
+                pstmt.setString(2, migration.getDescription());
+                pstmt.executeUpdate();
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Échec de la migration " + migration + ": " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void createVersionTable(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    date_application TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+                """);
+        }
+    }
+
+    private static boolean hasBaseSchema(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'Parcelles'")) {
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
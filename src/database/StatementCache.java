@@ -0,0 +1,214 @@
+package database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache LRU de PreparedStatement rattaché à une connexion physique du pool.
+ *
+ * Les DAO préparent toujours les mêmes requêtes constantes : le cache évite à SQLite
+ * de réanalyser et replanifier le SQL à chaque appel. La clé est le texte SQL (et le
+ * mode de récupération des clés générées). Le PreparedStatement remis au DAO est une
+ * poignée dont close() ferme les ResultSet ouverts et rend la requête au cache.
+ */
+class StatementCache {
+
+    private final int maxSize;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    // Ordre d'accès : la première entrée est la moins récemment utilisée
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param maxSize nombre maximum de requêtes conservées pour cette connexion
+     * @param hits compteur partagé des requêtes trouvées dans le cache
+     * @param misses compteur partagé des requêtes préparées faute d'entrée
+     * @param evictions compteur partagé des requêtes évincées
+     */
+    StatementCache(int maxSize, AtomicLong hits, AtomicLong misses, AtomicLong evictions) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Obtenir une requête préparée, depuis le cache si possible
+     */
+    synchronized PreparedStatement prepare(Connection connection, String sql, int autoGeneratedKeys) throws SQLException {
+        if (maxSize <= 0) {
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        }
+
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "K:" + sql : "N:" + sql;
+        CachedStatement cached = statements.get(key);
+
+        if (cached != null && !cached.inUse && !cached.statement.isClosed()) {
+            hits.incrementAndGet();
+            return cached.checkOut();
+        }
+
+        misses.incrementAndGet();
+        PreparedStatement statement = connection.prepareStatement(sql, autoGeneratedKeys);
+
+        // Même requête déjà empruntée (appels imbriqués) : ne pas la mettre en cache
+        if (cached != null && cached.inUse) {
+            return statement;
+        }
+
+        cached = new CachedStatement(statement);
+        statements.put(key, cached);
+        evictIfNeeded();
+        return cached.checkOut();
+    }
+
+    /**
+     * Fermer toutes les requêtes (fermeture de la connexion physique)
+     */
+    synchronized void closeAll() {
+        for (CachedStatement cached : statements.values()) {
+            closeQuietly(cached.statement);
+        }
+        statements.clear();
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            CachedStatement eldest = it.next();
+            if (eldest.inUse) {
+                // Fermée au retour dans checkIn()
+                eldest.evicted = true;
+            } else {
+                closeQuietly(eldest.statement);
+            }
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private synchronized void checkIn(CachedStatement cached) {
+        cached.inUse = false;
+        if (cached.evicted) {
+            closeQuietly(cached.statement);
+        }
+    }
+
+    private static void closeQuietly(Statement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // Requête déjà inutilisable
+        }
+    }
+
+    private final class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse = false;
+        private boolean evicted = false;
+
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        private PreparedStatement checkOut() {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new StatementHandle(this));
+        }
+    }
+
+    /**
+     * Poignée remise au DAO : close() remet la requête à zéro et la rend au cache
+     */
+    private final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final List<ResultSet> openResults = new ArrayList<>(1);
+        private boolean closed = false;
+
+        private StatementHandle(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        reset();
+                        checkIn(cached);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement@" + Integer.toHexString(System.identityHashCode(proxy));
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("La requête a déjà été fermée");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            // Les DAO ne ferment pas toujours leurs ResultSet : on le fait au close()
+            if (result instanceof ResultSet) {
+                openResults.add((ResultSet) result);
+            }
+            return result;
+        }
+
+        private void reset() {
+            for (ResultSet rs : openResults) {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    // Ignoré : la requête sera réinitialisée de toute façon
+                }
+            }
+            openResults.clear();
+            try {
+                cached.statement.clearParameters();
+                cached.statement.clearBatch();
+            } catch (SQLException e) {
+                // Requête inutilisable : l'évincer au retour
+                cached.evicted = true;
+                synchronized (StatementCache.this) {
+                    statements.values().remove(cached);
+                }
+            }
+        }
+    }
+}
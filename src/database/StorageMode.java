@@ -0,0 +1,18 @@
+package database;
+
+/**
+ * Mode d'accès à la base SQLite
+ */
+public enum StorageMode {
+
+    /**
+     * Un seul pool partagé par les lectures et les écritures (journal classique)
+     */
+    SHARED,
+
+    /**
+     * Journal WAL : plusieurs connexions en lecture seule et une connexion d'écriture dédiée.
+     * Les lectures ne bloquent plus les écritures et inversement.
+     */
+    WAL_SPLIT
+}
@@ -0,0 +1,256 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * File d'écriture à écrivain unique avec validation groupée (group commit).
+ *
+ * Les DAO soumettent leurs modifications depuis n'importe quel thread. Un thread
+ * dédié les exécute sur la connexion d'écriture et les valide par lots d'au plus
+ * maxBatchSize opérations ou maxBatchDelayMillis millisecondes : un seul COMMIT
+ * (et donc une seule synchronisation disque) pour tout le lot.
+ *
+ * Chaque opération est isolée par un SAVEPOINT : l'échec de l'une n'annule pas
+ * les autres. Le futur de chaque opération n'est complété qu'après le COMMIT.
+ */
+public class WriteQueue {
+
+    /**
+     * Modification exécutée sur la connexion d'écriture
+     */
+    @FunctionalInterface
+    public interface WriteOperation<T> {
+        T execute(Connection conn) throws SQLException;
+    }
+
+    private static final class PendingWrite<T> {
+        private final WriteOperation<T> operation;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private T result;
+
+        private PendingWrite(WriteOperation<T> operation) {
+            this.operation = operation;
+        }
+
+        private void run(Connection conn) throws SQLException {
+            result = operation.execute(conn);
+        }
+
+        private void complete() {
+            future.complete(result);
+        }
+    }
+
+    // Marqueur d'arrêt du thread d'écriture
+    private static final PendingWrite<Void> STOP = new PendingWrite<>(conn -> null);
+
+    private final ConnectionPool writerPool;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final BlockingQueue<PendingWrite<?>> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private volatile boolean accepting = true;
+
+    // Métriques
+    private final AtomicLong committedBatches = new AtomicLong();
+    private final AtomicLong committedOperations = new AtomicLong();
+    private final AtomicLong failedOperations = new AtomicLong();
+    private final AtomicLong inlineOperations = new AtomicLong();
+
+    /**
+     * Créer et démarrer la file d'écriture
+     * @param writerPool pool fournissant la connexion d'écriture
+     * @param maxBatchSize nombre maximum d'opérations par COMMIT
+     * @param maxBatchDelayMillis attente maximale pour compléter un lot
+     */
+    public WriteQueue(ConnectionPool writerPool, int maxBatchSize, long maxBatchDelayMillis) {
+        this.writerPool = writerPool;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxBatchDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxBatchDelayMillis);
+        this.writerThread = new Thread(this::runWriter, "sqlite-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Soumettre une modification
+     * @return futur complété avec le résultat de l'opération une fois le lot validé
+     */
+    public <T> CompletableFuture<T> submit(WriteOperation<T> operation) {
+        // Le thread tient déjà la connexion d'écriture (transaction explicite en cours) :
+        // passer par la file provoquerait un interblocage, on exécute directement.
+        if (writerPool.isHeldByCurrentThread()) {
+            inlineOperations.incrementAndGet();
+            try (Connection conn = writerPool.borrow()) {
+                return CompletableFuture.completedFuture(operation.execute(conn));
+            } catch (SQLException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        if (!accepting) {
+            return CompletableFuture.failedFuture(new SQLException("La file d'écriture est arrêtée"));
+        }
+
+        PendingWrite<T> pending = new PendingWrite<>(operation);
+        queue.add(pending);
+        return pending.future;
+    }
+
+    /**
+     * Attendre le résultat d'une écriture booléenne pour les méthodes synchrones des DAO.
+     * En cas d'échec, affiche le message d'erreur comme le faisaient les DAO et retourne false.
+     */
+    public static boolean await(CompletableFuture<Boolean> future, String errorMessage) {
+        try {
+            return Boolean.TRUE.equals(future.join());
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println(errorMessage + ": " + cause.getMessage());
+            cause.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Arrêter la file : les écritures déjà soumises sont exécutées avant l'arrêt
+     */
+    public void shutdown() {
+        accepting = false;
+        queue.add(STOP);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getCommittedBatches() {
+        return committedBatches.get();
+    }
+
+    public long getCommittedOperations() {
+        return committedOperations.get();
+    }
+
+    public long getFailedOperations() {
+        return failedOperations.get();
+    }
+
+    public int getPendingOperations() {
+        return queue.size();
+    }
+
+    /**
+     * Résumé lisible des métriques de la file
+     */
+    public String getStatistics() {
+        long batches = committedBatches.get();
+        return String.format("File d'écriture[lots=%d, opérations=%d, échecs=%d, directes=%d, en attente=%d, taille moy.=%.1f]",
+                batches, committedOperations.get(), failedOperations.get(), inlineOperations.get(),
+                getPendingOperations(), batches == 0 ? 0 : committedOperations.get() / (double) batches);
+    }
+
+    // ========================================================================
+    // Thread d'écriture
+    // ========================================================================
+
+    private void runWriter() {
+        List<PendingWrite<?>> batch = new ArrayList<>(maxBatchSize);
+        boolean stopping = false;
+
+        while (!stopping) {
+            try {
+                PendingWrite<?> first = queue.take();
+                if (first == STOP) {
+                    break;
+                }
+                batch.add(first);
+
+                // Compléter le lot jusqu'à maxBatchSize opérations ou maxBatchDelay
+                long deadline = System.nanoTime() + maxBatchDelayNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite<?> next = remaining > 0
+                            ? queue.poll(remaining, TimeUnit.NANOSECONDS)
+                            : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    if (next == STOP) {
+                        stopping = true;
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                stopping = true;
+            }
+
+            if (!batch.isEmpty()) {
+                commitBatch(batch);
+                batch.clear();
+            }
+        }
+
+        // Rejeter ce qui reste après l'arrêt
+        PendingWrite<?> leftover;
+        while ((leftover = queue.poll()) != null) {
+            if (leftover != STOP) {
+                leftover.future.completeExceptionally(new SQLException("La file d'écriture est arrêtée"));
+            }
+        }
+    }
+
+    private void commitBatch(List<PendingWrite<?>> batch) {
+        List<PendingWrite<?>> succeeded = new ArrayList<>(batch.size());
+
+        try (Connection conn = writerPool.borrow()) {
+            conn.setAutoCommit(false);
+            try {
+                for (PendingWrite<?> pending : batch) {
+                    Savepoint savepoint = conn.setSavepoint();
+                    try {
+                        pending.run(conn);
+                        conn.releaseSavepoint(savepoint);
+                        succeeded.add(pending);
+                    } catch (SQLException | RuntimeException e) {
+                        conn.rollback(savepoint);
+                        conn.releaseSavepoint(savepoint);
+                        failedOperations.incrementAndGet();
+                        pending.future.completeExceptionally(e);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            // Le COMMIT lui-même a échoué : aucune opération du lot n'est durable
+            failedOperations.addAndGet(succeeded.size());
+            for (PendingWrite<?> pending : batch) {
+                pending.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        committedBatches.incrementAndGet();
+        committedOperations.addAndGet(succeeded.size());
+        for (PendingWrite<?> pending : succeeded) {
+            pending.complete();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package main;
+
+import dao.ParcelDAO;
+import dao.ParcelSnapshot;
+import dao.ParcelSnapshot.Dimension;
+import dao.ParcelSnapshot.Filter;
+import dao.ParcelSnapshot.GroupTotals;
+import dao.ParcelSnapshot.Measure;
+import dao.ParcelSnapshot.Ranking;
+import database.DatabaseConfig;
+import database.DatabaseInitializer;
+import database.StorageMode;
+import models.Parcel.ParcelStatus;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Benchmark of the regional report queries: SQL GROUP BY against the columnar
+ * ParcelSnapshot, with a check that both give the same totals.
+ *
+ * A temporary database is seeded with the requested number of parcels. The snapshot is
+ * loaded, compared with SQL, then some parcels are updated and deleted and the snapshot is
+ * refreshed incrementally and compared again. Exits with status 1 when a total differs.
+ *
+ * Usage: java main.BenchmarkAnalytics [parcels] [iterations]
+ */
+public class BenchmarkAnalytics {
+
+    private static final String GROUP_BY_SQL = "SELECT region, COUNT(*) AS parcels, " +
+            "SUM(superficie * CASE unite_superficie WHEN 'M2' THEN 0.0001 ELSE 1 END) AS area, " +
+            "COALESCE(SUM(valeur_estimee), 0) AS value FROM Parcelles GROUP BY region";
+
+    public static void main(String[] args) throws Exception {
+        int parcels = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.println("==============================================");
+        System.out.println("  PARCEL ANALYTICS BENCHMARK");
+        System.out.println("  " + parcels + " parcels, " + iterations + " iterations per query");
+        System.out.println("==============================================\n");
+
+        File dbFile = File.createTempFile("bench_analytics_", ".db");
+        dbFile.deleteOnExit();
+        new File(dbFile.getPath() + "-wal").deleteOnExit();
+        new File(dbFile.getPath() + "-shm").deleteOnExit();
+
+        DatabaseConfig.configure("jdbc:sqlite:" + dbFile.getAbsolutePath(), StorageMode.WAL_SPLIT);
+        DatabaseInitializer.initializeDatabase();
+
+        boolean ok;
+        try {
+            long start = System.nanoTime();
+            BenchmarkSearch.seed(parcels);
+            try (Connection conn = DatabaseConfig.getWriteConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("UPDATE Parcelles SET valeur_estimee = superficie * 1500000, unite_superficie = 'M2' " +
+                        "WHERE parcelle_id % 3 = 0");
+                // As if registered long ago: the incremental refresh reads only the changes below
+                stmt.executeUpdate("UPDATE Parcelles SET derniere_modification = datetime('now', '-1 day')");
+            }
+            System.out.printf("Seeded in %.1f s%n", (System.nanoTime() - start) / 1e9);
+
+            ParcelSnapshot snapshot = new ParcelSnapshot();
+            start = System.nanoTime();
+            snapshot.refresh();
+            System.out.printf("Snapshot loaded in %.1f ms%n%n", (System.nanoTime() - start) / 1e6);
+
+            ok = compare(snapshot);
+            time(iterations, snapshot);
+
+            // Changes the refresh must find: a status change, an update that does not set
+            // derniere_modification, and deletions
+            ParcelDAO parcelDAO = new ParcelDAO();
+            parcelDAO.updateParcelStatus(1, ParcelStatus.IN_DISPUTE);
+            parcelDAO.deleteParcel(2);
+            parcelDAO.deleteParcel(parcels);
+            try (Connection conn = DatabaseConfig.getWriteConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("UPDATE Parcelles SET superficie = superficie + 1, region = 'Dakar' " +
+                        "WHERE parcelle_id % 1000 = 0");
+            }
+
+            start = System.nanoTime();
+            snapshot.refresh();
+            System.out.printf("%nIncremental refresh in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+            start = System.nanoTime();
+            snapshot.refresh();
+            System.out.printf("Refresh without changes in %.3f ms%n", (System.nanoTime() - start) / 1e6);
+            System.out.println(snapshot.getStatistics() + "\n");
+
+            ok &= compare(snapshot);
+
+            Ranking largest = snapshot.top(Measure.VALUE, new Filter().setRegion("Dakar"), 3);
+            System.out.println("\nMost valuable parcels in Dakar:");
+            for (int i = 0; i < largest.size(); i++) {
+                System.out.printf("  #%d  %,.0f%n", largest.getParcelId(i), largest.getValue(i));
+            }
+            long[] histogram = snapshot.areaHistogram(null, 0, 10, 10);
+            System.out.print("Area histogram (1 ha bins):");
+            for (long count : histogram) {
+                System.out.print(" " + count);
+            }
+            System.out.println();
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+
+        System.out.println(ok ? "\n✓ Snapshot totals match SQL" : "\n✗ Snapshot totals differ from SQL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean compare(ParcelSnapshot snapshot) throws SQLException {
+        GroupTotals totals = snapshot.groupBy(Dimension.REGION, null);
+        Map<String, double[]> expected = groupBySql();
+
+        boolean ok = true;
+        for (int i = 0; i < totals.size(); i++) {
+            double[] sql = expected.getOrDefault(totals.getLabels().get(i), new double[3]);
+            if (sql[0] != totals.getCount(i) || !close(sql[1], totals.getArea(i)) || !close(sql[2], totals.getValue(i))) {
+                System.out.printf("✗ %s: SQL %.0f / %.4f / %.0f, snapshot %d / %.4f / %.0f%n", totals.getLabels().get(i),
+                        sql[0], sql[1], sql[2], totals.getCount(i), totals.getArea(i), totals.getValue(i));
+                ok = false;
+            }
+        }
+        if (expected.size() > totals.size()) {
+            System.out.println("✗ Regions missing from the snapshot");
+            ok = false;
+        }
+        System.out.println((ok ? "✓" : "✗") + " " + snapshot.size() + " parcels, totals by region compared with SQL");
+        return ok;
+    }
+
+    private static void time(int iterations, ParcelSnapshot snapshot) throws SQLException {
+        Filter available = new Filter().setStatus(ParcelStatus.AVAILABLE);
+
+        long sqlNanos = 0;
+        long groupNanos = 0;
+        long histogramNanos = 0;
+        long topNanos = 0;
+        for (int i = 0; i < iterations; i++) {
+            long t0 = System.nanoTime();
+            groupBySql();
+            long t1 = System.nanoTime();
+            snapshot.groupBy(Dimension.REGION, null);
+            long t2 = System.nanoTime();
+            snapshot.areaHistogram(available, 0, 10, 20);
+            long t3 = System.nanoTime();
+            snapshot.top(Measure.AREA, available, 10);
+            long t4 = System.nanoTime();
+            sqlNanos += t1 - t0;
+            groupNanos += t2 - t1;
+            histogramNanos += t3 - t2;
+            topNanos += t4 - t3;
+        }
+
+        System.out.printf("%-28s %10s%n", "query", "mean (ms)");
+        System.out.printf("%-28s %10.2f%n", "SQL GROUP BY region", sqlNanos / 1e6 / iterations);
+        System.out.printf("%-28s %10.2f%n", "snapshot group by region", groupNanos / 1e6 / iterations);
+        System.out.printf("%-28s %10.2f%n", "snapshot area histogram", histogramNanos / 1e6 / iterations);
+        System.out.printf("%-28s %10.2f%n", "snapshot top 10 by area", topNanos / 1e6 / iterations);
+    }
+
+    private static Map<String, double[]> groupBySql() throws SQLException {
+        Map<String, double[]> totals = new HashMap<>();
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(GROUP_BY_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                totals.put(rs.getString("region"),
+                        new double[]{rs.getLong("parcels"), rs.getDouble("area"), rs.getDouble("value")});
+            }
+        }
+        return totals;
+    }
+
+    private static boolean close(double a, double b) {
+        return Math.abs(a - b) <= 1e-6 * Math.max(1, Math.max(Math.abs(a), Math.abs(b)));
+    }
+}
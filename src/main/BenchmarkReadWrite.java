@@ -0,0 +1,184 @@
+package main;
+
+import dao.NotificationDAO;
+import dao.ParcelDAO;
+import dao.TransactionDAO;
+import database.DatabaseConfig;
+import database.DatabaseInitializer;
+import database.StorageMode;
+import models.Notification;
+import models.Notification.NotificationType;
+import models.Parcel.ParcelStatus;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark of mixed read/write throughput for each storage mode.
+ *
+ * Readers loop on getAllTransactions() while writers create notifications and
+ * update parcel statuses. Each mode runs against its own freshly seeded database.
+ *
+ * Usage: java main.BenchmarkReadWrite [readers] [writers] [seconds]
+ * Add -Dland.db.batch.size=1 to commit every write on its own (no group commit).
+ */
+public class BenchmarkReadWrite {
+
+    private static final int SEED_PARCELS = 2_000;
+    private static final int SEED_TRANSACTIONS = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        System.out.println("==============================================");
+        System.out.println("  MIXED READ/WRITE BENCHMARK");
+        System.out.println("  " + readers + " readers, " + writers + " writers, " + seconds + " s per mode");
+        System.out.println("  WAL_SPLIT writer: PRAGMA synchronous = " + DatabaseConfig.getWriterSynchronous());
+        System.out.println("==============================================\n");
+
+        List<String> results = new ArrayList<>();
+        for (StorageMode mode : StorageMode.values()) {
+            results.add(runMode(mode, readers, writers, seconds));
+        }
+
+        System.out.println("\n==============================================");
+        for (String result : results) {
+            System.out.println(result);
+        }
+        System.out.println("==============================================");
+    }
+
+    private static String runMode(StorageMode mode, int readers, int writers, int seconds) throws Exception {
+        File dbFile = File.createTempFile("bench_" + mode.name().toLowerCase() + "_", ".db");
+        dbFile.deleteOnExit();
+        new File(dbFile.getPath() + "-wal").deleteOnExit();
+        new File(dbFile.getPath() + "-shm").deleteOnExit();
+
+        DatabaseConfig.configure("jdbc:sqlite:" + dbFile.getAbsolutePath(), mode);
+        DatabaseInitializer.initializeDatabase();
+        int userId = seed();
+
+        TransactionDAO transactionDAO = new TransactionDAO();
+        NotificationDAO notificationDAO = new NotificationDAO();
+        ParcelDAO parcelDAO = new ParcelDAO();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+        AtomicLong failedWrites = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < readers; i++) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    transactionDAO.getAllTransactions();
+                    reads.incrementAndGet();
+                }
+            }));
+        }
+
+        for (int i = 0; i < writers; i++) {
+            final int writerIndex = i;
+            threads.add(new Thread(() -> {
+                int n = 0;
+                while (running.get()) {
+                    boolean ok;
+                    if (n++ % 2 == 0) {
+                        ok = notificationDAO.createNotification(new Notification(userId,
+                                NotificationType.SYSTEM, "Benchmark", "Writer " + writerIndex));
+                    } else {
+                        int parcelId = 1 + (n % SEED_PARCELS);
+                        ok = parcelDAO.updateParcelStatus(parcelId,
+                                n % 4 == 1 ? ParcelStatus.OCCUPIED : ParcelStatus.AVAILABLE);
+                    }
+                    if (ok) {
+                        writes.incrementAndGet();
+                    } else {
+                        failedWrites.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        String poolStats = DatabaseConfig.getPoolStatistics();
+        DatabaseConfig.closeConnection();
+
+        String result = String.format("%-10s reads: %8.1f ops/s | writes: %8.1f ops/s | failed writes: %d",
+                mode, reads.get() / (double) seconds, writes.get() / (double) seconds, failedWrites.get());
+        System.out.println(result);
+        System.out.println(poolStats);
+        return result;
+    }
+
+    /**
+     * Seed one citizen, parcels and transactions. Returns the citizen's user id.
+     */
+    private static int seed() throws SQLException {
+        try (Connection conn = DatabaseConfig.getWriteConnection()) {
+            conn.setAutoCommit(false);
+            int userId;
+            int citizenId;
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("INSERT INTO Users (nom, prenom, email, telephone, mot_de_passe, role, account_status) " +
+                        "VALUES ('Bench', 'User', 'bench@example.com', '770000000', 'x', 'CITIZEN', 'ACTIVE')");
+                try (ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+                    rs.next();
+                    userId = rs.getInt(1);
+                }
+                stmt.executeUpdate("INSERT INTO Citoyens (user_id) VALUES (" + userId + ")");
+                try (ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
+                    rs.next();
+                    citizenId = rs.getInt(1);
+                }
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO Parcelles (numero_parcelle, superficie, type_terrain, adresse, region, " +
+                            "statut_parcelle, proprietaire_actuel) VALUES (?, 1.5, 'RESIDENTIAL', 'Adresse', 'Dakar', 'OCCUPIED', ?)")) {
+                for (int i = 1; i <= SEED_PARCELS; i++) {
+                    pstmt.setString(1, String.format("DK-2025-%05d", i));
+                    pstmt.setInt(2, citizenId);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+
+            try (PreparedStatement pstmt = conn.prepareStatement(
+                    "INSERT INTO Transactions (parcelle_id, type_transaction, nouveau_proprietaire, montant, " +
+                            "date_transaction) VALUES (?, 'SALE', ?, 1000000, ?)")) {
+                Date today = new Date(System.currentTimeMillis());
+                for (int i = 0; i < SEED_TRANSACTIONS; i++) {
+                    pstmt.setInt(1, 1 + (i % SEED_PARCELS));
+                    pstmt.setInt(2, citizenId);
+                    pstmt.setDate(3, today);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+
+            conn.commit();
+            return userId;
+        }
+    }
+}
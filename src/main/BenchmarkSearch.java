@@ -0,0 +1,126 @@
+package main;
+
+import dao.ParcelDAO;
+import database.DatabaseConfig;
+import database.DatabaseInitializer;
+import database.StorageMode;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Benchmark of parcel search: the former LIKE '%term%' query against the FTS5 index
+ * behind ParcelDAO.searchParcels().
+ *
+ * A temporary database is seeded with the requested number of parcels, then each
+ * search term is run repeatedly through both paths and the mean latency is printed.
+ *
+ * Usage: java main.BenchmarkSearch [parcels] [iterations]
+ */
+public class BenchmarkSearch {
+
+    // Former ParcelDAO.searchParcels: a leading wildcard cannot use an index
+    private static final String LIKE_SQL = "SELECT * FROM Parcelles WHERE adresse LIKE ? OR numero_parcelle LIKE ? " +
+            "OR titre_foncier LIKE ? ORDER BY date_enregistrement DESC";
+
+    private static final String[] TERMS = {"2025-123456", "TF-99", "Ouakam 4110", "Sedhiou", "Médina"};
+
+    public static void main(String[] args) throws Exception {
+        int parcels = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.println("==============================================");
+        System.out.println("  PARCEL SEARCH BENCHMARK");
+        System.out.println("  " + parcels + " parcels, " + iterations + " iterations per term");
+        System.out.println("==============================================\n");
+
+        File dbFile = File.createTempFile("bench_search_", ".db");
+        dbFile.deleteOnExit();
+        new File(dbFile.getPath() + "-wal").deleteOnExit();
+        new File(dbFile.getPath() + "-shm").deleteOnExit();
+
+        DatabaseConfig.configure("jdbc:sqlite:" + dbFile.getAbsolutePath(), StorageMode.WAL_SPLIT);
+        DatabaseInitializer.initializeDatabase();
+
+        long start = System.nanoTime();
+        seed(parcels);
+        System.out.printf("Seeded in %.1f s%n%n", (System.nanoTime() - start) / 1e9);
+
+        ParcelDAO parcelDAO = new ParcelDAO();
+        System.out.printf("%-16s %12s %8s %12s %8s %9s%n", "term", "LIKE (ms)", "rows", "FTS5 (ms)", "rows", "speed-up");
+
+        try {
+            for (String term : TERMS) {
+                int likeRows = like(term);
+                int ftsRows = parcelDAO.searchParcels(term).size();
+
+                long likeNanos = 0;
+                long ftsNanos = 0;
+                for (int i = 0; i < iterations; i++) {
+                    long t0 = System.nanoTime();
+                    like(term);
+                    long t1 = System.nanoTime();
+                    parcelDAO.searchParcels(term);
+                    long t2 = System.nanoTime();
+                    likeNanos += t1 - t0;
+                    ftsNanos += t2 - t1;
+                }
+
+                double likeMs = likeNanos / 1e6 / iterations;
+                double ftsMs = ftsNanos / 1e6 / iterations;
+                System.out.printf("%-16s %12.2f %8d %12.2f %8d %8.0fx%n",
+                        term, likeMs, likeRows, ftsMs, ftsRows, likeMs / ftsMs);
+            }
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+
+        System.out.println("\nFTS5 rows are capped at Constants.MAX_SEARCH_RESULTS; the LIKE query returns all matches.");
+    }
+
+    private static int like(String term) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(LIKE_SQL)) {
+            String pattern = "%" + term + "%";
+            pstmt.setString(1, pattern);
+            pstmt.setString(2, pattern);
+            pstmt.setString(3, pattern);
+
+            int rows = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows++;
+                }
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * Parcels spread over the 14 regions; the insert triggers fill parcelles_fts
+     */
+    static void seed(int parcels) throws SQLException {
+        try (Connection conn = DatabaseConfig.getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            stmt.execute("WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < " + parcels + ") " +
+                    "INSERT INTO Parcelles (numero_parcelle, titre_foncier, superficie, type_terrain, adresse, " +
+                    "commune, region, statut_parcelle) " +
+                    "SELECT r.code_region || '-2025-' || i, 'TF-' || i, 1 + i % 7, " +
+                    "CASE i % 5 WHEN 0 THEN 'RESIDENTIAL' WHEN 1 THEN 'COMMERCIAL' WHEN 2 THEN 'AGRICULTURAL' " +
+                    "WHEN 3 THEN 'INDUSTRIAL' ELSE 'MIXED' END, " +
+                    "'Rue ' || (i % 997) || ', ' || CASE i % 6 WHEN 0 THEN 'Médina' WHEN 1 THEN 'Keur Massar' " +
+                    "WHEN 2 THEN 'Grand Yoff' WHEN 3 THEN 'Sacré-Cœur' WHEN 4 THEN 'Ouakam' ELSE 'Parcelles Assainies' END " +
+                    "|| ' ' || (i % 4111), " +
+                    "r.chef_lieu, r.nom_region, 'AVAILABLE' " +
+                    "FROM n JOIN Regions r ON r.region_id = 1 + i % 14");
+            conn.commit();
+            conn.setAutoCommit(true);
+            stmt.execute("ANALYZE");
+        }
+    }
+}
@@ -0,0 +1,956 @@
+package main;
+
+import dao.RegionDAO;
+import dao.StatisticsDAO;
+import database.DatabaseConfig;
+import database.DatabaseInitializer;
+import database.StorageMode;
+import models.Region;
+import org.mindrot.jbcrypt.BCrypt;
+
+import java.io.File;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deterministic synthetic dataset at national scale, for benchmarks and load tests.
+ *
+ * Citizens are spread over the regions in proportion to Regions.population, with one land
+ * agent per CITIZENS_PER_AGENT citizens of a region. Parcels follow the same weights and
+ * get an ownership chain of approved transactions, and some of them an inheritance with
+ * division into heir parcels (as TransactionDAO.approveTransaction() does), a pending
+ * transaction or a dispute. Notifications and audit entries go with each step.
+ *
+ * The same seed gives the same database: every citizen or parcel draws from its own random
+ * generator, and dates are relative to END_DAY rather than today. Rows are prepared in
+ * parallel by chunks and written in order as JDBC batches through the group-commit writer.
+ * IDs of parcels, transactions and disputes are numbered inside their chunk and resolved
+ * on the writer thread, so that no chunk waits for another to be prepared.
+ *
+ * Every account has the password PASSWORD. The target database must be empty.
+ *
+ * Usage: java main.DatasetGenerator file.db [citizens] [seed]
+ */
+public class DatasetGenerator {
+
+    public static final int DEFAULT_CITIZENS = 1_000_000;
+    public static final long DEFAULT_SEED = 221L;
+    public static final String PASSWORD = "Password123!";
+
+    private static final double PARCELS_PER_CITIZEN = 0.6;
+    private static final int CITIZENS_PER_AGENT = 25_000;
+    private static final int CITIZEN_CHUNK_SIZE = 5_000;
+    private static final int PARCEL_CHUNK_SIZE = 2_000;
+    private static final int MAX_PENDING_WRITES = 4;
+    // Page cache of the writer during the load (KiB), then back to the SQLite default
+    private static final int BULK_CACHE_SIZE = -262_144;
+    private static final int DEFAULT_CACHE_SIZE = -2_000;
+
+    private static final long FIRST_DAY = LocalDate.of(1990, 1, 1).toEpochDay();
+    private static final long ACCOUNTS_FIRST_DAY = LocalDate.of(2015, 1, 1).toEpochDay();
+    private static final long END_DAY = LocalDate.of(2025, 6, 30).toEpochDay();
+
+    private static final double OWNED_SHARE = 0.8;
+    private static final double INHERITANCE_SHARE = 0.04;
+    private static final double PENDING_SHARE = 0.015;
+    private static final double DISPUTE_SHARE = 0.02;
+    private static final double REJECTED_SHARE = 0.03;
+
+    // Row kinds, for the random generator of each row
+    private static final int AGENT = 1;
+    private static final int CITIZEN = 2;
+    private static final int PARCEL = 3;
+
+    private static final String INSERT_USER = "INSERT INTO Users (user_id, nom, prenom, email, telephone, " +
+            "mot_de_passe, role, account_status, date_creation, derniere_connexion) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ADMIN = "INSERT INTO Administrateurs (user_id, niveau_acces, departement) " +
+            "VALUES (?, 'FULL', ?)";
+    private static final String INSERT_AGENT = "INSERT INTO AgentsFonciers (agent_id, user_id, matricule, region, " +
+            "specialisation, date_nomination, statut) VALUES (?, ?, ?, ?, ?, ?, 'ACTIVE')";
+    private static final String INSERT_CITIZEN = "INSERT INTO Citoyens (citoyen_id, user_id, numero_cni, " +
+            "date_naissance, lieu_naissance, adresse_complete, profession) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_PARCEL = "INSERT INTO Parcelles (parcelle_id, numero_parcelle, titre_foncier, " +
+            "superficie, unite_superficie, type_terrain, usage_actuel, adresse, region, departement, commune, " +
+            "coordonnees_gps, statut_parcelle, valeur_estimee, proprietaire_actuel, date_acquisition, " +
+            "date_enregistrement, derniere_modification, notes) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_TRANSACTION = "INSERT INTO Transactions (transaction_id, parcelle_id, " +
+            "type_transaction, ancien_proprietaire, nouveau_proprietaire, montant, date_transaction, statut_transaction, " +
+            "agent_validateur, date_validation, frais_transaction, taxe_applicable, numero_acte, notes, date_creation) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_DISPUTE = "INSERT INTO Litiges (litige_id, parcelle_id, plaignant_id, " +
+            "defendeur_id, type_litige, description, statut_litige, priorite, agent_assigne, date_ouverture, " +
+            "date_resolution, resolution) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_NOTIFICATION = "INSERT INTO Notifications (user_id, type_notification, titre, " +
+            "message, lue, date_creation, date_lecture, lien_reference) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_LOG = "INSERT INTO AuditLog (user_id, action, table_affectee, " +
+            "enregistrement_id, nouvelles_valeurs, timestamp) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String[] MALE_FIRST_NAMES = {"Mamadou", "Moussa", "Ibrahima", "Abdoulaye", "Ousmane",
+            "Cheikh", "Modou", "Babacar", "Aliou", "Omar", "Pape", "Serigne", "Amadou", "Lamine", "Malick", "Saliou",
+            "Mouhamed", "Alioune", "Boubacar", "Souleymane", "El Hadji", "Idrissa", "Youssou", "Assane"};
+    private static final String[] FEMALE_FIRST_NAMES = {"Fatou", "Aminata", "Awa", "Mariama", "Aïssatou", "Khady",
+            "Ndeye", "Astou", "Coumba", "Adama", "Bineta", "Dieynaba", "Rokhaya", "Sokhna", "Fatimata", "Oumou",
+            "Marième", "Seynabou", "Ramatoulaye", "Nafissatou", "Yacine", "Maimouna", "Penda", "Fanta"};
+    private static final String[] LAST_NAMES = {"Diop", "Ndiaye", "Fall", "Sow", "Diallo", "Ba", "Sy", "Gueye",
+            "Faye", "Mbaye", "Diouf", "Sarr", "Thiam", "Cissé", "Ndour", "Seck", "Kane", "Camara", "Diagne", "Niang",
+            "Sène", "Touré", "Mbengue", "Dieng", "Wade", "Sall", "Badji", "Diatta", "Sané", "Kébé", "Lo", "Ly",
+            "Tall", "Barry", "Baldé", "Mané"};
+    private static final String[] PROFESSIONS = {"Agriculteur", "Commerçant", "Enseignant", "Éleveur", "Pêcheur",
+            "Fonctionnaire", "Artisan", "Chauffeur", "Infirmier", "Étudiant", "Ingénieur", "Tailleur", "Mécanicien",
+            "Comptable", "Retraité", "Ménagère"};
+    private static final String[] DAKAR_DISTRICTS = {"Médina", "Plateau", "Grand Yoff", "Ouakam", "Yoff",
+            "Parcelles Assainies", "Pikine", "Guédiawaye", "Rufisque", "Keur Massar", "Sacré-Cœur", "HLM", "Mermoz",
+            "Liberté 6", "Point E", "Ngor"};
+    private static final String[] TOWN_DISTRICTS = {"Escale", "Médina", "Darou Salam", "Santhiaba", "Diamaguène",
+            "Keur Mbaye", "Sam", "Tilène", "Boudody", "Nguinth", "Champ de Course", "Grand Standing", "Cité Niakh",
+            "Thiokho"};
+    private static final String[] SPECIALISATIONS = {"Cadastre", "Domaines", "Topographie", "Urbanisme",
+            "Contentieux"};
+
+    // Regional capitals, for the GPS coordinates of the parcels
+    private static final Map<String, double[]> REGION_CENTERS = Map.ofEntries(
+            Map.entry("DK", new double[]{14.7167, -17.4677}), Map.entry("TH", new double[]{14.7910, -16.9359}),
+            Map.entry("SL", new double[]{16.0326, -16.4818}), Map.entry("DI", new double[]{14.6550, -16.2314}),
+            Map.entry("LG", new double[]{15.6144, -16.2286}), Map.entry("MT", new double[]{15.6559, -13.2554}),
+            Map.entry("TB", new double[]{13.7707, -13.6673}), Map.entry("KL", new double[]{14.1652, -16.0757}),
+            Map.entry("FT", new double[]{14.3390, -16.4111}), Map.entry("KF", new double[]{14.1059, -15.5508}),
+            Map.entry("KD", new double[]{12.8939, -14.9415}), Map.entry("ZG", new double[]{12.5681, -16.2719}),
+            Map.entry("SE", new double[]{12.7081, -15.5569}), Map.entry("KE", new double[]{12.5579, -12.1743}));
+
+    /**
+     * ID of a row created by a chunk, numbered inside the chunk until it is written
+     */
+    private static final class Ref {
+        private final String table;
+        private final int index;
+
+        private Ref(String table, int index) {
+            this.table = table;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Text containing the ID of a row of the chunk
+     */
+    private static final class RefText {
+        private final String prefix;
+        private final Ref ref;
+        private final String suffix;
+
+        private RefText(String prefix, Ref ref, String suffix) {
+            this.prefix = prefix;
+            this.ref = ref;
+            this.suffix = suffix;
+        }
+    }
+
+    /**
+     * Rows of a chunk, by insert statement, in the order the statements run
+     */
+    private static final class Chunk {
+        private final Map<String, List<Object[]>> rows = new LinkedHashMap<>();
+        private final Map<String, Integer> created = new HashMap<>();
+        private int end;
+
+        private Chunk(String... statements) {
+            for (String sql : statements) {
+                rows.put(sql, new ArrayList<>());
+            }
+        }
+
+        private Ref next(String table) {
+            return new Ref(table, created.merge(table, 1, Integer::sum) - 1);
+        }
+
+        private void add(String sql, Object... values) {
+            rows.get(sql).add(values);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkBuilder {
+        Chunk build(int from, int to);
+    }
+
+    private final long seed;
+    private final int citizens;
+    private int parcels;
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    private List<Region> regions;
+    private int[] citizenStarts;
+    private int[] parcelStarts;
+    private int[] agentStarts;
+    private int agents;
+    private String passwordHash;
+
+    // Last ID written per table, read and updated by the writer thread only
+    private final Map<String, Integer> lastIds = new HashMap<>();
+    private final Map<String, Long> rowCounts = new LinkedHashMap<>();
+
+    public DatasetGenerator(int citizens, long seed) {
+        this.citizens = citizens;
+        this.seed = seed;
+        this.parcels = (int) Math.round(citizens * PARCELS_PER_CITIZEN);
+    }
+
+    /**
+     * Number of parcels before inheritance divisions (default citizens * PARCELS_PER_CITIZEN)
+     */
+    public DatasetGenerator setParcels(int parcels) {
+        this.parcels = parcels;
+        return this;
+    }
+
+    /**
+     * Threads preparing the chunks (default: available processors)
+     */
+    public DatasetGenerator setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+        return this;
+    }
+
+    /**
+     * Fill the configured database, which must be initialized and empty
+     * @return rows inserted per table
+     */
+    public Map<String, Long> generate() throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT (SELECT COUNT(*) FROM Users) + (SELECT COUNT(*) FROM Parcelles)")) {
+            if (rs.next() && rs.getLong(1) > 0) {
+                throw new SQLException("The dataset generator needs an empty database: " + DatabaseConfig.getDatabasePath());
+            }
+        }
+
+        regions = new ArrayList<>(new RegionDAO().getAllRegions());
+        if (regions.isEmpty()) {
+            throw new SQLException("No regions in the database");
+        }
+        regions.sort(Comparator.comparingInt(Region::getRegionId));
+        long[] populations = new long[regions.size()];
+        for (int i = 0; i < populations.length; i++) {
+            populations[i] = Math.max(1, regions.get(i).getPopulation());
+        }
+        citizenStarts = allocate(citizens, populations);
+        parcelStarts = allocate(parcels, populations);
+
+        long[] regionAgents = new long[regions.size()];
+        for (int r = 0; r < regionAgents.length; r++) {
+            regionAgents[r] = Math.max(1, (citizenStarts[r + 1] - citizenStarts[r]) / CITIZENS_PER_AGENT);
+        }
+        agentStarts = new int[regions.size() + 1];
+        for (int r = 0; r < regionAgents.length; r++) {
+            agentStarts[r + 1] = agentStarts[r] + (int) regionAgents[r];
+        }
+        agents = agentStarts[regions.size()];
+        passwordHash = hashPassword();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        Map<String, String> suspended = join(DatabaseConfig.submitWrite(this::suspendTriggers));
+        try {
+            write(buildStaff());
+            System.out.println("✓ 1 administrator and " + agents + " land agents");
+
+            run("citizens", citizens, CITIZEN_CHUNK_SIZE, this::buildCitizens, pool);
+            System.out.printf("✓ %d citizens (%.1f s)%n", citizens, (System.nanoTime() - start) / 1e9);
+
+            run("parcels", parcels, PARCEL_CHUNK_SIZE, this::buildParcels, pool);
+            System.out.printf("✓ %d parcels and their history (%.1f s)%n", parcels, (System.nanoTime() - start) / 1e9);
+        } finally {
+            pool.shutdown();
+            join(DatabaseConfig.submitWrite(conn -> restoreTriggers(conn, suspended)));
+        }
+
+        if (!new StatisticsDAO().rebuildCounters()) {
+            throw new SQLException("Counters could not be rebuilt");
+        }
+        try (Connection conn = DatabaseConfig.getWriteConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE");
+        }
+        System.out.printf("✓ Search indexes and counters rebuilt (%.1f s)%n", (System.nanoTime() - start) / 1e9);
+        return rowCounts;
+    }
+
+    /**
+     * Drop the full-text and counter triggers of inserts for the load: indexing row by row
+     * costs more than the inserts themselves, and restoreTriggers() rebuilds both in one pass
+     * @return the SQL of the dropped triggers, by name
+     */
+    private Map<String, String> suspendTriggers(Connection conn) throws SQLException {
+        Map<String, String> triggers = new LinkedHashMap<>();
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT name, sql FROM sqlite_master WHERE type = 'trigger' " +
+                    "AND (name GLOB 'trg_*_fts_insert' OR name GLOB 'trg_compteurs_*_insert')")) {
+                while (rs.next()) {
+                    triggers.put(rs.getString(1), rs.getString(2));
+                }
+            }
+            for (String name : triggers.keySet()) {
+                stmt.execute("DROP TRIGGER " + name);
+            }
+            stmt.execute("PRAGMA cache_size = " + BULK_CACHE_SIZE);
+        }
+        return triggers;
+    }
+
+    private Void restoreTriggers(Connection conn, Map<String, String> triggers) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : triggers.values()) {
+                stmt.execute(sql);
+            }
+            stmt.execute("INSERT INTO parcelles_fts (parcelles_fts) VALUES ('rebuild')");
+            stmt.execute("INSERT INTO users_fts (users_fts) VALUES ('rebuild')");
+            stmt.execute("PRAGMA cache_size = " + DEFAULT_CACHE_SIZE);
+        }
+        return null;
+    }
+
+    // ========================================================================
+    // Chunk pipeline
+    // ========================================================================
+
+    /**
+     * Prepare the chunks of [0, total) on the pool, a few ahead of the writer, and write
+     * them in order
+     */
+    private void run(String label, int total, int chunkSize, ChunkBuilder builder, ExecutorService pool)
+            throws SQLException {
+        Deque<CompletableFuture<Chunk>> prepared = new ArrayDeque<>();
+        Deque<CompletableFuture<Integer>> writes = new ArrayDeque<>();
+        int nextReport = total / 10;
+        int from = 0;
+
+        while (from < total || !prepared.isEmpty()) {
+            while (from < total && prepared.size() < threads * 2) {
+                int chunkFrom = from;
+                int chunkTo = Math.min(total, from + chunkSize);
+                prepared.add(CompletableFuture.supplyAsync(() -> {
+                    Chunk chunk = builder.build(chunkFrom, chunkTo);
+                    chunk.end = chunkTo;
+                    return chunk;
+                }, pool));
+                from = chunkTo;
+            }
+
+            Chunk chunk = join(prepared.poll());
+            writes.add(DatabaseConfig.submitWrite(conn -> insert(conn, chunk)));
+            if (writes.size() > MAX_PENDING_WRITES) {
+                int written = join(writes.poll());
+                if (written >= nextReport && nextReport > 0) {
+                    System.out.println("  " + label + ": " + written + " / " + total);
+                    nextReport = written + total / 10;
+                }
+            }
+        }
+        while (!writes.isEmpty()) {
+            join(writes.poll());
+        }
+    }
+
+    private void write(Chunk chunk) throws SQLException {
+        join(DatabaseConfig.submitWrite(conn -> insert(conn, chunk)));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) throws SQLException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof SQLException ? (SQLException) cause : new SQLException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Insert a chunk, one batch per statement (runs on the writer thread)
+     * @return the end of the chunk, for progress reports
+     */
+    private int insert(Connection conn, Chunk chunk) throws SQLException {
+        for (Map.Entry<String, List<Object[]>> entry : chunk.rows.entrySet()) {
+            if (entry.getValue().isEmpty()) {
+                continue;
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(entry.getKey())) {
+                for (Object[] row : entry.getValue()) {
+                    for (int i = 0; i < row.length; i++) {
+                        pstmt.setObject(i + 1, resolve(row[i]));
+                    }
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            String table = entry.getKey().split(" ")[2];
+            rowCounts.merge(table, (long) entry.getValue().size(), Long::sum);
+        }
+
+        for (Map.Entry<String, Integer> created : chunk.created.entrySet()) {
+            lastIds.merge(created.getKey(), created.getValue(), Integer::sum);
+        }
+        return chunk.end;
+    }
+
+    private Object resolve(Object value) {
+        if (value instanceof Ref) {
+            Ref ref = (Ref) value;
+            return lastIds.getOrDefault(ref.table, 0) + ref.index + 1;
+        }
+        if (value instanceof RefText) {
+            RefText text = (RefText) value;
+            return text.prefix + resolve(text.ref) + text.suffix;
+        }
+        return value;
+    }
+
+    // ========================================================================
+    // Accounts
+    // ========================================================================
+
+    private Chunk buildStaff() {
+        Chunk chunk = new Chunk(INSERT_USER, INSERT_ADMIN, INSERT_AGENT, INSERT_LOG);
+        chunk.add(INSERT_USER, 1, "Administrateur", "Système", "admin@foncier.sn", "+221338000000",
+                passwordHash, "ADMIN", "ACTIVE", timestamp(ACCOUNTS_FIRST_DAY, 9, 0), timestamp(END_DAY, 8, 30));
+        chunk.add(INSERT_ADMIN, 1, "Direction des Domaines");
+
+        for (int r = 0; r < regions.size(); r++) {
+            Region region = regions.get(r);
+            for (int a = agentStarts[r]; a < agentStarts[r + 1]; a++) {
+                SplittableRandom random = random(AGENT, a);
+                boolean female = random.nextBoolean();
+                String firstName = pick(random, female ? FEMALE_FIRST_NAMES : MALE_FIRST_NAMES);
+                String lastName = pick(random, LAST_NAMES);
+                long appointed = ACCOUNTS_FIRST_DAY + random.nextLong(END_DAY - ACCOUNTS_FIRST_DAY - 365);
+                int userId = agentUserId(a);
+
+                chunk.add(INSERT_USER, userId, lastName, firstName,
+                        slug(firstName) + "." + slug(lastName) + ".agent" + (a + 1) + "@foncier.sn",
+                        phone(random), passwordHash, "AGENT", "ACTIVE", timestamp(appointed, 9, 0),
+                        timestamp(END_DAY - random.nextLong(7), 8 + random.nextInt(10), random.nextInt(60)));
+                chunk.add(INSERT_AGENT, a + 1, userId,
+                        String.format("AGT-%s-%03d", region.getRegionCode(), a - agentStarts[r] + 1),
+                        region.getRegionName(), pick(random, SPECIALISATIONS), date(appointed));
+                chunk.add(INSERT_LOG, 1, "CREATE", "Users", userId, "role=AGENT", timestamp(appointed, 9, 0));
+            }
+        }
+        return chunk;
+    }
+
+    private Chunk buildCitizens(int from, int to) {
+        Chunk chunk = new Chunk(INSERT_USER, INSERT_CITIZEN, INSERT_NOTIFICATION, INSERT_LOG);
+        for (int c = from; c < to; c++) {
+            SplittableRandom random = random(CITIZEN, c);
+            boolean female = random.nextBoolean();
+            String firstName = pick(random, female ? FEMALE_FIRST_NAMES : MALE_FIRST_NAMES);
+            String lastName = pick(random, LAST_NAMES);
+            Region region = regions.get(regionOf(citizenStarts, c));
+            int userId = citizenUserId(c);
+
+            long registered = ACCOUNTS_FIRST_DAY + random.nextLong(END_DAY - ACCOUNTS_FIRST_DAY);
+            double status = random.nextDouble();
+            String accountStatus = status < 0.95 ? "ACTIVE" : status < 0.98 ? "PENDING" : status < 0.99 ? "SUSPENDED" : "REJECTED";
+            String lastLogin = accountStatus.equals("ACTIVE")
+                    ? timestamp(registered + random.nextLong(END_DAY - registered + 1), 7 + random.nextInt(15), random.nextInt(60))
+                    : null;
+            long birth = END_DAY - 365L * 18 - random.nextLong(365L * 62);
+            String birthPlace = random.nextDouble() < 0.8 ? region.getCapital() : regions.get(random.nextInt(regions.size())).getCapital();
+
+            chunk.add(INSERT_USER, userId, lastName, firstName,
+                    slug(firstName) + "." + slug(lastName) + "." + (c + 1) + "@exemple.sn", phone(random),
+                    passwordHash, "CITIZEN", accountStatus, timestamp(registered, 8 + random.nextInt(12), random.nextInt(60)),
+                    lastLogin);
+            chunk.add(INSERT_CITIZEN, c + 1, userId, (female ? "2" : "1") + String.format("%012d", c + 1), date(birth),
+                    birthPlace, district(random, region) + ", " + region.getCapital(), pick(random, PROFESSIONS));
+            chunk.add(INSERT_LOG, userId, "CREATE", "Users", userId, "role=CITIZEN", timestamp(registered, 8, 0));
+
+            if (!accountStatus.equals("PENDING")) {
+                long reviewed = Math.min(END_DAY, registered + 1 + random.nextLong(7));
+                String reviewedAt = timestamp(reviewed, 10, random.nextInt(60));
+                chunk.add(INSERT_LOG, 1, "UPDATE", "Users", userId, "account_status=" + accountStatus, reviewedAt);
+                if (accountStatus.equals("ACTIVE")) {
+                    chunk.add(INSERT_NOTIFICATION, userId, "APPROVAL", "Account approved",
+                            "Your account has been approved. You can now follow your parcels and transactions.",
+                            1, reviewedAt, reviewedAt, null);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    // ========================================================================
+    // Parcels and their history
+    // ========================================================================
+
+    private Chunk buildParcels(int from, int to) {
+        Chunk chunk = new Chunk(INSERT_PARCEL, INSERT_TRANSACTION, INSERT_DISPUTE, INSERT_NOTIFICATION, INSERT_LOG);
+        for (int p = from; p < to; p++) {
+            buildParcel(chunk, p);
+        }
+        return chunk;
+    }
+
+    private void buildParcel(Chunk chunk, int p) {
+        SplittableRandom random = random(PARCEL, p);
+        int r = regionOf(parcelStarts, p);
+        Region region = regions.get(r);
+        boolean dakar = region.getRegionCode().equals("DK");
+        int regionalIndex = p - parcelStarts[r] + 1;
+
+        // Registrations are more frequent in recent years
+        long registered = FIRST_DAY + (long) ((END_DAY - 60 - FIRST_DAY) * Math.sqrt(random.nextDouble()));
+        String number = String.format("%s-%d-%04d", region.getRegionCode(), LocalDate.ofEpochDay(registered).getYear(),
+                regionalIndex);
+        String landTitle = random.nextDouble() < 0.7 ? "TF-" + region.getRegionCode() + "-" + regionalIndex : null;
+
+        String landType = landType(random, dakar);
+        String unit;
+        double area;
+        String usage;
+        double pricePerM2;
+        switch (landType) {
+            case "RESIDENTIAL":
+                unit = "M2";
+                area = 150 + random.nextInt(451);
+                usage = "Habitation";
+                pricePerM2 = dakar ? 150_000 : 25_000;
+                break;
+            case "COMMERCIAL":
+                unit = "M2";
+                area = 200 + random.nextInt(1801);
+                usage = "Commerce";
+                pricePerM2 = dakar ? 300_000 : 60_000;
+                break;
+            case "INDUSTRIAL":
+                unit = "HECTARE";
+                area = round2(0.5 + random.nextDouble() * 9.5);
+                usage = "Entrepôt";
+                pricePerM2 = dakar ? 40_000 : 8_000;
+                break;
+            case "AGRICULTURAL":
+                unit = "HECTARE";
+                area = round2(1 + random.nextDouble() * 49);
+                usage = random.nextBoolean() ? "Maraîchage" : random.nextBoolean() ? "Arachide" : "Mil";
+                pricePerM2 = 500;
+                break;
+            default:
+                unit = "M2";
+                area = 300 + random.nextInt(1201);
+                usage = "Habitation et commerce";
+                pricePerM2 = dakar ? 200_000 : 40_000;
+                break;
+        }
+        double areaM2 = unit.equals("HECTARE") ? area * 10_000 : area;
+        double value = Math.round(areaM2 * pricePerM2 * (0.8 + random.nextDouble() * 0.4) / 1000) * 1000.0;
+        Double estimatedValue = random.nextDouble() < 0.9 ? value : null;
+
+        String address = "Rue " + (1 + random.nextInt(200)) + ", " + district(random, region);
+        double[] center = REGION_CENTERS.get(region.getRegionCode());
+        String gps = center == null ? null : String.format(Locale.ROOT, "%.4f,%.4f",
+                center[0] + (random.nextDouble() - 0.5) * 0.6, center[1] + (random.nextDouble() - 0.5) * 0.6);
+
+        Ref parcelId = chunk.next("Parcelles");
+        String status = random.nextDouble() < 0.05 ? "RESERVED" : "AVAILABLE";
+        Integer owner = null;
+        String acquired = null;
+        String lastModified = timestamp(registered, 9 + random.nextInt(8), random.nextInt(60));
+        StringBuilder notes = null;
+
+        chunk.add(INSERT_LOG, agentUserId(agent(random, r)), "CREATE", "Parcelles", parcelId, "numero_parcelle=" + number,
+                timestamp(registered, 9, random.nextInt(60)));
+
+        if (random.nextDouble() < OWNED_SHARE) {
+            // Ownership chain: an allocation by the State, then sales, donations...
+            int steps = chainLength(random);
+            long day = registered;
+            int previous = 0;
+            for (int step = 0; step < steps; step++) {
+                day = Math.min(END_DAY - 30, day + 1 + random.nextLong(Math.max(1, (END_DAY - 30 - day) / (steps - step))));
+                int buyer = citizen(random, r, previous);
+                String type = step == 0 ? "PURCHASE" : transferType(random);
+                Double amount = type.equals("DONATION") || type.equals("TRANSFER") ? null
+                        : Math.round(value * (0.7 + random.nextDouble() * 0.6) / 1000) * 1000.0;
+
+                if (step > 0 && random.nextDouble() < REJECTED_SHARE) {
+                    addTransaction(chunk, random, r, parcelId, number + "-R" + step, type, previous,
+                            citizen(random, r, previous), amount, day, "REJECTED", null);
+                }
+                addTransaction(chunk, random, r, parcelId, number + "-" + (step + 1), type,
+                        step == 0 ? null : previous, buyer, amount, day, "APPROVED", null);
+                previous = buyer;
+            }
+            owner = previous;
+            status = "OCCUPIED";
+            acquired = date(day);
+            lastModified = timestamp(day, 12, 0);
+
+            if (day < END_DAY - 90 && random.nextDouble() < INHERITANCE_SHARE) {
+                day = day + 1 + random.nextLong(END_DAY - 60 - day);
+                int heirCount = 2 + random.nextInt(4);
+                divide(chunk, random, r, region, parcelId, number, owner, heirCount, day, areaDivision(area, heirCount),
+                        unit, landType, usage, address, gps);
+                notes = new StringBuilder("[SUBDIVIDED on " + date(day) + " into " + heirCount + " parcels]");
+                lastModified = timestamp(day, 12, 0);
+            } else if (random.nextDouble() < PENDING_SHARE) {
+                long requested = END_DAY - random.nextLong(60);
+                addTransaction(chunk, random, r, parcelId, number + "-P", "SALE", owner, citizen(random, r, owner),
+                        value, requested, "PENDING", null);
+            }
+
+            if (random.nextDouble() < DISPUTE_SHARE) {
+                if (dispute(chunk, random, r, parcelId, number, owner, day)) {
+                    status = "IN_DISPUTE";
+                }
+            }
+        }
+
+        chunk.add(INSERT_PARCEL, parcelId, number, landTitle, area, unit, landType, usage, address, region.getRegionName(),
+                region.getCapital(), region.getCapital(), gps, status, estimatedValue, owner, acquired,
+                timestamp(registered, 9, 0), lastModified, notes == null ? null : notes.toString());
+    }
+
+    /**
+     * Inheritance with division: one parcel per heir, numbered after the original one,
+     * as TransactionDAO.approveTransaction() does
+     */
+    private void divide(Chunk chunk, SplittableRandom random, int r, Region region, Ref parcelId, String number,
+                        int deceased, int heirCount, long day, double heirArea, String unit, String landType,
+                        String usage, String address, String gps) {
+        int[] heirs = new int[heirCount];
+        StringBuilder notes = new StringBuilder("INHERITANCE WITH DIVISION - " + heirCount + " heirs:");
+        for (int i = 0; i < heirCount; i++) {
+            heirs[i] = citizen(random, r, deceased);
+            String[] name = citizenName(heirs[i] - 1);
+            notes.append("\nHeir ").append(i + 1).append(": ").append(name[0]).append(' ').append(name[1])
+                    .append(" (ID: ").append(heirs[i]).append(')');
+        }
+
+        Ref transactionId = addTransaction(chunk, random, r, parcelId, number + "-H", "INHERITANCE", deceased, heirs[0],
+                null, day, "APPROVED", notes.toString());
+        String validated = timestamp(day + 15, 11, 0);
+        for (int i = 0; i < heirCount; i++) {
+            Ref heirParcelId = chunk.next("Parcelles");
+            String heirNumber = number + "-" + (char) ('A' + i);
+            chunk.add(INSERT_PARCEL, heirParcelId, heirNumber, null, heirArea, unit, landType, usage, address,
+                    region.getRegionName(), region.getCapital(), region.getCapital(), gps, "OCCUPIED", null, heirs[i],
+                    date(day + 15), validated, validated,
+                    new RefText("Created from subdivision of " + number + " (Transaction ID: ", transactionId, ")"));
+            chunk.add(INSERT_NOTIFICATION, citizenUserId(heirs[i] - 1), "APPROVAL", "Inheritance approved",
+                    "Parcel " + heirNumber + " has been registered in your name.", read(day + 15), validated,
+                    read(day + 15) == 1 ? validated : null, "PARCEL:" + heirNumber);
+        }
+    }
+
+    /**
+     * @return the transaction ID
+     */
+    private Ref addTransaction(Chunk chunk, SplittableRandom random, int r, Ref parcelId, String deed, String type,
+                               Integer previousOwner, int newOwner, Double amount, long day, String status, String notes) {
+        Ref transactionId = chunk.next("Transactions");
+        boolean reviewed = !status.equals("PENDING");
+        int agent = agent(random, r);
+        long reviewDay = Math.min(END_DAY, day + 1 + random.nextLong(30));
+        String reviewedAt = reviewed ? timestamp(reviewDay, 9 + random.nextInt(8), random.nextInt(60)) : null;
+
+        chunk.add(INSERT_TRANSACTION, transactionId, parcelId, type, previousOwner, newOwner, amount, date(day), status,
+                reviewed ? agent + 1 : null, reviewedAt, amount == null ? null : Math.round(amount * 0.02),
+                amount == null ? null : Math.round(amount * 0.05), status.equals("APPROVED") ? "ACT-" + deed : null,
+                notes, timestamp(day, 8 + random.nextInt(9), random.nextInt(60)));
+
+        int ownerUserId = citizenUserId(newOwner - 1);
+        if (status.equals("PENDING")) {
+            String createdAt = timestamp(day, 10, 0);
+            chunk.add(INSERT_NOTIFICATION, citizenUserId(previousOwner - 1), "TRANSACTION", "New transaction request",
+                    "A " + type.toLowerCase(Locale.ROOT) + " of your parcel is waiting for validation.", 0, createdAt,
+                    null, new RefText("TRANSACTION:", transactionId, ""));
+        } else {
+            boolean approved = status.equals("APPROVED");
+            chunk.add(INSERT_NOTIFICATION, ownerUserId, approved ? "APPROVAL" : "REJECTION",
+                    approved ? "Transaction approved" : "Transaction rejected",
+                    "Your " + type.toLowerCase(Locale.ROOT) + " request has been " + status.toLowerCase(Locale.ROOT) + ".",
+                    read(reviewDay), reviewedAt, read(reviewDay) == 1 ? reviewedAt : null,
+                    new RefText("TRANSACTION:", transactionId, ""));
+            chunk.add(INSERT_LOG, agentUserId(agent), approved ? "APPROVE" : "REJECT", "Transactions", transactionId,
+                    "statut_transaction=" + status, reviewedAt);
+        }
+        return transactionId;
+    }
+
+    /**
+     * @return true if the dispute is still open
+     */
+    private boolean dispute(Chunk chunk, SplittableRandom random, int r, Ref parcelId, String number, int owner,
+                            long since) {
+        Ref disputeId = chunk.next("Litiges");
+        int plaintiff = citizen(random, r, owner);
+        long opened = since + random.nextLong(Math.max(1, END_DAY - since));
+        long age = END_DAY - opened;
+
+        double draw = random.nextDouble();
+        String type = draw < 0.35 ? "OWNERSHIP" : draw < 0.7 ? "BOUNDARY" : draw < 0.85 ? "INHERITANCE" : draw < 0.95 ? "USAGE" : "OTHER";
+        String status;
+        if (age > 365) {
+            status = random.nextDouble() < 0.8 ? "CLOSED" : "RESOLVED";
+        } else if (age > 90) {
+            status = random.nextBoolean() ? "RESOLVED" : "IN_PROGRESS";
+        } else {
+            status = random.nextBoolean() ? "OPEN" : "IN_PROGRESS";
+        }
+        boolean closed = status.equals("RESOLVED") || status.equals("CLOSED");
+        long resolved = Math.min(END_DAY, opened + 30 + random.nextLong(Math.max(1, Math.min(age, 300))));
+        String[] priorities = {"LOW", "MEDIUM", "MEDIUM", "HIGH", "URGENT"};
+
+        chunk.add(INSERT_DISPUTE, disputeId, parcelId, plaintiff, owner, type,
+                "Contestation (" + type.toLowerCase(Locale.ROOT) + ") de la parcelle " + number, status,
+                pick(random, priorities), status.equals("OPEN") ? null : agent(random, r) + 1, date(opened),
+                closed ? date(resolved) : null, closed ? "Accord amiable constaté par l'agent" : null);
+        String openedAt = timestamp(opened, 10, random.nextInt(60));
+        chunk.add(INSERT_NOTIFICATION, citizenUserId(owner - 1), "DISPUTE", "New dispute",
+                "A dispute has been opened on parcel " + number + ".", read(opened), openedAt,
+                read(opened) == 1 ? openedAt : null, new RefText("DISPUTE:", disputeId, ""));
+        chunk.add(INSERT_LOG, citizenUserId(plaintiff - 1), "CREATE", "Litiges", disputeId, "type_litige=" + type, openedAt);
+        return !closed;
+    }
+
+    // ========================================================================
+    // Random draws
+    // ========================================================================
+
+    /**
+     * Generator of one row: the dataset does not depend on the chunk size or thread count
+     */
+    private SplittableRandom random(int kind, int index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + ((long) kind << 40) + index);
+    }
+
+    /**
+     * First and last name of a citizen (index from 0), as drawn by buildCitizens()
+     */
+    private String[] citizenName(int c) {
+        SplittableRandom random = random(CITIZEN, c);
+        boolean female = random.nextBoolean();
+        String firstName = pick(random, female ? FEMALE_FIRST_NAMES : MALE_FIRST_NAMES);
+        return new String[]{firstName, pick(random, LAST_NAMES)};
+    }
+
+    /**
+     * A citizen of region r other than the given one
+     * @return the citoyen_id
+     */
+    private int citizen(SplittableRandom random, int r, int other) {
+        int from = citizenStarts[r];
+        int count = citizenStarts[r + 1] - from;
+        if (count == 0) {
+            // Region without citizens (tiny datasets): anyone
+            from = 0;
+            count = citizens;
+        }
+        int citizenId = from + random.nextInt(count) + 1;
+        if (citizenId == other && count > 1) {
+            citizenId = citizenId - from < count ? citizenId + 1 : from + 1;
+        }
+        return citizenId;
+    }
+
+    /**
+     * @return the index (from 0) of an agent of region r
+     */
+    private int agent(SplittableRandom random, int r) {
+        return agentStarts[r] + random.nextInt(agentStarts[r + 1] - agentStarts[r]);
+    }
+
+    private static int chainLength(SplittableRandom random) {
+        double draw = random.nextDouble();
+        return draw < 0.45 ? 1 : draw < 0.75 ? 2 : draw < 0.9 ? 3 : 4;
+    }
+
+    private static String transferType(SplittableRandom random) {
+        double draw = random.nextDouble();
+        return draw < 0.6 ? "SALE" : draw < 0.75 ? "DONATION" : draw < 0.9 ? "TRANSFER" : "EXCHANGE";
+    }
+
+    private static String landType(SplittableRandom random, boolean urban) {
+        double draw = random.nextDouble();
+        if (urban) {
+            return draw < 0.6 ? "RESIDENTIAL" : draw < 0.8 ? "COMMERCIAL" : draw < 0.9 ? "MIXED" : draw < 0.97 ? "INDUSTRIAL" : "AGRICULTURAL";
+        }
+        return draw < 0.5 ? "AGRICULTURAL" : draw < 0.8 ? "RESIDENTIAL" : draw < 0.9 ? "COMMERCIAL" : draw < 0.96 ? "MIXED" : "INDUSTRIAL";
+    }
+
+    private static String district(SplittableRandom random, Region region) {
+        return pick(random, region.getRegionCode().equals("DK") ? DAKAR_DISTRICTS : TOWN_DISTRICTS);
+    }
+
+    private static String phone(SplittableRandom random) {
+        char[] operators = {'0', '5', '6', '7', '8'};
+        return "+2217" + operators[random.nextInt(operators.length)] + String.format("%07d", random.nextInt(10_000_000));
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Notifications older than a month have been read
+     */
+    private static int read(long day) {
+        return day < END_DAY - 30 ? 1 : 0;
+    }
+
+    // ========================================================================
+    // Helpers
+    // ========================================================================
+
+    /**
+     * Split total in proportion to the weights (largest remainder)
+     * @return start of each share, plus total at the end
+     */
+    static int[] allocate(int total, long[] weights) {
+        long sum = 0;
+        for (long weight : weights) {
+            sum += weight;
+        }
+        int[] counts = new int[weights.length];
+        double[] remainders = new double[weights.length];
+        int allocated = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double exact = (double) total * weights[i] / sum;
+            counts[i] = (int) exact;
+            remainders[i] = exact - counts[i];
+            allocated += counts[i];
+        }
+        while (allocated < total) {
+            int largest = 0;
+            for (int i = 1; i < weights.length; i++) {
+                if (remainders[i] > remainders[largest]) {
+                    largest = i;
+                }
+            }
+            counts[largest]++;
+            remainders[largest] = -1;
+            allocated++;
+        }
+
+        int[] starts = new int[weights.length + 1];
+        for (int i = 0; i < weights.length; i++) {
+            starts[i + 1] = starts[i] + counts[i];
+        }
+        return starts;
+    }
+
+    /**
+     * @return the share of starts containing index
+     */
+    private static int regionOf(int[] starts, int index) {
+        int low = 0;
+        int high = starts.length - 2;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (starts[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private int agentUserId(int agent) {
+        return 2 + agent;
+    }
+
+    private int citizenUserId(int citizen) {
+        return 2 + agents + citizen;
+    }
+
+    private static double areaDivision(double area, int parts) {
+        return round2(area / parts);
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static String date(long epochDay) {
+        return LocalDate.ofEpochDay(Math.min(epochDay, END_DAY)).toString();
+    }
+
+    private static String timestamp(long epochDay, int hour, int minute) {
+        return String.format("%s %02d:%02d:00", date(epochDay), hour, minute);
+    }
+
+    private static String slug(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFD).replaceAll("[^A-Za-z]", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Hash of PASSWORD with a salt drawn from the seed, shared by every account
+     */
+    private String hashPassword() {
+        try {
+            SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
+            random.setSeed(seed);
+            return BCrypt.hashpw(PASSWORD, BCrypt.gensalt(12, random));
+        } catch (NoSuchAlgorithmException e) {
+            return BCrypt.hashpw(PASSWORD, BCrypt.gensalt(12));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java main.DatasetGenerator file.db [citizens] [seed]");
+            System.exit(2);
+        }
+
+        File dbFile = new File(args[0]);
+        int citizens = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CITIZENS;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_SEED;
+        if (dbFile.exists()) {
+            System.err.println("✗ " + dbFile + " already exists: the dataset is generated into a new database");
+            System.exit(2);
+        }
+
+        System.out.println("==============================================");
+        System.out.println("  SYNTHETIC DATASET");
+        System.out.println("  " + citizens + " citizens, seed " + seed + " -> " + dbFile.getAbsolutePath());
+        System.out.println("==============================================\n");
+
+        long start = System.nanoTime();
+        Map<String, Long> rows;
+        DatabaseConfig.configure("jdbc:sqlite:" + dbFile.getAbsolutePath(), StorageMode.WAL_SPLIT);
+        try {
+            if (!DatabaseInitializer.initializeDatabase()) {
+                System.exit(1);
+            }
+            rows = new DatasetGenerator(citizens, seed).generate();
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+
+        System.out.println("\n==============================================");
+        rows.forEach((table, count) -> System.out.printf("%-16s %,12d%n", table, count));
+        System.out.printf("Generated in %.1f s. Password of every account: %s%n", (System.nanoTime() - start) / 1e9, PASSWORD);
+        System.out.println("==============================================");
+    }
+}
@@ -0,0 +1,51 @@
+package main;
+
+import database.DatabaseConfig;
+import models.ParcelImport;
+import utils.ParcelCsvImporter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command-line bulk import of legacy parcels from a CSV file.
+ * Running it again on the same file resumes an interrupted import.
+ *
+ * Usage: java main.ImportParcels file.csv [chunk size]
+ */
+public class ImportParcels {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java main.ImportParcels file.csv [chunk size]");
+            System.exit(2);
+        }
+
+        Path csvFile = Paths.get(args[0]);
+        int chunkSize = args.length > 1 ? Integer.parseInt(args[1]) : ParcelCsvImporter.DEFAULT_CHUNK_SIZE;
+
+        System.out.println("==============================================");
+        System.out.println("  PARCEL CSV IMPORT");
+        System.out.println("  " + csvFile.toAbsolutePath());
+        System.out.println("==============================================\n");
+
+        long start = System.nanoTime();
+        ParcelImport result;
+        try {
+            result = new ParcelCsvImporter(chunkSize).importFile(csvFile);
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("\n==============================================");
+        System.out.printf("Imported: %d | Rejected: %d | Records: %d | %.1f s%n",
+                result.getImportedCount(), result.getRejectedCount(), result.getRecordsProcessed(), seconds);
+        System.out.println("Rejects: " + csvFile + ".rejects.csv");
+        System.out.println("==============================================");
+
+        if (!result.isCompleted()) {
+            System.exit(1);
+        }
+    }
+}
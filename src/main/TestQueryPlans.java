@@ -0,0 +1,346 @@
+package main;
+
+import dao.ParcelQuery;
+import database.DatabaseConfig;
+import database.DatabaseInitializer;
+import database.StorageMode;
+import models.Parcel.LandType;
+import models.Parcel.ParcelStatus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Query plan check for every SQL statement declared in the dao package.
+ *
+ * The DAO sources are scanned for {@code String xxx = "..." + "...";} literals, grouped by
+ * the method that declares them, and each statement is run through EXPLAIN QUERY PLAN
+ * against a freshly seeded database. A statement fails when it filters a large table but
+ * the plan still scans it, or when it sorts through a temporary B-tree. Statements that
+ * cannot use an index by design (OR across two columns, sorted full-text matches) are listed in
+ * KNOWN_SCANS and reported as tolerated. The statements that ParcelQuery builds at run time
+ * are checked through a set of representative criteria combinations.
+ *
+ * Usage: java main.TestQueryPlans [dao source directory] [report file]
+ * Exits with status 1 when at least one statement fails.
+ */
+public class TestQueryPlans {
+
+    private static final String[] DAO_CLASSES = {
+            "ParcelDAO", "TransactionDAO", "DisputeDAO", "NotificationDAO", "AuditLogDAO", "DocumentDAO",
+            "UserDAO", "CitizenDAO", "LandAgentDAO", "RegionDAO", "AdminDAO", "ParcelImportDAO",
+            "StatisticsDAO", "ParcelSnapshot"
+    };
+
+    // Tables expected to grow with usage; Regions and the staff tables stay small
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "Parcelles", "Transactions", "Litiges", "Notifications", "Documents", "AuditLog",
+            "Users", "Citoyens");
+
+    // Scans accepted on purpose, with the reason shown in the report
+    private static final Map<String, String> KNOWN_SCANS = Map.of(
+            "TransactionDAO.getTransactionsByCitizen", "OR on two owner columns, sorts one citizen's rows",
+            "DisputeDAO.getDisputesByCitizen", "OR on two party columns, sorts one citizen's rows",
+            "ParcelQuery[region+text]", "driven by the full-text matches, sorts only those",
+            "ParcelQuery[status+text]", "driven by the full-text matches, sorts only those");
+
+    private static final Pattern METHOD = Pattern.compile(
+            "^\\s*(?:public|private|protected)\\s+[\\w<>\\[\\], ]+\\s+(\\w+)\\s*\\(", Pattern.MULTILINE);
+    private static final Pattern SQL_DECLARATION = Pattern.compile(
+            "String\\s+\\w+\\s*=\\s*(\"(?:[^\"\\\\]|\\\\.)*\"(?:\\s*\\+\\s*\"(?:[^\"\\\\]|\\\\.)*\")*)\\s*;");
+    private static final Pattern LITERAL = Pattern.compile("\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern TABLE_REFERENCE = Pattern.compile(
+            "\\b(?:FROM|JOIN|UPDATE|INTO)\\s+(\\w+)(?:\\s+(?:AS\\s+)?(\\w+))?", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> SQL_KEYWORDS = Set.of(
+            "WHERE", "ORDER", "GROUP", "LIMIT", "JOIN", "LEFT", "INNER", "ON", "SET", "VALUES", "SELECT");
+
+    private static final class DaoQuery {
+        private final String method;
+        private final String sql;
+
+        private DaoQuery(String method, String sql) {
+            this.method = method;
+            this.sql = sql;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path sourceDir = Paths.get(args.length > 0 ? args[0] : "src/dao");
+        Path reportFile = args.length > 1 ? Paths.get(args[1]) : null;
+
+        System.out.println("==============================================");
+        System.out.println("  DAO QUERY PLAN CHECK");
+        System.out.println("==============================================\n");
+
+        List<DaoQuery> queries = new ArrayList<>();
+        for (String daoClass : DAO_CLASSES) {
+            queries.addAll(extractQueries(sourceDir.resolve(daoClass + ".java"), daoClass));
+        }
+        queries.addAll(parcelQueryCases());
+        System.out.println("Found " + queries.size() + " statements in " + DAO_CLASSES.length + " DAO classes\n");
+
+        File dbFile = File.createTempFile("query_plans_", ".db");
+        dbFile.deleteOnExit();
+        new File(dbFile.getPath() + "-wal").deleteOnExit();
+        new File(dbFile.getPath() + "-shm").deleteOnExit();
+
+        DatabaseConfig.configure("jdbc:sqlite:" + dbFile.getAbsolutePath(), StorageMode.WAL_SPLIT);
+        if (!DatabaseInitializer.initializeDatabase()) {
+            System.err.println("✗ Could not initialize the test database");
+            System.exit(1);
+        }
+
+        StringBuilder report = new StringBuilder();
+        int failed = 0;
+        int tolerated = 0;
+
+        try (Connection conn = DatabaseConfig.getWriteConnection()) {
+            seed(conn);
+
+            for (DaoQuery query : queries) {
+                List<String> plan = explain(conn, query.sql);
+                List<String> problems = findProblems(query.sql, plan);
+
+                String status;
+                if (problems.isEmpty()) {
+                    status = "OK";
+                } else if (KNOWN_SCANS.containsKey(query.method)) {
+                    status = "TOLERATED (" + KNOWN_SCANS.get(query.method) + ")";
+                    tolerated++;
+                } else {
+                    status = "FAIL: " + String.join("; ", problems);
+                    failed++;
+                }
+
+                report.append(query.method).append(" -> ").append(status).append('\n');
+                report.append("    ").append(query.sql).append('\n');
+                for (String step : plan) {
+                    report.append("      ").append(step).append('\n');
+                }
+            }
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+
+        System.out.println(report);
+        if (reportFile != null) {
+            Files.writeString(reportFile, report.toString(), StandardCharsets.UTF_8);
+            System.out.println("Report written to " + reportFile.toAbsolutePath());
+        }
+
+        System.out.println("==============================================");
+        System.out.printf("%d statements | %d ok | %d tolerated | %d failed%n",
+                queries.size(), queries.size() - failed - tolerated, tolerated, failed);
+        System.out.println("==============================================");
+
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Collect the constant SQL strings of a DAO source file, keyed by declaring method
+     */
+    private static List<DaoQuery> extractQueries(Path source, String daoClass) throws IOException {
+        String code = Files.readString(source, StandardCharsets.UTF_8);
+        List<DaoQuery> queries = new ArrayList<>();
+        Map<String, Integer> perMethod = new HashMap<>();
+
+        Matcher declaration = SQL_DECLARATION.matcher(code);
+        while (declaration.find()) {
+            StringBuilder sql = new StringBuilder();
+            Matcher literal = LITERAL.matcher(declaration.group(1));
+            while (literal.find()) {
+                sql.append(literal.group(1).replace("\\n", " ").replace("\\\"", "\""));
+            }
+
+            String text = sql.toString().trim().replaceAll("\\s+", " ");
+            if (!text.matches("(?is)^(SELECT|UPDATE|DELETE|WITH)\\b.*")) {
+                continue;
+            }
+
+            String method = daoClass + "." + enclosingMethod(code, declaration.start());
+            int index = perMethod.merge(method, 1, Integer::sum);
+            queries.add(new DaoQuery(index == 1 ? method : method + "#" + index, text));
+        }
+        return queries;
+    }
+
+    /**
+     * ParcelQuery builds its SQL at run time: check the combinations issued by the panels
+     */
+    private static List<DaoQuery> parcelQueryCases() {
+        Map<String, ParcelQuery> cases = new LinkedHashMap<>();
+        cases.put("region", new ParcelQuery().setRegion("Dakar"));
+        cases.put("region+status+type", new ParcelQuery().setRegion("Dakar")
+                .setStatus(ParcelStatus.AVAILABLE).setLandType(LandType.RESIDENTIAL));
+        cases.put("region+text", new ParcelQuery().setRegion("Dakar").setText("Almadies"));
+        cases.put("status+text", new ParcelQuery().setStatus(ParcelStatus.OCCUPIED).setText("DK-"));
+        cases.put("owner", new ParcelQuery().setOwnerId(42));
+        cases.put("type+area", new ParcelQuery().setLandType(LandType.AGRICULTURAL).setAreaRange(1.0, 5.0));
+        cases.put("dates", new ParcelQuery().setDateRange(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 6, 30)));
+        cases.put("region+window", new ParcelQuery().setRegion("Thies"));
+
+        List<DaoQuery> queries = new ArrayList<>();
+        for (Map.Entry<String, ParcelQuery> entry : cases.entrySet()) {
+            List<Object> params = new ArrayList<>();
+            String sql = entry.getKey().endsWith("window")
+                    ? entry.getValue().toSql(params, 500, 100)
+                    : entry.getValue().setLimit(100).toSql(params);
+            queries.add(new DaoQuery("ParcelQuery[" + entry.getKey() + "]", sql));
+            queries.add(new DaoQuery("ParcelQuery[" + entry.getKey() + "]#count",
+                    entry.getValue().toCountSql(new ArrayList<>())));
+        }
+        return queries;
+    }
+
+    private static String enclosingMethod(String code, int position) {
+        Matcher method = METHOD.matcher(code);
+        String name = "?";
+        while (method.find() && method.start() < position) {
+            name = method.group(1);
+        }
+        return name;
+    }
+
+    private static List<String> explain(Connection conn, String sql) {
+        List<String> plan = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + sql)) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        } catch (SQLException e) {
+            plan.add("ERROR " + e.getMessage());
+        }
+        return plan;
+    }
+
+    private static List<String> findProblems(String sql, List<String> plan) {
+        Map<String, String> aliases = new HashMap<>();
+        Matcher reference = TABLE_REFERENCE.matcher(sql);
+        while (reference.find()) {
+            String table = reference.group(1);
+            aliases.put(table, table);
+            String alias = reference.group(2);
+            if (alias != null && !SQL_KEYWORDS.contains(alias.toUpperCase())) {
+                aliases.put(alias, table);
+            }
+        }
+
+        boolean filtered = sql.toUpperCase().contains(" WHERE ");
+        String outerTable = null;
+        List<String> problems = new ArrayList<>();
+        for (String step : plan) {
+            if (step.startsWith("ERROR")) {
+                problems.add(step);
+                continue;
+            }
+
+            String table = planTable(step, aliases);
+            if (outerTable == null && table != null) {
+                outerTable = table;
+            }
+
+            if (step.contains("USE TEMP B-TREE FOR ORDER BY")) {
+                // Sorting rows driven by a small table is cheap
+                if (outerTable == null || LARGE_TABLES.contains(outerTable)) {
+                    problems.add("temp B-tree for ORDER BY");
+                }
+            } else if (step.startsWith("SCAN ") && filtered && table != null && LARGE_TABLES.contains(table)) {
+                problems.add(step);
+            }
+        }
+        return problems;
+    }
+
+    private static String planTable(String step, Map<String, String> aliases) {
+        if (!step.startsWith("SCAN ") && !step.startsWith("SEARCH ")) {
+            return null;
+        }
+        String name = step.substring(step.indexOf(' ') + 1).split(" ")[0];
+        return aliases.get(name);
+    }
+
+    /**
+     * Fill the large tables so the planner sees realistic row counts, then ANALYZE
+     */
+    private static void seed(Connection conn) throws SQLException {
+        String numbers = "WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < %d) ";
+
+        try (Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+
+            stmt.execute(String.format(numbers, 500) +
+                    "INSERT INTO Users (nom, prenom, email, telephone, mot_de_passe, role, account_status) " +
+                    "SELECT 'Nom' || i, 'Prenom' || i, 'user' || i || '@example.com', '770000000', 'x', " +
+                    "CASE WHEN i % 50 = 0 THEN 'AGENT' WHEN i = 1 THEN 'ADMIN' ELSE 'CITIZEN' END, " +
+                    "CASE i % 4 WHEN 0 THEN 'PENDING' WHEN 1 THEN 'SUSPENDED' ELSE 'ACTIVE' END FROM n");
+            stmt.execute("INSERT INTO Citoyens (user_id, numero_cni) " +
+                    "SELECT user_id, 'CNI' || user_id FROM Users WHERE role = 'CITIZEN'");
+            stmt.execute("INSERT INTO AgentsFonciers (user_id, matricule, region) " +
+                    "SELECT user_id, 'AG' || user_id, r.nom_region FROM Users " +
+                    "JOIN Regions r ON r.region_id = 1 + user_id % 14 WHERE role = 'AGENT'");
+            stmt.execute("INSERT INTO Administrateurs (user_id) SELECT user_id FROM Users WHERE role = 'ADMIN'");
+
+            stmt.execute(String.format(numbers, 5000) +
+                    "INSERT INTO Parcelles (numero_parcelle, titre_foncier, superficie, type_terrain, adresse, region, " +
+                    "statut_parcelle, proprietaire_actuel) " +
+                    "SELECT 'DK-2025-' || i, 'TF-' || i, 1 + i % 7, " +
+                    "CASE i % 5 WHEN 0 THEN 'RESIDENTIAL' WHEN 1 THEN 'COMMERCIAL' WHEN 2 THEN 'AGRICULTURAL' " +
+                    "WHEN 3 THEN 'INDUSTRIAL' ELSE 'MIXED' END, 'Adresse ' || i, " +
+                    "r.nom_region, " +
+                    "CASE i % 5 WHEN 0 THEN 'AVAILABLE' WHEN 1 THEN 'IN_TRANSACTION' ELSE 'OCCUPIED' END, " +
+                    "(SELECT MIN(citoyen_id) FROM Citoyens) + i % 400 " +
+                    "FROM n JOIN Regions r ON r.region_id = 1 + i % 14");
+            stmt.execute(String.format(numbers, 10000) +
+                    "INSERT INTO Transactions (parcelle_id, type_transaction, ancien_proprietaire, nouveau_proprietaire, " +
+                    "montant, date_transaction, statut_transaction) " +
+                    "SELECT 1 + i % 5000, 'SALE', (SELECT MIN(citoyen_id) FROM Citoyens) + i % 400, " +
+                    "(SELECT MIN(citoyen_id) FROM Citoyens) + (i + 7) % 400, 1000000, date('now', '-' || (i % 900) || ' days'), " +
+                    "CASE i % 4 WHEN 0 THEN 'PENDING' ELSE 'APPROVED' END FROM n");
+            stmt.execute(String.format(numbers, 2000) +
+                    "INSERT INTO Litiges (parcelle_id, plaignant_id, defendeur_id, type_litige, description, " +
+                    "statut_litige, priorite, agent_assigne, date_ouverture) " +
+                    "SELECT 1 + i % 5000, (SELECT MIN(citoyen_id) FROM Citoyens) + i % 400, " +
+                    "(SELECT MIN(citoyen_id) FROM Citoyens) + (i + 3) % 400, 'BOUNDARY', 'Litige ' || i, " +
+                    "CASE i % 3 WHEN 0 THEN 'OPEN' ELSE 'RESOLVED' END, " +
+                    "CASE i % 4 WHEN 0 THEN 'LOW' WHEN 1 THEN 'MEDIUM' WHEN 2 THEN 'HIGH' ELSE 'URGENT' END, " +
+                    "(SELECT MIN(agent_id) FROM AgentsFonciers), date('now', '-' || (i % 900) || ' days') FROM n");
+            stmt.execute(String.format(numbers, 20000) +
+                    "INSERT INTO Notifications (user_id, type_notification, titre, message, lue) " +
+                    "SELECT 1 + i % 500, CASE i % 5 WHEN 0 THEN 'TRANSACTION' WHEN 1 THEN 'DISPUTE' WHEN 2 THEN 'APPROVAL' " +
+                    "WHEN 3 THEN 'REJECTION' ELSE 'SYSTEM' END, 'Titre', 'Message ' || i, i % 3 = 0 FROM n");
+            stmt.execute(String.format(numbers, 5000) +
+                    "INSERT INTO Documents (type_document, nom_fichier, chemin_fichier, parcelle_id, transaction_id, user_id) " +
+                    "SELECT CASE i % 4 WHEN 0 THEN 'LAND_TITLE' WHEN 1 THEN 'SALE_DEED' WHEN 2 THEN 'PLAN' ELSE 'PHOTO' END, " +
+                    "'doc_' || i || '.pdf', '/docs/doc_' || i || '.pdf', 1 + i % 5000, 1 + i % 10000, 1 + i % 500 FROM n");
+            stmt.execute(String.format(numbers, 20000) +
+                    "INSERT INTO AuditLog (user_id, action, table_affectee, enregistrement_id) " +
+                    "SELECT 1 + i % 500, CASE i % 3 WHEN 0 THEN 'INSERT' WHEN 1 THEN 'UPDATE' ELSE 'DELETE' END, " +
+                    "CASE i % 4 WHEN 0 THEN 'Parcelles' WHEN 1 THEN 'Transactions' WHEN 2 THEN 'Litiges' ELSE 'Users' END, " +
+                    "1 + i % 5000 FROM n");
+
+            conn.commit();
+            conn.setAutoCommit(true);
+            stmt.execute("ANALYZE");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package main;
+
+import dao.StatisticsDAO;
+import database.DatabaseConfig;
+
+import java.util.List;
+
+/**
+ * Command-line check of the dashboard counters (Compteurs table) against the tables.
+ * With --rebuild, the counters are recounted first.
+ *
+ * Usage: java main.VerifyCounters [--rebuild]
+ * Exits with status 1 when a counter differs or the check fails.
+ */
+public class VerifyCounters {
+
+    public static void main(String[] args) {
+        boolean rebuild = args.length > 0 && args[0].equals("--rebuild");
+
+        System.out.println("==============================================");
+        System.out.println("  DASHBOARD COUNTERS CHECK");
+        System.out.println("==============================================\n");
+
+        StatisticsDAO statisticsDAO = new StatisticsDAO();
+        List<String> differences;
+        try {
+            if (rebuild) {
+                long start = System.nanoTime();
+                if (!statisticsDAO.rebuildCounters()) {
+                    System.exit(1);
+                }
+                System.out.printf("Counters rebuilt in %.1f s%n", (System.nanoTime() - start) / 1e9);
+            }
+            differences = statisticsDAO.verifyCounters();
+        } finally {
+            DatabaseConfig.closeConnection();
+        }
+
+        if (differences == null) {
+            System.exit(1);
+        }
+        for (String difference : differences) {
+            System.out.println("✗ " + difference);
+        }
+
+        System.out.println("\n==============================================");
+        if (differences.isEmpty()) {
+            System.out.println("All counters match the tables");
+        } else {
+            System.out.println(differences.size() + " counter(s) differ; run with --rebuild to fix them");
+        }
+        System.out.println("==============================================");
+
+        if (!differences.isEmpty()) {
+            System.exit(1);
+        }
+    }
+}
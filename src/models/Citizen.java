@@ -31,6 +31,17 @@ public class Citizen extends User {
         this.occupation = occupation;
     }
 
+    // Copy constructor
+    public Citizen(Citizen other) {
+        super(other);
+        this.citizenId = other.citizenId;
+        this.idCardNumber = other.idCardNumber;
+        this.dateOfBirth = other.dateOfBirth;
+        this.placeOfBirth = other.placeOfBirth;
+        this.fullAddress = other.fullAddress;
+        this.occupation = other.occupation;
+    }
+
     // Getters and Setters
     public int getCitizenId() {
         return citizenId;
@@ -35,6 +35,17 @@ public class LandAgent extends User {
         this.status = AgentStatus.ACTIVE;
     }
 
+    // Copy constructor
+    public LandAgent(LandAgent other) {
+        super(other);
+        this.agentId = other.agentId;
+        this.registrationNumber = other.registrationNumber;
+        this.region = other.region;
+        this.specialization = other.specialization;
+        this.appointmentDate = other.appointmentDate;
+        this.status = other.status;
+    }
+
     // Getters and Setters
     public int getAgentId() {
         return agentId;
@@ -0,0 +1,97 @@
+package models;
+
+import java.sql.Timestamp;
+
+/**
+ * ParcelImport class representing the progress of a bulk CSV parcel import.
+ * The checkpoint is committed together with each chunk so an interrupted
+ * import resumes after the last committed record.
+ */
+public class ParcelImport {
+
+    // Attributes
+    private String fileName;
+    private long fileSize;
+    private long recordsProcessed;
+    private long importedCount;
+    private long rejectedCount;
+    private boolean completed;
+    private Timestamp updatedAt;
+
+    // Constructors
+    public ParcelImport() {
+    }
+
+    public ParcelImport(String fileName, long fileSize) {
+        this.fileName = fileName;
+        this.fileSize = fileSize;
+    }
+
+    // Getters and Setters
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public long getRecordsProcessed() {
+        return recordsProcessed;
+    }
+
+    public void setRecordsProcessed(long recordsProcessed) {
+        this.recordsProcessed = recordsProcessed;
+    }
+
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(long importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public Timestamp getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Timestamp updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ParcelImport{" +
+                "fileName='" + fileName + '\'' +
+                ", recordsProcessed=" + recordsProcessed +
+                ", importedCount=" + importedCount +
+                ", rejectedCount=" + rejectedCount +
+                ", completed=" + completed +
+                '}';
+    }
+}
@@ -29,6 +29,17 @@ public class Region {
         this.population = population;
     }
 
+    // Copy constructor
+    public Region(Region other) {
+        this.regionId = other.regionId;
+        this.regionCode = other.regionCode;
+        this.regionName = other.regionName;
+        this.capital = other.capital;
+        this.area = other.area;
+        this.population = other.population;
+        this.createdAt = other.createdAt;
+    }
+
     // Getters and Setters
     public int getRegionId() {
         return regionId;
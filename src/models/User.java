@@ -43,6 +43,20 @@ public class User {
         this.accountStatus = AccountStatus.PENDING;
     }
 
+    // Copy constructor
+    protected User(User other) {
+        this.userId = other.userId;
+        this.lastName = other.lastName;
+        this.firstName = other.firstName;
+        this.email = other.email;
+        this.phone = other.phone;
+        this.password = other.password;
+        this.role = other.role;
+        this.accountStatus = other.accountStatus;
+        this.createdAt = other.createdAt;
+        this.lastLogin = other.lastLogin;
+    }
+
     // Getters and Setters
     public int getUserId() {
         return userId;
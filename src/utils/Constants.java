@@ -87,6 +87,28 @@ public class Constants {
     public static final int DEFAULT_PAGE_SIZE = 20;
     public static final int MAX_PAGE_SIZE = 100;
 
+    // Full-text search
+    public static final int MAX_SEARCH_RESULTS = 50;
+
+    // Rows returned by the admin list searches (users, transactions, disputes)
+    public static final int MAX_FILTER_RESULTS = 1000;
+
+    // Parcel numbers reserved at once per session, region and year
+    public static final int PARCEL_NUMBER_BLOCK_SIZE = 10;
+
+    // Identity cache (citizens and land agents looked up by ID)
+    public static final int IDENTITY_CACHE_SIZE = 500;
+
+    // Interval between two checks for database changes (dashboard refresh)
+    public static final long CHANGE_POLL_INTERVAL_MS = 2000;
+
+    // DAO calls made off the Event Dispatch Thread (AsyncDAO)
+    public static final int ASYNC_DAO_THREADS = 4;
+    public static final long ASYNC_DAO_TIMEOUT_MS = 30_000;
+
+    // Quiet time after the last keystroke or filter change before a search runs
+    public static final int SEARCH_DEBOUNCE_MS = 250;
+
     // File Upload
     public static final String UPLOAD_DIRECTORY = "uploads/";
     public static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
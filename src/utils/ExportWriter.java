@@ -0,0 +1,139 @@
+package utils;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Row-by-row writer for data exports, in CSV or JSON Lines, optionally gzipped.
+ *
+ * Output goes through a FileChannel with a 64 KB buffer: each row is encoded and
+ * written as soon as it is read, so memory use does not depend on the row count.
+ */
+public class ExportWriter implements Closeable {
+
+    public enum Format {
+        CSV, JSONL
+    }
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Format format;
+    private final BufferedWriter out;
+    private String[] columns;
+    private long rowCount = 0;
+
+    public ExportWriter(Path file, Format format, boolean gzip) throws IOException {
+        this.format = format;
+        OutputStream stream = Channels.newOutputStream(FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+        if (gzip) {
+            stream = new GZIPOutputStream(stream, BUFFER_SIZE);
+        }
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Open a writer whose format follows the file name: .csv or .jsonl, with an optional .gz suffix
+     */
+    public static ExportWriter forFile(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) {
+            name = name.substring(0, name.length() - 3);
+        }
+        Format format = name.endsWith(".jsonl") || name.endsWith(".json") ? Format.JSONL : Format.CSV;
+        return new ExportWriter(file, format, gzip);
+    }
+
+    /**
+     * Set the column names; CSV output starts with a header line
+     */
+    public void writeHeader(String[] columns) throws IOException {
+        this.columns = columns;
+        if (format == Format.CSV) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(CsvReader.escape(columns[i]));
+            }
+            out.newLine();
+        }
+    }
+
+    /**
+     * Write one row; values are Strings, Numbers or null, in header order
+     */
+    public void writeRow(Object[] values) throws IOException {
+        if (format == Format.CSV) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                if (values[i] != null) {
+                    out.write(CsvReader.escape(values[i].toString()));
+                }
+            }
+        } else {
+            out.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                writeJsonString(columns[i]);
+                out.write(':');
+                if (values[i] == null) {
+                    out.write("null");
+                } else if (values[i] instanceof Number) {
+                    out.write(values[i].toString());
+                } else {
+                    writeJsonString(values[i].toString());
+                }
+            }
+            out.write('}');
+        }
+        out.newLine();
+        rowCount++;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        // Also finishes the gzip stream and closes the channel
+        out.close();
+    }
+
+    private void writeJsonString(String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.write("\\\"");
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+        out.write('"');
+    }
+}
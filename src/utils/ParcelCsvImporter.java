@@ -0,0 +1,484 @@
+package utils;
+
+import dao.ParcelImportDAO;
+import dao.RegionRegistry;
+import models.Parcel;
+import models.Parcel.AreaUnit;
+import models.Parcel.LandType;
+import models.Parcel.ParcelStatus;
+import models.ParcelImport;
+import models.Region;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Bulk import of legacy parcels from a CSV file.
+ *
+ * The file is streamed record by record and validated with ValidationUtils. Valid
+ * rows are inserted in chunks, each chunk being one JDBC batch committed together
+ * with the import checkpoint, so memory use does not depend on the file size and
+ * an interrupted import resumes after the last committed chunk. Parsing of the next
+ * chunk overlaps with the commit of the previous one.
+ *
+ * Columns use the database names; superficie, type_terrain, adresse and region are
+ * required. Rows without numero_parcelle are numbered in the REGION-YEAR-NNNN format,
+ * from the region sequence, in the transaction of their chunk.
+ * Rejected rows are written to a reject file with their record number and reason.
+ * Rejects are flushed before their chunk commits; on resume the reject file is cut
+ * back to the committed checkpoint, so each rejected row appears exactly once.
+ */
+public class ParcelCsvImporter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int PROGRESS_INTERVAL = 50_000;
+
+    private static final String[] REQUIRED_COLUMNS = {"superficie", "type_terrain", "adresse", "region"};
+    private static final DateTimeFormatter DISPLAY_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final ParcelImportDAO importDAO = new ParcelImportDAO();
+    private final int chunkSize;
+
+    public ParcelCsvImporter() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParcelCsvImporter(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * A chunk waiting for (or sent to) the writer, with what is needed to report rejects
+     */
+    private static final class Chunk {
+        private final List<Parcel> parcels = new ArrayList<>();
+        private final List<Long> parcelLines = new ArrayList<>();
+        private final List<List<String>> parcelRecords = new ArrayList<>();
+        private final List<String> rejects = new ArrayList<>();
+        private int records = 0;
+        private CompletableFuture<List<String>> future;
+    }
+
+    /**
+     * Import a CSV file, writing rejected rows next to it (file.csv.rejects.csv)
+     */
+    public ParcelImport importFile(Path csvFile) throws IOException {
+        return importFile(csvFile, Paths.get(csvFile.toString() + ".rejects.csv"));
+    }
+
+    /**
+     * Import a CSV file, resuming a previous interrupted import of the same file
+     * @param csvFile file to import
+     * @param rejectFile file receiving the rejected rows
+     * @return final state of the import; isCompleted() is false if the import stopped on an error
+     */
+    public ParcelImport importFile(Path csvFile, Path rejectFile) throws IOException {
+        String key = csvFile.toAbsolutePath().normalize().toString();
+        long size = Files.size(csvFile);
+
+        ParcelImport progress = importDAO.getImport(key);
+        if (progress != null && progress.getFileSize() != size) {
+            System.out.println("File changed since the last import, starting over: " + key);
+            importDAO.deleteImport(key);
+            progress = null;
+        }
+        if (progress != null && progress.isCompleted()) {
+            System.out.println("✓ File already imported: " + progress);
+            return progress;
+        }
+
+        boolean resuming = progress != null && progress.getRecordsProcessed() > 0;
+        if (progress == null) {
+            progress = new ParcelImport(key, size);
+        }
+
+        try (BufferedReader input = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(input, detectSeparator(input));
+
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new IOException("Empty CSV file: " + csvFile);
+            }
+            Map<String, Integer> columns = mapColumns(header);
+
+            if (resuming) {
+                csv.skipRecords(progress.getRecordsProcessed());
+                System.out.println("Resuming import after " + progress.getRecordsProcessed() + " records");
+            }
+
+            if (resuming) {
+                // Header is record 1: keep the rejects of records up to the checkpoint
+                truncateRejectFile(rejectFile, progress.getRecordsProcessed() + 1);
+            }
+
+            try (BufferedWriter rejects = openRejectFile(rejectFile, header, resuming)) {
+                return run(csv, columns, progress, rejects);
+            }
+        }
+    }
+
+    private ParcelImport run(CsvReader csv, Map<String, Integer> columns, ParcelImport progress,
+                             BufferedWriter rejects) throws IOException {
+        long processed = progress.getRecordsProcessed();
+        long nextReport = (processed / PROGRESS_INTERVAL + 1) * PROGRESS_INTERVAL;
+        Chunk pending = null;
+
+        while (true) {
+            Chunk chunk = readChunk(csv, columns);
+            boolean last = chunk.records < chunkSize;
+
+            // Wait for the previous chunk before touching the shared checkpoint
+            if (pending != null && !complete(pending)) {
+                return abort(progress);
+            }
+
+            processed += chunk.records;
+            progress.setRecordsProcessed(processed);
+            progress.setRejectedCount(progress.getRejectedCount() + chunk.rejects.size());
+            progress.setCompleted(last);
+            chunk.future = importDAO.importChunkAsync(chunk.parcels, progress,
+                    errors -> writeRejects(chunk, errors, rejects));
+
+            if (last) {
+                if (!complete(chunk)) {
+                    return abort(progress);
+                }
+                System.out.println("✓ Import completed: " + progress);
+                return progress;
+            }
+
+            if (processed >= nextReport) {
+                System.out.println("  " + processed + " records processed...");
+                nextReport += PROGRESS_INTERVAL;
+            }
+            pending = chunk;
+        }
+    }
+
+    private Chunk readChunk(CsvReader csv, Map<String, Integer> columns) throws IOException {
+        Chunk chunk = new Chunk();
+        List<String> record;
+
+        while (chunk.records < chunkSize && (record = csv.readRecord()) != null) {
+            chunk.records++;
+            long line = csv.getRecordNumber();
+
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+
+            Parcel parcel = new Parcel();
+            String reason = parseParcel(record, columns, parcel);
+            if (reason != null) {
+                chunk.rejects.add(rejectLine(line, reason, record));
+            } else {
+                chunk.parcels.add(parcel);
+                chunk.parcelLines.add(line);
+                chunk.parcelRecords.add(record);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Wait for a chunk to be committed
+     */
+    private boolean complete(Chunk chunk) {
+        try {
+            chunk.future.join();
+            return true;
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println("Error importing parcels: " + cause.getMessage());
+            cause.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Write the rejected rows of a chunk (called on the writer thread before the COMMIT)
+     */
+    private void writeRejects(Chunk chunk, List<String> errors, BufferedWriter rejects) {
+        try {
+            for (String reject : chunk.rejects) {
+                rejects.write(reject);
+                rejects.newLine();
+            }
+            for (int i = 0; i < errors.size(); i++) {
+                if (errors.get(i) != null) {
+                    rejects.write(rejectLine(chunk.parcelLines.get(i), errors.get(i), chunk.parcelRecords.get(i)));
+                    rejects.newLine();
+                }
+            }
+            rejects.flush();
+        } catch (IOException e) {
+            // Fails the chunk: it is rolled back and the import stops at the previous checkpoint
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ParcelImport abort(ParcelImport progress) {
+        // The committed checkpoint is the reference for the next attempt
+        ParcelImport saved = importDAO.getImport(progress.getFileName());
+        System.err.println("✗ Import interrupted, run it again to resume: " + (saved != null ? saved : progress));
+        return saved != null ? saved : progress;
+    }
+
+    // ========================================================================
+    // Validation
+    // ========================================================================
+
+    /**
+     * Fill a parcel from a CSV record
+     * @return null if the record is valid, otherwise the rejection reason
+     */
+    private String parseParcel(List<String> record, Map<String, Integer> columns, Parcel parcel) {
+        String area = field(record, columns, "superficie");
+        if (!ValidationUtils.isNotEmpty(area)) {
+            return ValidationUtils.getValidationError("superficie", "empty");
+        }
+        try {
+            double value = Double.parseDouble(area.replace(',', '.'));
+            if (!ValidationUtils.isPositive(value)) {
+                return ValidationUtils.getValidationError("superficie", "positive");
+            }
+            parcel.setArea(value);
+        } catch (NumberFormatException e) {
+            return ValidationUtils.getValidationError("superficie", "number");
+        }
+
+        LandType landType = parseEnum(LandType.class, field(record, columns, "type_terrain"));
+        if (landType == null) {
+            return ValidationUtils.getValidationError("type_terrain", "value");
+        }
+        parcel.setLandType(landType);
+
+        String address = field(record, columns, "adresse");
+        if (!ValidationUtils.isNotEmpty(address)) {
+            return ValidationUtils.getValidationError("adresse", "empty");
+        }
+        parcel.setAddress(address.trim());
+
+        String region = canonicalRegion(field(record, columns, "region"));
+        if (region == null) {
+            return ValidationUtils.getValidationError("region", "value");
+        }
+        parcel.setRegion(region);
+
+        String number = field(record, columns, "numero_parcelle");
+        if (ValidationUtils.isNotEmpty(number)) {
+            number = number.trim();
+            if (!ParcelNumberGenerator.isValidFormat(number) && !ValidationUtils.isValidParcelNumber(number)) {
+                return ValidationUtils.getValidationError("numero_parcelle", "format");
+            }
+            parcel.setParcelNumber(number);
+        }
+
+        String landTitle = field(record, columns, "titre_foncier");
+        if (ValidationUtils.isNotEmpty(landTitle)) {
+            if (!ValidationUtils.isValidLandTitle(landTitle)) {
+                return ValidationUtils.getValidationError("titre_foncier", "format");
+            }
+            parcel.setLandTitle(landTitle.trim());
+        }
+
+        String unit = field(record, columns, "unite_superficie");
+        parcel.setAreaUnit(ValidationUtils.isNotEmpty(unit) ? parseEnum(AreaUnit.class, unit) : AreaUnit.HECTARE);
+        if (parcel.getAreaUnit() == null) {
+            return ValidationUtils.getValidationError("unite_superficie", "value");
+        }
+
+        String status = field(record, columns, "statut_parcelle");
+        parcel.setStatus(ValidationUtils.isNotEmpty(status) ? parseEnum(ParcelStatus.class, status) : ParcelStatus.AVAILABLE);
+        if (parcel.getStatus() == null) {
+            return ValidationUtils.getValidationError("statut_parcelle", "value");
+        }
+
+        String gps = field(record, columns, "coordonnees_gps");
+        if (ValidationUtils.isNotEmpty(gps)) {
+            if (!ValidationUtils.isValidGPSCoordinates(gps)) {
+                return ValidationUtils.getValidationError("coordonnees_gps", "format");
+            }
+            parcel.setGpsCoordinates(gps.trim());
+        }
+
+        String estimatedValue = field(record, columns, "valeur_estimee");
+        if (ValidationUtils.isNotEmpty(estimatedValue)) {
+            try {
+                BigDecimal value = new BigDecimal(estimatedValue.trim().replace(',', '.'));
+                if (value.signum() < 0) {
+                    return ValidationUtils.getValidationError("valeur_estimee", "positive");
+                }
+                parcel.setEstimatedValue(value);
+            } catch (NumberFormatException e) {
+                return ValidationUtils.getValidationError("valeur_estimee", "number");
+            }
+        }
+
+        String owner = field(record, columns, "proprietaire_actuel");
+        if (ValidationUtils.isNotEmpty(owner)) {
+            try {
+                int ownerId = Integer.parseInt(owner.trim());
+                if (ownerId <= 0) {
+                    return ValidationUtils.getValidationError("proprietaire_actuel", "positive");
+                }
+                parcel.setCurrentOwnerId(ownerId);
+            } catch (NumberFormatException e) {
+                return ValidationUtils.getValidationError("proprietaire_actuel", "number");
+            }
+        }
+
+        String acquisitionDate = field(record, columns, "date_acquisition");
+        if (ValidationUtils.isNotEmpty(acquisitionDate)) {
+            Date date = parseDate(acquisitionDate.trim());
+            if (date == null) {
+                return ValidationUtils.getValidationError("date_acquisition", "date");
+            }
+            parcel.setAcquisitionDate(date);
+        }
+
+        parcel.setCurrentUsage(emptyToNull(field(record, columns, "usage_actuel")));
+        parcel.setDepartment(emptyToNull(field(record, columns, "departement")));
+        parcel.setCommune(emptyToNull(field(record, columns, "commune")));
+        parcel.setNotes(emptyToNull(field(record, columns, "notes")));
+        return null;
+    }
+
+    /**
+     * Map a region spelling (any case, with or without accents) to its canonical name;
+     * null unless it is exactly one of the regions ("Thailand" is not Thiès)
+     */
+    private static String canonicalRegion(String region) {
+        if (!ValidationUtils.isNotEmpty(region)) {
+            return null;
+        }
+        Region match = RegionRegistry.get().getByName(region);
+        return match != null ? match.getRegionName() : null;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Date parseDate(String value) {
+        try {
+            return Date.valueOf(value.contains("/") ? LocalDate.parse(value, DISPLAY_DATE) : LocalDate.parse(value));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return ValidationUtils.isNotEmpty(value) ? value.trim() : null;
+    }
+
+    // ========================================================================
+    // CSV helpers
+    // ========================================================================
+
+    private static char detectSeparator(BufferedReader input) throws IOException {
+        input.mark(64 * 1024);
+        String firstLine = input.readLine();
+        input.reset();
+        if (firstLine == null) {
+            return ',';
+        }
+        return firstLine.chars().filter(c -> c == ';').count() > firstLine.chars().filter(c -> c == ',').count() ? ';' : ',';
+    }
+
+    private static Map<String, Integer> mapColumns(List<String> header) throws IOException {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.put(name, i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IOException("Missing required column: " + required);
+            }
+        }
+        return columns;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index != null && index < record.size() ? record.get(index) : null;
+    }
+
+    private static BufferedWriter openRejectFile(Path rejectFile, List<String> header, boolean append) throws IOException {
+        BufferedWriter writer = append
+                ? Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)
+                : Files.newBufferedWriter(rejectFile, StandardCharsets.UTF_8);
+        if (!append) {
+            List<String> rejectHeader = new ArrayList<>();
+            rejectHeader.add("ligne");
+            rejectHeader.add("motif");
+            rejectHeader.addAll(header);
+            writer.write(String.join(",", rejectHeader.stream().map(CsvReader::escape).toList()));
+            writer.newLine();
+        }
+        return writer;
+    }
+
+    /**
+     * Drop the rejects written for records after the checkpoint (chunk not committed)
+     */
+    private static void truncateRejectFile(Path rejectFile, long lastRecord) throws IOException {
+        if (!Files.exists(rejectFile)) {
+            return;
+        }
+
+        Path kept = Paths.get(rejectFile.toString() + ".tmp");
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(rejectFile, StandardCharsets.UTF_8));
+             BufferedWriter writer = Files.newBufferedWriter(kept, StandardCharsets.UTF_8)) {
+            List<String> record;
+            boolean header = true;
+            while ((record = reader.readRecord()) != null) {
+                if (header || Long.parseLong(record.get(0)) <= lastRecord) {
+                    writer.write(String.join(",", record.stream().map(CsvReader::escape).toList()));
+                    writer.newLine();
+                }
+                header = false;
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Unreadable reject file: " + rejectFile, e);
+        }
+        Files.move(kept, rejectFile, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static String rejectLine(long line, String reason, List<String> record) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(line).append(',').append(CsvReader.escape(reason));
+        for (String value : record) {
+            sb.append(',').append(CsvReader.escape(value));
+        }
+        return sb.toString();
+    }
+}
@@ -1,7 +1,12 @@
 package utils;
 
 import dao.ParcelDAO;
+import dao.RegionRegistry;
+import models.Region;
+
 import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Utility class to generate unique parcel numbers in Senegalese format
@@ -12,87 +17,95 @@ public class ParcelNumberGenerator {
 
     private static final ParcelDAO parcelDAO = new ParcelDAO();
 
+    // Reservations tried before giving up on a block
+    private static final int RESERVATION_ATTEMPTS = 3;
+
+    // Numbers reserved for this session, by prefix: {next, last}
+    private static final Map<String, int[]> reservedBlocks = new HashMap<>();
+
     /**
      * Generate a unique parcel number for a given region
+     *
+     * Numbers come from the region and year sequence in the database, reserved by
+     * blocks of Constants.PARCEL_NUMBER_BLOCK_SIZE for the session: most calls do not
+     * touch the database, and two agents never get the same number. Numbers of a
+     * cancelled registration are not reused.
+     *
      * @param regionName Full region name (e.g., "Saint-Louis", "Dakar")
-     * @return Generated parcel number (e.g., "SL-2024-1547")
+     * @return Generated parcel number (e.g., "SL-2024-1547"), null if the sequence could
+     *         not be reserved; ParcelDAO.createParcel() then numbers the parcel itself
      */
     public static String generateParcelNumber(String regionName) {
         String regionCode = getRegionCode(regionName);
         int currentYear = LocalDate.now().getYear();
         int sequentialNumber = getNextSequentialNumber(regionCode, currentYear);
+        if (sequentialNumber <= 0) {
+            return null;
+        }
 
         return String.format("%s-%d-%04d", regionCode, currentYear, sequentialNumber);
     }
 
+    /**
+     * Build the number prefix shared by a region and year (e.g., "DK-2025-")
+     */
+    public static String getPrefix(String regionName, int year) {
+        return getRegionCode(regionName) + "-" + year + "-";
+    }
+
+    /**
+     * Format a parcel number from its prefix and sequential number
+     */
+    public static String formatParcelNumber(String prefix, int sequentialNumber) {
+        return String.format("%s%04d", prefix, sequentialNumber);
+    }
+
     /**
      * Get the 2-letter region code from full region name
+     * (any case, with or without accents, e.g. "Thies" or "THIÈS")
      */
-    private static String getRegionCode(String regionName) {
+    public static String getRegionCode(String regionName) {
         if (regionName == null || regionName.isEmpty()) {
             return "XX";
         }
 
-        // Map of Senegalese regions to their codes
-        switch (regionName.toUpperCase()) {
-            case "DAKAR": return "DK";
-            case "THIÈS":
-            case "THIES": return "TH";
-            case "SAINT-LOUIS":
-            case "SAINT LOUIS": return "SL";
-            case "DIOURBEL": return "DI";
-            case "LOUGA": return "LG";
-            case "MATAM": return "MT";
-            case "TAMBACOUNDA": return "TB";
-            case "KAOLACK": return "KL";
-            case "FATICK": return "FT";
-            case "KAFFRINE": return "KF";
-            case "KOLDA": return "KD";
-            case "ZIGUINCHOR": return "ZG";
-            case "SÉDHIOU":
-            case "SEDHIOU": return "SE";
-            case "KÉDOUGOU":
-            case "KEDOUGOU": return "KE";
-            default:
-                // For unknown regions, use first 2 letters
-                return regionName.substring(0, Math.min(2, regionName.length())).toUpperCase();
+        Region region = RegionRegistry.get().getByName(regionName);
+        if (region != null) {
+            return region.getRegionCode();
         }
+        // For unknown regions, use first 2 letters
+        return regionName.substring(0, Math.min(2, regionName.length())).toUpperCase();
     }
 
     /**
-     * Get the next sequential number for a region and year
-     * Searches existing parcels to find the highest number and increments it
+     * Get the next sequential number for a region and year, from the session block
+     * @return the number, 0 if no block could be reserved
      */
-    private static int getNextSequentialNumber(String regionCode, int year) {
-        String searchPattern = regionCode + "-" + year + "-";
-        int highestNumber = 0;
-
-        try {
-            // Search all parcels to find those matching the pattern
-            var allParcels = parcelDAO.getAllParcels();
-
-            for (var parcel : allParcels) {
-                String parcelNumber = parcel.getParcelNumber();
-                if (parcelNumber != null && parcelNumber.startsWith(searchPattern)) {
-                    try {
-                        // Extract the sequential number part
-                        String numberPart = parcelNumber.substring(searchPattern.length());
-                        int number = Integer.parseInt(numberPart);
-                        if (number > highestNumber) {
-                            highestNumber = number;
-                        }
-                    } catch (NumberFormatException | StringIndexOutOfBoundsException e) {
-                        // Skip invalid format
-                        continue;
-                    }
-                }
+    private static synchronized int getNextSequentialNumber(String regionCode, int year) {
+        String prefix = regionCode + "-" + year + "-";
+        int[] block = reservedBlocks.get(prefix);
+
+        if (block == null || block[0] > block[1]) {
+            // Only the sequence hands out numbers: reading the highest one in use could
+            // give the same number to two sessions
+            int last = 0;
+            for (int attempt = 0; attempt < RESERVATION_ATTEMPTS && last <= 0; attempt++) {
+                last = parcelDAO.reserveSequentialNumbers(regionCode, year, Constants.PARCEL_NUMBER_BLOCK_SIZE);
             }
-        } catch (Exception e) {
-            System.err.println("Error finding next sequential number: " + e.getMessage());
+            if (last <= 0) {
+                return 0;
+            }
+            block = new int[]{last - Constants.PARCEL_NUMBER_BLOCK_SIZE + 1, last};
+            reservedBlocks.put(prefix, block);
         }
+        return block[0]++;
+    }
 
-        // Return next number (highest + 1)
-        return highestNumber + 1;
+    /**
+     * Forget the numbers reserved by the session (e.g. at logout); they are not reused
+     */
+    public static synchronized void releaseReservedNumbers() {
+        reservedBlocks.clear();
     }
 
     /**
@@ -164,22 +177,7 @@ public class ParcelNumberGenerator {
             return "Unknown";
         }
 
-        switch (code.toUpperCase()) {
-            case "DK": return "Dakar";
-            case "TH": return "Thiès";
-            case "SL": return "Saint-Louis";
-            case "DI": return "Diourbel";
-            case "LG": return "Louga";
-            case "MT": return "Matam";
-            case "TB": return "Tambacounda";
-            case "KL": return "Kaolack";
-            case "FT": return "Fatick";
-            case "KF": return "Kaffrine";
-            case "KD": return "Kolda";
-            case "ZG": return "Ziguinchor";
-            case "SE": return "Sédhiou";
-            case "KE": return "Kédougou";
-            default: return "Unknown";
-        }
+        Region region = RegionRegistry.get().getByCode(code);
+        return region != null ? region.getRegionName() : "Unknown";
     }
 }
\ No newline at end of file
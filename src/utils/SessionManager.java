@@ -48,6 +48,7 @@ public class SessionManager {
         this.currentUser = null;
         this.sessionToken = null;
         this.loginTime = 0;
+        ParcelNumberGenerator.releaseReservedNumbers();
     }
 
     /**
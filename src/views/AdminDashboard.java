@@ -25,6 +25,7 @@ public class AdminDashboard extends JFrame {
     private ParcelDAO parcelDAO;
     private TransactionDAO transactionDAO;
     private DisputeDAO disputeDAO;
+    private StatisticsDAO statisticsDAO;
 
     // Panels
     private AdminDashboardPanel dashboardPanel;
@@ -44,6 +45,7 @@ public class AdminDashboard extends JFrame {
         parcelDAO = new ParcelDAO();
         transactionDAO = new TransactionDAO();
         disputeDAO = new DisputeDAO();
+        statisticsDAO = new StatisticsDAO();
     }
 
     private void initializeUI() {
@@ -62,7 +64,7 @@ public class AdminDashboard extends JFrame {
         tabbedPane.setFont(new Font("Arial", Font.PLAIN, 14));
 
         // Initialize panels
-        dashboardPanel = new AdminDashboardPanel(userDAO, parcelDAO, transactionDAO, disputeDAO);
+        dashboardPanel = new AdminDashboardPanel(statisticsDAO);
         userManagementPanel = new UserManagementPanel(userDAO, this::refreshDashboard);
         parcelManagementPanel = new ParcelManagementPanel(parcelDAO, citizenDAO);
         transactionManagementPanel = new TransactionManagementPanel(transactionDAO);
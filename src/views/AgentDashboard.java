@@ -16,6 +16,7 @@ import java.awt.*;
  */
 public class AgentDashboard extends JFrame {
 
+    private JPanel mainPanel;
     private JTabbedPane tabbedPane;
     private LandAgent currentAgent;
 
@@ -25,6 +26,7 @@ public class AgentDashboard extends JFrame {
     private TransactionDAO transactionDAO;
     private DisputeDAO disputeDAO;
     private CitizenDAO citizenDAO;
+    private StatisticsDAO statisticsDAO;
 
     // Panels
     private AgentDashboardPanel dashboardPanel;
@@ -34,8 +36,8 @@ public class AgentDashboard extends JFrame {
 
     public AgentDashboard() {
         initializeDAOs();
-        loadCurrentAgent();
         initializeUI();
+        loadCurrentAgent();
     }
 
     private void initializeDAOs() {
@@ -44,12 +46,16 @@ public class AgentDashboard extends JFrame {
         transactionDAO = new TransactionDAO();
         disputeDAO = new DisputeDAO();
         citizenDAO = new CitizenDAO();
+        statisticsDAO = new StatisticsDAO();
     }
 
     private void loadCurrentAgent() {
-        User currentUser = SessionManager.getInstance().getCurrentUser();
+        int userId = SessionManager.getInstance().getCurrentUser().getUserId();
         LandAgentDAO agentDAO = new LandAgentDAO();
-        currentAgent = agentDAO.getAgentByUserId(currentUser.getUserId());
+        AsyncLoader.submit(() -> agentDAO.getAgentByUserId(userId), agent -> {
+            currentAgent = agent;
+            initializeTabs();
+        });
     }
 
     private void initializeUI() {
@@ -58,18 +64,25 @@ public class AgentDashboard extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
 
-        JPanel mainPanel = new JPanel(new BorderLayout());
-
-        // Header
-        mainPanel.add(new AgentHeaderPanel(currentAgent, this::logout), BorderLayout.NORTH);
+        mainPanel = new JPanel(new BorderLayout());
 
-        // Tabbed pane with all panels
+        // Header and tabs are added once the agent profile has loaded
         tabbedPane = new JTabbedPane();
         tabbedPane.setFont(new Font("Arial", Font.PLAIN, 14));
+        tabbedPane.addTab("Dashboard", new JLabel("Loading your profile...", SwingConstants.CENTER));
+
+        mainPanel.add(tabbedPane, BorderLayout.CENTER);
+        add(mainPanel);
+    }
+
+    private void initializeTabs() {
+        // Header
+        mainPanel.add(new AgentHeaderPanel(currentAgent, this::logout), BorderLayout.NORTH);
+        tabbedPane.removeAll();
 
         // Initialize panels
-        dashboardPanel = new AgentDashboardPanel(currentAgent, transactionDAO, disputeDAO, parcelDAO);
-        transactionsPanel = new TransactionsPanel(currentAgent, transactionDAO);
+        dashboardPanel = new AgentDashboardPanel(currentAgent, statisticsDAO);
+        transactionsPanel = new TransactionsPanel(currentAgent, transactionDAO, citizenDAO);
         disputesPanel = new DisputesPanel(currentAgent, disputeDAO);
         regionParcelsPanel = new RegionParcelsPanel(currentAgent, parcelDAO);
 
@@ -79,8 +92,7 @@ public class AgentDashboard extends JFrame {
         tabbedPane.addTab("My Disputes", disputesPanel);
         tabbedPane.addTab("Parcels in Region", regionParcelsPanel);
 
-        mainPanel.add(tabbedPane, BorderLayout.CENTER);
-        add(mainPanel);
+        mainPanel.revalidate();
     }
 
     private void logout() {
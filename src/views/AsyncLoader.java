@@ -0,0 +1,98 @@
+package views;
+
+import dao.AsyncDAO;
+
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Loads the data of one view in the background through AsyncDAO, and shows it on the
+ * Event Dispatch Thread.
+ *
+ * Only the last load counts: starting a new one cancels the previous one, so a slow
+ * query cannot overwrite the result of a later one. A load that fails or times out
+ * leaves the view unchanged.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ */
+public final class AsyncLoader<T> {
+
+    private CompletableFuture<T> pending;
+
+    /**
+     * @param query DAO calls, run on a DAO thread
+     * @param onLoaded shows the result, run on the Event Dispatch Thread
+     */
+    public void load(Supplier<T> query, Consumer<T> onLoaded) {
+        cancel();
+        CompletableFuture<T> future = AsyncDAO.supply(query);
+        pending = future;
+
+        future.whenCompleteAsync((result, error) -> {
+            if (pending != future) {
+                // Cancelled, or replaced by a later load
+                return;
+            }
+            pending = null;
+
+            if (error == null) {
+                onLoaded.accept(result);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (!(cause instanceof CancellationException)) {
+                    System.err.println("Error loading data: " + cause);
+                    cause.printStackTrace();
+                }
+            }
+        }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Run a one-off DAO call in the background, such as the lookup behind a details dialog,
+     * and hand its result to the Event Dispatch Thread. Nothing cancels it; a call that fails
+     * or times out is reported as null, as the DAOs report their own errors.
+     * @param call DAO calls, run on a DAO thread
+     * @param onDone uses the result, run on the Event Dispatch Thread
+     */
+    public static <T> void submit(Supplier<T> call, Consumer<T> onDone) {
+        complete(AsyncDAO.supply(call), onDone);
+    }
+
+    /**
+     * Same as submit() for a DAO call that writes, without timeout: the write queue answers
+     * every operation, and a write given up by the view could still be committed
+     */
+    public static <T> void submitWrite(Supplier<T> call, Consumer<T> onDone) {
+        complete(AsyncDAO.supply(call, 0), onDone);
+    }
+
+    private static <T> void complete(CompletableFuture<T> future, Consumer<T> onDone) {
+        future.whenCompleteAsync((result, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                System.err.println("Error running database call: " + cause);
+                cause.printStackTrace();
+            }
+            onDone.accept(error == null ? result : null);
+        }, SwingUtilities::invokeLater);
+    }
+
+    /**
+     * Cancel the load in progress, if any; its result will not be shown
+     */
+    public void cancel() {
+        if (pending != null) {
+            CompletableFuture<T> future = pending;
+            pending = null;
+            future.cancel(true);
+        }
+    }
+
+    public boolean isLoading() {
+        return pending != null;
+    }
+}
@@ -0,0 +1,80 @@
+package views;
+
+import dao.ChangeDetector;
+
+import javax.swing.*;
+import java.awt.event.HierarchyEvent;
+
+/**
+ * Reloads a panel when the tables it displays change, as reported by ChangeDetector.
+ *
+ * The panel is subscribed while it is displayable (its window is open). A change seen
+ * while it is hidden, e.g. behind another tab, is applied only when it is shown again;
+ * without any change, showing the panel does not query the database.
+ */
+public final class ChangeRefresher {
+
+    private final JComponent panel;
+    private final Runnable reload;
+    private final String[] tables;
+    private ChangeDetector.Subscription subscription;
+    private boolean stale = false;
+
+    private ChangeRefresher(JComponent panel, Runnable reload, String[] tables) {
+        this.panel = panel;
+        this.reload = reload;
+        this.tables = tables;
+    }
+
+    /**
+     * Reload a panel when one of the tables changes
+     * @param reload called on the Event Dispatch Thread
+     * @param tables ChangeDetector table names
+     */
+    public static void install(JComponent panel, Runnable reload, String... tables) {
+        ChangeRefresher refresher = new ChangeRefresher(panel, reload, tables);
+        panel.addHierarchyListener(refresher::hierarchyChanged);
+        if (panel.isDisplayable()) {
+            refresher.subscribe();
+        }
+    }
+
+    private void hierarchyChanged(HierarchyEvent e) {
+        if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0) {
+            if (panel.isDisplayable()) {
+                subscribe();
+            } else {
+                unsubscribe();
+            }
+        }
+        if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && panel.isShowing() && stale) {
+            stale = false;
+            reload.run();
+        }
+    }
+
+    private void subscribe() {
+        if (subscription == null) {
+            subscription = ChangeDetector.getInstance().subscribe(
+                    () -> SwingUtilities.invokeLater(this::tablesChanged), tables);
+        }
+    }
+
+    private void unsubscribe() {
+        if (subscription != null) {
+            subscription.close();
+            subscription = null;
+        }
+    }
+
+    private void tablesChanged() {
+        if (subscription == null) {
+            return;
+        }
+        if (panel.isShowing()) {
+            reload.run();
+        } else {
+            stale = true;
+        }
+    }
+}
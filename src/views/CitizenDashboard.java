@@ -24,6 +24,7 @@ public class CitizenDashboard extends JFrame {
     private TransactionDAO transactionDAO;
     private DisputeDAO disputeDAO;
     private CitizenDAO citizenDAO;
+    private StatisticsDAO statisticsDAO;
 
     // Panels
     private DashboardPanel dashboardPanel;
@@ -34,8 +35,8 @@ public class CitizenDashboard extends JFrame {
 
     public CitizenDashboard() {
         initializeDAOs();
-        loadCurrentCitizen();
         initializeUI();
+        loadCurrentCitizen();
     }
 
     private void initializeDAOs() {
@@ -43,11 +44,15 @@ public class CitizenDashboard extends JFrame {
         transactionDAO = new TransactionDAO();
         disputeDAO = new DisputeDAO();
         citizenDAO = new CitizenDAO();
+        statisticsDAO = new StatisticsDAO();
     }
 
     private void loadCurrentCitizen() {
-        User currentUser = SessionManager.getInstance().getCurrentUser();
-        currentCitizen = citizenDAO.getCitizenByUserId(currentUser.getUserId());
+        int userId = SessionManager.getInstance().getCurrentUser().getUserId();
+        AsyncLoader.submit(() -> citizenDAO.getCitizenByUserId(userId), citizen -> {
+            currentCitizen = citizen;
+            initializeTabs();
+        });
     }
 
     private void initializeUI() {
@@ -61,12 +66,20 @@ public class CitizenDashboard extends JFrame {
         // Header
         mainPanel.add(new HeaderPanel(this::logout), BorderLayout.NORTH);
 
-        // Tabbed pane with all panels
+        // Tabs are added once the citizen profile has loaded
         tabbedPane = new JTabbedPane();
         tabbedPane.setFont(new Font("Arial", Font.PLAIN, 14));
+        tabbedPane.addTab("Dashboard", new JLabel("Loading your profile...", SwingConstants.CENTER));
+
+        mainPanel.add(tabbedPane, BorderLayout.CENTER);
+        add(mainPanel);
+    }
+
+    private void initializeTabs() {
+        tabbedPane.removeAll();
 
         // Initialize panels
-        dashboardPanel = new DashboardPanel(currentCitizen, parcelDAO, transactionDAO, disputeDAO);
+        dashboardPanel = new DashboardPanel(currentCitizen, statisticsDAO);
         parcelsPanel = new ParcelsPanel(currentCitizen, parcelDAO);
         transactionsPanel = new TransactionsPanel(currentCitizen, transactionDAO, parcelDAO, citizenDAO);
         disputesPanel = new DisputesPanel(currentCitizen, disputeDAO, parcelDAO, citizenDAO);
@@ -78,9 +91,6 @@ public class CitizenDashboard extends JFrame {
         tabbedPane.addTab("My Transactions", transactionsPanel);
         tabbedPane.addTab("My Disputes", disputesPanel);
         tabbedPane.addTab("My Profile", profilePanel);
-
-        mainPanel.add(tabbedPane, BorderLayout.CENTER);
-        add(mainPanel);
     }
 
     private void logout() {
@@ -4,6 +4,7 @@ import dao.UserDAO;
 import dao.AdminDAO;
 import dao.LandAgentDAO;
 import dao.CitizenDAO;
+import dao.RegionRegistry;
 import models.User;
 import models.Admin;
 import models.LandAgent;
@@ -313,6 +314,9 @@ public class LoginFrame extends JFrame {
     }
 
     public static void main(String[] args) {
+        // Reference data, read once before the first screen
+        RegionRegistry.preload();
+
         SwingUtilities.invokeLater(() -> {
             try {
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
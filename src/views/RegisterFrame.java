@@ -2,6 +2,7 @@ package views;
 
 import dao.CitizenDAO;
 import dao.LandAgentDAO;
+import dao.RegionRegistry;
 import dao.UserDAO;
 import models.Citizen;
 import models.LandAgent;
@@ -157,7 +158,7 @@ public class RegisterFrame extends JFrame {
         gbc.weightx = 0.3;
         panel.add(regionLabel, gbc);
 
-        regionComboBox = new JComboBox<>(Constants.REGIONS);
+        regionComboBox = new JComboBox<>(RegionRegistry.get().getRegionNames().toArray(new String[0]));
         regionComboBox.setFont(new Font("Arial", Font.PLAIN, 14));
         styleField(regionComboBox);
         gbc.gridx = 1;
@@ -0,0 +1,160 @@
+package views;
+
+import utils.Constants;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Search-as-you-type for a filtered table.
+ *
+ * Keystrokes and filter changes are debounced: the search runs once the input has been
+ * quiet for Constants.SEARCH_DEBOUNCE_MS. The query runs in the background through
+ * AsyncLoader, which cancels a query made stale by a newer search. When refinement is
+ * enabled and the new criteria only narrow the last completed ones (e.g. the user kept
+ * typing), the rows are filtered from the last result in memory, without a query, unless
+ * that result was cut by a row limit.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ *
+ * @param <C> search criteria; equal criteria are not searched twice
+ * @param <R> search result
+ */
+public final class SearchPipeline<C, R> {
+
+    private final Supplier<C> criteriaReader;
+    private final Function<C, R> query;
+    private final Consumer<R> onResults;
+    private final Runnable onCleared;
+    private final AsyncLoader<R> loader = new AsyncLoader<>();
+    private final Timer debounceTimer;
+
+    private BiPredicate<C, C> narrows;
+    private BiFunction<R, C, R> refine;
+    private Predicate<R> complete;
+
+    // Criteria of the last search started, and of the last result shown
+    private C requestedCriteria;
+    private C resultCriteria;
+    private R result;
+    private boolean resultComplete;
+
+    /**
+     * @param criteriaReader reads the criteria from the fields; null when no criterion is set
+     * @param query runs the search, on a DAO thread
+     * @param onResults shows the result
+     * @param onCleared shows the unfiltered table, when all criteria are cleared
+     */
+    public SearchPipeline(Supplier<C> criteriaReader, Function<C, R> query, Consumer<R> onResults, Runnable onCleared) {
+        this.criteriaReader = criteriaReader;
+        this.query = query;
+        this.onResults = onResults;
+        this.onCleared = onCleared;
+        this.debounceTimer = new Timer(Constants.SEARCH_DEBOUNCE_MS, e -> searchNow());
+        this.debounceTimer.setRepeats(false);
+    }
+
+    /**
+     * Filter the last result in memory when the new criteria narrow it
+     * @param narrows whether the new criteria (first argument) select a subset of the previous ones
+     * @param refine keeps the rows of a result that match the new criteria
+     * @param complete whether a query result holds every match, i.e. was not cut by a row
+     *                 limit; only complete results are refined
+     */
+    public SearchPipeline<C, R> withRefinement(BiPredicate<C, C> narrows, BiFunction<R, C, R> refine,
+                                               Predicate<R> complete) {
+        this.narrows = narrows;
+        this.refine = refine;
+        this.complete = complete;
+        return this;
+    }
+
+    /**
+     * Search after each edit of the text field and each change of the filters, debounced
+     */
+    public SearchPipeline<C, R> listenTo(JTextField searchField, JComboBox<?>... filters) {
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                schedule();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                schedule();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                schedule();
+            }
+        });
+        // Enter searches at once
+        searchField.addActionListener(e -> searchNow());
+        for (JComboBox<?> filter : filters) {
+            filter.addActionListener(e -> schedule());
+        }
+        return this;
+    }
+
+    /**
+     * Search once the input has been quiet for the debounce delay
+     */
+    public void schedule() {
+        debounceTimer.restart();
+    }
+
+    /**
+     * Search now, e.g. from a search button
+     */
+    public void searchNow() {
+        debounceTimer.stop();
+        C criteria = criteriaReader.get();
+
+        if (criteria == null) {
+            reset();
+            onCleared.run();
+            return;
+        }
+        if (criteria.equals(requestedCriteria)) {
+            return;
+        }
+        requestedCriteria = criteria;
+
+        if (narrows != null && resultComplete && resultCriteria != null && narrows.test(criteria, resultCriteria)) {
+            // The running query, if any, is stale; a subset of a complete result is complete
+            loader.cancel();
+            show(criteria, refine.apply(result, criteria), true);
+            return;
+        }
+        loader.load(() -> query.apply(criteria),
+                loaded -> show(criteria, loaded, complete != null && complete.test(loaded)));
+    }
+
+    /**
+     * Cancel the pending search and forget the last result, e.g. when the table is
+     * reloaded after a change; the next search runs a query
+     */
+    public void reset() {
+        debounceTimer.stop();
+        loader.cancel();
+        requestedCriteria = null;
+        resultCriteria = null;
+        result = null;
+        resultComplete = false;
+    }
+
+    private void show(C criteria, R shown, boolean shownComplete) {
+        resultCriteria = criteria;
+        result = shown;
+        resultComplete = shownComplete;
+        onResults.accept(shown);
+    }
+}
@@ -0,0 +1,373 @@
+package views.admin.components;
+
+import dao.Page;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * Read-only table model that loads its rows on demand, one window at a time.
+ *
+ * The row count comes from a separate COUNT query, so the table is sized at once
+ * without reading any row. Windows are read in the background when a cell of an
+ * absent window is painted, together with the next window (prefetch); until then
+ * the cells are empty. Only a few windows are kept: when the limit is reached, the
+ * window farthest from the one last displayed is evicted. Memory use thus depends
+ * on the window size, not on the number of rows in the table.
+ *
+ * A window that fails to load (the source returns null or throws) is not requested again before a delay that doubles with
+ * each consecutive failure (RETRY_DELAY_MS up to MAX_RETRY_DELAY_MS); refresh() retries
+ * at once. Sources made with RowSource.keyset() read each window from the position the
+ * previous one ended at; the other sources read at an offset, which costs O(offset).
+ *
+ * All public methods must be called on the Event Dispatch Thread.
+ */
+public class LazyTableModel<T> extends AbstractTableModel {
+
+    /**
+     * Where the rows come from; both methods run on the loader thread
+     */
+    public interface RowSource<T> {
+
+        /**
+         * Total number of rows
+         */
+        int count();
+
+        /**
+         * Rows [offset, offset + limit), in the same order on every call
+         * @return the rows, or null if they could not be read (the window is tried again later)
+         */
+        List<T> load(int offset, int limit);
+
+        /**
+         * Source backed by a count query and a window query, typically two DAO methods
+         */
+        static <T> RowSource<T> from(IntSupplier counter, BiFunction<Integer, Integer, List<T>> loader) {
+            return new RowSource<T>() {
+                @Override
+                public int count() {
+                    return counter.getAsInt();
+                }
+
+                @Override
+                public List<T> load(int offset, int limit) {
+                    return loader.apply(offset, limit);
+                }
+            };
+        }
+
+        /**
+         * Source backed by a count query and a keyset window query (the DAO get...Window()
+         * methods). Each window returns the token of the next one, so scrolling forward and
+         * the prefetch seek in the index; only a jump to a window not reached yet skips rows
+         * with OFFSET.
+         */
+        static <T> RowSource<T> keyset(IntSupplier counter, WindowQuery<T> query) {
+            // Token leading to the row at each offset, from the windows already read
+            Map<Integer, String> tokens = new ConcurrentHashMap<>();
+            return new RowSource<T>() {
+                @Override
+                public int count() {
+                    // Counted again on refresh: the offsets may have moved
+                    tokens.clear();
+                    return counter.getAsInt();
+                }
+
+                @Override
+                public List<T> load(int offset, int limit) {
+                    Page<T> page = query.load(tokens.get(offset), offset, limit);
+                    if (page == null) {
+                        return null;
+                    }
+                    if (page.hasNext()) {
+                        tokens.put(offset + page.getItems().size(), page.getNextPageToken());
+                    }
+                    return page.getItems();
+                }
+            };
+        }
+
+        /**
+         * Source over rows already in memory (e.g. the result of a client-side filter)
+         */
+        static <T> RowSource<T> of(List<T> rows) {
+            return new RowSource<T>() {
+                @Override
+                public int count() {
+                    return rows.size();
+                }
+
+                @Override
+                public List<T> load(int offset, int limit) {
+                    return rows.subList(Math.min(offset, rows.size()), Math.min(offset + limit, rows.size()));
+                }
+            };
+        }
+    }
+
+    /**
+     * Window query of RowSource.keyset()
+     */
+    @FunctionalInterface
+    public interface WindowQuery<T> {
+
+        /**
+         * @param pageToken token of the previous window if known, else null (read at offset)
+         * @return the window, or null if it could not be read
+         */
+        Page<T> load(String pageToken, int offset, int limit);
+    }
+
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+
+    // Wait before loading a failed window again, doubled on each failure up to the maximum
+    private static final int RETRY_DELAY_MS = 1_000;
+    private static final int MAX_RETRY_DELAY_MS = 30_000;
+    public static final int DEFAULT_MAX_WINDOWS = 8;
+
+    // One loader for all tables: reads are short and must not pile up on the reader pool
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "table-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String[] columnNames;
+    private final Function<T, Object[]> rowMapper;
+    private final int windowSize;
+    private final int maxWindows;
+
+    private final Map<Integer, Object[][]> windows = new HashMap<>();
+    private final Set<Integer> pending = new HashSet<>();
+    // Consecutive failures of each window that failed to load, and when it may be tried again
+    private final Map<Integer, Integer> failures = new HashMap<>();
+    private final Map<Integer, Long> retryAt = new HashMap<>();
+    private RowSource<T> source;
+    private int rowCount = 0;
+    private volatile int lastWindow = 0;
+    // Incremented on each refresh: results of earlier loads are discarded
+    private volatile int generation = 0;
+
+    public LazyTableModel(String[] columnNames, Function<T, Object[]> rowMapper) {
+        this(columnNames, rowMapper, DEFAULT_WINDOW_SIZE, DEFAULT_MAX_WINDOWS);
+    }
+
+    /**
+     * @param rowMapper converts a record to the cell values of its row, on the loader thread
+     * @param windowSize rows per window
+     * @param maxWindows windows kept in memory, at least 3 (previous, current and next)
+     */
+    public LazyTableModel(String[] columnNames, Function<T, Object[]> rowMapper, int windowSize, int maxWindows) {
+        this.columnNames = columnNames;
+        this.rowMapper = rowMapper;
+        this.windowSize = windowSize;
+        this.maxWindows = Math.max(3, maxWindows);
+    }
+
+    /**
+     * Display another source, e.g. after a filter change
+     */
+    public void setSource(RowSource<T> source) {
+        this.source = source;
+        refresh();
+    }
+
+    /**
+     * Drop the loaded windows and count the rows again; the cells are reloaded as they are displayed
+     */
+    public void refresh() {
+        if (source == null) {
+            return;
+        }
+        int current = ++generation;
+        RowSource<T> countedSource = source;
+        windows.clear();
+        pending.clear();
+        failures.clear();
+        retryAt.clear();
+
+        LOADER.execute(() -> {
+            int count;
+            try {
+                count = countedSource.count();
+            } catch (RuntimeException e) {
+                System.err.println("Error counting table rows: " + e.getMessage());
+                e.printStackTrace();
+                count = 0;
+            }
+            int total = count;
+            SwingUtilities.invokeLater(() -> {
+                if (current == generation) {
+                    rowCount = total;
+                    fireTableDataChanged();
+                }
+            });
+        });
+    }
+
+    /**
+     * Whether the row is loaded, i.e. getValueAt() returns its real values
+     */
+    public boolean isRowLoaded(int row) {
+        return windows.containsKey(row / windowSize);
+    }
+
+    public int getLoadedWindowCount() {
+        return windows.size();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    /**
+     * @return the value, or null while the window of the row is being loaded
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        int window = row / windowSize;
+        lastWindow = window;
+
+        Object[][] rows = windows.get(window);
+        if (rows == null) {
+            requestWindow(window);
+            return null;
+        }
+        // Prefetch the next window once this one is displayed
+        if (window + 1 <= (rowCount - 1) / windowSize) {
+            requestWindow(window + 1);
+        }
+
+        int index = row - window * windowSize;
+        return index < rows.length ? rows[index][column] : null;
+    }
+
+    private void requestWindow(int window) {
+        Long retryTime = retryAt.get(window);
+        if (retryTime != null && System.currentTimeMillis() < retryTime) {
+            // Failed recently: a timer repaints the rows when it may be tried again
+            return;
+        }
+        if (source == null || windows.containsKey(window) || !pending.add(window)) {
+            return;
+        }
+        int current = generation;
+        RowSource<T> windowSource = source;
+
+        LOADER.execute(() -> {
+            // Skip windows the user has already scrolled away from
+            if (current != generation || Math.abs(window - lastWindow) > maxWindows / 2) {
+                SwingUtilities.invokeLater(() -> {
+                    if (current == generation) {
+                        pending.remove(window);
+                    }
+                });
+                return;
+            }
+
+            Object[][] rows;
+            try {
+                List<T> records = windowSource.load(window * windowSize, windowSize);
+                if (records == null) {
+                    // The DAO has already reported the error
+                    rows = null;
+                } else {
+                    List<Object[]> mapped = new ArrayList<>(records.size());
+                    for (T record : records) {
+                        mapped.add(rowMapper.apply(record));
+                    }
+                    rows = mapped.toArray(new Object[0][]);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error loading table rows: " + e.getMessage());
+                e.printStackTrace();
+                rows = null;
+            }
+
+            Object[][] loaded = rows;
+            SwingUtilities.invokeLater(() -> windowLoaded(current, window, loaded));
+        });
+    }
+
+    private void windowLoaded(int loadGeneration, int window, Object[][] rows) {
+        if (loadGeneration != generation) {
+            return;
+        }
+        pending.remove(window);
+        if (rows == null) {
+            scheduleRetry(window);
+            return;
+        }
+        failures.remove(window);
+        retryAt.remove(window);
+
+        windows.put(window, rows);
+        while (windows.size() > maxWindows) {
+            int farthest = window;
+            for (int key : windows.keySet()) {
+                if (Math.abs(key - lastWindow) > Math.abs(farthest - lastWindow)) {
+                    farthest = key;
+                }
+            }
+            windows.remove(farthest);
+        }
+
+        fireWindowUpdated(window);
+    }
+
+    /**
+     * Do not load a failed window again before a delay, doubled on each consecutive
+     * failure, then repaint its rows so that the table requests it again
+     */
+    private void scheduleRetry(int window) {
+        int failed = failures.merge(window, 1, Integer::sum);
+        int delay = (int) Math.min(MAX_RETRY_DELAY_MS, (long) RETRY_DELAY_MS << Math.min(failed - 1, 16));
+        retryAt.put(window, System.currentTimeMillis() + delay);
+
+        int retryGeneration = generation;
+        Timer timer = new Timer(delay, e -> {
+            if (retryGeneration == generation) {
+                fireWindowUpdated(window);
+            }
+        });
+        timer.setRepeats(false);
+        timer.start();
+    }
+
+    private void fireWindowUpdated(int window) {
+        int first = window * windowSize;
+        int last = Math.min(first + windowSize, rowCount) - 1;
+        if (first <= last) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+}
@@ -2,13 +2,15 @@ package views.admin.dialogs;
 
 import dao.CitizenDAO;
 import dao.ParcelDAO;
+import dao.RegionRegistry;
 import models.Citizen;
 import models.Parcel;
-import utils.Constants;
+import views.AsyncLoader;
 
 import javax.swing.*;
 import java.awt.*;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -29,8 +31,9 @@ public class AddParcelDialog extends JDialog {
     private JTextField gpsField;
     private JComboBox<String> ownerCombo;
     private JTextField valueField;
+    private JButton saveButton;
 
-    private List<Citizen> allCitizens;
+    private List<Citizen> allCitizens = new ArrayList<>();
 
     public AddParcelDialog(Frame owner, ParcelDAO parcelDAO, CitizenDAO citizenDAO,
                            Runnable onSuccessCallback) {
@@ -39,12 +42,17 @@ public class AddParcelDialog extends JDialog {
         this.citizenDAO = citizenDAO;
         this.onSuccessCallback = onSuccessCallback;
 
-        loadData();
         initializeUI();
+        loadData();
     }
 
     private void loadData() {
-        allCitizens = citizenDAO.getAllCitizens();
+        ownerCombo.setEnabled(false);
+        AsyncLoader.submit(citizenDAO::getAllCitizens, citizens -> {
+            allCitizens = citizens != null ? citizens : new ArrayList<>();
+            ownerCombo.setModel(new DefaultComboBoxModel<>(createCitizenOptions()));
+            ownerCombo.setEnabled(true);
+        });
     }
 
     private void initializeUI() {
@@ -110,7 +118,7 @@ public class AddParcelDialog extends JDialog {
         gbc.gridx = 0;
         gbc.gridy = row;
         panel.add(new JLabel("Region:"), gbc);
-        regionCombo = new JComboBox<>(Constants.REGIONS);
+        regionCombo = new JComboBox<>(RegionRegistry.get().getRegionNames().toArray(new String[0]));
         gbc.gridx = 1;
         gbc.gridy = row++;
         panel.add(regionCombo, gbc);
@@ -146,7 +154,7 @@ public class AddParcelDialog extends JDialog {
 
         // Buttons
         JPanel buttonPanel = new JPanel();
-        JButton saveButton = createSaveButton();
+        saveButton = createSaveButton();
         JButton cancelButton = new JButton("Cancel");
         cancelButton.addActionListener(e -> dispose());
 
@@ -224,15 +232,19 @@ public class AddParcelDialog extends JDialog {
                 parcel.setEstimatedValue(new BigDecimal(valueField.getText().trim()));
             }
 
-            if (parcelDAO.createParcel(parcel)) {
-                JOptionPane.showMessageDialog(this, "Parcel created successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                if (onSuccessCallback != null) {
-                    onSuccessCallback.run();
+            saveButton.setEnabled(false);
+            AsyncLoader.submitWrite(() -> parcelDAO.createParcel(parcel), created -> {
+                if (Boolean.TRUE.equals(created)) {
+                    JOptionPane.showMessageDialog(this, "Parcel created successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    if (onSuccessCallback != null) {
+                        onSuccessCallback.run();
+                    }
+                    dispose();
+                } else {
+                    saveButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(this, "Failed to create parcel", "Error", JOptionPane.ERROR_MESSAGE);
                 }
-                dispose();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to create parcel", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
@@ -2,10 +2,12 @@ package views.admin.dialogs;
 
 import dao.UserDAO;
 import models.User;
+import views.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.List;
 
 /**
  * Dialog for displaying all users in the system
@@ -13,11 +15,13 @@ import java.awt.*;
 public class AllUsersDialog extends JDialog {
 
     private UserDAO userDAO;
+    private DefaultTableModel allUsersModel;
 
     public AllUsersDialog(Frame owner, UserDAO userDAO) {
         super(owner, "All Users", true);
         this.userDAO = userDAO;
         initializeUI();
+        AsyncLoader.submit(userDAO::getAllUsers, this::showUsers);
     }
 
     private void initializeUI() {
@@ -28,26 +32,13 @@ public class AllUsersDialog extends JDialog {
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
         String[] columnNames = {"ID", "Name", "Email", "Role", "Status", "Created"};
-        DefaultTableModel allUsersModel = new DefaultTableModel(columnNames, 0) {
+        allUsersModel = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
                 return false;
             }
         };
 
-        var allUsers = userDAO.getAllUsers();
-        for (User user : allUsers) {
-            Object[] row = {
-                    user.getUserId(),
-                    user.getFullName(),
-                    user.getEmail(),
-                    user.getRole(),
-                    user.getAccountStatus(),
-                    user.getCreatedAt() != null ? user.getCreatedAt().toString().substring(0, 10) : ""
-            };
-            allUsersModel.addRow(row);
-        }
-
         JTable table = new JTable(allUsersModel);
         table.setRowHeight(25);
         JScrollPane scrollPane = new JScrollPane(table);
@@ -62,4 +53,21 @@ public class AllUsersDialog extends JDialog {
 
         add(panel);
     }
+
+    private void showUsers(List<User> allUsers) {
+        if (allUsers == null) {
+            return;
+        }
+        for (User user : allUsers) {
+            Object[] row = {
+                    user.getUserId(),
+                    user.getFullName(),
+                    user.getEmail(),
+                    user.getRole(),
+                    user.getAccountStatus(),
+                    user.getCreatedAt() != null ? user.getCreatedAt().toString().substring(0, 10) : ""
+            };
+            allUsersModel.addRow(row);
+        }
+    }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package views.admin.panels;
 
-import dao.*;
-import models.User;
+import dao.ChangeDetector;
+import dao.StatisticsDAO;
+import dao.StatisticsDAO.AdminStatistics;
+import views.AsyncLoader;
+import views.ChangeRefresher;
 import views.admin.components.AdminStatCard;
 
 import javax.swing.*;
@@ -12,21 +15,19 @@ import java.awt.*;
  */
 public class AdminDashboardPanel extends JPanel {
 
-    private UserDAO userDAO;
-    private ParcelDAO parcelDAO;
-    private TransactionDAO transactionDAO;
-    private DisputeDAO disputeDAO;
+    private StatisticsDAO statisticsDAO;
 
     private JPanel statsPanel;
+    private final AsyncLoader<AdminStatistics> statisticsLoader = new AsyncLoader<>();
 
-    public AdminDashboardPanel(UserDAO userDAO, ParcelDAO parcelDAO,
-                               TransactionDAO transactionDAO, DisputeDAO disputeDAO) {
-        this.userDAO = userDAO;
-        this.parcelDAO = parcelDAO;
-        this.transactionDAO = transactionDAO;
-        this.disputeDAO = disputeDAO;
+    public AdminDashboardPanel(StatisticsDAO statisticsDAO) {
+        this.statisticsDAO = statisticsDAO;
 
         initializeUI();
+
+        // Reload only when the counted tables change, here or in another client
+        ChangeRefresher.install(this, this::refreshStats, ChangeDetector.USERS, ChangeDetector.PARCELS,
+                ChangeDetector.TRANSACTIONS, ChangeDetector.DISPUTES);
     }
 
     private void initializeUI() {
@@ -52,15 +53,19 @@ public class AdminDashboardPanel extends JPanel {
     }
 
     private void loadStatistics() {
+        // One query for all counters, in the background
+        statisticsLoader.load(statisticsDAO::getAdminStatistics, this::showStatistics);
+    }
+
+    private void showStatistics(AdminStatistics statistics) {
         statsPanel.removeAll();
 
-        // Get statistics
-        int totalUsers = userDAO.getAllUsers().size();
-        int pendingUsers = userDAO.getUsersByStatus(User.AccountStatus.PENDING).size();
-        int totalParcels = parcelDAO.getParcelCount();
-        int totalTransactions = transactionDAO.getAllTransactions().size();
-        int totalDisputes = disputeDAO.getDisputeCount();
-        int activeCitizens = userDAO.getUsersByRole(User.UserRole.CITIZEN).size();
+        int totalUsers = statistics.getTotalUsers();
+        int pendingUsers = statistics.getPendingUsers();
+        int totalParcels = statistics.getParcels();
+        int totalTransactions = statistics.getTransactions();
+        int totalDisputes = statistics.getDisputes();
+        int activeCitizens = statistics.getCitizens();
 
         // Create stat cards
         statsPanel.add(new AdminStatCard("Total Users", String.valueOf(totalUsers), new Color(52, 152, 219)));
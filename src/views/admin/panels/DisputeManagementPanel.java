@@ -1,14 +1,21 @@
 package views.admin.panels;
 
 import dao.DisputeDAO;
+import dao.SearchFilter;
 import models.Dispute;
+import utils.Constants;
+import views.AsyncLoader;
+import views.SearchPipeline;
+import views.admin.components.LazyTableModel;
+import views.admin.components.LazyTableModel.RowSource;
 import views.admin.dialogs.DisputeDetailsDialog;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * IMPROVED Dispute Management Panel with modern UI
@@ -17,7 +24,8 @@ public class DisputeManagementPanel extends JPanel {
 
     private DisputeDAO disputeDAO;
     private JTable disputeTable;
-    private DefaultTableModel disputeTableModel;
+    private LazyTableModel<Dispute> disputeTableModel;
+    private SearchPipeline<SearchFilter, List<Dispute>> searchPipeline;
     private JTextField searchField;
     private JComboBox<String> statusFilter;
     private JComboBox<String> priorityFilter;
@@ -114,7 +122,6 @@ public class DisputeManagementPanel extends JPanel {
                 BorderFactory.createLineBorder(new Color(189, 195, 199)),
                 BorderFactory.createEmptyBorder(5, 10, 5, 10)
         ));
-        searchField.addActionListener(e -> filterDisputes());
 
         // Status filter
         JLabel statusLabel = new JLabel("Status:");
@@ -126,7 +133,6 @@ public class DisputeManagementPanel extends JPanel {
         statusFilter.setFont(new Font("Arial", Font.PLAIN, 13));
         statusFilter.setPreferredSize(new Dimension(140, 35));
         statusFilter.setBackground(Color.WHITE);
-        statusFilter.addActionListener(e -> filterDisputes());
 
         // Priority filter
         JLabel priorityLabel = new JLabel("Priority:");
@@ -138,12 +144,18 @@ public class DisputeManagementPanel extends JPanel {
         priorityFilter.setFont(new Font("Arial", Font.PLAIN, 13));
         priorityFilter.setPreferredSize(new Dimension(140, 35));
         priorityFilter.setBackground(Color.WHITE);
-        priorityFilter.addActionListener(e -> filterDisputes());
 
         // Search button
         JButton searchBtn = createStyledButton("Search", new Color(231, 76, 60));
         searchBtn.setPreferredSize(new Dimension(100, 35));
-        searchBtn.addActionListener(e -> filterDisputes());
+        searchBtn.addActionListener(e -> searchPipeline.searchNow());
+
+        // Debounced search in SQL; narrower criteria are filtered from the last result
+        searchPipeline = new SearchPipeline<>(this::readFilter, disputeDAO::searchDisputes,
+                disputes -> disputeTableModel.setSource(RowSource.of(disputes)), this::loadDisputes)
+                .withRefinement(SearchFilter::narrows, this::refineDisputes,
+                        disputes -> disputes.size() < Constants.MAX_FILTER_RESULTS)
+                .listenTo(searchField, statusFilter, priorityFilter);
 
         searchPanel.add(searchIcon);
         searchPanel.add(searchField);
@@ -160,12 +172,8 @@ public class DisputeManagementPanel extends JPanel {
     private JScrollPane createModernTable() {
         String[] columnNames = {"ID", "Parcel #", "Type", "Status", "Priority", "Complainant", "Opened Date", "Agent"};
 
-        disputeTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Rows are read window by window as the table scrolls
+        disputeTableModel = new LazyTableModel<>(columnNames, this::toDisputeRow);
 
         disputeTable = new JTable(disputeTableModel);
         disputeTable.setFont(new Font("Arial", Font.PLAIN, 13));
@@ -362,53 +370,41 @@ public class DisputeManagementPanel extends JPanel {
         return button;
     }
 
-    private void filterDisputes() {
-        String searchText = searchField.getText().trim().toLowerCase();
+    /**
+     * Criteria of the search fields, null when none is set
+     */
+    private SearchFilter readFilter() {
         String status = (String) statusFilter.getSelectedItem();
         String priority = (String) priorityFilter.getSelectedItem();
+        SearchFilter filter = new SearchFilter(searchField.getText(),
+                "All Status".equals(status) ? null : status,
+                "All Priority".equals(priority) ? null : priority);
+        return filter.isEmpty() ? null : filter;
+    }
 
-        disputeTableModel.setRowCount(0);
-        var disputes = disputeDAO.getAllDisputes();
-
-        for (var dispute : disputes) {
-            // Status filter
-            if (!"All Status".equals(status) && !dispute.getStatus().toString().equals(status)) {
-                continue;
-            }
-
-            // Priority filter
-            if (!"All Priority".equals(priority) && !dispute.getPriority().toString().equals(priority)) {
-                continue;
-            }
-
-            // Search filter
-            String searchableText = (
-                    dispute.getDisputeId() + " " +
-                            dispute.getParcelId() + " " +
-                            dispute.getType() + " " +
-                            dispute.getStatus() + " " +
-                            dispute.getPriority()
-            ).toLowerCase();
-
-            if (!searchText.isEmpty() && !searchableText.contains(searchText)) {
-                continue;
+    /**
+     * Rows of a previous result that match narrower criteria
+     */
+    private List<Dispute> refineDisputes(List<Dispute> disputes, SearchFilter filter) {
+        List<Dispute> matches = new ArrayList<>();
+        for (Dispute dispute : disputes) {
+            if (DisputeDAO.matches(dispute, filter)) {
+                matches.add(dispute);
             }
-
-            addDisputeRow(dispute);
         }
+        return matches;
     }
 
+    /**
+     * Show all disputes; only the count and the visible rows are read
+     */
     public void loadDisputes() {
-        disputeTableModel.setRowCount(0);
-        var disputes = disputeDAO.getAllDisputes();
-
-        for (var dispute : disputes) {
-            addDisputeRow(dispute);
-        }
+        searchPipeline.reset();
+        disputeTableModel.setSource(RowSource.keyset(disputeDAO::getDisputeCount, disputeDAO::getDisputesWindow));
     }
 
-    private void addDisputeRow(Dispute dispute) {
-        Object[] row = {
+    private Object[] toDisputeRow(Dispute dispute) {
+        return new Object[]{
                 dispute.getDisputeId(),
                 "Parcel #" + dispute.getParcelId(),
                 dispute.getType(),
@@ -418,31 +414,30 @@ public class DisputeManagementPanel extends JPanel {
                 dispute.getOpenedDate() != null ? dispute.getOpenedDate().toString() : "N/A",
                 dispute.getAssignedAgentId() != null ? "Agent #" + dispute.getAssignedAgentId() : "Unassigned"
         };
-        disputeTableModel.addRow(row);
     }
 
     private void viewDisputeDetails() {
         int selectedRow = disputeTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !disputeTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a dispute to view", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
         int disputeId = (int) disputeTableModel.getValueAt(selectedRow, 0);
-        Dispute dispute = disputeDAO.getDisputeById(disputeId);
-
-        if (dispute != null) {
-            DisputeDetailsDialog dialog = new DisputeDetailsDialog(
-                    (Frame) SwingUtilities.getWindowAncestor(this),
-                    dispute
-            );
-            dialog.setVisible(true);
-        }
+        AsyncLoader.submit(() -> disputeDAO.getDisputeById(disputeId), dispute -> {
+            if (dispute != null) {
+                DisputeDetailsDialog dialog = new DisputeDetailsDialog(
+                        (Frame) SwingUtilities.getWindowAncestor(this),
+                        dispute
+                );
+                dialog.setVisible(true);
+            }
+        });
     }
 
     private void assignAgent() {
         int selectedRow = disputeTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !disputeTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a dispute to assign", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -466,12 +461,14 @@ public class DisputeManagementPanel extends JPanel {
                 int disputeId = (int) disputeTableModel.getValueAt(selectedRow, 0);
                 int agentId = Integer.parseInt(agentIdStr.trim());
 
-                if (disputeDAO.assignAgent(disputeId, agentId)) {
-                    showStyledMessage("✓ Agent assigned successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                    loadDisputes();
-                } else {
-                    showStyledMessage("✗ Failed to assign agent", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                AsyncLoader.submitWrite(() -> disputeDAO.assignAgent(disputeId, agentId), assigned -> {
+                    if (Boolean.TRUE.equals(assigned)) {
+                        showStyledMessage("✓ Agent assigned successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        loadDisputes();
+                    } else {
+                        showStyledMessage("✗ Failed to assign agent", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             } catch (NumberFormatException ex) {
                 showStyledMessage("Please enter a valid Agent ID (number)", "Invalid Input", JOptionPane.ERROR_MESSAGE);
             }
@@ -480,7 +477,7 @@ public class DisputeManagementPanel extends JPanel {
 
     private void resolveDispute() {
         int selectedRow = disputeTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !disputeTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a dispute to resolve", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -510,12 +507,14 @@ public class DisputeManagementPanel extends JPanel {
             if (!resolution.isEmpty()) {
                 int disputeId = (int) disputeTableModel.getValueAt(selectedRow, 0);
 
-                if (disputeDAO.resolveDispute(disputeId, resolution)) {
-                    showStyledMessage("✓ Dispute resolved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                    loadDisputes();
-                } else {
-                    showStyledMessage("✗ Failed to resolve dispute", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                AsyncLoader.submitWrite(() -> disputeDAO.resolveDispute(disputeId, resolution), resolved -> {
+                    if (Boolean.TRUE.equals(resolved)) {
+                        showStyledMessage("✓ Dispute resolved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                        loadDisputes();
+                    } else {
+                        showStyledMessage("✗ Failed to resolve dispute", "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             } else {
                 showStyledMessage("Resolution details cannot be empty", "Invalid Input", JOptionPane.WARNING_MESSAGE);
             }
@@ -524,7 +523,7 @@ public class DisputeManagementPanel extends JPanel {
 
     private void closeDispute() {
         int selectedRow = disputeTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !disputeTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a dispute to close", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -548,12 +547,14 @@ public class DisputeManagementPanel extends JPanel {
         if (confirm == JOptionPane.YES_OPTION) {
             // Assuming there's a closeDispute method in DAO
             // For now, we'll use resolveDispute with "CLOSED" status
-            if (disputeDAO.resolveDispute(disputeId, "Dispute closed by administrator")) {
-                showStyledMessage("✓ Dispute closed successfully", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadDisputes();
-            } else {
-                showStyledMessage("✗ Failed to close dispute", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            AsyncLoader.submitWrite(() -> disputeDAO.resolveDispute(disputeId, "Dispute closed by administrator"), closed -> {
+                if (Boolean.TRUE.equals(closed)) {
+                    showStyledMessage("✓ Dispute closed successfully", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    loadDisputes();
+                } else {
+                    showStyledMessage("✗ Failed to close dispute", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
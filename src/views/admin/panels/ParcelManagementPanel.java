@@ -2,13 +2,20 @@ package views.admin.panels;
 
 import dao.CitizenDAO;
 import dao.ParcelDAO;
+import dao.ParcelQuery;
+import dao.RegionRegistry;
+import dao.SearchFilter;
 import models.Parcel;
+import models.Parcel.ParcelStatus;
+import views.AsyncLoader;
+import views.SearchPipeline;
+import views.admin.components.LazyTableModel;
+import views.admin.components.LazyTableModel.RowSource;
 import views.admin.dialogs.AddParcelDialog;
 import views.admin.dialogs.ParcelDetailsDialog;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 
@@ -20,17 +27,18 @@ public class ParcelManagementPanel extends JPanel {
     private ParcelDAO parcelDAO;
     private CitizenDAO citizenDAO;
     private JTable parcelTable;
-    private DefaultTableModel parcelTableModel;
+    private LazyTableModel<Parcel> parcelTableModel;
     private JTextField searchField;
     private JComboBox<String> statusFilter;
     private JComboBox<String> regionFilter;
+    private SearchPipeline<SearchFilter, RowSource<Parcel>> searchPipeline;
 
     public ParcelManagementPanel(ParcelDAO parcelDAO, CitizenDAO citizenDAO) {
         this.parcelDAO = parcelDAO;
         this.citizenDAO = citizenDAO;
 
         initializeUI();
-//        loadParcels();
+        loadParcels();
     }
 
     private void initializeUI() {
@@ -125,7 +133,6 @@ public class ParcelManagementPanel extends JPanel {
                 BorderFactory.createLineBorder(new Color(189, 195, 199)),
                 BorderFactory.createEmptyBorder(5, 10, 5, 10)
         ));
-        searchField.addActionListener(e -> filterParcels());
 
         // Status filter
         JLabel statusLabel = new JLabel("Status:");
@@ -137,25 +144,29 @@ public class ParcelManagementPanel extends JPanel {
         statusFilter.setFont(new Font("Arial", Font.PLAIN, 13));
         statusFilter.setPreferredSize(new Dimension(150, 35));
         statusFilter.setBackground(Color.WHITE);
-        statusFilter.addActionListener(e -> filterParcels());
 
         // Region filter
         JLabel regionLabel = new JLabel("Region:");
         regionLabel.setFont(new Font("Arial", Font.BOLD, 13));
 
-        regionFilter = new JComboBox<>(new String[]{
-                "All Regions", "Dakar", "Thies", "Saint-Louis", "Ziguinchor", "Kaolack",
-                "Tambacounda", "Louga", "Fatick", "Kolda", "Matam", "Kaffrine", "Kedougou", "Sedhiou", "Diourbel"
-        });
+        regionFilter = new JComboBox<>();
+        regionFilter.addItem("All Regions");
+        for (String regionName : RegionRegistry.get().getRegionNames()) {
+            regionFilter.addItem(regionName);
+        }
         regionFilter.setFont(new Font("Arial", Font.PLAIN, 13));
         regionFilter.setPreferredSize(new Dimension(140, 35));
         regionFilter.setBackground(Color.WHITE);
-        regionFilter.addActionListener(e -> filterParcels());
 
         // Search button
         JButton searchBtn = createStyledButton("Search", new Color(46, 204, 113));
         searchBtn.setPreferredSize(new Dimension(100, 35));
-        searchBtn.addActionListener(e -> filterParcels());
+        searchBtn.addActionListener(e -> searchPipeline.searchNow());
+
+        // No refinement in memory: the matches are read by window, never held in full
+        searchPipeline = new SearchPipeline<>(this::readFilter, this::toRowSource,
+                source -> parcelTableModel.setSource(source), this::loadParcels)
+                .listenTo(searchField, statusFilter, regionFilter);
 
         searchPanel.add(searchIcon);
         searchPanel.add(searchField);
@@ -172,12 +183,8 @@ public class ParcelManagementPanel extends JPanel {
     private JScrollPane createModernTable() {
         String[] columnNames = {"ID", "Parcel #", "Land Title", "Area", "Type", "Status", "Owner", "Region"};
 
-        parcelTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Rows are read window by window as the table scrolls
+        parcelTableModel = new LazyTableModel<>(columnNames, this::toParcelRow);
 
         parcelTable = new JTable(parcelTableModel);
         parcelTable.setFont(new Font("Arial", Font.PLAIN, 13));
@@ -349,53 +356,46 @@ public class ParcelManagementPanel extends JPanel {
         return button;
     }
 
-    private void filterParcels() {
-        String searchText = searchField.getText().trim().toLowerCase();
+    /**
+     * Criteria of the search fields, null when none is set
+     */
+    private SearchFilter readFilter() {
         String status = (String) statusFilter.getSelectedItem();
         String region = (String) regionFilter.getSelectedItem();
+        SearchFilter filter = new SearchFilter(searchField.getText(),
+                "All Status".equals(status) ? null : status,
+                "All Regions".equals(region) ? null : region);
+        return filter.isEmpty() ? null : filter;
+    }
 
-        parcelTableModel.setRowCount(0);
-        var parcels = parcelDAO.getAllParcels();
-
-        for (var parcel : parcels) {
-            // Status filter
-            if (!"All Status".equals(status) && !parcel.getStatus().toString().equals(status)) {
-                continue;
-            }
-
-            // Region filter
-            if (!"All Regions".equals(region) && !parcel.getRegion().equals(region)) {
-                continue;
-            }
-
-            // Search filter
-            String searchableText = (
-                    parcel.getParcelId() + " " +
-                            parcel.getParcelNumber() + " " +
-                            (parcel.getLandTitle() != null ? parcel.getLandTitle() : "") + " " +
-                            parcel.getLandType() + " " +
-                            parcel.getRegion()
-            ).toLowerCase();
-
-            if (!searchText.isEmpty() && !searchableText.contains(searchText)) {
-                continue;
-            }
-
-            addParcelRow(parcel);
+    /**
+     * Filtered in SQL: only the count and the visible matches are read
+     */
+    private RowSource<Parcel> toRowSource(SearchFilter filter) {
+        ParcelQuery query = new ParcelQuery().setText(
+                filter.getText() != null ? filter.getText().toLowerCase() : null);
+        if (filter.getValue(0) != null) {
+            query.setStatus(ParcelStatus.valueOf(filter.getValue(0)));
+        }
+        if (filter.getValue(1) != null) {
+            query.setRegion(filter.getValue(1));
         }
+
+        return RowSource.from(
+                () -> parcelDAO.countParcels(query),
+                (offset, limit) -> parcelDAO.findParcels(query, offset, limit));
     }
 
+    /**
+     * Show all parcels; only the count and the visible rows are read
+     */
     public void loadParcels() {
-        parcelTableModel.setRowCount(0);
-        var parcels = parcelDAO.getAllParcels();
-
-        for (var parcel : parcels) {
-            addParcelRow(parcel);
-        }
+        searchPipeline.reset();
+        parcelTableModel.setSource(RowSource.keyset(parcelDAO::getParcelCount, parcelDAO::getParcelsWindow));
     }
 
-    private void addParcelRow(Parcel parcel) {
-        Object[] row = {
+    private Object[] toParcelRow(Parcel parcel) {
+        return new Object[]{
                 parcel.getParcelId(),
                 parcel.getParcelNumber(),
                 parcel.getLandTitle() != null ? parcel.getLandTitle() : "N/A",
@@ -405,7 +405,6 @@ public class ParcelManagementPanel extends JPanel {
                 parcel.getCurrentOwnerId() > 0 ? "Citizen #" + parcel.getCurrentOwnerId() : "Unassigned",
                 parcel.getRegion()
         };
-        parcelTableModel.addRow(row);
     }
 
     private void showAddParcelDialog() {
@@ -420,26 +419,26 @@ public class ParcelManagementPanel extends JPanel {
 
     private void viewParcelDetails() {
         int selectedRow = parcelTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !parcelTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a parcel to view", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
         int parcelId = (int) parcelTableModel.getValueAt(selectedRow, 0);
-        Parcel parcel = parcelDAO.getParcelById(parcelId);
-
-        if (parcel != null) {
-            ParcelDetailsDialog dialog = new ParcelDetailsDialog(
-                    (Frame) SwingUtilities.getWindowAncestor(this),
-                    parcel
-            );
-            dialog.setVisible(true);
-        }
+        AsyncLoader.submit(() -> parcelDAO.getParcelById(parcelId), parcel -> {
+            if (parcel != null) {
+                ParcelDetailsDialog dialog = new ParcelDetailsDialog(
+                        (Frame) SwingUtilities.getWindowAncestor(this),
+                        parcel
+                );
+                dialog.setVisible(true);
+            }
+        });
     }
 
     private void editParcel() {
         int selectedRow = parcelTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !parcelTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a parcel to edit", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -450,7 +449,7 @@ public class ParcelManagementPanel extends JPanel {
 
     private void deleteParcel() {
         int selectedRow = parcelTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !parcelTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a parcel to delete", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -481,12 +480,14 @@ public class ParcelManagementPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (parcelDAO.deleteParcel(parcelId)) {
-                showStyledMessage("✓ Parcel deleted successfully", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadParcels();
-            } else {
-                showStyledMessage("✗ Failed to delete parcel.\nCheck console for details.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            AsyncLoader.submitWrite(() -> parcelDAO.deleteParcel(parcelId), deleted -> {
+                if (Boolean.TRUE.equals(deleted)) {
+                    showStyledMessage("✓ Parcel deleted successfully", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    loadParcels();
+                } else {
+                    showStyledMessage("✗ Failed to delete parcel.\nCheck console for details.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
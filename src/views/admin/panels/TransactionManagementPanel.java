@@ -1,14 +1,21 @@
 package views.admin.panels;
 
+import dao.SearchFilter;
 import dao.TransactionDAO;
 import models.Transaction;
+import utils.Constants;
+import views.AsyncLoader;
+import views.SearchPipeline;
+import views.admin.components.LazyTableModel;
+import views.admin.components.LazyTableModel.RowSource;
 import views.admin.dialogs.TransactionDetailsDialog;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * IMPROVED Transaction Management Panel with modern UI
@@ -17,7 +24,8 @@ public class TransactionManagementPanel extends JPanel {
 
     private TransactionDAO transactionDAO;
     private JTable transactionTable;
-    private DefaultTableModel transactionTableModel;
+    private LazyTableModel<Transaction> transactionTableModel;
+    private SearchPipeline<SearchFilter, List<Transaction>> searchPipeline;
     private JTextField searchField;
     private JComboBox<String> statusFilter;
 
@@ -112,7 +120,6 @@ public class TransactionManagementPanel extends JPanel {
                 BorderFactory.createLineBorder(new Color(189, 195, 199)),
                 BorderFactory.createEmptyBorder(5, 10, 5, 10)
         ));
-        searchField.addActionListener(e -> filterTransactions());
 
         // Status filter
         JLabel filterLabel = new JLabel("Status:");
@@ -124,12 +131,18 @@ public class TransactionManagementPanel extends JPanel {
         statusFilter.setFont(new Font("Arial", Font.PLAIN, 13));
         statusFilter.setPreferredSize(new Dimension(150, 35));
         statusFilter.setBackground(Color.WHITE);
-        statusFilter.addActionListener(e -> filterTransactions());
 
         // Search button
         JButton searchBtn = createStyledButton("Search", new Color(52, 152, 219));
         searchBtn.setPreferredSize(new Dimension(100, 35));
-        searchBtn.addActionListener(e -> filterTransactions());
+        searchBtn.addActionListener(e -> searchPipeline.searchNow());
+
+        // Debounced search in SQL; narrower criteria are filtered from the last result
+        searchPipeline = new SearchPipeline<>(this::readFilter, transactionDAO::searchTransactions,
+                transactions -> transactionTableModel.setSource(RowSource.of(transactions)), this::loadTransactions)
+                .withRefinement(SearchFilter::narrows, this::refineTransactions,
+                        transactions -> transactions.size() < Constants.MAX_FILTER_RESULTS)
+                .listenTo(searchField, statusFilter);
 
         searchPanel.add(searchIcon);
         searchPanel.add(searchField);
@@ -144,12 +157,8 @@ public class TransactionManagementPanel extends JPanel {
     private JScrollPane createModernTable() {
         String[] columnNames = {"ID", "Parcel #", "Type", "Amount (FCFA)", "Date", "Status", "From", "To"};
 
-        transactionTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Rows are read window by window as the table scrolls
+        transactionTableModel = new LazyTableModel<>(columnNames, this::toTransactionRow);
 
         transactionTable = new JTable(transactionTableModel);
         transactionTable.setFont(new Font("Arial", Font.PLAIN, 13));
@@ -300,46 +309,39 @@ public class TransactionManagementPanel extends JPanel {
         return button;
     }
 
-    private void filterTransactions() {
-        String searchText = searchField.getText().trim().toLowerCase();
+    /**
+     * Criteria of the search fields, null when none is set
+     */
+    private SearchFilter readFilter() {
         String status = (String) statusFilter.getSelectedItem();
+        SearchFilter filter = new SearchFilter(searchField.getText(),
+                "All Status".equals(status) ? null : status);
+        return filter.isEmpty() ? null : filter;
+    }
 
-        transactionTableModel.setRowCount(0);
-        var transactions = transactionDAO.getAllTransactions();
-
-        for (var transaction : transactions) {
-            // Status filter
-            if (!"All Status".equals(status) && !transaction.getStatus().toString().equals(status)) {
-                continue;
-            }
-
-            // Search filter
-            String searchableText = (
-                    transaction.getTransactionId() + " " +
-                            transaction.getParcelId() + " " +
-                            transaction.getType() + " " +
-                            transaction.getStatus()
-            ).toLowerCase();
-
-            if (!searchText.isEmpty() && !searchableText.contains(searchText)) {
-                continue;
+    /**
+     * Rows of a previous result that match narrower criteria
+     */
+    private List<Transaction> refineTransactions(List<Transaction> transactions, SearchFilter filter) {
+        List<Transaction> matches = new ArrayList<>();
+        for (Transaction transaction : transactions) {
+            if (TransactionDAO.matches(transaction, filter)) {
+                matches.add(transaction);
             }
-
-            addTransactionRow(transaction);
         }
+        return matches;
     }
 
+    /**
+     * Show all transactions; only the count and the visible rows are read
+     */
     public void loadTransactions() {
-        transactionTableModel.setRowCount(0);
-        var transactions = transactionDAO.getAllTransactions();
-
-        for (var transaction : transactions) {
-            addTransactionRow(transaction);
-        }
+        searchPipeline.reset();
+        transactionTableModel.setSource(RowSource.keyset(transactionDAO::getTransactionCount, transactionDAO::getTransactionsWindow));
     }
 
-    private void addTransactionRow(Transaction transaction) {
-        Object[] row = {
+    private Object[] toTransactionRow(Transaction transaction) {
+        return new Object[]{
                 transaction.getTransactionId(),
                 "Parcel #" + transaction.getParcelId(),
                 transaction.getType(),
@@ -349,12 +351,11 @@ public class TransactionManagementPanel extends JPanel {
                 transaction.getPreviousOwnerId() != null ? "Citizen #" + transaction.getPreviousOwnerId() : "N/A",
                 "Citizen #" + transaction.getNewOwnerId()
         };
-        transactionTableModel.addRow(row);
     }
 
     private void approveTransaction() {
         int selectedRow = transactionTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !transactionTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a transaction to approve", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -376,18 +377,20 @@ public class TransactionManagementPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (transactionDAO.approveTransaction(transactionId, 1)) {
-                showStyledMessage("✓ Transaction approved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadTransactions();
-            } else {
-                showStyledMessage("✗ Failed to approve transaction.\nCheck console for details.", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            AsyncLoader.submitWrite(() -> transactionDAO.approveTransaction(transactionId, 1), approved -> {
+                if (Boolean.TRUE.equals(approved)) {
+                    showStyledMessage("✓ Transaction approved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    loadTransactions();
+                } else {
+                    showStyledMessage("✗ Failed to approve transaction.\nCheck console for details.", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
     private void rejectTransaction() {
         int selectedRow = transactionTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !transactionTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a transaction to reject", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -409,32 +412,34 @@ public class TransactionManagementPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            if (transactionDAO.rejectTransaction(transactionId, 1)) {
-                showStyledMessage("Transaction rejected successfully", "Rejected", JOptionPane.INFORMATION_MESSAGE);
-                loadTransactions();
-            } else {
-                showStyledMessage("Failed to reject transaction", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            AsyncLoader.submitWrite(() -> transactionDAO.rejectTransaction(transactionId, 1), rejected -> {
+                if (Boolean.TRUE.equals(rejected)) {
+                    showStyledMessage("Transaction rejected successfully", "Rejected", JOptionPane.INFORMATION_MESSAGE);
+                    loadTransactions();
+                } else {
+                    showStyledMessage("Failed to reject transaction", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
     private void viewTransactionDetails() {
         int selectedRow = transactionTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !transactionTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a transaction to view", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
         int transactionId = (int) transactionTableModel.getValueAt(selectedRow, 0);
-        Transaction transaction = transactionDAO.getTransactionById(transactionId);
-
-        if (transaction != null) {
-            TransactionDetailsDialog dialog = new TransactionDetailsDialog(
-                    (Frame) SwingUtilities.getWindowAncestor(this),
-                    transaction
-            );
-            dialog.setVisible(true);
-        }
+        AsyncLoader.submit(() -> transactionDAO.getTransactionById(transactionId), transaction -> {
+            if (transaction != null) {
+                TransactionDetailsDialog dialog = new TransactionDetailsDialog(
+                        (Frame) SwingUtilities.getWindowAncestor(this),
+                        transaction
+                );
+                dialog.setVisible(true);
+            }
+        });
     }
 
     private void showStyledMessage(String message, String title, int messageType) {
@@ -1,14 +1,21 @@
 package views.admin.panels;
 
+import dao.SearchFilter;
 import dao.UserDAO;
 import models.User;
+import utils.Constants;
+import views.AsyncLoader;
+import views.SearchPipeline;
+import views.admin.components.LazyTableModel;
+import views.admin.components.LazyTableModel.RowSource;
 import views.admin.dialogs.AllUsersDialog;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * IMPROVED User Management Panel with modern UI
@@ -18,7 +25,8 @@ public class UserManagementPanel extends JPanel {
     private UserDAO userDAO;
     private Runnable onChangeCallback;
     private JTable userTable;
-    private DefaultTableModel userTableModel;
+    private LazyTableModel<User> userTableModel;
+    private SearchPipeline<SearchFilter, List<User>> searchPipeline;
     private JTextField searchField;
     private JComboBox<String> roleFilter;
     private JComboBox<String> statusFilter;
@@ -123,7 +131,6 @@ public class UserManagementPanel extends JPanel {
                 BorderFactory.createLineBorder(new Color(189, 195, 199)),
                 BorderFactory.createEmptyBorder(5, 10, 5, 10)
         ));
-        searchField.addActionListener(e -> filterUsers());
 
         // Role filter
         JLabel roleLabel = new JLabel("Role:");
@@ -135,7 +142,6 @@ public class UserManagementPanel extends JPanel {
         roleFilter.setFont(new Font("Arial", Font.PLAIN, 13));
         roleFilter.setPreferredSize(new Dimension(140, 35));
         roleFilter.setBackground(Color.WHITE);
-        roleFilter.addActionListener(e -> filterUsers());
 
         // Status filter
         JLabel statusLabel = new JLabel("Status:");
@@ -147,12 +153,18 @@ public class UserManagementPanel extends JPanel {
         statusFilter.setFont(new Font("Arial", Font.PLAIN, 13));
         statusFilter.setPreferredSize(new Dimension(140, 35));
         statusFilter.setBackground(Color.WHITE);
-        statusFilter.addActionListener(e -> filterUsers());
 
         // Search button
         JButton searchBtn = createStyledButton("Search", new Color(155, 89, 182));
         searchBtn.setPreferredSize(new Dimension(100, 35));
-        searchBtn.addActionListener(e -> filterUsers());
+        searchBtn.addActionListener(e -> searchPipeline.searchNow());
+
+        // Debounced search in SQL; narrower criteria are filtered from the last result
+        searchPipeline = new SearchPipeline<>(this::readFilter, userDAO::searchUsers,
+                users -> userTableModel.setSource(RowSource.of(users)), this::loadUsers)
+                .withRefinement(SearchFilter::narrows, this::refineUsers,
+                        users -> users.size() < Constants.MAX_FILTER_RESULTS)
+                .listenTo(searchField, roleFilter, statusFilter);
 
         searchPanel.add(searchIcon);
         searchPanel.add(searchField);
@@ -169,12 +181,8 @@ public class UserManagementPanel extends JPanel {
     private JScrollPane createModernTable() {
         String[] columnNames = {"ID", "Name", "Email", "Phone", "Role", "Status", "Created"};
 
-        userTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // Rows are read window by window as the table scrolls
+        userTableModel = new LazyTableModel<>(columnNames, this::toUserRow);
 
         userTable = new JTable(userTableModel);
         userTable.setFont(new Font("Arial", Font.PLAIN, 13));
@@ -360,52 +368,41 @@ public class UserManagementPanel extends JPanel {
         return button;
     }
 
-    private void filterUsers() {
-        String searchText = searchField.getText().trim().toLowerCase();
+    /**
+     * Criteria of the search fields, null when none is set
+     */
+    private SearchFilter readFilter() {
         String role = (String) roleFilter.getSelectedItem();
         String status = (String) statusFilter.getSelectedItem();
+        SearchFilter filter = new SearchFilter(searchField.getText(),
+                "All Roles".equals(role) ? null : role,
+                "All Status".equals(status) ? null : status);
+        return filter.isEmpty() ? null : filter;
+    }
 
-        userTableModel.setRowCount(0);
-        var users = userDAO.getAllUsers();
-
+    /**
+     * Rows of a previous result that match narrower criteria
+     */
+    private List<User> refineUsers(List<User> users, SearchFilter filter) {
+        List<User> matches = new ArrayList<>();
         for (User user : users) {
-            // Role filter
-            if (!"All Roles".equals(role) && !user.getRole().toString().equals(role)) {
-                continue;
+            if (UserDAO.matches(user, filter)) {
+                matches.add(user);
             }
-
-            // Status filter
-            if (!"All Status".equals(status) && !user.getAccountStatus().toString().equals(status)) {
-                continue;
-            }
-
-            // Search filter
-            String searchableText = (
-                    user.getUserId() + " " +
-                            user.getFullName() + " " +
-                            user.getEmail() + " " +
-                            user.getPhone()
-            ).toLowerCase();
-
-            if (!searchText.isEmpty() && !searchableText.contains(searchText)) {
-                continue;
-            }
-
-            addUserRow(user);
         }
+        return matches;
     }
 
+    /**
+     * Show all users; only the count and the visible rows are read
+     */
     private void loadUsers() {
-        userTableModel.setRowCount(0);
-        var users = userDAO.getAllUsers();
-
-        for (User user : users) {
-            addUserRow(user);
-        }
+        searchPipeline.reset();
+        userTableModel.setSource(RowSource.keyset(userDAO::getUserCount, userDAO::getUsersWindow));
     }
 
-    private void addUserRow(User user) {
-        Object[] row = {
+    private Object[] toUserRow(User user) {
+        return new Object[]{
                 user.getUserId(),
                 user.getFullName(),
                 user.getEmail(),
@@ -414,7 +411,6 @@ public class UserManagementPanel extends JPanel {
                 user.getAccountStatus(),
                 user.getCreatedAt() != null ? user.getCreatedAt().toString().substring(0, 10) : "N/A"
         };
-        userTableModel.addRow(row);
     }
 
     private void refreshTable() {
@@ -426,7 +422,7 @@ public class UserManagementPanel extends JPanel {
 
     private void approveSelectedUser() {
         int selectedRow = userTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !userTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a user to approve", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -449,19 +445,20 @@ public class UserManagementPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            boolean success = userDAO.updateAccountStatus(userId, User.AccountStatus.ACTIVE);
-            if (success) {
-                showStyledMessage("✓ User approved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshTable();
-            } else {
-                showStyledMessage("✗ Failed to approve user", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            AsyncLoader.submitWrite(() -> userDAO.updateAccountStatus(userId, User.AccountStatus.ACTIVE), success -> {
+                if (Boolean.TRUE.equals(success)) {
+                    showStyledMessage("✓ User approved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    refreshTable();
+                } else {
+                    showStyledMessage("✗ Failed to approve user", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
     private void rejectSelectedUser() {
         int selectedRow = userTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !userTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a user to reject", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -478,19 +475,20 @@ public class UserManagementPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            boolean success = userDAO.updateAccountStatus(userId, User.AccountStatus.REJECTED);
-            if (success) {
-                showStyledMessage("User rejected", "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshTable();
-            } else {
-                showStyledMessage("✗ Failed to reject user", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            AsyncLoader.submitWrite(() -> userDAO.updateAccountStatus(userId, User.AccountStatus.REJECTED), success -> {
+                if (Boolean.TRUE.equals(success)) {
+                    showStyledMessage("User rejected", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    refreshTable();
+                } else {
+                    showStyledMessage("✗ Failed to reject user", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
     private void suspendSelectedUser() {
         int selectedRow = userTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !userTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a user to suspend", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -512,19 +510,20 @@ public class UserManagementPanel extends JPanel {
         );
 
         if (reason != null && !reason.trim().isEmpty()) {
-            boolean success = userDAO.updateAccountStatus(userId, User.AccountStatus.SUSPENDED);
-            if (success) {
-                showStyledMessage("✓ User suspended\n\nReason: " + reason, "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshTable();
-            } else {
-                showStyledMessage("✗ Failed to suspend user", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            AsyncLoader.submitWrite(() -> userDAO.updateAccountStatus(userId, User.AccountStatus.SUSPENDED), success -> {
+                if (Boolean.TRUE.equals(success)) {
+                    showStyledMessage("✓ User suspended\n\nReason: " + reason, "Success", JOptionPane.INFORMATION_MESSAGE);
+                    refreshTable();
+                } else {
+                    showStyledMessage("✗ Failed to suspend user", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
     private void activateSelectedUser() {
         int selectedRow = userTable.getSelectedRow();
-        if (selectedRow == -1) {
+        if (selectedRow == -1 || !userTableModel.isRowLoaded(selectedRow)) {
             showStyledMessage("Please select a user to activate", "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -546,13 +545,14 @@ public class UserManagementPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            boolean success = userDAO.updateAccountStatus(userId, User.AccountStatus.ACTIVE);
-            if (success) {
-                showStyledMessage("✓ User activated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                refreshTable();
-            } else {
-                showStyledMessage("✗ Failed to activate user", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            AsyncLoader.submitWrite(() -> userDAO.updateAccountStatus(userId, User.AccountStatus.ACTIVE), success -> {
+                if (Boolean.TRUE.equals(success)) {
+                    showStyledMessage("✓ User activated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    refreshTable();
+                } else {
+                    showStyledMessage("✗ Failed to activate user", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -2,6 +2,7 @@ package views.agent.dialogs;
 
 import dao.ParcelDAO;
 import models.Parcel;
+import views.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -20,6 +21,7 @@ public class AddParcelNoteDialog extends JDialog {
     // Form components
     private JTextArea noteTextArea;
     private JCheckBox importantCheckBox;
+    private JButton addButton;
 
     public AddParcelNoteDialog(Frame parent, Parcel parcel, Runnable onSuccess) {
         super(parent, "Add Note to Parcel", true);
@@ -243,7 +245,7 @@ public class AddParcelNoteDialog extends JDialog {
         cancelButton.addActionListener(e -> dispose());
 
         // Add Note button
-        JButton addButton = new JButton("Add Note");
+        addButton = new JButton("Add Note");
         addButton.setFont(new Font("Arial", Font.BOLD, 14));
         addButton.setPreferredSize(new Dimension(140, 40));
         addButton.setBackground(new Color(52, 152, 219));
@@ -309,32 +311,36 @@ public class AddParcelNoteDialog extends JDialog {
         }
 
         // Update in database
-        boolean success = parcelDAO.updateParcel(parcel);
-
-        if (success) {
-            String message = "Note added successfully to parcel " + parcel.getParcelNumber();
-            if (importantCheckBox.isSelected()) {
-                message += "\n\n⚠️ Note marked as IMPORTANT";
-            }
-
-            JOptionPane.showMessageDialog(
-                    this,
-                    message,
-                    "Success",
-                    JOptionPane.INFORMATION_MESSAGE
-            );
-
-            if (onSuccess != null) {
-                onSuccess.run();
+        addButton.setEnabled(false);
+        AsyncLoader.submitWrite(() -> parcelDAO.updateParcel(parcel), success -> {
+            if (Boolean.TRUE.equals(success)) {
+                String message = "Note added successfully to parcel " + parcel.getParcelNumber();
+                if (importantCheckBox.isSelected()) {
+                    message += "\n\n⚠️ Note marked as IMPORTANT";
+                }
+
+                JOptionPane.showMessageDialog(
+                        this,
+                        message,
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE
+                );
+
+                if (onSuccess != null) {
+                    onSuccess.run();
+                }
+                dispose();
+            } else {
+                // Not saved: a second attempt must not append the note twice
+                parcel.setNotes(existingNotes);
+                addButton.setEnabled(true);
+                JOptionPane.showMessageDialog(
+                        this,
+                        "Failed to add note. Please try again.",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE
+                );
             }
-            dispose();
-        } else {
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Failed to add note. Please try again.",
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
+        });
     }
 }
\ No newline at end of file
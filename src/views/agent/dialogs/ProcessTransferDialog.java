@@ -4,6 +4,7 @@ import dao.*;
 import models.*;
 import models.Transaction.*;
 import utils.ParcelNumberGenerator;
+import views.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -36,6 +37,7 @@ public class ProcessTransferDialog extends JDialog {
     private JButton searchButton;
     private JPanel parcelInfoPanel;
     private Parcel selectedParcel;
+    private Citizen selectedOwner;
 
     // Step 2: Transfer Details
     private JLabel currentOwnerLabel;
@@ -62,7 +64,7 @@ public class ProcessTransferDialog extends JDialog {
     private JButton nextButton;
     private JButton submitButton;
 
-    private List<Citizen> allCitizens;
+    private List<Citizen> allCitizens = new ArrayList<>();
 
     public ProcessTransferDialog(Frame parent, LandAgent agent, Runnable onSuccess) {
         super(parent, "Process Land Transfer", true);
@@ -523,10 +525,19 @@ public class ProcessTransferDialog extends JDialog {
     }
 
     private void loadCitizens() {
-        allCitizens = citizenDAO.getAllCitizens();
+        // Step 2 lists the citizens: wait for them before leaving step 1
+        nextButton.setEnabled(false);
+        AsyncLoader.submit(citizenDAO::getAllCitizens, citizens -> {
+            allCitizens = citizens != null ? citizens : new ArrayList<>();
+            nextButton.setEnabled(true);
+        });
     }
 
     private void searchParcel() {
+        if (!searchButton.isEnabled()) {
+            // Search already in progress
+            return;
+        }
         String parcelNumber = parcelSearchField.getText().trim();
 
         if (parcelNumber.isEmpty()) {
@@ -535,7 +546,22 @@ public class ProcessTransferDialog extends JDialog {
             return;
         }
 
-        selectedParcel = parcelDAO.getParcelByNumber(parcelNumber);
+        searchButton.setEnabled(false);
+        List<Citizen> citizens = allCitizens;
+        AsyncLoader.submit(() -> {
+            Parcel parcel = parcelDAO.getParcelByNumber(parcelNumber);
+            // Resolved once here, then reused by the next steps
+            Citizen owner = parcel != null ? findCitizen(citizens, parcel.getCurrentOwnerId()) : null;
+            return new ParcelLookup(parcel, owner);
+        }, lookup -> {
+            searchButton.setEnabled(true);
+            showSearchResult(lookup);
+        });
+    }
+
+    private void showSearchResult(ParcelLookup lookup) {
+        selectedParcel = lookup != null ? lookup.parcel : null;
+        selectedOwner = lookup != null ? lookup.owner : null;
 
         if (selectedParcel == null) {
             JOptionPane.showMessageDialog(this, "Parcel not found. Please check the parcel number.",
@@ -574,12 +600,28 @@ public class ProcessTransferDialog extends JDialog {
         displayParcelInfo();
     }
 
+    /**
+     * Citizen from the list loaded with the dialog; the database is only queried for
+     * citizens registered since. Runs on a DAO thread.
+     */
+    private Citizen findCitizen(List<Citizen> citizens, int citizenId) {
+        if (citizenId <= 0) {
+            return null;
+        }
+        for (Citizen citizen : citizens) {
+            if (citizen.getCitizenId() == citizenId) {
+                return citizen;
+            }
+        }
+        return citizenDAO.getCitizenById(citizenId);
+    }
+
     private void displayParcelInfo() {
         parcelInfoPanel.removeAll();
         parcelInfoPanel.setVisible(true);
 
-        Citizen owner = citizenDAO.getCitizenById(selectedParcel.getCurrentOwnerId());
-        String ownerName = owner != null ? owner.getFirstName() + " " + owner.getLastName() : "Unknown";
+        String ownerName = selectedOwner != null ?
+                selectedOwner.getFirstName() + " " + selectedOwner.getLastName() : "Unknown";
 
         JLabel successLabel = new JLabel("✓ Parcel Found!");
         successLabel.setFont(new Font("Arial", Font.BOLD, 16));
@@ -689,10 +731,9 @@ public class ProcessTransferDialog extends JDialog {
     }
 
     private void populateStep2() {
-        Citizen owner = citizenDAO.getCitizenById(selectedParcel.getCurrentOwnerId());
-        if (owner != null) {
-            currentOwnerLabel.setText(owner.getFirstName() + " " + owner.getLastName() +
-                    " (CNI: " + owner.getIdCardNumber() + ")");
+        if (selectedOwner != null) {
+            currentOwnerLabel.setText(selectedOwner.getFirstName() + " " + selectedOwner.getLastName() +
+                    " (CNI: " + selectedOwner.getIdCardNumber() + ")");
         }
 
         newOwnerCombo.removeAllItems();
@@ -793,7 +834,7 @@ public class ProcessTransferDialog extends JDialog {
 
 
     private void populateStep3() {
-        Citizen currentOwner = citizenDAO.getCitizenById(selectedParcel.getCurrentOwnerId());
+        Citizen currentOwner = selectedOwner;
         String transferType = (String) transferTypeCombo.getSelectedItem();
 
         StringBuilder review = new StringBuilder();
@@ -935,21 +976,7 @@ public class ProcessTransferDialog extends JDialog {
         System.out.println("Number of heirs: " + numHeirs);
         System.out.println("Heir IDs: " + heirIds);
 
-        boolean success = false;
-        try {
-            success = transactionDAO.createTransaction(transaction);
-            System.out.println("Transaction save result: " + success);
-        } catch (Exception e) {
-            System.err.println("EXCEPTION during transaction creation:");
-            e.printStackTrace();
-        }
-
-        if (success) {
-            System.out.println("✓ Transaction saved successfully!\n");
-
-            // ✅ UPDATE PARCEL STATUS
-            parcelDAO.updateParcelStatus(selectedParcel.getParcelId(), Parcel.ParcelStatus.IN_TRANSACTION);
-
+        saveTransaction(transaction, () -> {
             JOptionPane.showMessageDialog(this,
                     "✓ INHERITANCE WITH DIVISION INITIATED!\n\n" +
                             "Original Parcel: " + selectedParcel.getParcelNumber() + "\n" +
@@ -961,17 +988,7 @@ public class ProcessTransferDialog extends JDialog {
                             "Transaction ID: " + transaction.getTransactionId(),
                     "Papa Samba Inheritance",
                     JOptionPane.INFORMATION_MESSAGE);
-
-            if (onSuccess != null) {
-                onSuccess.run();
-            }
-            dispose();
-        } else {
-            System.err.println("✗ Failed to save transaction!\n");
-            JOptionPane.showMessageDialog(this,
-                    "Failed to create inheritance transaction.\nCheck console for errors.",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        }, "Failed to create inheritance transaction.\nCheck console for errors.");
     }
 
 
@@ -1005,35 +1022,64 @@ public class ProcessTransferDialog extends JDialog {
         System.out.println("Previous Owner: " + selectedParcel.getCurrentOwnerId());
         System.out.println("New Owner: " + newOwner.getCitizenId());
 
-        boolean success = false;
-        try {
-            success = transactionDAO.createTransaction(transaction);
-            System.out.println("Transaction save result: " + success);
-        } catch (Exception e) {
-            System.err.println("EXCEPTION during transaction creation:");
-            e.printStackTrace();
-        }
-
-        if (success) {
-            System.out.println("✓ Transaction saved successfully!\n");
-
-            parcelDAO.updateParcelStatus(selectedParcel.getParcelId(), Parcel.ParcelStatus.IN_TRANSACTION);
-
+        saveTransaction(transaction, () -> {
             JOptionPane.showMessageDialog(this,
                     "✓ Transfer initiated successfully!\n\n" +
                             "Parcel: " + selectedParcel.getParcelNumber() + "\n" +
                             "Status: IN_TRANSACTION\n\n" +
                             "The transaction is now pending approval.",
                     "Success", JOptionPane.INFORMATION_MESSAGE);
+        }, "Failed to create transfer.\nCheck console for errors.");
+    }
+
+    /**
+     * Save the transaction and put the parcel in transaction, in the background; on success
+     * show the confirmation and close the dialog
+     */
+    private void saveTransaction(Transaction transaction, Runnable showConfirmation, String failureMessage) {
+        int parcelId = selectedParcel.getParcelId();
+        submitButton.setEnabled(false);
 
-            if (onSuccess != null) {
-                onSuccess.run();
+        AsyncLoader.submitWrite(() -> {
+            boolean saved = false;
+            try {
+                saved = transactionDAO.createTransaction(transaction);
+                System.out.println("Transaction save result: " + saved);
+            } catch (Exception e) {
+                System.err.println("EXCEPTION during transaction creation:");
+                e.printStackTrace();
             }
-            dispose();
-        } else {
-            System.err.println("✗ Failed to save transaction!\n");
-            JOptionPane.showMessageDialog(this,
-                    "Failed to create transfer.\nCheck console for errors.",
-                    "Error", JOptionPane.ERROR_MESSAGE);
+            if (saved) {
+                parcelDAO.updateParcelStatus(parcelId, Parcel.ParcelStatus.IN_TRANSACTION);
+            }
+            return saved;
+        }, success -> {
+            if (Boolean.TRUE.equals(success)) {
+                System.out.println("✓ Transaction saved successfully!\n");
+                showConfirmation.run();
+
+                if (onSuccess != null) {
+                    onSuccess.run();
+                }
+                dispose();
+            } else {
+                System.err.println("✗ Failed to save transaction!\n");
+                submitButton.setEnabled(true);
+                JOptionPane.showMessageDialog(this, failureMessage, "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    /**
+     * Result of a parcel search: the parcel, or null if not found, and its owner
+     */
+    private static final class ParcelLookup {
+        private final Parcel parcel;
+        private final Citizen owner;
+
+        private ParcelLookup(Parcel parcel, Citizen owner) {
+            this.parcel = parcel;
+            this.owner = owner;
         }
-    }}
+    }
+}
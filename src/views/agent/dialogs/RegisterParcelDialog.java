@@ -5,6 +5,7 @@ import models.*;
 import models.Parcel.*;
 import utils.ParcelNumberGenerator;
 import utils.ValidationUtils;
+import views.AsyncLoader;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -12,6 +13,7 @@ import java.awt.*;
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -41,9 +43,12 @@ public class RegisterParcelDialog extends JDialog {
     private JTextField longitudeField;
     private JTextField estimatedValueField;
     private JTextArea notesArea;
+    private JButton registerButton;
 
-    private List<Citizen> allCitizens;
+    private List<Citizen> allCitizens = new ArrayList<>();
     private String generatedParcelNumber;
+    // Reservation in progress; cleared if the parcel is registered without waiting for it
+    private boolean parcelNumberPending;
 
     public RegisterParcelDialog(Frame parent, LandAgent agent, Runnable onSuccess) {
         super(parent, "Register New Parcel", true);
@@ -52,10 +57,8 @@ public class RegisterParcelDialog extends JDialog {
         this.citizenDAO = new CitizenDAO();
         this.onSuccess = onSuccess;
 
-        // Generate parcel number
-        this.generatedParcelNumber = ParcelNumberGenerator.generateParcelNumber(agent.getRegion());
-
         initializeUI();
+        loadParcelNumber();
         loadCitizens();
         setLocationRelativeTo(parent);
     }
@@ -119,11 +122,11 @@ public class RegisterParcelDialog extends JDialog {
         JPanel identSection = createSectionPanel("📋 Parcel Identification", new Color(224, 242, 254));
         identSection.add(Box.createRigidArea(new Dimension(0, 10)));
 
-        parcelNumberLabel = new JLabel(generatedParcelNumber);
+        parcelNumberLabel = new JLabel("Reserving...");
         parcelNumberLabel.setFont(new Font("Arial", Font.BOLD, 16));
         parcelNumberLabel.setForeground(new Color(52, 152, 219));
         identSection.add(createFormRow("Parcel Number:", parcelNumberLabel,
-                "Auto-generated: " + generatedParcelNumber));
+                "Auto-generated for region " + currentAgent.getRegion()));
         identSection.add(Box.createRigidArea(new Dimension(0, 10)));
 
         landTitleField = new JTextField(20);
@@ -338,7 +341,7 @@ public class RegisterParcelDialog extends JDialog {
         cancelButton.addActionListener(e -> dispose());
 
         // Register button
-        JButton registerButton = new JButton("Register Parcel");
+        registerButton = new JButton("Register Parcel");
         registerButton.setFont(new Font("Arial", Font.BOLD, 14));
         registerButton.setPreferredSize(new Dimension(160, 40));
         registerButton.setBackground(new Color(46, 204, 113));
@@ -356,16 +359,37 @@ public class RegisterParcelDialog extends JDialog {
         return panel;
     }
 
+    private void loadParcelNumber() {
+        // Null, or not reserved before registering: numbered when the parcel is saved
+        parcelNumberPending = true;
+        AsyncLoader.submit(() -> ParcelNumberGenerator.generateParcelNumber(currentAgent.getRegion()),
+                parcelNumber -> {
+                    if (!parcelNumberPending) {
+                        return;
+                    }
+                    parcelNumberPending = false;
+                    generatedParcelNumber = parcelNumber;
+                    parcelNumberLabel.setText(parcelNumber != null ? parcelNumber : "Assigned on registration");
+                });
+    }
+
     private void loadCitizens() {
-        allCitizens = citizenDAO.getAllCitizens();
         ownerComboBox.removeAllItems();
-        ownerComboBox.addItem("-- Select Owner --");
-
-        for (Citizen citizen : allCitizens) {
-            String displayName = citizen.getFirstName() + " " + citizen.getLastName() +
-                    " (CNI: " + citizen.getIdCardNumber() + ")";
-            ownerComboBox.addItem(displayName);
-        }
+        ownerComboBox.addItem("-- Loading citizens... --");
+        registerButton.setEnabled(false);
+
+        AsyncLoader.submit(citizenDAO::getAllCitizens, citizens -> {
+            allCitizens = citizens != null ? citizens : new ArrayList<>();
+            ownerComboBox.removeAllItems();
+            ownerComboBox.addItem("-- Select Owner --");
+
+            for (Citizen citizen : allCitizens) {
+                String displayName = citizen.getFirstName() + " " + citizen.getLastName() +
+                        " (CNI: " + citizen.getIdCardNumber() + ")";
+                ownerComboBox.addItem(displayName);
+            }
+            registerButton.setEnabled(true);
+        });
     }
 
     private void handleRegister() {
@@ -375,6 +399,10 @@ public class RegisterParcelDialog extends JDialog {
         }
 
         // Create parcel object
+        if (parcelNumberPending) {
+            parcelNumberPending = false;
+            parcelNumberLabel.setText("Assigned on registration");
+        }
         Parcel parcel = createParcelFromForm();
 
         // Debug output
@@ -387,38 +415,43 @@ public class RegisterParcelDialog extends JDialog {
         System.out.println("Land Type: " + parcel.getLandType());
 
         // Save to database
-        boolean success = false;
-        try {
-            success = parcelDAO.createParcel(parcel);
+        registerButton.setEnabled(false);
+        AsyncLoader.submitWrite(() -> {
+            try {
+                return parcelDAO.createParcel(parcel);
+            } catch (Exception e) {
+                System.err.println("EXCEPTION during createParcel:");
+                e.printStackTrace();
+                return false;
+            }
+        }, success -> {
             System.out.println("Database result: " + success);
-        } catch (Exception e) {
-            System.err.println("EXCEPTION during createParcel:");
-            e.printStackTrace();
-        }
 
-        if (success) {
-            System.out.println("✓ Parcel saved successfully!\n");
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Parcel " + generatedParcelNumber + " registered successfully!\n" +
-                            "Owner: " + getSelectedCitizenName(),
-                    "Success",
-                    JOptionPane.INFORMATION_MESSAGE
-            );
+            if (Boolean.TRUE.equals(success)) {
+                System.out.println("✓ Parcel saved successfully!\n");
+                JOptionPane.showMessageDialog(
+                        this,
+                        "Parcel " + parcel.getParcelNumber() + " registered successfully!\n" +
+                                "Owner: " + getSelectedCitizenName(),
+                        "Success",
+                        JOptionPane.INFORMATION_MESSAGE
+                );
 
-            if (onSuccess != null) {
-                onSuccess.run();
+                if (onSuccess != null) {
+                    onSuccess.run();
+                }
+                dispose();
+            } else {
+                System.err.println("✗ Failed to save parcel!\n");
+                registerButton.setEnabled(true);
+                JOptionPane.showMessageDialog(
+                        this,
+                        "Failed to register parcel. Check console for errors.",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE
+                );
             }
-            dispose();
-        } else {
-            System.err.println("✗ Failed to save parcel!\n");
-            JOptionPane.showMessageDialog(
-                    this,
-                    "Failed to register parcel. Check console for errors.",
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE
-            );
-        }
+        });
     }
 
     private boolean validateForm() {
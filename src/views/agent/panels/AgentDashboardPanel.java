@@ -1,7 +1,11 @@
 package views.agent.panels;
 
-import dao.*;
+import dao.ChangeDetector;
+import dao.StatisticsDAO;
+import dao.StatisticsDAO.AgentStatistics;
 import models.*;
+import views.AsyncLoader;
+import views.ChangeRefresher;
 import views.agent.components.AgentStatCard;
 import views.agent.dialogs.RegisterParcelDialog;
 import views.agent.dialogs.ProcessTransferDialog;
@@ -15,19 +19,21 @@ import java.awt.*;
 public class AgentDashboardPanel extends JPanel {
 
     private LandAgent currentAgent;
-    private TransactionDAO transactionDAO;
-    private DisputeDAO disputeDAO;
-    private ParcelDAO parcelDAO;
+    private StatisticsDAO statisticsDAO;
     private Frame parentFrame;
 
-    public AgentDashboardPanel(LandAgent currentAgent, TransactionDAO transactionDAO,
-                               DisputeDAO disputeDAO, ParcelDAO parcelDAO) {
+    private JPanel statsPanel;
+    private final AsyncLoader<AgentStatistics> statisticsLoader = new AsyncLoader<>();
+
+    public AgentDashboardPanel(LandAgent currentAgent, StatisticsDAO statisticsDAO) {
         this.currentAgent = currentAgent;
-        this.transactionDAO = transactionDAO;
-        this.disputeDAO = disputeDAO;
-        this.parcelDAO = parcelDAO;
+        this.statisticsDAO = statisticsDAO;
 
         initializeUI();
+
+        // Reload only when the counted tables change, here or in another client
+        ChangeRefresher.install(this, this::refreshStats, ChangeDetector.PARCELS,
+                ChangeDetector.TRANSACTIONS, ChangeDetector.DISPUTES);
     }
 
     private void initializeUI() {
@@ -55,17 +61,29 @@ public class AgentDashboardPanel extends JPanel {
         add(Box.createRigidArea(new Dimension(0, 30)));
 
         // Statistics panel
-        JPanel statsPanel = new JPanel(new GridLayout(2, 2, 20, 20));
+        statsPanel = new JPanel(new GridLayout(2, 2, 20, 20));
         statsPanel.setBackground(Color.WHITE);
         statsPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
         statsPanel.setMaximumSize(new Dimension(1100, 300));
 
-        // Calculate statistics
-        int pendingApprovals = transactionDAO.getTransactionsByStatus(Transaction.TransactionStatus.PENDING).size();
-        int myDisputes = currentAgent != null && currentAgent.getAgentId() > 0 ?
-                disputeDAO.getDisputesByAgent(currentAgent.getAgentId()).size() : 0;
-        int regionParcels = currentAgent != null ?
-                parcelDAO.getParcelsByRegion(currentAgent.getRegion()).size() : 0;
+        loadStatistics();
+
+        add(statsPanel);
+    }
+
+    private void loadStatistics() {
+        // One query for all counters, in the background
+        int agentId = currentAgent != null ? currentAgent.getAgentId() : 0;
+        String region = currentAgent != null ? currentAgent.getRegion() : null;
+        statisticsLoader.load(() -> statisticsDAO.getAgentStatistics(agentId, region), this::showStatistics);
+    }
+
+    private void showStatistics(AgentStatistics statistics) {
+        statsPanel.removeAll();
+
+        int pendingApprovals = statistics.getPendingTransactions();
+        int myDisputes = currentAgent != null && currentAgent.getAgentId() > 0 ? statistics.getAssignedDisputes() : 0;
+        int regionParcels = statistics.getRegionParcels();
         String myRegion = currentAgent != null ? currentAgent.getRegion() : "N/A";
 
         // Create stat cards
@@ -74,7 +92,8 @@ public class AgentDashboardPanel extends JPanel {
         statsPanel.add(new AgentStatCard("Parcels in My Region", String.valueOf(regionParcels), new Color(46, 204, 113)));
         statsPanel.add(new AgentStatCard("My Region", myRegion, new Color(52, 152, 219)));
 
-        add(statsPanel);
+        statsPanel.revalidate();
+        statsPanel.repaint();
     }
 
     private JPanel createQuickActionsPanel() {
@@ -225,11 +244,7 @@ public class AgentDashboardPanel extends JPanel {
 
     private void refreshStats() {
         // Refresh the statistics after a parcel is registered
-        // You can call this method to update the stat cards
-        removeAll();
-        initializeUI();
-        revalidate();
-        repaint();
+        loadStatistics();
     }
 
     /**
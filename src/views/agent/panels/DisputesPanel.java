@@ -3,11 +3,13 @@ package views.agent.panels;
 import dao.DisputeDAO;
 import models.Dispute;
 import models.LandAgent;
+import views.AsyncLoader;
 import views.agent.dialogs.DisputeDetailsDialog;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.List;
 
 /**
  * Panel for managing assigned disputes
@@ -18,6 +20,7 @@ public class DisputesPanel extends JPanel {
     private DisputeDAO disputeDAO;
     private JTable disputeTable;
     private DefaultTableModel disputeTableModel;
+    private final AsyncLoader<List<Dispute>> disputesLoader = new AsyncLoader<>();
 
     public DisputesPanel(LandAgent currentAgent, DisputeDAO disputeDAO) {
         this.currentAgent = currentAgent;
@@ -98,23 +101,29 @@ public class DisputesPanel extends JPanel {
     }
 
     public void loadMyDisputes() {
+        if (currentAgent == null || currentAgent.getAgentId() <= 0) {
+            disputeTableModel.setRowCount(0);
+            return;
+        }
+
+        int agentId = currentAgent.getAgentId();
+        disputesLoader.load(() -> disputeDAO.getDisputesByAgent(agentId), this::showDisputes);
+    }
+
+    private void showDisputes(List<Dispute> disputes) {
         disputeTableModel.setRowCount(0);
 
-        if (currentAgent != null && currentAgent.getAgentId() > 0) {
-            var disputes = disputeDAO.getDisputesByAgent(currentAgent.getAgentId());
-
-            for (var dispute : disputes) {
-                Object[] row = {
-                        dispute.getDisputeId(),
-                        "Parcel #" + dispute.getParcelId(),
-                        dispute.getType(),
-                        dispute.getStatus(),
-                        dispute.getPriority(),
-                        "Citizen #" + dispute.getComplainantId(),
-                        dispute.getOpenedDate() != null ? dispute.getOpenedDate().toString() : "N/A"
-                };
-                disputeTableModel.addRow(row);
-            }
+        for (var dispute : disputes) {
+            Object[] row = {
+                    dispute.getDisputeId(),
+                    "Parcel #" + dispute.getParcelId(),
+                    dispute.getType(),
+                    dispute.getStatus(),
+                    dispute.getPriority(),
+                    "Citizen #" + dispute.getComplainantId(),
+                    dispute.getOpenedDate() != null ? dispute.getOpenedDate().toString() : "N/A"
+            };
+            disputeTableModel.addRow(row);
         }
     }
 
@@ -126,15 +135,15 @@ public class DisputesPanel extends JPanel {
         }
 
         int disputeId = (int) disputeTableModel.getValueAt(selectedRow, 0);
-        Dispute dispute = disputeDAO.getDisputeById(disputeId);
-
-        if (dispute != null) {
-            DisputeDetailsDialog dialog = new DisputeDetailsDialog(
-                    (Frame) SwingUtilities.getWindowAncestor(this),
-                    dispute
-            );
-            dialog.setVisible(true);
-        }
+        AsyncLoader.submit(() -> disputeDAO.getDisputeById(disputeId), dispute -> {
+            if (dispute != null) {
+                DisputeDetailsDialog dialog = new DisputeDetailsDialog(
+                        (Frame) SwingUtilities.getWindowAncestor(this),
+                        dispute
+                );
+                dialog.setVisible(true);
+            }
+        });
     }
 
     private void resolveDispute() {
@@ -148,12 +157,14 @@ public class DisputesPanel extends JPanel {
         if (resolution != null && !resolution.trim().isEmpty()) {
             int disputeId = (int) disputeTableModel.getValueAt(selectedRow, 0);
 
-            if (disputeDAO.resolveDispute(disputeId, resolution.trim())) {
-                JOptionPane.showMessageDialog(this, "Dispute resolved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadMyDisputes();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to resolve dispute", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            AsyncLoader.submitWrite(() -> disputeDAO.resolveDispute(disputeId, resolution.trim()), resolved -> {
+                if (Boolean.TRUE.equals(resolved)) {
+                    JOptionPane.showMessageDialog(this, "Dispute resolved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    loadMyDisputes();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to resolve dispute", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 }
\ No newline at end of file
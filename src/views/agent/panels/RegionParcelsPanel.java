@@ -3,13 +3,16 @@ package views.agent.panels;
 import dao.*;
 import models.*;
 import models.Parcel.*;
+import views.AsyncLoader;
 import views.agent.dialogs.*;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumnModel;
 import java.awt.*;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Panel showing all parcels in the agent's region with management options
@@ -27,7 +30,7 @@ public class RegionParcelsPanel extends JPanel {
     private JComboBox<String> typeFilterCombo;
     private JLabel countLabel;
 
-    private List<Parcel> currentParcels;
+    private final AsyncLoader<List<Object[]>> parcelsLoader = new AsyncLoader<>();
 
     public RegionParcelsPanel(LandAgent currentAgent, ParcelDAO parcelDAO) {
         this.currentAgent = currentAgent;
@@ -217,45 +220,27 @@ public class RegionParcelsPanel extends JPanel {
     }
 
     private void loadParcels() {
-        currentParcels = parcelDAO.getParcelsByRegion(currentAgent.getRegion());
-        refreshTable(currentParcels);
+        String region = currentAgent.getRegion();
+        parcelsLoader.load(() -> readRows(parcelDAO.getParcelsByRegion(region)), this::refreshTable);
     }
 
     private void filterParcels() {
-        List<Parcel> filtered = parcelDAO.getParcelsByRegion(currentAgent.getRegion());
-
-        // Filter by search term
-        String searchTerm = searchField.getText().trim().toLowerCase();
-        if (!searchTerm.isEmpty()) {
-            filtered = filtered.stream()
-                    .filter(p ->
-                            p.getParcelNumber().toLowerCase().contains(searchTerm) ||
-                                    p.getAddress().toLowerCase().contains(searchTerm) ||
-                                    (p.getCurrentUsage() != null && p.getCurrentUsage().toLowerCase().contains(searchTerm))
-                    )
-                    .collect(java.util.stream.Collectors.toList());
-        }
+        // All criteria are applied by SQLite, on the (region, date) index
+        ParcelQuery query = new ParcelQuery()
+                .setRegion(currentAgent.getRegion())
+                .setText(searchField.getText());
 
-        // Filter by status
         String statusFilter = (String) statusFilterCombo.getSelectedItem();
         if (!"All".equals(statusFilter)) {
-            ParcelStatus status = ParcelStatus.valueOf(statusFilter);
-            filtered = filtered.stream()
-                    .filter(p -> p.getStatus() == status)
-                    .collect(java.util.stream.Collectors.toList());
+            query.setStatus(ParcelStatus.valueOf(statusFilter));
         }
 
-        // Filter by type
         String typeFilter = (String) typeFilterCombo.getSelectedItem();
         if (!"All".equals(typeFilter)) {
-            LandType type = LandType.valueOf(typeFilter);
-            filtered = filtered.stream()
-                    .filter(p -> p.getLandType() == type)
-                    .collect(java.util.stream.Collectors.toList());
+            query.setLandType(LandType.valueOf(typeFilter));
         }
 
-        currentParcels = filtered;
-        refreshTable(filtered);
+        parcelsLoader.load(() -> readRows(parcelDAO.findParcels(query)), this::refreshTable);
     }
 
     private void clearFilters() {
@@ -265,14 +250,24 @@ public class RegionParcelsPanel extends JPanel {
         loadParcels();
     }
 
-    private void refreshTable(List<Parcel> parcels) {
-        tableModel.setRowCount(0);
+    /**
+     * Table rows of the parcels, with their owners' names; runs on a DAO thread
+     */
+    private List<Object[]> readRows(List<Parcel> parcels) {
+        // One batched lookup for all owners instead of one query per row
+        List<Integer> ownerIds = new ArrayList<>();
+        for (Parcel parcel : parcels) {
+            ownerIds.add(parcel.getCurrentOwnerId());
+        }
+        Map<Integer, String> ownerNames = citizenDAO.getCitizenNames(ownerIds);
 
+        List<Object[]> rows = new ArrayList<>();
         for (Parcel parcel : parcels) {
-            String ownerName = getOwnerName(parcel.getCurrentOwnerId());
+            int ownerId = parcel.getCurrentOwnerId();
+            String ownerName = ownerId <= 0 ? "No Owner" : ownerNames.getOrDefault(ownerId, "Unknown");
             String areaDisplay = String.format("%.2f %s", parcel.getArea(), parcel.getAreaUnit());
 
-            tableModel.addRow(new Object[]{
+            rows.add(new Object[]{
                     parcel.getParcelNumber(),
                     parcel.getLandType(),
                     areaDisplay,
@@ -282,8 +277,16 @@ public class RegionParcelsPanel extends JPanel {
                     parcel // Store the parcel object for button actions
             });
         }
+        return rows;
+    }
+
+    private void refreshTable(List<Object[]> rows) {
+        tableModel.setRowCount(0);
+        for (Object[] row : rows) {
+            tableModel.addRow(row);
+        }
 
-        countLabel.setText("Total: " + parcels.size() + " parcel(s)");
+        countLabel.setText("Total: " + rows.size() + " parcel(s)");
     }
 
     private String getOwnerName(int ownerId) {
@@ -432,8 +435,13 @@ public class RegionParcelsPanel extends JPanel {
         private void viewParcelDetails() {
             if (currentParcel == null) return;
 
-            String ownerName = getOwnerName(currentParcel.getCurrentOwnerId());
+            Parcel parcel = currentParcel;
+            fireEditingStopped();
+            AsyncLoader.submit(() -> getOwnerName(parcel.getCurrentOwnerId()),
+                    ownerName -> showParcelDetails(parcel, ownerName != null ? ownerName : "Unknown"));
+        }
 
+        private void showParcelDetails(Parcel parcel, String ownerName) {
             String details = String.format(
                     "📋 PARCEL DETAILS\n\n" +
                             "Parcel Number: %s\n" +
@@ -453,23 +461,23 @@ public class RegionParcelsPanel extends JPanel {
                             "Status: %s\n" +
                             "Estimated Value: %s FCFA\n\n" +
                             "📝 NOTES\n\n%s",
-                    currentParcel.getParcelNumber(),
-                    currentParcel.getLandTitle() != null ? currentParcel.getLandTitle() : "N/A",
-                    currentParcel.getLandType(),
-                    currentParcel.getArea(),
-                    currentParcel.getAreaUnit(),
-                    currentParcel.getCurrentUsage() != null ? currentParcel.getCurrentUsage() : "N/A",
-                    currentParcel.getAddress(),
-                    currentParcel.getRegion(),
-                    currentParcel.getDepartment() != null ? currentParcel.getDepartment() : "N/A",
-                    currentParcel.getCommune() != null ? currentParcel.getCommune() : "N/A",
-                    currentParcel.getGpsCoordinates() != null ? currentParcel.getGpsCoordinates() : "N/A",
+                    parcel.getParcelNumber(),
+                    parcel.getLandTitle() != null ? parcel.getLandTitle() : "N/A",
+                    parcel.getLandType(),
+                    parcel.getArea(),
+                    parcel.getAreaUnit(),
+                    parcel.getCurrentUsage() != null ? parcel.getCurrentUsage() : "N/A",
+                    parcel.getAddress(),
+                    parcel.getRegion(),
+                    parcel.getDepartment() != null ? parcel.getDepartment() : "N/A",
+                    parcel.getCommune() != null ? parcel.getCommune() : "N/A",
+                    parcel.getGpsCoordinates() != null ? parcel.getGpsCoordinates() : "N/A",
                     ownerName,
-                    currentParcel.getAcquisitionDate() != null ? currentParcel.getAcquisitionDate() : "N/A",
-                    currentParcel.getStatus(),
-                    currentParcel.getEstimatedValue() != null ? currentParcel.getEstimatedValue() : "N/A",
-                    currentParcel.getNotes() != null && !currentParcel.getNotes().isEmpty() ?
-                            currentParcel.getNotes() : "No notes available"
+                    parcel.getAcquisitionDate() != null ? parcel.getAcquisitionDate() : "N/A",
+                    parcel.getStatus(),
+                    parcel.getEstimatedValue() != null ? parcel.getEstimatedValue() : "N/A",
+                    parcel.getNotes() != null && !parcel.getNotes().isEmpty() ?
+                            parcel.getNotes() : "No notes available"
             );
 
             JTextArea textArea = new JTextArea(details);
@@ -484,11 +492,10 @@ public class RegionParcelsPanel extends JPanel {
             JOptionPane.showMessageDialog(
                     RegionParcelsPanel.this,
                     scrollPane,
-                    "Parcel Details: " + currentParcel.getParcelNumber(),
+                    "Parcel Details: " + parcel.getParcelNumber(),
                     JOptionPane.INFORMATION_MESSAGE
             );
 
-            fireEditingStopped();
         }
 
         private void addParcelNote() {
@@ -1,13 +1,18 @@
 package views.agent.panels;
 
+import dao.CitizenDAO;
 import dao.TransactionDAO;
 import models.LandAgent;
 import models.Transaction;
+import views.AsyncLoader;
 import views.agent.dialogs.TransactionDetailsDialog;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Panel for managing pending transaction approvals
@@ -16,12 +21,15 @@ public class TransactionsPanel extends JPanel {
 
     private LandAgent currentAgent;
     private TransactionDAO transactionDAO;
+    private CitizenDAO citizenDAO;
     private JTable transactionTable;
     private DefaultTableModel transactionTableModel;
+    private final AsyncLoader<List<Object[]>> transactionsLoader = new AsyncLoader<>();
 
-    public TransactionsPanel(LandAgent currentAgent, TransactionDAO transactionDAO) {
+    public TransactionsPanel(LandAgent currentAgent, TransactionDAO transactionDAO, CitizenDAO citizenDAO) {
         this.currentAgent = currentAgent;
         this.transactionDAO = transactionDAO;
+        this.citizenDAO = citizenDAO;
 
         initializeUI();
         loadPendingTransactions();
@@ -109,24 +117,50 @@ public class TransactionsPanel extends JPanel {
     }
 
     public void loadPendingTransactions() {
-        transactionTableModel.setRowCount(0);
+        transactionsLoader.load(this::readPendingTransactionRows, this::showTransactions);
+    }
+
+    /**
+     * Table rows of the pending transactions; runs on a DAO thread
+     */
+    private List<Object[]> readPendingTransactionRows() {
         var transactions = transactionDAO.getTransactionsByStatus(Transaction.TransactionStatus.PENDING);
 
+        // Names of both parties, resolved in one batch for the whole table
+        List<Integer> citizenIds = new ArrayList<>();
+        for (var transaction : transactions) {
+            citizenIds.add(transaction.getPreviousOwnerId());
+            citizenIds.add(transaction.getNewOwnerId());
+        }
+        Map<Integer, String> names = citizenDAO.getCitizenNames(citizenIds);
+
+        List<Object[]> rows = new ArrayList<>();
         for (var transaction : transactions) {
-            Object[] row = {
+            rows.add(new Object[]{
                     transaction.getTransactionId(),
                     "Parcel #" + transaction.getParcelId(),
                     transaction.getType(),
                     transaction.getAmount() != null ? String.format("%.2f", transaction.getAmount()) : "0.00",
                     transaction.getTransactionDate() != null ? transaction.getTransactionDate().toString() : "N/A",
-                    transaction.getPreviousOwnerId() != null ? "Citizen #" + transaction.getPreviousOwnerId() : "N/A",
-                    "Citizen #" + transaction.getNewOwnerId(),
+                    transaction.getPreviousOwnerId() != null ? citizenName(names, transaction.getPreviousOwnerId()) : "N/A",
+                    citizenName(names, transaction.getNewOwnerId()),
                     transaction.getStatus()
-            };
+            });
+        }
+        return rows;
+    }
+
+    private void showTransactions(List<Object[]> rows) {
+        transactionTableModel.setRowCount(0);
+        for (Object[] row : rows) {
             transactionTableModel.addRow(row);
         }
     }
 
+    private static String citizenName(Map<Integer, String> names, int citizenId) {
+        return names.getOrDefault(citizenId, "Citizen #" + citizenId);
+    }
+
     private void approveTransaction() {
         int selectedRow = transactionTable.getSelectedRow();
         if (selectedRow == -1) {
@@ -144,12 +178,15 @@ public class TransactionsPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION && currentAgent != null) {
-            if (transactionDAO.approveTransaction(transactionId, currentAgent.getAgentId())) {
-                JOptionPane.showMessageDialog(this, "Transaction approved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadPendingTransactions();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to approve transaction", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            int agentId = currentAgent.getAgentId();
+            AsyncLoader.submitWrite(() -> transactionDAO.approveTransaction(transactionId, agentId), approved -> {
+                if (Boolean.TRUE.equals(approved)) {
+                    JOptionPane.showMessageDialog(this, "Transaction approved successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    loadPendingTransactions();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to approve transaction", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -171,12 +208,15 @@ public class TransactionsPanel extends JPanel {
         );
 
         if (confirm == JOptionPane.YES_OPTION && currentAgent != null) {
-            if (transactionDAO.rejectTransaction(transactionId, currentAgent.getAgentId())) {
-                JOptionPane.showMessageDialog(this, "Transaction rejected", "Success", JOptionPane.INFORMATION_MESSAGE);
-                loadPendingTransactions();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to reject transaction", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            int agentId = currentAgent.getAgentId();
+            AsyncLoader.submitWrite(() -> transactionDAO.rejectTransaction(transactionId, agentId), rejected -> {
+                if (Boolean.TRUE.equals(rejected)) {
+                    JOptionPane.showMessageDialog(this, "Transaction rejected", "Success", JOptionPane.INFORMATION_MESSAGE);
+                    loadPendingTransactions();
+                } else {
+                    JOptionPane.showMessageDialog(this, "Failed to reject transaction", "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
@@ -188,14 +228,14 @@ public class TransactionsPanel extends JPanel {
         }
 
         int transactionId = (int) transactionTableModel.getValueAt(selectedRow, 0);
-        Transaction transaction = transactionDAO.getTransactionById(transactionId);
-
-        if (transaction != null) {
-            TransactionDetailsDialog dialog = new TransactionDetailsDialog(
-                    (Frame) SwingUtilities.getWindowAncestor(this),
-                    transaction
-            );
-            dialog.setVisible(true);
-        }
+        AsyncLoader.submit(() -> transactionDAO.getTransactionById(transactionId), transaction -> {
+            if (transaction != null) {
+                TransactionDetailsDialog dialog = new TransactionDetailsDialog(
+                        (Frame) SwingUtilities.getWindowAncestor(this),
+                        transaction
+                );
+                dialog.setVisible(true);
+            }
+        });
     }
 }
\ No newline at end of file
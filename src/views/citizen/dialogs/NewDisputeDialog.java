@@ -2,6 +2,7 @@ package views.citizen.dialogs;
 
 import dao.*;
 import models.*;
+import views.AsyncLoader;
 
 import javax.swing.*;
 import java.awt.*;
@@ -28,8 +29,10 @@ public class NewDisputeDialog extends JDialog {
     private JTextArea descriptionArea;
     private JTextArea evidenceArea;
 
-    private List<Parcel> allParcels;
-    private List<Citizen> allCitizens;
+    private JButton submitButton;
+
+    private List<Parcel> allParcels = new ArrayList<>();
+    private List<Citizen> allCitizens = new ArrayList<>();
 
     public NewDisputeDialog(Frame owner, Citizen currentCitizen, ParcelDAO parcelDAO,
                             CitizenDAO citizenDAO, DisputeDAO disputeDAO,
@@ -41,18 +44,27 @@ public class NewDisputeDialog extends JDialog {
         this.disputeDAO = disputeDAO;
         this.onSuccessCallback = onSuccessCallback;
 
-        loadData();
         initializeUI();
+        loadData();
     }
 
     private void loadData() {
+        submitButton.setEnabled(false);
         // Citizens should only see their own parcels
-        if (currentCitizen != null) {
-            allParcels = parcelDAO.getParcelsByOwner(currentCitizen.getCitizenId());
-        } else {
-            allParcels = new ArrayList<>();
-        }
-        allCitizens = citizenDAO.getAllCitizens();
+        AsyncLoader.submit(() -> currentCitizen != null
+                ? parcelDAO.getParcelsByOwner(currentCitizen.getCitizenId())
+                : new ArrayList<Parcel>(), parcels -> {
+            allParcels = parcels != null ? parcels : new ArrayList<>();
+            parcelCombo.setModel(new DefaultComboBoxModel<>(createParcelOptions()));
+            submitButton.setEnabled(true);
+        });
+
+        defendantCombo.setEnabled(false);
+        AsyncLoader.submit(citizenDAO::getAllCitizens, citizens -> {
+            allCitizens = citizens != null ? citizens : new ArrayList<>();
+            defendantCombo.setModel(new DefaultComboBoxModel<>(createCitizenOptions()));
+            defendantCombo.setEnabled(true);
+        });
     }
 
     private void initializeUI() {
@@ -74,8 +86,7 @@ public class NewDisputeDialog extends JDialog {
         gbc.gridy = row;
         panel.add(new JLabel("Select Your Parcel:"), gbc);
 
-        String[] parcelOptions = createParcelOptions();
-        parcelCombo = new JComboBox<>(parcelOptions);
+        parcelCombo = new JComboBox<>(new String[]{"-- Loading your parcels... --"});
         gbc.gridx = 1;
         gbc.gridy = row++;
         panel.add(parcelCombo, gbc);
@@ -134,7 +145,7 @@ public class NewDisputeDialog extends JDialog {
 
         // Buttons
         JPanel buttonPanel = new JPanel();
-        JButton submitButton = createSubmitButton();
+        submitButton = createSubmitButton();
         JButton cancelButton = new JButton("Cancel");
         cancelButton.addActionListener(e -> dispose());
 
@@ -239,18 +250,22 @@ public class NewDisputeDialog extends JDialog {
             dispute.setOpenedDate(Date.valueOf(LocalDate.now()));
             dispute.setEvidenceProvided(evidenceArea.getText().trim());
 
-            if (disputeDAO.createDispute(dispute)) {
-                JOptionPane.showMessageDialog(this,
-                        "Dispute filed successfully!\nAn agent will be assigned soon.",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-                if (onSuccessCallback != null) {
-                    onSuccessCallback.run();
+            submitButton.setEnabled(false);
+            AsyncLoader.submitWrite(() -> disputeDAO.createDispute(dispute), created -> {
+                if (Boolean.TRUE.equals(created)) {
+                    JOptionPane.showMessageDialog(this,
+                            "Dispute filed successfully!\nAn agent will be assigned soon.",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    if (onSuccessCallback != null) {
+                        onSuccessCallback.run();
+                    }
+                    dispose();
+                } else {
+                    submitButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(this, "Failed to file dispute", "Error", JOptionPane.ERROR_MESSAGE);
                 }
-                dispose();
-            } else {
-                JOptionPane.showMessageDialog(this, "Failed to file dispute", "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            });
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this, "Error: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
         }
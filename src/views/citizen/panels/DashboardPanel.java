@@ -1,7 +1,11 @@
 package views.citizen.panels;
 
-import dao.*;
+import dao.ChangeDetector;
+import dao.StatisticsDAO;
+import dao.StatisticsDAO.CitizenStatistics;
 import models.*;
+import views.AsyncLoader;
+import views.ChangeRefresher;
 import views.citizen.components.StatCard;
 
 import javax.swing.*;
@@ -13,18 +17,20 @@ import java.awt.*;
 public class DashboardPanel extends JPanel {
 
     private Citizen currentCitizen;
-    private ParcelDAO parcelDAO;
-    private TransactionDAO transactionDAO;
-    private DisputeDAO disputeDAO;
+    private StatisticsDAO statisticsDAO;
 
-    public DashboardPanel(Citizen currentCitizen, ParcelDAO parcelDAO,
-                          TransactionDAO transactionDAO, DisputeDAO disputeDAO) {
+    private JPanel statsPanel;
+    private final AsyncLoader<CitizenStatistics> statisticsLoader = new AsyncLoader<>();
+
+    public DashboardPanel(Citizen currentCitizen, StatisticsDAO statisticsDAO) {
         this.currentCitizen = currentCitizen;
-        this.parcelDAO = parcelDAO;
-        this.transactionDAO = transactionDAO;
-        this.disputeDAO = disputeDAO;
+        this.statisticsDAO = statisticsDAO;
 
         initializeUI();
+
+        // Reload only when the counted tables change, here or in another client
+        ChangeRefresher.install(this, this::refreshStats, ChangeDetector.PARCELS,
+                ChangeDetector.TRANSACTIONS, ChangeDetector.DISPUTES);
     }
 
     private void initializeUI() {
@@ -39,21 +45,33 @@ public class DashboardPanel extends JPanel {
         add(Box.createRigidArea(new Dimension(0, 30)));
 
         // Statistics panel
-        JPanel statsPanel = new JPanel(new GridLayout(2, 2, 20, 20));
+        statsPanel = new JPanel(new GridLayout(2, 2, 20, 20));
         statsPanel.setBackground(Color.WHITE);
         statsPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
         statsPanel.setMaximumSize(new Dimension(1100, 300));
 
-        // Calculate statistics
-        int myParcels = currentCitizen != null ?
-                parcelDAO.getParcelsByOwner(currentCitizen.getCitizenId()).size() : 0;
-        int myTransactions = currentCitizen != null ?
-                transactionDAO.getTransactionsByCitizen(currentCitizen.getCitizenId()).size() : 0;
-        int myDisputes = currentCitizen != null ?
-                disputeDAO.getDisputesByCitizen(currentCitizen.getCitizenId()).size() : 0;
-        int pendingTransactions = currentCitizen != null ?
-                (int) transactionDAO.getTransactionsByCitizen(currentCitizen.getCitizenId()).stream()
-                        .filter(t -> t.getStatus() == Transaction.TransactionStatus.PENDING).count() : 0;
+        loadStatistics();
+
+        add(statsPanel);
+    }
+
+    private void loadStatistics() {
+        if (currentCitizen == null) {
+            showStatistics(new CitizenStatistics(0, 0, 0, 0));
+            return;
+        }
+        // One query for all counters, in the background
+        int citizenId = currentCitizen.getCitizenId();
+        statisticsLoader.load(() -> statisticsDAO.getCitizenStatistics(citizenId), this::showStatistics);
+    }
+
+    private void showStatistics(CitizenStatistics statistics) {
+        statsPanel.removeAll();
+
+        int myParcels = statistics.getParcels();
+        int myTransactions = statistics.getTransactions();
+        int myDisputes = statistics.getDisputes();
+        int pendingTransactions = statistics.getPendingTransactions();
 
         // Add stat cards
         statsPanel.add(new StatCard("My Parcels", String.valueOf(myParcels), new Color(46, 204, 113)));
@@ -61,6 +79,11 @@ public class DashboardPanel extends JPanel {
         statsPanel.add(new StatCard("My Disputes", String.valueOf(myDisputes), new Color(231, 76, 60)));
         statsPanel.add(new StatCard("Pending Approvals", String.valueOf(pendingTransactions), new Color(230, 126, 34)));
 
-        add(statsPanel);
+        statsPanel.revalidate();
+        statsPanel.repaint();
+    }
+
+    private void refreshStats() {
+        loadStatistics();
     }
-}
\ No newline at end of file
+}
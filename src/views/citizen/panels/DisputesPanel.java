@@ -2,12 +2,14 @@ package views.citizen.panels;
 
 import dao.*;
 import models.*;
+import views.AsyncLoader;
 import views.citizen.dialogs.DisputeDetailsDialog;
 import views.citizen.dialogs.NewDisputeDialog;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.List;
 
 /**
  * Panel for displaying and managing citizen's disputes
@@ -20,6 +22,7 @@ public class DisputesPanel extends JPanel {
     private CitizenDAO citizenDAO;
     private JTable disputeTable;
     private DefaultTableModel disputeTableModel;
+    private final AsyncLoader<List<Dispute>> disputesLoader = new AsyncLoader<>();
 
     public DisputesPanel(Citizen currentCitizen, DisputeDAO disputeDAO,
                          ParcelDAO parcelDAO, CitizenDAO citizenDAO) {
@@ -108,23 +111,29 @@ public class DisputesPanel extends JPanel {
     }
 
     public void loadDisputes() {
+        if (currentCitizen == null) {
+            disputeTableModel.setRowCount(0);
+            return;
+        }
+
+        int citizenId = currentCitizen.getCitizenId();
+        disputesLoader.load(() -> disputeDAO.getDisputesByCitizen(citizenId), this::showDisputes);
+    }
+
+    private void showDisputes(List<Dispute> disputes) {
         disputeTableModel.setRowCount(0);
 
-        if (currentCitizen != null) {
-            var disputes = disputeDAO.getDisputesByCitizen(currentCitizen.getCitizenId());
-
-            for (var dispute : disputes) {
-                Object[] row = {
-                        dispute.getDisputeId(),
-                        "Parcel #" + dispute.getParcelId(),
-                        dispute.getType(),
-                        dispute.getStatus(),
-                        dispute.getPriority(),
-                        dispute.getOpenedDate() != null ? dispute.getOpenedDate().toString() : "N/A",
-                        dispute.getResolution() != null ? "Resolved" : "Pending"
-                };
-                disputeTableModel.addRow(row);
-            }
+        for (var dispute : disputes) {
+            Object[] row = {
+                    dispute.getDisputeId(),
+                    "Parcel #" + dispute.getParcelId(),
+                    dispute.getType(),
+                    dispute.getStatus(),
+                    dispute.getPriority(),
+                    dispute.getOpenedDate() != null ? dispute.getOpenedDate().toString() : "N/A",
+                    dispute.getResolution() != null ? "Resolved" : "Pending"
+            };
+            disputeTableModel.addRow(row);
         }
     }
 
@@ -136,13 +145,13 @@ public class DisputesPanel extends JPanel {
         }
 
         int disputeId = (int) disputeTableModel.getValueAt(selectedRow, 0);
-        Dispute dispute = disputeDAO.getDisputeById(disputeId);
-
-        if (dispute != null) {
-            DisputeDetailsDialog dialog = new DisputeDetailsDialog(
-                    (Frame) SwingUtilities.getWindowAncestor(this), dispute);
-            dialog.setVisible(true);
-        }
+        AsyncLoader.submit(() -> disputeDAO.getDisputeById(disputeId), dispute -> {
+            if (dispute != null) {
+                DisputeDetailsDialog dialog = new DisputeDetailsDialog(
+                        (Frame) SwingUtilities.getWindowAncestor(this), dispute);
+                dialog.setVisible(true);
+            }
+        });
     }
 
     private void showNewDisputeDialog() {
@@ -3,11 +3,13 @@ package views.citizen.panels;
 import dao.ParcelDAO;
 import models.Citizen;
 import models.Parcel;
+import views.AsyncLoader;
 import views.citizen.dialogs.ParcelDetailsDialog;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.List;
 
 /**
  * Panel for displaying and managing citizen's parcels
@@ -18,6 +20,7 @@ public class ParcelsPanel extends JPanel {
     private ParcelDAO parcelDAO;
     private JTable parcelTable;
     private DefaultTableModel parcelTableModel;
+    private final AsyncLoader<List<Parcel>> parcelsLoader = new AsyncLoader<>();
 
     public ParcelsPanel(Citizen currentCitizen, ParcelDAO parcelDAO) {
         this.currentCitizen = currentCitizen;
@@ -90,24 +93,30 @@ public class ParcelsPanel extends JPanel {
     }
 
     private void loadParcels() {
+        if (currentCitizen == null) {
+            parcelTableModel.setRowCount(0);
+            return;
+        }
+
+        int citizenId = currentCitizen.getCitizenId();
+        parcelsLoader.load(() -> parcelDAO.getParcelsByOwner(citizenId), this::showParcels);
+    }
+
+    private void showParcels(List<Parcel> parcels) {
         parcelTableModel.setRowCount(0);
 
-        if (currentCitizen != null) {
-            var parcels = parcelDAO.getParcelsByOwner(currentCitizen.getCitizenId());
-
-            for (var parcel : parcels) {
-                Object[] row = {
-                        parcel.getParcelId(),
-                        parcel.getParcelNumber(),
-                        parcel.getLandTitle() != null ? parcel.getLandTitle() : "N/A",
-                        parcel.getArea() + " " + parcel.getAreaUnit(),
-                        parcel.getLandType(),
-                        parcel.getStatus(),
-                        parcel.getRegion(),
-                        parcel.getEstimatedValue() != null ? String.format("%.2f", parcel.getEstimatedValue()) : "N/A"
-                };
-                parcelTableModel.addRow(row);
-            }
+        for (var parcel : parcels) {
+            Object[] row = {
+                    parcel.getParcelId(),
+                    parcel.getParcelNumber(),
+                    parcel.getLandTitle() != null ? parcel.getLandTitle() : "N/A",
+                    parcel.getArea() + " " + parcel.getAreaUnit(),
+                    parcel.getLandType(),
+                    parcel.getStatus(),
+                    parcel.getRegion(),
+                    parcel.getEstimatedValue() != null ? String.format("%.2f", parcel.getEstimatedValue()) : "N/A"
+            };
+            parcelTableModel.addRow(row);
         }
     }
 
@@ -119,11 +128,11 @@ public class ParcelsPanel extends JPanel {
         }
 
         int parcelId = (int) parcelTableModel.getValueAt(selectedRow, 0);
-        Parcel parcel = parcelDAO.getParcelById(parcelId);
-
-        if (parcel != null) {
-            ParcelDetailsDialog dialog = new ParcelDetailsDialog((Frame) SwingUtilities.getWindowAncestor(this), parcel);
-            dialog.setVisible(true);
-        }
+        AsyncLoader.submit(() -> parcelDAO.getParcelById(parcelId), parcel -> {
+            if (parcel != null) {
+                ParcelDetailsDialog dialog = new ParcelDetailsDialog((Frame) SwingUtilities.getWindowAncestor(this), parcel);
+                dialog.setVisible(true);
+            }
+        });
     }
 }
\ No newline at end of file
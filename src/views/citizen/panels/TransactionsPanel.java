@@ -2,12 +2,16 @@ package views.citizen.panels;
 
 import dao.*;
 import models.*;
+import views.AsyncLoader;
 import views.citizen.dialogs.NewTransactionDialog;
 import views.citizen.dialogs.TransactionDetailsDialog;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Panel for displaying and managing citizen's transactions
@@ -20,6 +24,7 @@ public class TransactionsPanel extends JPanel {
     private CitizenDAO citizenDAO;
     private JTable transactionTable;
     private DefaultTableModel transactionTableModel;
+    private final AsyncLoader<List<Object[]>> transactionsLoader = new AsyncLoader<>();
 
     public TransactionsPanel(Citizen currentCitizen, TransactionDAO transactionDAO,
                              ParcelDAO parcelDAO, CitizenDAO citizenDAO) {
@@ -108,23 +113,48 @@ public class TransactionsPanel extends JPanel {
     }
 
     public void loadTransactions() {
-        transactionTableModel.setRowCount(0);
+        if (currentCitizen == null) {
+            transactionTableModel.setRowCount(0);
+            return;
+        }
 
-        if (currentCitizen != null) {
-            var transactions = transactionDAO.getTransactionsByCitizen(currentCitizen.getCitizenId());
-
-            for (var transaction : transactions) {
-                Object[] row = {
-                        transaction.getTransactionId(),
-                        "Parcel #" + transaction.getParcelId(),
-                        transaction.getType(),
-                        transaction.getAmount() != null ? String.format("%.2f", transaction.getAmount()) : "0.00",
-                        transaction.getTransactionDate() != null ? transaction.getTransactionDate().toString() : "N/A",
-                        transaction.getStatus(),
-                        transaction.getPreviousOwnerId() != null ? "Citizen #" + transaction.getPreviousOwnerId() : "N/A"
-                };
-                transactionTableModel.addRow(row);
-            }
+        int citizenId = currentCitizen.getCitizenId();
+        transactionsLoader.load(() -> readTransactionRows(citizenId), this::showTransactions);
+    }
+
+    /**
+     * Table rows of the citizen's transactions; runs on a DAO thread
+     */
+    private List<Object[]> readTransactionRows(int citizenId) {
+        var transactions = transactionDAO.getTransactionsByCitizen(citizenId);
+
+        // Previous owners of all rows, resolved in one batch
+        List<Integer> ownerIds = new ArrayList<>();
+        for (var transaction : transactions) {
+            ownerIds.add(transaction.getPreviousOwnerId());
+        }
+        Map<Integer, String> ownerNames = citizenDAO.getCitizenNames(ownerIds);
+
+        List<Object[]> rows = new ArrayList<>();
+        for (var transaction : transactions) {
+            rows.add(new Object[]{
+                    transaction.getTransactionId(),
+                    "Parcel #" + transaction.getParcelId(),
+                    transaction.getType(),
+                    transaction.getAmount() != null ? String.format("%.2f", transaction.getAmount()) : "0.00",
+                    transaction.getTransactionDate() != null ? transaction.getTransactionDate().toString() : "N/A",
+                    transaction.getStatus(),
+                    transaction.getPreviousOwnerId() != null ?
+                            ownerNames.getOrDefault(transaction.getPreviousOwnerId(), "Citizen #" + transaction.getPreviousOwnerId()) : "N/A"
+            });
+        }
+        return rows;
+    }
+
+    private void showTransactions(List<Object[]> rows) {
+        transactionTableModel.setRowCount(0);
+        for (Object[] row : rows) {
+            transactionTableModel.addRow(row);
         }
     }
 
@@ -136,13 +166,13 @@ public class TransactionsPanel extends JPanel {
         }
 
         int transactionId = (int) transactionTableModel.getValueAt(selectedRow, 0);
-        Transaction transaction = transactionDAO.getTransactionById(transactionId);
-
-        if (transaction != null) {
-            TransactionDetailsDialog dialog = new TransactionDetailsDialog(
-                    (Frame) SwingUtilities.getWindowAncestor(this), transaction);
-            dialog.setVisible(true);
-        }
+        AsyncLoader.submit(() -> transactionDAO.getTransactionById(transactionId), transaction -> {
+            if (transaction != null) {
+                TransactionDetailsDialog dialog = new TransactionDetailsDialog(
+                        (Frame) SwingUtilities.getWindowAncestor(this), transaction);
+                dialog.setVisible(true);
+            }
+        });
     }
 
     private void showNewTransactionDialog() {